@@ -18,14 +18,19 @@
  */
 package org.apache.syncope.common.lib.info;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.Map;
 import java.util.Queue;
+import java.util.TreeMap;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlElementWrapper;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.XmlType;
+import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 import org.apache.commons.collections4.queue.CircularFifoQueue;
 import org.apache.syncope.common.lib.AbstractBaseBean;
+import org.apache.syncope.common.lib.jaxb.XmlGenericMapAdapter;
 
 @XmlRootElement(name = "systemInfo")
 @XmlType
@@ -45,6 +50,10 @@ public class SystemInfo extends AbstractBaseBean {
 
     private final CircularFifoQueue<LoadInstant> load = new CircularFifoQueue<>(10);
 
+    @XmlJavaTypeAdapter(XmlGenericMapAdapter.class)
+    @JsonIgnore
+    private final Map<String, Long> metrics = new TreeMap<>();
+
     public String getHostname() {
         return hostname;
     }
@@ -92,6 +101,11 @@ public class SystemInfo extends AbstractBaseBean {
         return load;
     }
 
+    @JsonProperty
+    public Map<String, Long> getMetrics() {
+        return metrics;
+    }
+
     @XmlRootElement(name = "loadInstant")
     @XmlType
     public static class LoadInstant extends AbstractBaseBean {
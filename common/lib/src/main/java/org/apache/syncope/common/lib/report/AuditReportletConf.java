@@ -18,6 +18,7 @@
  */
 package org.apache.syncope.common.lib.report;
 
+import java.util.Date;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.XmlType;
 
@@ -29,6 +30,12 @@ public class AuditReportletConf extends AbstractReportletConf {
 
     private int size = 10;
 
+    private Date from;
+
+    private Date to;
+
+    private String logger;
+
     public AuditReportletConf() {
         super();
     }
@@ -45,4 +52,39 @@ public class AuditReportletConf extends AbstractReportletConf {
         this.size = size;
     }
 
+    public Date getFrom() {
+        return from == null
+                ? null
+                : new Date(from.getTime());
+    }
+
+    public void setFrom(final Date from) {
+        this.from = from == null
+                ? null
+                : new Date(from.getTime());
+    }
+
+    public Date getTo() {
+        return to == null
+                ? null
+                : new Date(to.getTime());
+    }
+
+    public void setTo(final Date to) {
+        this.to = to == null
+                ? null
+                : new Date(to.getTime());
+    }
+
+    /**
+     * @return logger name, or prefix thereof, to restrict audit events to
+     */
+    public String getLogger() {
+        return logger;
+    }
+
+    public void setLogger(final String logger) {
+        this.logger = logger;
+    }
+
 }
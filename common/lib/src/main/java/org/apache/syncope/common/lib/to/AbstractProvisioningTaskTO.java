@@ -50,6 +50,8 @@ public class AbstractProvisioningTaskTO extends SchedTaskTO {
 
     private MatchingRule matchingRule;
 
+    private Integer concurrency;
+
     private final Set<String> actionsClassNames = new HashSet<>();
 
     public String getResource() {
@@ -114,4 +116,12 @@ public class AbstractProvisioningTaskTO extends SchedTaskTO {
     public void setMatchingRule(final MatchingRule matchigRule) {
         this.matchingRule = matchigRule;
     }
+
+    public Integer getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(final Integer concurrency) {
+        this.concurrency = concurrency;
+    }
 }
@@ -35,6 +35,7 @@ import org.apache.commons.collections4.Predicate;
 import org.apache.syncope.common.lib.AbstractBaseBean;
 import org.apache.syncope.common.lib.types.ConnConfProperty;
 import org.apache.syncope.common.lib.types.ConnectorCapability;
+import org.apache.syncope.common.lib.types.PropagationReadMode;
 import org.apache.syncope.common.lib.types.TraceLevel;
 
 @XmlRootElement(name = "resource")
@@ -65,6 +66,8 @@ public class ResourceTO extends AbstractBaseBean implements EntityTO {
 
     private boolean enforceMandatoryCondition;
 
+    private PropagationReadMode propagationReadMode = PropagationReadMode.FULL;
+
     private TraceLevel createTraceLevel = TraceLevel.ALL;
 
     private TraceLevel updateTraceLevel = TraceLevel.ALL;
@@ -138,6 +141,14 @@ public class ResourceTO extends AbstractBaseBean implements EntityTO {
         this.randomPwdIfNotProvided = randomPwdIfNotProvided;
     }
 
+    public PropagationReadMode getPropagationReadMode() {
+        return propagationReadMode;
+    }
+
+    public void setPropagationReadMode(final PropagationReadMode propagationReadMode) {
+        this.propagationReadMode = propagationReadMode;
+    }
+
     public TraceLevel getCreateTraceLevel() {
         return createTraceLevel;
     }
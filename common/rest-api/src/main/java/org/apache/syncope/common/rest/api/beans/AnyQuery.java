@@ -21,6 +21,7 @@ package org.apache.syncope.common.rest.api.beans;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.MatrixParam;
 import javax.ws.rs.QueryParam;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.rest.api.service.JAXRSService;
 
@@ -50,6 +51,12 @@ public class AnyQuery extends AbstractQuery {
 
             return this;
         }
+
+        public Builder fields(final String... fields) {
+            getInstance().setFields(StringUtils.join(fields, ','));
+
+            return this;
+        }
     }
 
     private String realm;
@@ -58,6 +65,8 @@ public class AnyQuery extends AbstractQuery {
 
     private String fiql;
 
+    private String fields;
+
     public String getRealm() {
         return realm;
     }
@@ -87,4 +96,16 @@ public class AnyQuery extends AbstractQuery {
         this.fiql = fiql;
     }
 
+    public String getFields() {
+        return fields;
+    }
+
+    /**
+     * @param fields comma-separated list of fields and plain schemas to return; when provided, matching entities are
+     * read via projection and returned without any other information
+     */
+    @QueryParam(JAXRSService.PARAM_FIELDS)
+    public void setFields(final String fields) {
+        this.fields = fields;
+    }
 }
@@ -38,6 +38,8 @@ public interface JAXRSService {
 
     String PARAM_DETAILS = "details";
 
+    String PARAM_FIELDS = "fields";
+
     String PARAM_CONNID_PAGED_RESULTS_COOKIE = "connIdPagedResultsCookie";
 
     String PARAM_MAX = "max";
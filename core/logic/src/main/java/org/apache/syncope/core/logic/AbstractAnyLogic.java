@@ -43,6 +43,8 @@ import org.apache.syncope.core.spring.security.DelegatedAdministrationException;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
 import org.apache.syncope.core.persistence.api.dao.AnyTypeDAO;
 import org.apache.syncope.core.persistence.api.dao.RealmDAO;
+import org.apache.syncope.core.persistence.api.dao.search.AnyCond;
+import org.apache.syncope.core.persistence.api.dao.search.AttributeCond;
 import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.AnyType;
@@ -205,6 +207,15 @@ public abstract class AbstractAnyLogic<TO extends AnyTO, P extends AnyPatch>
         return effective;
     }
 
+    /**
+     * @return search condition matching all entities, for projected lists
+     */
+    protected SearchCond getAllMatchingCond() {
+        AnyCond keyCond = new AnyCond(AttributeCond.Type.ISNOTNULL);
+        keyCond.setSchema("key");
+        return SearchCond.getLeafCond(keyCond);
+    }
+
     protected void securityChecks(final Set<String> effectiveRealms, final String realm, final String key) {
         if (!IterableUtils.matchesAny(effectiveRealms, new Predicate<String>() {
 
@@ -239,11 +250,43 @@ public abstract class AbstractAnyLogic<TO extends AnyTO, P extends AnyPatch>
             String realm,
             boolean details);
 
+    /**
+     * List returning only the given fields and plain attributes of entities, read via projection.
+     *
+     * @param page list page
+     * @param size list page size
+     * @param orderBy ordering clauses
+     * @param realm base realm
+     * @param fields fields and plain schemas to return
+     * @return partially filled TOs
+     */
+    public abstract List<TO> list(
+            int page, int size, List<OrderByClause> orderBy,
+            String realm,
+            List<String> fields);
+
     public abstract List<TO> search(
             SearchCond searchCondition,
             int page, int size, List<OrderByClause> orderBy,
             String realm,
             boolean details);
 
+    /**
+     * Search returning only the given fields and plain attributes of matching entities, read via projection.
+     *
+     * @param searchCondition search condition
+     * @param page search page
+     * @param size search page size
+     * @param orderBy ordering clauses
+     * @param realm base realm
+     * @param fields fields and plain schemas to return
+     * @return partially filled TOs for matching entities
+     */
+    public abstract List<TO> search(
+            SearchCond searchCondition,
+            int page, int size, List<OrderByClause> orderBy,
+            String realm,
+            List<String> fields);
+
     public abstract int searchCount(SearchCond searchCondition, String realm);
 }
@@ -40,6 +40,7 @@ import org.apache.syncope.common.lib.types.ClientExceptionType;
 import org.apache.syncope.common.lib.types.PatchOperation;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
 import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
+import org.apache.syncope.core.persistence.api.dao.search.ProjectedAny;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.provisioning.api.AnyObjectProvisioningManager;
 import org.apache.syncope.core.provisioning.api.data.AnyObjectDataBinder;
@@ -92,6 +93,15 @@ public class AnyObjectLogic extends AbstractAnyLogic<AnyObjectTO, AnyObjectPatch
         throw new UnsupportedOperationException("Need to specify " + AnyType.class.getSimpleName());
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public List<AnyObjectTO> list(
+            final int page, final int size, final List<OrderByClause> orderBy,
+            final String realm, final List<String> fields) {
+
+        throw new UnsupportedOperationException("Need to specify " + AnyType.class.getSimpleName());
+    }
+
     @Transactional(readOnly = true)
     @Override
     public int searchCount(final SearchCond searchCond, final String realm) {
@@ -130,6 +140,30 @@ public class AnyObjectLogic extends AbstractAnyLogic<AnyObjectTO, AnyObjectPatch
         }, new ArrayList<AnyObjectTO>());
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public List<AnyObjectTO> search(final SearchCond searchCond, final int page, final int size,
+            final List<OrderByClause> orderBy, final String realm, final List<String> fields) {
+
+        if (searchCond.hasAnyTypeCond() == null) {
+            throw new UnsupportedOperationException("Need to specify " + AnyType.class.getSimpleName());
+        }
+
+        Set<String> effectiveRealms = getEffectiveRealms(
+                AuthContextUtils.getAuthorizations().get(AnyEntitlement.SEARCH.getFor(searchCond.hasAnyTypeCond())),
+                realm);
+
+        List<ProjectedAny> matchingAnyObjects = searchDAO.searchProjected(
+                effectiveRealms, searchCond, page, size, orderBy, AnyTypeKind.ANY_OBJECT, fields);
+        return CollectionUtils.collect(matchingAnyObjects, new Transformer<ProjectedAny, AnyObjectTO>() {
+
+            @Override
+            public AnyObjectTO transform(final ProjectedAny input) {
+                return binder.getAnyObjectTO(input);
+            }
+        }, new ArrayList<AnyObjectTO>());
+    }
+
     @Override
     public ProvisioningResult<AnyObjectTO> create(final AnyObjectTO anyObjectTO, final boolean nullPriorityAsync) {
         Pair<AnyObjectTO, List<LogicActions>> before = beforeCreate(anyObjectTO);
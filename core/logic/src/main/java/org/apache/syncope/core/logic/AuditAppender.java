@@ -0,0 +1,255 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.logic;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.message.ReusableMessage;
+import org.apache.syncope.core.provisioning.api.utils.ExceptionUtils2;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+
+/**
+ * Writes audit events to the {@code SYNCOPEAUDIT} table of the given {@link DataSource}: events are enqueued on a
+ * bounded queue and inserted by a background thread via JDBC batches, so that callers do not wait for database I/O.
+ * When the queue is full, callers either wait for space to be available or have their events dropped, according to
+ * the {@code blocking} flag.
+ */
+public class AuditAppender extends AbstractAppender {
+
+    private static final String INSERT =
+            "INSERT INTO SYNCOPEAUDIT(EVENT_DATE, LOGGER_LEVEL, LOGGER, MESSAGE, THROWABLE) VALUES (?, ?, ?, ?, ?)";
+
+    private static class AuditRow {
+
+        private final Timestamp eventDate;
+
+        private final String level;
+
+        private final String logger;
+
+        private final String message;
+
+        private final String throwable;
+
+        AuditRow(final LogEvent event) {
+            Message msg = event.getMessage();
+
+            this.eventDate = new Timestamp(event.getTimeMillis());
+            this.level = event.getLevel().name();
+            this.logger = event.getLoggerName();
+            this.message = (msg instanceof ReusableMessage
+                    ? ((ReusableMessage) msg).memento()
+                    : msg).getFormattedMessage();
+            this.throwable = event.getThrown() == null
+                    ? null
+                    : ExceptionUtils2.getFullStackTrace(event.getThrown());
+        }
+    }
+
+    private final DataSource dataSource;
+
+    private final BlockingQueue<AuditRow> queue;
+
+    private final int batchSize;
+
+    private final boolean blocking;
+
+    private final AtomicLong written = new AtomicLong();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final AtomicLong batches = new AtomicLong();
+
+    private volatile long lastFlushLatency;
+
+    private volatile boolean running;
+
+    private Thread writer;
+
+    public AuditAppender(
+            final String name,
+            final DataSource dataSource,
+            final int queueCapacity,
+            final int batchSize,
+            final boolean blocking) {
+
+        super(name, null, null, true);
+        this.dataSource = dataSource;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.blocking = blocking;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = new Thread(new Runnable() {
+
+            @Override
+            public void run() {
+                List<AuditRow> batch = new ArrayList<>(batchSize);
+                boolean interrupted = false;
+                while (running && !interrupted) {
+                    try {
+                        AuditRow row = queue.poll(500, TimeUnit.MILLISECONDS);
+                        if (row != null) {
+                            batch.add(row);
+                            queue.drainTo(batch, batchSize - 1);
+                            write(batch);
+                            batch.clear();
+                        }
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+
+                // stopping: write what is left via non-blocking drains, then restore the interrupt status, if any
+                while (queue.drainTo(batch, batchSize) > 0) {
+                    write(batch);
+                    batch.clear();
+                }
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }, "AuditAppender-" + getName());
+        writer.setDaemon(true);
+        writer.start();
+
+        super.start();
+    }
+
+    @Override
+    public boolean stop(final long timeout, final TimeUnit timeUnit) {
+        setStopping();
+        super.stop(timeout, timeUnit, false);
+
+        running = false;
+        if (writer != null) {
+            try {
+                writer.join(timeUnit.toMillis(timeout));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        setStopped();
+        return true;
+    }
+
+    @Override
+    public void append(final LogEvent event) {
+        AuditRow row = new AuditRow(event);
+        if (blocking) {
+            try {
+                queue.put(row);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                dropped.incrementAndGet();
+            }
+        } else if (!queue.offer(row)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    private void write(final List<AuditRow> batch) {
+        long start = System.currentTimeMillis();
+
+        Connection conn = null;
+        try {
+            conn = DataSourceUtils.getConnection(dataSource);
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(INSERT)) {
+                for (AuditRow row : batch) {
+                    stmt.setTimestamp(1, row.eventDate);
+                    stmt.setString(2, row.level);
+                    stmt.setString(3, row.logger);
+                    stmt.setString(4, row.message);
+                    stmt.setString(5, row.throwable);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                conn.commit();
+
+                written.addAndGet(batch.size());
+                batches.incrementAndGet();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        } catch (Exception e) {
+            dropped.addAndGet(batch.size());
+            LOGGER.error("While writing {} audit events via {}", batch.size(), getName(), e);
+        } finally {
+            DataSourceUtils.releaseConnection(conn, dataSource);
+        }
+
+        lastFlushLatency = System.currentTimeMillis() - start;
+    }
+
+    /**
+     * @return number of events currently waiting to be written
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * @return number of events written so far
+     */
+    public long getWritten() {
+        return written.get();
+    }
+
+    /**
+     * @return number of events dropped so far, either because of full queue or of write failures
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * @return number of batches written so far
+     */
+    public long getBatches() {
+        return batches.get();
+    }
+
+    /**
+     * @return time (in milliseconds) taken by the last batch write
+     */
+    public long getLastFlushLatency() {
+        return lastFlushLatency;
+    }
+}
@@ -51,6 +51,7 @@ import org.apache.syncope.core.provisioning.api.utils.RealmUtils;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
 import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
+import org.apache.syncope.core.persistence.api.dao.search.ProjectedAny;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.group.Group;
 import org.apache.syncope.core.provisioning.api.GroupProvisioningManager;
@@ -189,6 +190,25 @@ public class GroupLogic extends AbstractAnyLogic<GroupTO, GroupPatch> {
         }, new ArrayList<GroupTO>());
     }
 
+    @PreAuthorize("isAuthenticated()")
+    @Transactional(readOnly = true)
+    @Override
+    public List<GroupTO> list(
+            final int page, final int size, final List<OrderByClause> orderBy,
+            final String realm, final List<String> fields) {
+
+        List<ProjectedAny> groups = searchDAO.searchProjected(
+                getEffectiveRealms(SyncopeConstants.FULL_ADMIN_REALMS, realm),
+                getAllMatchingCond(), page, size, orderBy, AnyTypeKind.GROUP, fields);
+        return CollectionUtils.collect(groups, new Transformer<ProjectedAny, GroupTO>() {
+
+            @Override
+            public GroupTO transform(final ProjectedAny input) {
+                return binder.getGroupTO(input);
+            }
+        }, new ArrayList<GroupTO>());
+    }
+
     @PreAuthorize("isAuthenticated()")
     @Transactional(readOnly = true)
     @Override
@@ -216,6 +236,24 @@ public class GroupLogic extends AbstractAnyLogic<GroupTO, GroupPatch> {
         }, new ArrayList<GroupTO>());
     }
 
+    @PreAuthorize("isAuthenticated()")
+    @Transactional(readOnly = true)
+    @Override
+    public List<GroupTO> search(final SearchCond searchCondition, final int page, final int size,
+            final List<OrderByClause> orderBy, final String realm, final List<String> fields) {
+
+        List<ProjectedAny> matchingGroups = searchDAO.searchProjected(
+                getEffectiveRealms(SyncopeConstants.FULL_ADMIN_REALMS, realm),
+                searchCondition, page, size, orderBy, AnyTypeKind.GROUP, fields);
+        return CollectionUtils.collect(matchingGroups, new Transformer<ProjectedAny, GroupTO>() {
+
+            @Override
+            public GroupTO transform(final ProjectedAny input) {
+                return binder.getGroupTO(input);
+            }
+        }, new ArrayList<GroupTO>());
+    }
+
     @PreAuthorize("hasRole('" + StandardEntitlement.GROUP_CREATE + "')")
     @Override
     public ProvisioningResult<GroupTO> create(final GroupTO groupTO, final boolean nullPriorityAsync) {
@@ -449,7 +487,7 @@ public class GroupLogic extends AbstractAnyLogic<GroupTO, GroupPatch> {
             Map<String, Object> jobDataMap = jobManager.register(
                     task,
                     null,
-                    confDAO.find("tasks.interruptMaxRetries", "1").getValues().get(0).getLongValue());
+                    confDAO.find("tasks.interruptMaxRetries", 1L));
 
             jobDataMap.put(TaskJob.DRY_RUN_JOBDETAIL_KEY, false);
             jobDataMap.put(GroupMemberProvisionTaskJobDelegate.GROUP_KEY_JOBDETAIL_KEY, key);
@@ -61,6 +61,7 @@ import org.apache.syncope.core.persistence.api.entity.resource.ExternalResource;
 import org.apache.syncope.core.persistence.api.entity.Logger;
 import org.apache.syncope.core.persistence.api.entity.task.SchedTask;
 import org.apache.syncope.core.spring.BeanUtils;
+import org.apache.syncope.core.provisioning.api.AuditManager;
 import org.apache.syncope.core.provisioning.java.pushpull.PushJobDelegate;
 import org.apache.syncope.core.provisioning.java.pushpull.PullJobDelegate;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -85,6 +86,9 @@ public class LoggerLogic extends AbstractTransactionalLogic<LoggerTO> {
     @Autowired
     private LoggerDAO loggerDAO;
 
+    @Autowired
+    private AuditManager auditManager;
+
     @Autowired
     private ExternalResourceDAO resourceDAO;
 
@@ -215,6 +219,9 @@ public class LoggerLogic extends AbstractTransactionalLogic<LoggerTO> {
 
         syncopeLogger.setLevel(LoggerLevel.fromLevel(level));
         syncopeLogger = loggerDAO.save(syncopeLogger);
+        if (syncopeLogger.getType() == LoggerType.AUDIT) {
+            auditManager.reloadAuditLoggers();
+        }
 
         LoggerContext ctx = (LoggerContext) LogManager.getContext(false);
         LoggerConfig logConf = SyncopeConstants.ROOT_LOGGER.equals(name)
@@ -260,6 +267,9 @@ public class LoggerLogic extends AbstractTransactionalLogic<LoggerTO> {
 
         // remove SyncopeLogger from local storage, so that LoggerLoader won't load this next time
         loggerDAO.delete(syncopeLogger);
+        if (syncopeLogger.getType() == LoggerType.AUDIT) {
+            auditManager.reloadAuditLoggers();
+        }
 
         // set log level to OFF in order to disable configured logger until next reboot
         LoggerContext ctx = (LoggerContext) LogManager.getContext(false);
@@ -55,6 +55,11 @@ public class LogicInvocationHandler {
 
         String event = joinPoint.getSignature().getName();
 
+        boolean notificationsAvailable = notificationManager.notificationsAvailable(
+                AuditElements.EventCategoryType.LOGIC, category, null, event);
+        boolean auditRequested = auditManager.auditRequested(
+                AuditElements.EventCategoryType.LOGIC, category, null, event);
+
         AuditElements.Result result = null;
         Object output = null;
         Object before = null;
@@ -63,10 +68,13 @@ public class LogicInvocationHandler {
             LOG.debug("Before {}.{}({})", clazz.getSimpleName(), event,
                     input == null || input.length == 0 ? "" : Arrays.asList(input));
 
-            try {
-                before = ((AbstractLogic) joinPoint.getTarget()).resolveBeanReference(method, input);
-            } catch (UnresolvedReferenceException ignore) {
-                LOG.debug("Unresolved bean reference ...");
+            // the prior state is only needed when notifications or audit will be actually processed
+            if (notificationsAvailable || auditRequested) {
+                try {
+                    before = ((AbstractLogic) joinPoint.getTarget()).resolveBeanReference(method, input);
+                } catch (UnresolvedReferenceException ignore) {
+                    LOG.debug("Unresolved bean reference ...");
+                }
             }
 
             output = joinPoint.proceed();
@@ -81,23 +89,27 @@ public class LogicInvocationHandler {
             LOG.debug("After throwing {}.{}", clazz.getSimpleName(), event);
             throw t;
         } finally {
-            notificationManager.createTasks(AuditElements.EventCategoryType.LOGIC,
-                    category,
-                    null,
-                    event,
-                    result,
-                    before,
-                    output,
-                    input);
-
-            auditManager.audit(AuditElements.EventCategoryType.LOGIC,
-                    category,
-                    null,
-                    event,
-                    result,
-                    before,
-                    output,
-                    input);
+            if (notificationsAvailable) {
+                notificationManager.createTasks(AuditElements.EventCategoryType.LOGIC,
+                        category,
+                        null,
+                        event,
+                        result,
+                        before,
+                        output,
+                        input);
+            }
+
+            if (auditRequested) {
+                auditManager.audit(AuditElements.EventCategoryType.LOGIC,
+                        category,
+                        null,
+                        event,
+                        result,
+                        before,
+                        output,
+                        input);
+            }
         }
     }
 }
@@ -36,6 +36,7 @@ import org.apache.syncope.core.persistence.api.dao.NotificationDAO;
 import org.apache.syncope.core.persistence.api.entity.Notification;
 import org.apache.syncope.core.provisioning.api.data.NotificationDataBinder;
 import org.apache.syncope.core.provisioning.api.job.JobManager;
+import org.apache.syncope.core.provisioning.api.notification.NotificationManager;
 import org.quartz.JobKey;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -50,6 +51,9 @@ public class NotificationLogic extends AbstractJobLogic<NotificationTO> {
     @Autowired
     private NotificationDataBinder binder;
 
+    @Autowired
+    private NotificationManager notificationManager;
+
     @PreAuthorize("hasRole('" + StandardEntitlement.NOTIFICATION_READ + "')")
     public NotificationTO read(final String key) {
         Notification notification = notificationDAO.find(key);
@@ -75,7 +79,10 @@ public class NotificationLogic extends AbstractJobLogic<NotificationTO> {
 
     @PreAuthorize("hasRole('" + StandardEntitlement.NOTIFICATION_CREATE + "')")
     public NotificationTO create(final NotificationTO notificationTO) {
-        return binder.getNotificationTO(notificationDAO.save(binder.create(notificationTO)));
+        Notification notification = notificationDAO.save(binder.create(notificationTO));
+        notificationManager.reloadNotifications();
+
+        return binder.getNotificationTO(notification);
     }
 
     @PreAuthorize("hasRole('" + StandardEntitlement.NOTIFICATION_UPDATE + "')")
@@ -88,6 +95,7 @@ public class NotificationLogic extends AbstractJobLogic<NotificationTO> {
 
         binder.update(notification, notificationTO);
         notification = notificationDAO.save(notification);
+        notificationManager.reloadNotifications();
 
         return binder.getNotificationTO(notification);
     }
@@ -103,6 +111,7 @@ public class NotificationLogic extends AbstractJobLogic<NotificationTO> {
 
         NotificationTO deleted = binder.getNotificationTO(notification);
         notificationDAO.delete(key);
+        notificationManager.reloadNotifications();
         return deleted;
     }
 
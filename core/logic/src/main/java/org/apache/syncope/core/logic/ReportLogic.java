@@ -18,7 +18,7 @@
  */
 package org.apache.syncope.core.logic;
 
-import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
@@ -97,7 +97,7 @@ public class ReportLogic extends AbstractExecutableLogic<ReportTO> {
             jobManager.register(
                     report,
                     null,
-                    confDAO.find("tasks.interruptMaxRetries", "1").getValues().get(0).getLongValue());
+                    confDAO.find("tasks.interruptMaxRetries", 1L));
         } catch (Exception e) {
             LOG.error("While registering quartz job for report " + report.getKey(), e);
 
@@ -123,7 +123,7 @@ public class ReportLogic extends AbstractExecutableLogic<ReportTO> {
             jobManager.register(
                     report,
                     null,
-                    confDAO.find("tasks.interruptMaxRetries", "1").getValues().get(0).getLongValue());
+                    confDAO.find("tasks.interruptMaxRetries", 1L));
         } catch (Exception e) {
             LOG.error("While registering quartz job for report " + report.getKey(), e);
 
@@ -174,7 +174,7 @@ public class ReportLogic extends AbstractExecutableLogic<ReportTO> {
             jobManager.register(
                     report,
                     startAt,
-                    confDAO.find("tasks.interruptMaxRetries", "1").getValues().get(0).getLongValue());
+                    confDAO.find("tasks.interruptMaxRetries", 1L));
 
             scheduler.getScheduler().triggerJob(JobNamer.getJobKey(report));
         } catch (Exception e) {
@@ -202,11 +202,12 @@ public class ReportLogic extends AbstractExecutableLogic<ReportTO> {
         if (reportExec == null) {
             throw new NotFoundException("Report execution " + executionKey);
         }
-        if (!ReportExecStatus.SUCCESS.name().equals(reportExec.getStatus()) || reportExec.getExecResult() == null) {
+        boolean hasExecResult = reportExecDAO.hasExecResult(executionKey);
+        if (!ReportExecStatus.SUCCESS.name().equals(reportExec.getStatus()) || !hasExecResult) {
             SyncopeClientException sce = SyncopeClientException.build(ClientExceptionType.InvalidReportExec);
-            sce.getElements().add(reportExec.getExecResult() == null
-                    ? "No report data produced"
-                    : "Report did not run successfully");
+            sce.getElements().add(hasExecResult
+                    ? "Report did not run successfully"
+                    : "No report data produced");
             throw sce;
         }
         return reportExec;
@@ -216,9 +217,14 @@ public class ReportLogic extends AbstractExecutableLogic<ReportTO> {
     public void exportExecutionResult(final OutputStream os, final ReportExec reportExec,
             final ReportExecExportFormat format) {
 
-        // streaming SAX handler from a compressed byte array stream
-        ByteArrayInputStream bais = new ByteArrayInputStream(reportExec.getExecResult());
-        ZipInputStream zis = new ZipInputStream(bais);
+        // streaming SAX handler from the compressed stream, as read from storage
+        InputStream execResult = reportExecDAO.getExecResult(reportExec.getKey());
+        if (execResult == null) {
+            LOG.error("No report data available for {}", reportExec);
+            return;
+        }
+
+        ZipInputStream zis = new ZipInputStream(execResult);
         try {
             // a single ZipEntry in the ZipInputStream (see ReportJob)
             zis.getNextEntry();
@@ -282,7 +288,6 @@ public class ReportLogic extends AbstractExecutableLogic<ReportTO> {
             LOG.error("While exporting content", e);
         } finally {
             IOUtils.closeQuietly(zis);
-            IOUtils.closeQuietly(bais);
         }
     }
 
@@ -26,7 +26,9 @@ import java.lang.reflect.Method;
 import java.net.InetAddress;
 import java.net.URI;
 import java.net.UnknownHostException;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import javax.annotation.Resource;
 import org.apache.syncope.common.lib.AbstractBaseBean;
@@ -54,6 +56,7 @@ import org.apache.syncope.core.persistence.api.entity.policy.PasswordPolicy;
 import org.apache.syncope.core.provisioning.api.AnyObjectProvisioningManager;
 import org.apache.syncope.core.provisioning.api.ConnIdBundleManager;
 import org.apache.syncope.core.provisioning.api.GroupProvisioningManager;
+import org.apache.syncope.core.provisioning.api.MetricsSource;
 import org.apache.syncope.core.provisioning.api.UserProvisioningManager;
 import org.apache.syncope.core.provisioning.api.cache.VirAttrCache;
 import org.apache.syncope.core.workflow.api.AnyObjectWorkflowAdapter;
@@ -141,16 +144,19 @@ public class SyncopeLogic extends AbstractLogic<AbstractBaseBean> {
     @Autowired
     private ImplementationLookup implLookup;
 
+    @Autowired(required = false)
+    private List<MetricsSource> metricsSources = Collections.emptyList();
+
     public boolean isSelfRegAllowed() {
-        return confDAO.find("selfRegistration.allowed", "false").getValues().get(0).getBooleanValue();
+        return confDAO.find("selfRegistration.allowed", false);
     }
 
     public boolean isPwdResetAllowed() {
-        return confDAO.find("passwordReset.allowed", "false").getValues().get(0).getBooleanValue();
+        return confDAO.find("passwordReset.allowed", false);
     }
 
     public boolean isPwdResetRequiringSecurityQuestions() {
-        return confDAO.find("passwordReset.securityQuestion", "true").getValues().get(0).getBooleanValue();
+        return confDAO.find("passwordReset.securityQuestion", true);
     }
 
     @PreAuthorize("isAuthenticated()")
@@ -240,6 +246,11 @@ public class SyncopeLogic extends AbstractLogic<AbstractBaseBean> {
     public SystemInfo system() {
         synchronized (MONITOR) {
             initSystemInfo();
+
+            SYSTEM_INFO.getMetrics().clear();
+            for (MetricsSource metricsSource : metricsSources) {
+                SYSTEM_INFO.getMetrics().putAll(metricsSource.getMetrics());
+            }
         }
 
         return SYSTEM_INFO;
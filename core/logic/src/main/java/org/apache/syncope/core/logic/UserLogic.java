@@ -47,6 +47,7 @@ import org.apache.syncope.core.persistence.api.dao.NotFoundException;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
 import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
+import org.apache.syncope.core.persistence.api.dao.search.ProjectedAny;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.group.Group;
 import org.apache.syncope.core.persistence.api.entity.user.User;
@@ -113,6 +114,25 @@ public class UserLogic extends AbstractAnyLogic<UserTO, UserPatch> {
         }, new ArrayList<UserTO>());
     }
 
+    @PreAuthorize("hasRole('" + StandardEntitlement.USER_SEARCH + "')")
+    @Transactional(readOnly = true)
+    @Override
+    public List<UserTO> list(
+            final int page, final int size, final List<OrderByClause> orderBy,
+            final String realm, final List<String> fields) {
+
+        List<ProjectedAny> users = searchDAO.searchProjected(
+                getEffectiveRealms(AuthContextUtils.getAuthorizations().get(StandardEntitlement.USER_SEARCH), realm),
+                getAllMatchingCond(), page, size, orderBy, AnyTypeKind.USER, fields);
+        return CollectionUtils.collect(users, new Transformer<ProjectedAny, UserTO>() {
+
+            @Override
+            public UserTO transform(final ProjectedAny input) {
+                return binder.returnUserTO(binder.getUserTO(input));
+            }
+        }, new ArrayList<UserTO>());
+    }
+
     @PreAuthorize("isAuthenticated()")
     @Transactional(readOnly = true)
     public Pair<String, UserTO> selfRead() {
@@ -155,6 +175,24 @@ public class UserLogic extends AbstractAnyLogic<UserTO, UserPatch> {
         }, new ArrayList<UserTO>());
     }
 
+    @PreAuthorize("hasRole('" + StandardEntitlement.USER_SEARCH + "')")
+    @Transactional(readOnly = true)
+    @Override
+    public List<UserTO> search(final SearchCond searchCondition, final int page, final int size,
+            final List<OrderByClause> orderBy, final String realm, final List<String> fields) {
+
+        List<ProjectedAny> matchingUsers = searchDAO.searchProjected(
+                getEffectiveRealms(AuthContextUtils.getAuthorizations().get(StandardEntitlement.USER_SEARCH), realm),
+                searchCondition, page, size, orderBy, AnyTypeKind.USER, fields);
+        return CollectionUtils.collect(matchingUsers, new Transformer<ProjectedAny, UserTO>() {
+
+            @Override
+            public UserTO transform(final ProjectedAny input) {
+                return binder.returnUserTO(binder.getUserTO(input));
+            }
+        }, new ArrayList<UserTO>());
+    }
+
     @PreAuthorize("isAnonymous() or hasRole('" + StandardEntitlement.ANONYMOUS + "')")
     public ProvisioningResult<UserTO> selfCreate(
             final UserTO userTO, final boolean storePassword, final boolean nullPriorityAsync) {
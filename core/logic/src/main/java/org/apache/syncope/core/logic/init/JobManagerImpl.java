@@ -40,7 +40,6 @@ import org.apache.syncope.core.persistence.api.dao.NotFoundException;
 import org.apache.syncope.core.persistence.api.dao.ReportDAO;
 import org.apache.syncope.core.persistence.api.dao.TaskDAO;
 import org.apache.syncope.core.persistence.api.entity.Report;
-import org.apache.syncope.core.persistence.api.entity.conf.CPlainAttr;
 import org.apache.syncope.core.persistence.api.entity.task.PushTask;
 import org.apache.syncope.core.persistence.api.entity.task.SchedTask;
 import org.apache.syncope.core.persistence.api.entity.task.Task;
@@ -291,16 +290,10 @@ public class JobManagerImpl implements JobManager, SyncopeLoader {
 
             @Override
             public Pair<String, Long> exec() {
-                String notificationJobCronExpression = StringUtils.EMPTY;
-
-                CPlainAttr notificationJobCronExp =
+                String notificationJobCronExpression =
                         confDAO.find("notificationjob.cronExpression", NotificationJob.DEFAULT_CRON_EXP);
-                if (!notificationJobCronExp.getValuesAsStrings().isEmpty()) {
-                    notificationJobCronExpression = notificationJobCronExp.getValuesAsStrings().get(0);
-                }
 
-                long interruptMaxRetries =
-                        confDAO.find("tasks.interruptMaxRetries", "1").getValues().get(0).getLongValue();
+                long interruptMaxRetries = confDAO.find("tasks.interruptMaxRetries", 1L);
 
                 return ImmutablePair.of(notificationJobCronExpression, interruptMaxRetries);
             }
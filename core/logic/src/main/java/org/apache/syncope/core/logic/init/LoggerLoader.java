@@ -18,31 +18,28 @@
  */
 package org.apache.syncope.core.logic.init;
 
-import java.sql.Connection;
-import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeMap;
+import javax.annotation.Resource;
 import javax.sql.DataSource;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.core.Appender;
 import org.apache.logging.log4j.core.LoggerContext;
-import org.apache.logging.log4j.core.appender.db.ColumnMapping;
-import org.apache.logging.log4j.core.appender.db.jdbc.ColumnConfig;
-import org.apache.logging.log4j.core.appender.db.jdbc.ConnectionSource;
-import org.apache.logging.log4j.core.appender.db.jdbc.JdbcAppender;
 import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.apache.syncope.core.logic.AuditAppender;
 import org.apache.syncope.core.logic.MemoryAppender;
+import org.apache.syncope.core.provisioning.api.MetricsSource;
 import org.apache.syncope.core.provisioning.java.AuditManagerImpl;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.apache.syncope.core.persistence.api.DomainsHolder;
 import org.apache.syncope.core.persistence.api.SyncopeLoader;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.jdbc.datasource.DataSourceUtils;
 import org.springframework.stereotype.Component;
 
 @Component
-public class LoggerLoader implements SyncopeLoader {
+public class LoggerLoader implements SyncopeLoader, MetricsSource {
 
     @Autowired
     private DomainsHolder domainsHolder;
@@ -50,8 +47,19 @@ public class LoggerLoader implements SyncopeLoader {
     @Autowired
     private LoggerAccessor loggerAccessor;
 
+    @Resource(name = "auditAppenderQueueCapacity")
+    private Integer auditAppenderQueueCapacity;
+
+    @Resource(name = "auditAppenderBatchSize")
+    private Integer auditAppenderBatchSize;
+
+    @Resource(name = "auditAppenderBlocking")
+    private Boolean auditAppenderBlocking;
+
     private final Map<String, MemoryAppender> memoryAppenders = new HashMap<>();
 
+    private final Map<String, AuditAppender> auditAppenders = new HashMap<>();
+
     @Override
     public Integer getPriority() {
         return 300;
@@ -68,34 +76,21 @@ public class LoggerLoader implements SyncopeLoader {
         }
 
         // Audit table and DataSource for each configured domain
-        ColumnConfig[] columnConfigs = {
-            ColumnConfig.newBuilder().
-            setConfiguration(ctx.getConfiguration()).setName("EVENT_DATE").setEventTimestamp(true).build(),
-            ColumnConfig.newBuilder().setUnicode(false).
-            setConfiguration(ctx.getConfiguration()).setName("LOGGER_LEVEL").setPattern("%level").build(),
-            ColumnConfig.newBuilder().setUnicode(false).
-            setConfiguration(ctx.getConfiguration()).setName("LOGGER").setPattern("%logger").build(),
-            ColumnConfig.newBuilder().setUnicode(false).
-            setConfiguration(ctx.getConfiguration()).setName("MESSAGE").setPattern("%message").build(),
-            ColumnConfig.newBuilder().setUnicode(false).
-            setConfiguration(ctx.getConfiguration()).setName("THROWABLE").setPattern("%ex{full}").build()
-        };
-        ColumnMapping[] columnMappings = new ColumnMapping[0];
         for (Map.Entry<String, DataSource> entry : domainsHolder.getDomains().entrySet()) {
             Appender appender = ctx.getConfiguration().getAppender("audit_for_" + entry.getKey());
             if (appender == null) {
-                appender = JdbcAppender.newBuilder().
-                        withName("audit_for_" + entry.getKey()).
-                        withIgnoreExceptions(false).
-                        setConnectionSource(new DataSourceConnectionSource(entry.getValue())).
-                        setBufferSize(0).
-                        setTableName("SYNCOPEAUDIT").
-                        setColumnConfigs(columnConfigs).
-                        setColumnMappings(columnMappings).
-                        build();
+                appender = new AuditAppender(
+                        "audit_for_" + entry.getKey(),
+                        entry.getValue(),
+                        auditAppenderQueueCapacity,
+                        auditAppenderBatchSize,
+                        auditAppenderBlocking);
                 appender.start();
                 ctx.getConfiguration().addAppender(appender);
             }
+            if (appender instanceof AuditAppender) {
+                auditAppenders.put(entry.getKey(), (AuditAppender) appender);
+            }
 
             LoggerConfig logConf = new LoggerConfig(
                     AuditManagerImpl.getDomainAuditLoggerName(entry.getKey()), null, false);
@@ -120,18 +115,21 @@ public class LoggerLoader implements SyncopeLoader {
         return memoryAppenders;
     }
 
-    private static class DataSourceConnectionSource implements ConnectionSource {
-
-        private final DataSource dataSource;
-
-        DataSourceConnectionSource(final DataSource dataSource) {
-            this.dataSource = dataSource;
-        }
+    public Map<String, AuditAppender> getAuditAppenders() {
+        return auditAppenders;
+    }
 
-        @Override
-        public Connection getConnection() throws SQLException {
-            return DataSourceUtils.getConnection(dataSource);
+    @Override
+    public Map<String, Long> getMetrics() {
+        Map<String, Long> metrics = new TreeMap<>();
+        for (Map.Entry<String, AuditAppender> entry : auditAppenders.entrySet()) {
+            String prefix = "audit." + entry.getKey() + ".";
+            metrics.put(prefix + "queueDepth", (long) entry.getValue().getQueueDepth());
+            metrics.put(prefix + "written", entry.getValue().getWritten());
+            metrics.put(prefix + "dropped", entry.getValue().getDropped());
+            metrics.put(prefix + "batches", entry.getValue().getBatches());
+            metrics.put(prefix + "lastFlushLatency", entry.getValue().getLastFlushLatency());
         }
-
+        return metrics;
     }
 }
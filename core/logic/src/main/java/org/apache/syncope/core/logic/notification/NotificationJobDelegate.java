@@ -18,8 +18,16 @@
  */
 package org.apache.syncope.core.logic.notification;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.annotation.Resource;
 import javax.mail.internet.MimeMessage;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.common.lib.types.AuditElements;
@@ -32,6 +40,8 @@ import org.apache.syncope.core.persistence.api.entity.task.NotificationTask;
 import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
 import org.apache.syncope.core.provisioning.api.AuditManager;
 import org.apache.syncope.core.provisioning.api.notification.NotificationManager;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.quartz.JobExecutionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,6 +50,7 @@ import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Component
@@ -47,6 +58,34 @@ public class NotificationJobDelegate {
 
     private static final Logger LOG = LoggerFactory.getLogger(NotificationJobDelegate.class);
 
+    /**
+     * Outcome of sending an e-mail to a single recipient.
+     */
+    private static class Delivery {
+
+        private final String to;
+
+        private final Exception error;
+
+        private final Date end;
+
+        Delivery(final String to, final Exception error) {
+            this.to = to;
+            this.error = error;
+            this.end = new Date();
+        }
+    }
+
+    /**
+     * Outcome of sending e-mails for a notification task.
+     */
+    private static class Dispatch {
+
+        private final Date start = new Date();
+
+        private final List<Delivery> deliveries = new ArrayList<>();
+    }
+
     /**
      * Task DAO.
      */
@@ -65,6 +104,15 @@ public class NotificationJobDelegate {
     @Autowired
     private NotificationManager notificationManager;
 
+    @Autowired
+    private NotificationMetrics metrics;
+
+    @Resource(name = "notificationSenderWorkers")
+    private Integer workers;
+
+    @Resource(name = "notificationSenderMessagesPerSecond")
+    private Integer messagesPerSecond;
+
     private long maxRetries;
 
     private void init() {
@@ -79,19 +127,42 @@ public class NotificationJobDelegate {
         }
     }
 
-    @Transactional
-    public TaskExec executeSingle(final NotificationTask task) {
-        init();
+    private boolean isComplete(final NotificationTask task) {
+        return StringUtils.isNotBlank(task.getSubject()) && !task.getRecipients().isEmpty()
+                && StringUtils.isNotBlank(task.getHtmlBody()) && StringUtils.isNotBlank(task.getTextBody());
+    }
+
+    private Dispatch send(final PooledMailSender sender, final NotificationTask task) {
+        Dispatch dispatch = new Dispatch();
+        for (String to : task.getRecipients()) {
+            try {
+                MimeMessage message = sender.createMimeMessage();
+                MimeMessageHelper helper = new MimeMessageHelper(message, true);
+                helper.setTo(to);
+                helper.setFrom(task.getSender());
+                helper.setSubject(task.getSubject());
+                helper.setText(task.getTextBody(), task.getHtmlBody());
+
+                sender.send(message);
+
+                metrics.sent();
+                dispatch.deliveries.add(new Delivery(to, null));
+            } catch (Exception e) {
+                LOG.error("Could not send e-mail", e);
+
+                metrics.notSent();
+                dispatch.deliveries.add(new Delivery(to, e));
+            }
+        }
+        return dispatch;
+    }
 
+    private TaskExec buildExec(final NotificationTask task, final Dispatch dispatch) {
         TaskExec execution = entityFactory.newEntity(TaskExec.class);
         execution.setTask(task);
-        execution.setStart(new Date());
-
-        boolean retryPossible = true;
-
-        if (StringUtils.isBlank(task.getSubject()) || task.getRecipients().isEmpty()
-                || StringUtils.isBlank(task.getHtmlBody()) || StringUtils.isBlank(task.getTextBody())) {
+        execution.setStart(dispatch == null ? new Date() : dispatch.start);
 
+        if (dispatch == null) {
             String message = "Could not fetch all required information for sending e-mails:\n"
                     + task.getRecipients() + "\n"
                     + task.getSender() + "\n"
@@ -101,46 +172,27 @@ public class NotificationJobDelegate {
             LOG.error(message);
 
             execution.setStatus(NotificationJob.Status.NOT_SENT.name());
-            retryPossible = false;
 
             if (task.getTraceLevel().ordinal() >= TraceLevel.FAILURES.ordinal()) {
                 execution.setMessage(message);
             }
         } else {
-            if (LOG.isDebugEnabled()) {
-                LOG.debug("About to send e-mails:\n"
-                        + task.getRecipients() + "\n"
-                        + task.getSender() + "\n"
-                        + task.getSubject() + "\n"
-                        + task.getHtmlBody() + "\n"
-                        + task.getTextBody() + "\n");
-            }
-
-            for (String to : task.getRecipients()) {
-                try {
-                    MimeMessage message = mailSender.createMimeMessage();
-                    MimeMessageHelper helper = new MimeMessageHelper(message, true);
-                    helper.setTo(to);
-                    helper.setFrom(task.getSender());
-                    helper.setSubject(task.getSubject());
-                    helper.setText(task.getTextBody(), task.getHtmlBody());
-
-                    mailSender.send(message);
-
+            for (Delivery delivery : dispatch.deliveries) {
+                if (delivery.error == null) {
                     execution.setStatus(NotificationJob.Status.SENT.name());
 
                     StringBuilder report = new StringBuilder();
                     switch (task.getTraceLevel()) {
                         case ALL:
                             report.append("FROM: ").append(task.getSender()).append('\n').
-                                    append("TO: ").append(to).append('\n').
+                                    append("TO: ").append(delivery.to).append('\n').
                                     append("SUBJECT: ").append(task.getSubject()).append('\n').append('\n').
                                     append(task.getTextBody()).append('\n').append('\n').
                                     append(task.getHtmlBody()).append('\n');
                             break;
 
                         case SUMMARY:
-                            report.append("E-mail sent to ").append(to).append('\n');
+                            report.append("E-mail sent to ").append(delivery.to).append('\n');
                             break;
 
                         case FAILURES:
@@ -160,13 +212,11 @@ public class NotificationJobDelegate {
                             null,
                             null,
                             task,
-                            "Successfully sent notification to " + to);
-                } catch (Exception e) {
-                    LOG.error("Could not send e-mail", e);
-
+                            "Successfully sent notification to " + delivery.to);
+                } else {
                     execution.setStatus(NotificationJob.Status.NOT_SENT.name());
                     if (task.getTraceLevel().ordinal() >= TraceLevel.FAILURES.ordinal()) {
-                        execution.setMessage(ExceptionUtils2.getFullStackTrace(e));
+                        execution.setMessage(ExceptionUtils2.getFullStackTrace(delivery.error));
                     }
 
                     auditManager.audit(
@@ -178,33 +228,146 @@ public class NotificationJobDelegate {
                             null,
                             null,
                             task,
-                            "Could not send notification to " + to, e);
+                            "Could not send notification to " + delivery.to, delivery.error);
                 }
 
-                execution.setEnd(new Date());
+                execution.setEnd(delivery.end);
             }
         }
 
+        return execution;
+    }
+
+    private TaskExec register(final TaskExec execution, final boolean retryPossible) {
+        TaskExec registered = execution;
         if (hasToBeRegistered(execution)) {
-            execution = notificationManager.storeExec(execution);
+            registered = notificationManager.storeExec(execution);
             if (retryPossible
-                    && (NotificationJob.Status.valueOf(execution.getStatus()) == NotificationJob.Status.NOT_SENT)) {
+                    && (NotificationJob.Status.valueOf(registered.getStatus()) == NotificationJob.Status.NOT_SENT)) {
 
-                handleRetries(execution);
+                handleRetries(registered);
             }
         } else {
             notificationManager.setTaskExecuted(execution.getTask().getKey(), true);
         }
 
-        return execution;
+        return registered;
+    }
+
+    private TaskExec execute(final NotificationTask task, final PooledMailSender sender) {
+        boolean complete = isComplete(task);
+        if (complete && LOG.isDebugEnabled()) {
+            LOG.debug("About to send e-mails:\n"
+                    + task.getRecipients() + "\n"
+                    + task.getSender() + "\n"
+                    + task.getSubject() + "\n"
+                    + task.getHtmlBody() + "\n"
+                    + task.getTextBody() + "\n");
+        }
+
+        return register(buildExec(task, complete ? send(sender, task) : null), complete);
     }
 
     @Transactional
+    public TaskExec executeSingle(final NotificationTask task) {
+        init();
+
+        try (PooledMailSender sender = new PooledMailSender(mailSender, 1, messagesPerSecond)) {
+            return execute(task, sender);
+        }
+    }
+
+    /**
+     * Sends e-mails for the given notification task and stores the outcome, within a dedicated transaction: once
+     * committed, the task is no longer found among the ones to be executed.
+     *
+     * @param taskKey notification task key
+     * @param sender mail sender shared by workers
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void executeSingle(final String taskKey, final PooledMailSender sender) {
+        NotificationTask task = taskDAO.find(taskKey);
+        if (task == null || task.isExecuted()) {
+            LOG.debug("Notification task {} already executed", taskKey);
+            return;
+        }
+
+        LOG.debug("Found notification task {} to be executed: starting...", task);
+        execute(task, sender);
+        LOG.debug("Notification task {} executed", task);
+    }
+
+    /**
+     * Sends e-mails for all notification tasks to be executed, concurrently by the configured number of workers,
+     * sharing SMTP connections; each task is executed within its own transaction, so that its e-mails are not sent
+     * again should the job be interrupted afterwards.
+     *
+     * @throws JobExecutionException if sending is interrupted or any task could not be executed
+     */
+    @Transactional(readOnly = true)
     public void execute() throws JobExecutionException {
+        init();
+
+        List<String> taskKeys = new ArrayList<>();
         for (NotificationTask task : taskDAO.<NotificationTask>findToExec(TaskType.NOTIFICATION)) {
-            LOG.debug("Found notification task {} to be executed: starting...", task);
-            executeSingle(task);
-            LOG.debug("Notification task {} executed", task);
+            taskKeys.add(task.getKey());
+        }
+        if (taskKeys.isEmpty()) {
+            return;
+        }
+
+        metrics.runStarted(taskKeys.size());
+
+        // transactions are only started when going through the Spring proxy
+        final NotificationJobDelegate proxy = ApplicationContextProvider.getBeanFactory().
+                getBean(NotificationJobDelegate.class);
+        final String domain = AuthContextUtils.getDomain();
+
+        int concurrency = Math.max(1, workers);
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try (PooledMailSender sender = new PooledMailSender(mailSender, concurrency, messagesPerSecond)) {
+            List<Future<Void>> executions = new ArrayList<>(taskKeys.size());
+            for (final String taskKey : taskKeys) {
+                executions.add(executor.submit(new Callable<Void>() {
+
+                    @Override
+                    public Void call() {
+                        return AuthContextUtils.execWithAuthContext(domain, new AuthContextUtils.Executable<Void>() {
+
+                            @Override
+                            public Void exec() {
+                                try {
+                                    proxy.executeSingle(taskKey, sender);
+                                } finally {
+                                    metrics.taskExecuted();
+                                }
+                                return null;
+                            }
+                        });
+                    }
+                }));
+            }
+
+            Throwable failure = null;
+            for (Future<Void> execution : executions) {
+                try {
+                    execution.get();
+                } catch (ExecutionException e) {
+                    LOG.error("While executing notification task", e.getCause());
+                    if (failure == null) {
+                        failure = e.getCause();
+                    }
+                }
+            }
+            if (failure != null) {
+                throw new JobExecutionException("While sending notifications", failure);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JobExecutionException("Interrupted while sending notifications", e);
+        } finally {
+            executor.shutdownNow();
+            metrics.runEnded();
         }
     }
 
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.logic.notification;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.syncope.core.provisioning.api.MetricsSource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tracks notification tasks backlog and e-mail sending throughput, as measured by {@link NotificationJobDelegate}.
+ */
+@Component
+public class NotificationMetrics implements MetricsSource {
+
+    private final AtomicInteger backlog = new AtomicInteger();
+
+    private final AtomicLong sent = new AtomicLong();
+
+    private final AtomicLong notSent = new AtomicLong();
+
+    private volatile double throughput;
+
+    private volatile long runStart;
+
+    private volatile long runProcessed;
+
+    public void runStarted(final int tasks) {
+        backlog.set(tasks);
+        runStart = System.nanoTime();
+        runProcessed = sent.get() + notSent.get();
+    }
+
+    public void taskExecuted() {
+        backlog.decrementAndGet();
+    }
+
+    public void sent() {
+        sent.incrementAndGet();
+    }
+
+    public void notSent() {
+        notSent.incrementAndGet();
+    }
+
+    public void runEnded() {
+        backlog.set(0);
+
+        long elapsed = System.nanoTime() - runStart;
+        throughput = elapsed <= 0 ? 0 : (sent.get() + notSent.get() - runProcessed) * 1E9 / elapsed;
+    }
+
+    /**
+     * @return number of notification tasks still to be executed by the running job
+     */
+    public int getBacklog() {
+        return backlog.get();
+    }
+
+    /**
+     * @return number of e-mails sent so far
+     */
+    public long getSent() {
+        return sent.get();
+    }
+
+    /**
+     * @return number of e-mails which could not be sent so far
+     */
+    public long getNotSent() {
+        return notSent.get();
+    }
+
+    /**
+     * @return e-mails processed per second during the latest job run
+     */
+    public double getThroughput() {
+        return throughput;
+    }
+
+    @Override
+    public Map<String, Long> getMetrics() {
+        Map<String, Long> metrics = new LinkedHashMap<>();
+        metrics.put("notification.backlog", (long) getBacklog());
+        metrics.put("notification.sent", getSent());
+        metrics.put("notification.notSent", getNotSent());
+        metrics.put("notification.throughputPerMinute", Math.round(getThroughput() * TimeUnit.MINUTES.toSeconds(1)));
+        return metrics;
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.logic.notification;
+
+import java.util.Date;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import javax.mail.MessagingException;
+import javax.mail.Transport;
+import javax.mail.internet.MimeMessage;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+/**
+ * Sends e-mails via the configured {@link JavaMailSender}, keeping SMTP connections open for reuse by subsequent
+ * messages, rather than opening a new connection for each message; safe for use by concurrent threads.
+ * Optionally limits the number of messages sent per second.
+ * Meant to be used for a single batch of messages, then closed.
+ */
+public class PooledMailSender implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PooledMailSender.class);
+
+    private final JavaMailSender mailSender;
+
+    private final BlockingQueue<Transport> idle;
+
+    private final long interval;
+
+    private long nextSlot;
+
+    /**
+     * @param mailSender mail sender, providing SMTP configuration
+     * @param maxIdle maximum number of connections kept open for reuse
+     * @param messagesPerSecond maximum number of messages sent per second; no limit if less than 1
+     */
+    public PooledMailSender(final JavaMailSender mailSender, final int maxIdle, final int messagesPerSecond) {
+        this.mailSender = mailSender;
+        this.idle = new LinkedBlockingQueue<>(Math.max(1, maxIdle));
+        this.interval = messagesPerSecond < 1 ? 0 : TimeUnit.SECONDS.toNanos(1) / messagesPerSecond;
+        this.nextSlot = System.nanoTime();
+    }
+
+    public MimeMessage createMimeMessage() {
+        return mailSender.createMimeMessage();
+    }
+
+    private void throttle() throws InterruptedException {
+        if (interval == 0) {
+            return;
+        }
+
+        long wait;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long slot = Math.max(nextSlot, now);
+            nextSlot = slot + interval;
+            wait = slot - now;
+        }
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    private Transport borrow(final JavaMailSenderImpl impl) throws MessagingException {
+        Transport transport;
+        while ((transport = idle.poll()) != null) {
+            if (transport.isConnected()) {
+                return transport;
+            }
+            close(transport);
+        }
+
+        transport = impl.getSession().getTransport(impl.getProtocol());
+        transport.connect(
+                impl.getHost(),
+                impl.getPort(),
+                StringUtils.isBlank(impl.getUsername()) ? null : impl.getUsername(),
+                StringUtils.isBlank(impl.getPassword()) ? null : impl.getPassword());
+        return transport;
+    }
+
+    private void close(final Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            LOG.debug("While closing SMTP connection", e);
+        }
+    }
+
+    /**
+     * Sends the given message, waiting if needed for the configured rate to be respected.
+     *
+     * @param message message to send
+     * @throws Exception if the message could not be sent
+     */
+    public void send(final MimeMessage message) throws Exception {
+        throttle();
+
+        if (!(mailSender instanceof JavaMailSenderImpl)) {
+            mailSender.send(message);
+            return;
+        }
+
+        Transport transport = borrow((JavaMailSenderImpl) mailSender);
+        boolean reusable = false;
+        try {
+            if (message.getSentDate() == null) {
+                message.setSentDate(new Date());
+            }
+            message.saveChanges();
+            transport.sendMessage(message, message.getAllRecipients());
+            reusable = true;
+        } finally {
+            if (!reusable || !idle.offer(transport)) {
+                close(transport);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        Transport transport;
+        while ((transport = idle.poll()) != null) {
+            close(transport);
+        }
+    }
+}
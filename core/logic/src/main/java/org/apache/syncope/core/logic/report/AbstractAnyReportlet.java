@@ -0,0 +1,274 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.logic.report;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.dao.AnyDAO;
+import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
+import org.apache.syncope.core.persistence.api.dao.DerSchemaDAO;
+import org.apache.syncope.core.persistence.api.dao.VirSchemaDAO;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
+import org.apache.syncope.core.persistence.api.entity.Any;
+import org.apache.syncope.core.persistence.api.entity.DerSchema;
+import org.apache.syncope.core.persistence.api.entity.PlainAttr;
+import org.apache.syncope.core.persistence.api.entity.VirSchema;
+import org.apache.syncope.core.persistence.api.entity.resource.ExternalResource;
+import org.apache.syncope.core.provisioning.api.DerAttrHandler;
+import org.apache.syncope.core.provisioning.api.VirAttrHandler;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.BeanFactoryAnnotationUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.AttributesImpl;
+
+/**
+ * Base class for reportlets walking through users, groups or any objects: entities are processed in chunks, found by
+ * keyset pagination over their keys; each chunk is read within its own read-only transaction, so that entities loaded
+ * for a chunk are released once processed and memory usage does not depend on the number of entities. Only attributes
+ * requested by configuration are evaluated.
+ */
+public abstract class AbstractAnyReportlet extends AbstractReportlet {
+
+    protected static final int CHUNK_SIZE = 1000;
+
+    /**
+     * Receives chunks of keys from {@link #doExtract(AnyDAO, SearchCond, AnyTypeKind, ChunkHandler)}.
+     */
+    protected interface ChunkHandler {
+
+        void handle(List<String> keys) throws SAXException;
+    }
+
+    @Autowired
+    protected AnySearchDAO searchDAO;
+
+    @Autowired
+    protected DerSchemaDAO derSchemaDAO;
+
+    @Autowired
+    protected VirSchemaDAO virSchemaDAO;
+
+    @Autowired
+    protected DerAttrHandler derAttrHandler;
+
+    @Autowired
+    protected VirAttrHandler virAttrHandler;
+
+    private int chunkSize = CHUNK_SIZE;
+
+    /**
+     * Walks through the keys of all entities matching the given condition, sorted by key.
+     *
+     * @param anyDAO DAO for the entities to walk through
+     * @param cond search condition; if null, all entities handled by anyDAO are considered
+     * @param anyTypeKind any type kind, for searching
+     * @param chunkHandler invoked for each chunk of keys, within a new read-only transaction
+     * @throws SAXException if thrown by chunkHandler
+     */
+    protected void doExtract(
+            final AnyDAO<?> anyDAO,
+            final SearchCond cond,
+            final AnyTypeKind anyTypeKind,
+            final ChunkHandler chunkHandler)
+            throws SAXException {
+
+        // the caller's persistence context is left untouched: entities loaded for each chunk belong to the
+        // chunk's own transaction, and are released when it completes
+        TransactionTemplate txTemplate = new TransactionTemplate(BeanFactoryAnnotationUtils.qualifiedBeanOfType(
+                ApplicationContextProvider.getBeanFactory(),
+                PlatformTransactionManager.class,
+                AuthContextUtils.getDomain()));
+        txTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        txTemplate.setReadOnly(true);
+
+        String lastKey = null;
+        List<String> keys;
+        do {
+            keys = cond == null
+                    ? anyDAO.findAllKeys(lastKey, chunkSize)
+                    : searchDAO.searchKeys(cond, lastKey, chunkSize, anyTypeKind);
+            if (!keys.isEmpty()) {
+                final List<String> chunk = keys;
+                SAXException error = txTemplate.execute(new TransactionCallback<SAXException>() {
+
+                    @Override
+                    public SAXException doInTransaction(final TransactionStatus status) {
+                        try {
+                            chunkHandler.handle(chunk);
+                            return null;
+                        } catch (SAXException e) {
+                            return e;
+                        }
+                    }
+                });
+                if (error != null) {
+                    throw error;
+                }
+
+                lastKey = keys.get(keys.size() - 1);
+            }
+        } while (!keys.isEmpty());
+    }
+
+    private void doExtractValues(final ContentHandler handler, final Collection<String> values)
+            throws SAXException {
+
+        for (String value : values) {
+            handler.startElement("", "", "value", null);
+            handler.characters(value.toCharArray(), 0, value.length());
+            handler.endElement("", "", "value");
+        }
+    }
+
+    protected void doExtractResources(
+            final ContentHandler handler, final Any<?> any, final Collection<? extends ExternalResource> resources)
+            throws SAXException {
+
+        if (resources.isEmpty()) {
+            LOG.debug("No resources found for {}[{}]", any.getClass().getSimpleName(), any.getKey());
+        } else {
+            AttributesImpl atts = new AttributesImpl();
+            handler.startElement("", "", "resources", null);
+
+            for (ExternalResource resource : resources) {
+                atts.clear();
+
+                atts.addAttribute("", "", ReportXMLConst.ATTR_NAME, ReportXMLConst.XSD_STRING, resource.getKey());
+                handler.startElement("", "", "resource", atts);
+                handler.endElement("", "", "resource");
+            }
+
+            handler.endElement("", "", "resources");
+        }
+    }
+
+    /**
+     * Looks up the given derived schemas; meant to be invoked once per chunk.
+     *
+     * @param derAttrs derived schema keys
+     * @return derived schemas, by key; null for schemas not found
+     */
+    protected Map<String, DerSchema> getDerSchemas(final Collection<String> derAttrs) {
+        Map<String, DerSchema> derSchemas = new LinkedHashMap<>(derAttrs.size());
+        for (String derAttr : derAttrs) {
+            derSchemas.put(derAttr, derSchemaDAO.find(derAttr));
+        }
+        return derSchemas;
+    }
+
+    /**
+     * Looks up the given virtual schemas; meant to be invoked once per chunk.
+     *
+     * @param virAttrs virtual schema keys
+     * @return virtual schemas, by key; null for schemas not found
+     */
+    protected Map<String, VirSchema> getVirSchemas(final Collection<String> virAttrs) {
+        Map<String, VirSchema> virSchemas = new LinkedHashMap<>(virAttrs.size());
+        for (String virAttr : virAttrs) {
+            virSchemas.put(virAttr, virSchemaDAO.find(virAttr));
+        }
+        return virSchemas;
+    }
+
+    protected void doExtractAttributes(
+            final ContentHandler handler,
+            final Any<?> any,
+            final Collection<String> plainAttrs,
+            final Map<String, DerSchema> derSchemas,
+            final Map<String, VirSchema> virSchemas)
+            throws SAXException {
+
+        AttributesImpl atts = new AttributesImpl();
+        if (!plainAttrs.isEmpty()) {
+            handler.startElement("", "", "attributes", null);
+            for (String attrName : plainAttrs) {
+                atts.clear();
+
+                atts.addAttribute("", "", ReportXMLConst.ATTR_NAME, ReportXMLConst.XSD_STRING, attrName);
+                handler.startElement("", "", "attribute", atts);
+
+                PlainAttr<?> attr = any.getPlainAttr(attrName);
+                if (attr == null) {
+                    LOG.debug("{} not found for {}[{}]", attrName, any.getClass().getSimpleName(), any.getKey());
+                } else {
+                    doExtractValues(handler, attr.getValuesAsStrings());
+                }
+
+                handler.endElement("", "", "attribute");
+            }
+            handler.endElement("", "", "attributes");
+        }
+
+        if (!derSchemas.isEmpty()) {
+            handler.startElement("", "", "derivedAttributes", null);
+            for (Map.Entry<String, DerSchema> entry : derSchemas.entrySet()) {
+                atts.clear();
+
+                atts.addAttribute("", "", ReportXMLConst.ATTR_NAME, ReportXMLConst.XSD_STRING, entry.getKey());
+                handler.startElement("", "", "derivedAttribute", atts);
+
+                String value = entry.getValue() == null
+                        ? null
+                        : derAttrHandler.getValue(any, entry.getValue());
+                if (value == null) {
+                    LOG.debug("{} not found for {}[{}]", entry.getKey(), any.getClass().getSimpleName(), any.getKey());
+                } else {
+                    doExtractValues(handler, Collections.singletonList(value));
+                }
+
+                handler.endElement("", "", "derivedAttribute");
+            }
+            handler.endElement("", "", "derivedAttributes");
+        }
+
+        if (!virSchemas.isEmpty()) {
+            handler.startElement("", "", "virtualAttributes", null);
+            for (Map.Entry<String, VirSchema> entry : virSchemas.entrySet()) {
+                atts.clear();
+
+                atts.addAttribute("", "", ReportXMLConst.ATTR_NAME, ReportXMLConst.XSD_STRING, entry.getKey());
+                handler.startElement("", "", "virtualAttribute", atts);
+
+                List<String> values = entry.getValue() == null
+                        ? Collections.<String>emptyList()
+                        : virAttrHandler.getValues(any, entry.getValue());
+                if (values.isEmpty()) {
+                    LOG.debug("{} not found for {}[{}]", entry.getKey(), any.getClass().getSimpleName(), any.getKey());
+                } else {
+                    doExtractValues(handler, values);
+                }
+
+                handler.endElement("", "", "virtualAttribute");
+            }
+            handler.endElement("", "", "virtualAttributes");
+        }
+    }
+}
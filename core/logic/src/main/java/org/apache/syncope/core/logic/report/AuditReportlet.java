@@ -18,8 +18,12 @@
  */
 package org.apache.syncope.core.logic.report;
 
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import javax.sql.DataSource;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.builder.ToStringBuilder;
@@ -32,7 +36,13 @@ import org.apache.syncope.core.provisioning.api.serialization.POJOHelper;
 import org.apache.syncope.core.persistence.api.DomainsHolder;
 import org.apache.syncope.core.persistence.api.dao.ReportletConfClass;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.xml.sax.ContentHandler;
 import org.xml.sax.SAXException;
 import org.xml.sax.helpers.AttributesImpl;
@@ -40,6 +50,10 @@ import org.xml.sax.helpers.AttributesImpl;
 @ReportletConfClass(AuditReportletConf.class)
 public class AuditReportlet extends AbstractReportlet {
 
+    private static final int FETCH_SIZE = 100;
+
+    private static final char LIKE_ESCAPE = '!';
+
     @Autowired
     private DomainsHolder domainsHolder;
 
@@ -47,77 +61,158 @@ public class AuditReportlet extends AbstractReportlet {
 
     private DataSource datasource;
 
-    private void doExtractConf(final ContentHandler handler) throws SAXException {
-        JdbcTemplate jdbcTemplate = new JdbcTemplate(datasource);
-        jdbcTemplate.setMaxRows(conf.getSize());
-        List<Map<String, Object>> rows = jdbcTemplate.
-                queryForList("SELECT * FROM SYNCOPEAUDIT ORDER BY EVENT_DATE DESC");
+    private void doExtractEvent(final ResultSet rs, final ContentHandler handler) throws SQLException, SAXException {
+        AuditEntry auditEntry = POJOHelper.deserialize(rs.getString("MESSAGE"), AuditEntry.class);
 
-        handler.startElement("", "", "events", null);
         AttributesImpl atts = new AttributesImpl();
-        for (Map<String, Object> row : rows) {
-            AuditEntry auditEntry = POJOHelper.deserialize(row.get("MESSAGE").toString(), AuditEntry.class);
+        if (StringUtils.isNotBlank(auditEntry.getWho())) {
+            atts.addAttribute("", "", "who", ReportXMLConst.XSD_STRING, auditEntry.getWho());
+        }
+        handler.startElement("", "", "event", atts);
 
-            atts.clear();
-            if (StringUtils.isNotBlank(auditEntry.getWho())) {
-                atts.addAttribute("", "", "who", ReportXMLConst.XSD_STRING, auditEntry.getWho());
-            }
-            handler.startElement("", "", "event", atts);
+        atts.clear();
+        if (StringUtils.isNotBlank(auditEntry.getLogger().getCategory())) {
+            atts.addAttribute("", "", "category",
+                    ReportXMLConst.XSD_STRING, auditEntry.getLogger().getCategory());
+        }
+        if (StringUtils.isNotBlank(auditEntry.getLogger().getSubcategory())) {
+            atts.addAttribute("", "", "subcategory",
+                    ReportXMLConst.XSD_STRING, auditEntry.getLogger().getSubcategory());
+        }
+        if (StringUtils.isNotBlank(auditEntry.getLogger().getEvent())) {
+            atts.addAttribute("", "", "event",
+                    ReportXMLConst.XSD_STRING, auditEntry.getLogger().getEvent());
+        }
+        if (auditEntry.getLogger().getResult() != null) {
+            atts.addAttribute("", "", "result",
+                    ReportXMLConst.XSD_STRING, auditEntry.getLogger().getResult().name());
+        }
+        handler.startElement("", "", "logger", atts);
+        handler.endElement("", "", "logger");
+
+        if (auditEntry.getBefore() != null) {
+            char[] before = ToStringBuilder.reflectionToString(
+                    auditEntry.getBefore(), ToStringStyle.MULTI_LINE_STYLE).toCharArray();
+            handler.startElement("", "", "before", null);
+            handler.characters(before, 0, before.length);
+            handler.endElement("", "", "before");
+        }
 
-            atts.clear();
-            if (StringUtils.isNotBlank(auditEntry.getLogger().getCategory())) {
-                atts.addAttribute("", "", "category",
-                        ReportXMLConst.XSD_STRING, auditEntry.getLogger().getCategory());
-            }
-            if (StringUtils.isNotBlank(auditEntry.getLogger().getSubcategory())) {
-                atts.addAttribute("", "", "subcategory",
-                        ReportXMLConst.XSD_STRING, auditEntry.getLogger().getSubcategory());
-            }
-            if (StringUtils.isNotBlank(auditEntry.getLogger().getEvent())) {
-                atts.addAttribute("", "", "event",
-                        ReportXMLConst.XSD_STRING, auditEntry.getLogger().getEvent());
-            }
-            if (auditEntry.getLogger().getResult() != null) {
-                atts.addAttribute("", "", "result",
-                        ReportXMLConst.XSD_STRING, auditEntry.getLogger().getResult().name());
-            }
-            handler.startElement("", "", "logger", atts);
-            handler.endElement("", "", "logger");
-
-            if (auditEntry.getBefore() != null) {
-                char[] before = ToStringBuilder.reflectionToString(
-                        auditEntry.getBefore(), ToStringStyle.MULTI_LINE_STYLE).toCharArray();
-                handler.startElement("", "", "before", null);
-                handler.characters(before, 0, before.length);
-                handler.endElement("", "", "before");
+        if (auditEntry.getInput() != null) {
+            handler.startElement("", "", "inputs", null);
+            for (Object inputObj : auditEntry.getInput()) {
+                char[] input = ToStringBuilder.reflectionToString(
+                        inputObj, ToStringStyle.MULTI_LINE_STYLE).toCharArray();
+                handler.startElement("", "", "input", null);
+                handler.characters(input, 0, input.length);
+                handler.endElement("", "", "input");
             }
+            handler.endElement("", "", "inputs");
+        }
 
-            if (auditEntry.getInput() != null) {
-                handler.startElement("", "", "inputs", null);
-                for (Object inputObj : auditEntry.getInput()) {
-                    char[] input = ToStringBuilder.reflectionToString(
-                            inputObj, ToStringStyle.MULTI_LINE_STYLE).toCharArray();
-                    handler.startElement("", "", "input", null);
-                    handler.characters(input, 0, input.length);
-                    handler.endElement("", "", "input");
-                }
-                handler.endElement("", "", "inputs");
-            }
+        if (auditEntry.getOutput() != null) {
+            char[] output = ToStringBuilder.reflectionToString(
+                    auditEntry.getOutput(), ToStringStyle.MULTI_LINE_STYLE).toCharArray();
+            handler.startElement("", "", "output", null);
+            handler.characters(output, 0, output.length);
+            handler.endElement("", "", "output");
+        }
 
-            if (auditEntry.getOutput() != null) {
-                char[] output = ToStringBuilder.reflectionToString(
-                        auditEntry.getOutput(), ToStringStyle.MULTI_LINE_STYLE).toCharArray();
-                handler.startElement("", "", "output", null);
-                handler.characters(output, 0, output.length);
-                handler.endElement("", "", "output");
+        handler.startElement("", "", "throwable", null);
+        String throwable = rs.getString("THROWABLE");
+        if (throwable != null) {
+            handler.characters(throwable.toCharArray(), 0, throwable.length());
+        }
+        handler.endElement("", "", "throwable");
+
+        handler.endElement("", "", "event");
+    }
+
+    private static String likePrefix(final String prefix, final boolean sqlServer) {
+        StringBuilder pattern = new StringBuilder();
+        for (char c : prefix.toCharArray()) {
+            // SQL Server also takes [ as wildcard, audit logger names being full of them
+            if (c == LIKE_ESCAPE || c == '%' || c == '_' || (sqlServer && c == '[')) {
+                pattern.append(LIKE_ESCAPE);
             }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
 
-            handler.startElement("", "", "throwable", null);
-            char[] throwable = row.get("THROWABLE").toString().toCharArray();
-            handler.characters(throwable, 0, throwable.length);
-            handler.endElement("", "", "throwable");
+    private String buildQuery(final List<Object> args, final boolean sqlServer) {
+        StringBuilder query = new StringBuilder("SELECT MESSAGE, THROWABLE FROM SYNCOPEAUDIT");
+        List<String> clauses = new ArrayList<>();
+        if (conf.getFrom() != null) {
+            clauses.add("EVENT_DATE >= ?");
+            args.add(new Timestamp(conf.getFrom().getTime()));
+        }
+        if (conf.getTo() != null) {
+            clauses.add("EVENT_DATE < ?");
+            args.add(new Timestamp(conf.getTo().getTime()));
+        }
+        if (StringUtils.isNotBlank(conf.getLogger())) {
+            clauses.add("LOGGER LIKE ? ESCAPE '" + LIKE_ESCAPE + "'");
+            args.add(likePrefix(conf.getLogger(), sqlServer));
+        }
+        if (!clauses.isEmpty()) {
+            query.append(" WHERE ").append(StringUtils.join(clauses, " AND "));
+        }
+        query.append(" ORDER BY EVENT_DATE DESC");
 
-            handler.endElement("", "", "event");
+        return query.toString();
+    }
+
+    private void doExtractConf(final ContentHandler handler) throws SAXException {
+        final JdbcTemplate jdbcTemplate = new JdbcTemplate(datasource);
+        jdbcTemplate.setMaxRows(conf.getSize());
+
+        // rows are read via forward-only cursor and sent to handler one by one, never held in memory altogether:
+        // this requires autocommit off with PostgreSQL, hence the read-only transaction
+        TransactionTemplate txTemplate = new TransactionTemplate(new DataSourceTransactionManager(datasource));
+        txTemplate.setReadOnly(true);
+
+        handler.startElement("", "", "events", null);
+        try {
+            txTemplate.execute(new TransactionCallbackWithoutResult() {
+
+                @Override
+                protected void doInTransactionWithoutResult(final TransactionStatus status) {
+                    String product = jdbcTemplate.execute(new ConnectionCallback<String>() {
+
+                        @Override
+                        public String doInConnection(final Connection connection) throws SQLException {
+                            return connection.getMetaData().getDatabaseProductName();
+                        }
+                    });
+
+                    // MySQL and MariaDB drivers only stream rows with this special fetch size
+                    jdbcTemplate.setFetchSize(StringUtils.containsIgnoreCase(product, "mysql")
+                            || StringUtils.containsIgnoreCase(product, "mariadb")
+                            ? Integer.MIN_VALUE
+                            : FETCH_SIZE);
+
+                    List<Object> args = new ArrayList<>();
+                    String query = buildQuery(args, StringUtils.containsIgnoreCase(product, "sql server"));
+
+                    jdbcTemplate.query(query, args.toArray(), new RowCallbackHandler() {
+
+                        @Override
+                        public void processRow(final ResultSet rs) throws SQLException {
+                            try {
+                                doExtractEvent(rs, handler);
+                            } catch (SAXException e) {
+                                throw new ReportException(e);
+                            }
+                        }
+                    });
+                }
+            });
+        } catch (ReportException e) {
+            if (e.getCause() instanceof SAXException) {
+                throw (SAXException) e.getCause();
+            }
+            throw e;
         }
         handler.endElement("", "", "events");
     }
@@ -18,156 +18,46 @@
  */
 package org.apache.syncope.core.logic.report;
 
-import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.report.GroupReportletConf;
 import org.apache.syncope.common.lib.report.GroupReportletConf.Feature;
 import org.apache.syncope.common.lib.report.ReportletConf;
-import org.apache.syncope.common.lib.to.AnyTO;
-import org.apache.syncope.common.lib.to.AttrTO;
-import org.apache.syncope.common.lib.to.GroupTO;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
-import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
+import org.apache.syncope.core.persistence.api.entity.DerSchema;
+import org.apache.syncope.core.persistence.api.entity.VirSchema;
 import org.apache.syncope.core.persistence.api.entity.group.Group;
 import org.apache.syncope.core.persistence.api.search.SearchCondConverter;
-import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
 import org.apache.syncope.core.persistence.api.dao.ReportletConfClass;
 import org.apache.syncope.core.persistence.api.entity.user.UMembership;
-import org.apache.syncope.core.provisioning.api.data.GroupDataBinder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.xml.sax.ContentHandler;
 import org.xml.sax.SAXException;
 import org.xml.sax.helpers.AttributesImpl;
 
 @ReportletConfClass(GroupReportletConf.class)
-public class GroupReportlet extends AbstractReportlet {
-
-    private static final int PAGE_SIZE = 10;
+public class GroupReportlet extends AbstractAnyReportlet {
 
     @Autowired
     private GroupDAO groupDAO;
 
-    @Autowired
-    private AnySearchDAO searchDAO;
-
-    @Autowired
-    private GroupDataBinder groupDataBinder;
-
     private GroupReportletConf conf;
 
-    private void doExtractResources(final ContentHandler handler, final AnyTO anyTO)
-            throws SAXException {
-
-        if (anyTO.getResources().isEmpty()) {
-            LOG.debug("No resources found for {}[{}]", anyTO.getClass().getSimpleName(), anyTO.getKey());
-        } else {
-            AttributesImpl atts = new AttributesImpl();
-            handler.startElement("", "", "resources", null);
-
-            for (String resourceName : anyTO.getResources()) {
-                atts.clear();
-
-                atts.addAttribute("", "", ReportXMLConst.ATTR_NAME, ReportXMLConst.XSD_STRING, resourceName);
-                handler.startElement("", "", "resource", atts);
-                handler.endElement("", "", "resource");
-            }
-
-            handler.endElement("", "", "resources");
-        }
-    }
-
-    private void doExtractAttributes(final ContentHandler handler, final AnyTO anyTO,
-            final Collection<String> attrs, final Collection<String> derAttrs, final Collection<String> virAttrs)
-            throws SAXException {
+    private void doExtract(final ContentHandler handler, final List<String> keys) throws SAXException {
+        Map<String, DerSchema> derSchemas = getDerSchemas(conf.getDerAttrs());
+        Map<String, VirSchema> virSchemas = getVirSchemas(conf.getVirAttrs());
 
         AttributesImpl atts = new AttributesImpl();
-        if (!attrs.isEmpty()) {
-            Map<String, AttrTO> attrMap = anyTO.getPlainAttrMap();
-
-            handler.startElement("", "", "attributes", null);
-            for (String attrName : attrs) {
-                atts.clear();
-
-                atts.addAttribute("", "", ReportXMLConst.ATTR_NAME, ReportXMLConst.XSD_STRING, attrName);
-                handler.startElement("", "", "attribute", atts);
-
-                if (attrMap.containsKey(attrName)) {
-                    for (String value : attrMap.get(attrName).getValues()) {
-                        handler.startElement("", "", "value", null);
-                        handler.characters(value.toCharArray(), 0, value.length());
-                        handler.endElement("", "", "value");
-                    }
-                } else {
-                    LOG.debug("{} not found for {}[{}]", attrName,
-                            anyTO.getClass().getSimpleName(), anyTO.getKey());
-                }
-
-                handler.endElement("", "", "attribute");
-            }
-            handler.endElement("", "", "attributes");
-        }
-
-        if (!derAttrs.isEmpty()) {
-            Map<String, AttrTO> derAttrMap = anyTO.getDerAttrMap();
-
-            handler.startElement("", "", "derivedAttributes", null);
-            for (String attrName : derAttrs) {
-                atts.clear();
-
-                atts.addAttribute("", "", ReportXMLConst.ATTR_NAME, ReportXMLConst.XSD_STRING, attrName);
-                handler.startElement("", "", "derivedAttribute", atts);
-
-                if (derAttrMap.containsKey(attrName)) {
-                    for (String value : derAttrMap.get(attrName).getValues()) {
-                        handler.startElement("", "", "value", null);
-                        handler.characters(value.toCharArray(), 0, value.length());
-                        handler.endElement("", "", "value");
-                    }
-                } else {
-                    LOG.debug("{} not found for {}[{}]", attrName,
-                            anyTO.getClass().getSimpleName(), anyTO.getKey());
-                }
-
-                handler.endElement("", "", "derivedAttribute");
-            }
-            handler.endElement("", "", "derivedAttributes");
-        }
-
-        if (!virAttrs.isEmpty()) {
-            Map<String, AttrTO> virAttrMap = anyTO.getVirAttrMap();
-
-            handler.startElement("", "", "virtualAttributes", null);
-            for (String attrName : virAttrs) {
-                atts.clear();
-
-                atts.addAttribute("", "", ReportXMLConst.ATTR_NAME, ReportXMLConst.XSD_STRING, attrName);
-                handler.startElement("", "", "virtualAttribute", atts);
-
-                if (virAttrMap.containsKey(attrName)) {
-                    for (String value : virAttrMap.get(attrName).getValues()) {
-                        handler.startElement("", "", "value", null);
-                        handler.characters(value.toCharArray(), 0, value.length());
-                        handler.endElement("", "", "value");
-                    }
-                } else {
-                    LOG.debug("{} not found for {}[{}]", attrName,
-                            anyTO.getClass().getSimpleName(), anyTO.getKey());
-                }
-
-                handler.endElement("", "", "virtualAttribute");
+        for (String key : keys) {
+            Group group = groupDAO.find(key);
+            if (group == null) {
+                LOG.debug("Group {} not found, removed meanwhile?", key);
+                continue;
             }
-            handler.endElement("", "", "virtualAttributes");
-        }
-    }
 
-    private void doExtract(final ContentHandler handler, final List<Group> groups) throws SAXException {
-        AttributesImpl atts = new AttributesImpl();
-        for (Group group : groups) {
             atts.clear();
 
             for (Feature feature : conf.getFeatures()) {
@@ -186,12 +76,12 @@ public class GroupReportlet extends AbstractReportlet {
 
                     case groupOwner:
                         type = ReportXMLConst.XSD_STRING;
-                        value = group.getGroupOwner().getKey();
+                        value = group.getGroupOwner() == null ? null : group.getGroupOwner().getKey();
                         break;
 
                     case userOwner:
                         type = ReportXMLConst.XSD_STRING;
-                        value = group.getUserOwner().getKey();
+                        value = group.getUserOwner() == null ? null : group.getUserOwner().getKey();
                         break;
 
                     default:
@@ -204,17 +94,13 @@ public class GroupReportlet extends AbstractReportlet {
 
             handler.startElement("", "", "group", atts);
 
-            // Using GroupTO for attribute values, since the conversion logic of
-            // values to String is already encapsulated there
-            GroupTO groupTO = groupDataBinder.getGroupTO(group, true);
-
-            doExtractAttributes(handler, groupTO, conf.getPlainAttrs(), conf.getDerAttrs(), conf.getVirAttrs());
+            doExtractAttributes(handler, group, conf.getPlainAttrs(), derSchemas, virSchemas);
 
             // to get resources associated to a group
             if (conf.getFeatures().contains(Feature.resources)) {
-                doExtractResources(handler, groupTO);
+                doExtractResources(handler, group, group.getResources());
             }
-            //to get users asscoiated to a group is preferred GroupDAO to GroupTO
+            // to get users associated to a group
             if (conf.getFeatures().contains(Feature.users)) {
                 handler.startElement("", "", "users", null);
 
@@ -280,13 +166,6 @@ public class GroupReportlet extends AbstractReportlet {
         handler.endElement("", "", "configurations");
     }
 
-    private int count() {
-        return StringUtils.isBlank(conf.getMatchingCond())
-                ? groupDAO.count()
-                : searchDAO.count(SyncopeConstants.FULL_ADMIN_REALMS,
-                        SearchCondConverter.convert(conf.getMatchingCond()), AnyTypeKind.GROUP);
-    }
-
     @Override
     protected void doExtract(final ReportletConf conf, final ContentHandler handler) throws SAXException {
         if (conf instanceof GroupReportletConf) {
@@ -297,15 +176,15 @@ public class GroupReportlet extends AbstractReportlet {
 
         doExtractConf(handler);
 
-        if (StringUtils.isBlank(this.conf.getMatchingCond())) {
-            doExtract(handler, groupDAO.findAll());
-        } else {
-            for (int page = 1; page <= (count() / PAGE_SIZE) + 1; page++) {
-                List<Group> groups = searchDAO.search(SyncopeConstants.FULL_ADMIN_REALMS,
-                        SearchCondConverter.convert(this.conf.getMatchingCond()),
-                        page, PAGE_SIZE, Collections.<OrderByClause>emptyList(), AnyTypeKind.GROUP);
-                doExtract(handler, groups);
+        SearchCond cond = StringUtils.isBlank(this.conf.getMatchingCond())
+                ? null
+                : SearchCondConverter.convert(this.conf.getMatchingCond());
+        doExtract(groupDAO, cond, AnyTypeKind.GROUP, new ChunkHandler() {
+
+            @Override
+            public void handle(final List<String> keys) throws SAXException {
+                doExtract(handler, keys);
             }
-        }
+        });
     }
 }
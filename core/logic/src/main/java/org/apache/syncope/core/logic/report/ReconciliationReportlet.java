@@ -37,19 +37,18 @@ import org.apache.syncope.common.lib.report.ReportletConf;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.core.persistence.api.search.SearchCondConverter;
 import org.apache.syncope.core.provisioning.api.utils.FormatUtils;
-import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
+import org.apache.syncope.core.persistence.api.dao.AnyDAO;
+import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
 import org.apache.syncope.core.persistence.api.dao.AnyTypeDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
 import org.apache.syncope.core.persistence.api.dao.ReportletConfClass;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
 import org.apache.syncope.core.persistence.api.dao.search.AnyTypeCond;
-import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.Any;
 import org.apache.syncope.core.persistence.api.entity.AnyType;
 import org.apache.syncope.core.persistence.api.entity.AnyUtils;
 import org.apache.syncope.core.persistence.api.entity.AnyUtilsFactory;
-import org.apache.syncope.core.persistence.api.entity.anyobject.AnyObject;
 import org.apache.syncope.core.persistence.api.entity.group.Group;
 import org.apache.syncope.core.persistence.api.entity.resource.ExternalResource;
 import org.apache.syncope.core.persistence.api.entity.resource.MappingItem;
@@ -75,9 +74,7 @@ import org.xml.sax.helpers.AttributesImpl;
  * information and mapped entities on external resources.
  */
 @ReportletConfClass(ReconciliationReportletConf.class)
-public class ReconciliationReportlet extends AbstractReportlet {
-
-    private static final int PAGE_SIZE = 10;
+public class ReconciliationReportlet extends AbstractAnyReportlet {
 
     @Autowired
     private UserDAO userDAO;
@@ -86,10 +83,10 @@ public class ReconciliationReportlet extends AbstractReportlet {
     private GroupDAO groupDAO;
 
     @Autowired
-    private AnyTypeDAO anyTypeDAO;
+    private AnyObjectDAO anyObjectDAO;
 
     @Autowired
-    private AnySearchDAO searchDAO;
+    private AnyTypeDAO anyTypeDAO;
 
     @Autowired
     private MappingManager mappingManager;
@@ -275,13 +272,19 @@ public class ReconciliationReportlet extends AbstractReportlet {
         return values;
     }
 
-    private void doExtract(final ContentHandler handler, final List<? extends Any<?>> anys)
+    private void doExtract(final ContentHandler handler, final AnyDAO<?> anyDAO, final List<String> keys)
             throws SAXException, ReportException {
 
         final Set<Missing> missing = new HashSet<>();
         final Set<Misaligned> misaligned = new HashSet<>();
 
-        for (Any<?> any : anys) {
+        for (String key : keys) {
+            Any<?> any = anyDAO.find(key);
+            if (any == null) {
+                LOG.debug("{} not found, removed meanwhile?", key);
+                continue;
+            }
+
             missing.clear();
             misaligned.clear();
 
@@ -372,20 +375,19 @@ public class ReconciliationReportlet extends AbstractReportlet {
     }
 
     private void doExtract(
-            final ContentHandler handler, final int count, final SearchCond cond, final AnyTypeKind anyTypeKind)
+            final ContentHandler handler,
+            final AnyDAO<?> anyDAO,
+            final SearchCond cond,
+            final AnyTypeKind anyTypeKind)
             throws SAXException {
 
-        for (int page = 1; page <= (count / PAGE_SIZE) + 1; page++) {
-            List<AnyObject> anys = searchDAO.search(
-                    SyncopeConstants.FULL_ADMIN_REALMS,
-                    cond,
-                    page,
-                    PAGE_SIZE,
-                    Collections.<OrderByClause>emptyList(),
-                    anyTypeKind);
+        doExtract(anyDAO, cond, anyTypeKind, new ChunkHandler() {
 
-            doExtract(handler, anys);
-        }
+            @Override
+            public void handle(final List<String> keys) throws SAXException {
+                doExtract(handler, anyDAO, keys);
+            }
+        });
     }
 
     @Override
@@ -402,7 +404,7 @@ public class ReconciliationReportlet extends AbstractReportlet {
             atts.addAttribute("", "", "total", ReportXMLConst.XSD_INT, String.valueOf(userDAO.count()));
             handler.startElement("", "", getAnyElementName(AnyTypeKind.USER) + "s", atts);
 
-            doExtract(handler, userDAO.findAll());
+            doExtract(handler, userDAO, null, AnyTypeKind.USER);
         } else {
             SearchCond cond = SearchCondConverter.convert(this.conf.getUserMatchingCond());
 
@@ -410,7 +412,7 @@ public class ReconciliationReportlet extends AbstractReportlet {
             atts.addAttribute("", "", "total", ReportXMLConst.XSD_INT, String.valueOf(count));
             handler.startElement("", "", getAnyElementName(AnyTypeKind.USER) + "s", atts);
 
-            doExtract(handler, count, cond, AnyTypeKind.USER);
+            doExtract(handler, userDAO, cond, AnyTypeKind.USER);
         }
         handler.endElement("", "", getAnyElementName(AnyTypeKind.USER) + "s");
 
@@ -419,15 +421,15 @@ public class ReconciliationReportlet extends AbstractReportlet {
             atts.addAttribute("", "", "total", ReportXMLConst.XSD_INT, String.valueOf(groupDAO.count()));
             handler.startElement("", "", getAnyElementName(AnyTypeKind.GROUP) + "s", atts);
 
-            doExtract(handler, groupDAO.findAll());
+            doExtract(handler, groupDAO, null, AnyTypeKind.GROUP);
         } else {
-            SearchCond cond = SearchCondConverter.convert(this.conf.getUserMatchingCond());
+            SearchCond cond = SearchCondConverter.convert(this.conf.getGroupMatchingCond());
 
             int count = searchDAO.count(SyncopeConstants.FULL_ADMIN_REALMS, cond, AnyTypeKind.GROUP);
             atts.addAttribute("", "", "total", ReportXMLConst.XSD_INT, String.valueOf(count));
             handler.startElement("", "", getAnyElementName(AnyTypeKind.GROUP) + "s", atts);
 
-            doExtract(handler, count, cond, AnyTypeKind.GROUP);
+            doExtract(handler, groupDAO, cond, AnyTypeKind.GROUP);
         }
         handler.endElement("", "", getAnyElementName(AnyTypeKind.GROUP) + "s");
 
@@ -448,7 +450,7 @@ public class ReconciliationReportlet extends AbstractReportlet {
                 atts.addAttribute("", "", "total", ReportXMLConst.XSD_INT, String.valueOf(count));
                 handler.startElement("", "", getAnyElementName(AnyTypeKind.ANY_OBJECT) + "s", atts);
 
-                doExtract(handler, count, cond, AnyTypeKind.ANY_OBJECT);
+                doExtract(handler, anyObjectDAO, cond, AnyTypeKind.ANY_OBJECT);
 
                 handler.endElement("", "", getAnyElementName(AnyTypeKind.ANY_OBJECT) + "s");
             }
@@ -18,8 +18,10 @@
  */
 package org.apache.syncope.core.logic.report;
 
-import java.io.ByteArrayOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.Date;
 import java.util.zip.Deflater;
 import java.util.zip.ZipEntry;
@@ -29,7 +31,9 @@ import javax.xml.transform.Transformer;
 import javax.xml.transform.sax.SAXTransformerFactory;
 import javax.xml.transform.sax.TransformerHandler;
 import javax.xml.transform.stream.StreamResult;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.DeferredFileOutputStream;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.report.ReportletConf;
 import org.apache.syncope.common.lib.types.ReportExecStatus;
@@ -56,6 +60,11 @@ public class ReportJobDelegate {
 
     private static final Logger LOG = LoggerFactory.getLogger(ReportJobDelegate.class);
 
+    /**
+     * Size (in bytes) above which report output is spooled to a temporary file rather than kept in memory.
+     */
+    private static final int IN_MEMORY_THRESHOLD = 1024 * 1024;
+
     /**
      * Report DAO.
      */
@@ -99,8 +108,10 @@ public class ReportJobDelegate {
         // 2. define a SAX handler for generating result as XML
         TransformerHandler handler;
 
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        ZipOutputStream zos = new ZipOutputStream(baos);
+        // report output is kept in memory up to a threshold, then spooled to a temporary file
+        DeferredFileOutputStream dfos = new DeferredFileOutputStream(
+                IN_MEMORY_THRESHOLD, "report-" + execution.getKey(), ".zip", null);
+        ZipOutputStream zos = new ZipOutputStream(dfos);
         zos.setLevel(Deflater.BEST_COMPRESSION);
         try {
             SAXTransformerFactory tFactory = (SAXTransformerFactory) SAXTransformerFactory.newInstance();
@@ -113,7 +124,7 @@ public class ReportJobDelegate {
             // a single ZipEntry in the ZipOutputStream
             zos.putNextEntry(new ZipEntry(report.getName()));
 
-            // streaming SAX handler in a compressed byte array stream
+            // streaming SAX handler in a compressed stream
             handler.setResult(new StreamResult(zos));
         } catch (Exception e) {
             throw new JobExecutionException("While configuring for SAX generation", e, true);
@@ -184,15 +195,29 @@ public class ReportJobDelegate {
             try {
                 zos.closeEntry();
                 IOUtils.closeQuietly(zos);
-                IOUtils.closeQuietly(baos);
+                IOUtils.closeQuietly(dfos);
             } catch (IOException e) {
                 LOG.error("While closing StreamResult's backend", e);
             }
 
-            execution.setExecResult(baos.toByteArray());
             execution.setMessage(reportExecutionMessage.toString());
             execution.setEnd(new Date());
-            reportExecDAO.save(execution);
+            execution = reportExecDAO.save(execution);
+
+            InputStream execResult = null;
+            try {
+                execResult = dfos.isInMemory()
+                        ? new ByteArrayInputStream(dfos.getData())
+                        : new FileInputStream(dfos.getFile());
+                reportExecDAO.setExecResult(execution.getKey(), execResult);
+            } catch (IOException e) {
+                LOG.error("While storing result of {}", execution, e);
+            } finally {
+                IOUtils.closeQuietly(execResult);
+                if (dfos.getFile() != null) {
+                    FileUtils.deleteQuietly(dfos.getFile());
+                }
+            }
         }
     }
 }
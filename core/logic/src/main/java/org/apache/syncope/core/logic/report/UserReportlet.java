@@ -18,168 +18,52 @@
  */
 package org.apache.syncope.core.logic.report;
 
-import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.report.ReportletConf;
 import org.apache.syncope.common.lib.report.UserReportletConf;
 import org.apache.syncope.common.lib.report.UserReportletConf.Feature;
-import org.apache.syncope.common.lib.to.AnyTO;
-import org.apache.syncope.common.lib.to.AttrTO;
-import org.apache.syncope.common.lib.to.MembershipTO;
-import org.apache.syncope.common.lib.to.RelationshipTO;
-import org.apache.syncope.common.lib.to.UserTO;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
-import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
+import org.apache.syncope.core.persistence.api.entity.DerSchema;
+import org.apache.syncope.core.persistence.api.entity.VirSchema;
 import org.apache.syncope.core.persistence.api.entity.user.User;
 import org.apache.syncope.core.persistence.api.search.SearchCondConverter;
 import org.apache.syncope.core.provisioning.api.utils.FormatUtils;
-import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
 import org.apache.syncope.core.persistence.api.dao.ReportletConfClass;
 import org.apache.syncope.core.persistence.api.entity.user.UMembership;
 import org.apache.syncope.core.persistence.api.entity.user.URelationship;
-import org.apache.syncope.core.provisioning.api.data.AnyObjectDataBinder;
-import org.apache.syncope.core.provisioning.api.data.GroupDataBinder;
-import org.apache.syncope.core.provisioning.api.data.UserDataBinder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.xml.sax.ContentHandler;
 import org.xml.sax.SAXException;
 import org.xml.sax.helpers.AttributesImpl;
 
 @ReportletConfClass(UserReportletConf.class)
-public class UserReportlet extends AbstractReportlet {
-
-    private static final int PAGE_SIZE = 10;
+public class UserReportlet extends AbstractAnyReportlet {
 
     @Autowired
     private UserDAO userDAO;
 
     @Autowired
-    private AnySearchDAO searchDAO;
-
-    @Autowired
-    private UserDataBinder userDataBinder;
-
-    @Autowired
-    private GroupDataBinder groupDataBinder;
-
-    @Autowired
-    private AnyObjectDataBinder anyObjectDataBinder;
+    private AnyObjectDAO anyObjectDAO;
 
     private UserReportletConf conf;
 
-    private void doExtractResources(final ContentHandler handler, final AnyTO anyTO)
-            throws SAXException {
-
-        if (anyTO.getResources().isEmpty()) {
-            LOG.debug("No resources found for {}[{}]", anyTO.getClass().getSimpleName(), anyTO.getKey());
-        } else {
-            AttributesImpl atts = new AttributesImpl();
-            handler.startElement("", "", "resources", null);
-
-            for (String resourceName : anyTO.getResources()) {
-                atts.clear();
-
-                atts.addAttribute("", "", ReportXMLConst.ATTR_NAME, ReportXMLConst.XSD_STRING, resourceName);
-                handler.startElement("", "", "resource", atts);
-                handler.endElement("", "", "resource");
-            }
-
-            handler.endElement("", "", "resources");
-        }
-    }
-
-    private void doExtractAttributes(final ContentHandler handler, final AnyTO anyTO,
-            final Collection<String> attrs, final Collection<String> derAttrs, final Collection<String> virAttrs)
-            throws SAXException {
+    private void doExtract(final ContentHandler handler, final List<String> keys) throws SAXException {
+        Map<String, DerSchema> derSchemas = getDerSchemas(conf.getDerAttrs());
+        Map<String, VirSchema> virSchemas = getVirSchemas(conf.getVirAttrs());
 
         AttributesImpl atts = new AttributesImpl();
-        if (!attrs.isEmpty()) {
-            Map<String, AttrTO> attrMap = anyTO.getPlainAttrMap();
-
-            handler.startElement("", "", "attributes", null);
-            for (String attrName : attrs) {
-                atts.clear();
-
-                atts.addAttribute("", "", ReportXMLConst.ATTR_NAME, ReportXMLConst.XSD_STRING, attrName);
-                handler.startElement("", "", "attribute", atts);
-
-                if (attrMap.containsKey(attrName)) {
-                    for (String value : attrMap.get(attrName).getValues()) {
-                        handler.startElement("", "", "value", null);
-                        handler.characters(value.toCharArray(), 0, value.length());
-                        handler.endElement("", "", "value");
-                    }
-                } else {
-                    LOG.debug("{} not found for {}[{}]", attrName,
-                            anyTO.getClass().getSimpleName(), anyTO.getKey());
-                }
-
-                handler.endElement("", "", "attribute");
+        for (String key : keys) {
+            User user = userDAO.find(key);
+            if (user == null) {
+                LOG.debug("User {} not found, removed meanwhile?", key);
+                continue;
             }
-            handler.endElement("", "", "attributes");
-        }
-
-        if (!derAttrs.isEmpty()) {
-            Map<String, AttrTO> derAttrMap = anyTO.getDerAttrMap();
-
-            handler.startElement("", "", "derivedAttributes", null);
-            for (String attrName : derAttrs) {
-                atts.clear();
 
-                atts.addAttribute("", "", ReportXMLConst.ATTR_NAME, ReportXMLConst.XSD_STRING, attrName);
-                handler.startElement("", "", "derivedAttribute", atts);
-
-                if (derAttrMap.containsKey(attrName)) {
-                    for (String value : derAttrMap.get(attrName).getValues()) {
-                        handler.startElement("", "", "value", null);
-                        handler.characters(value.toCharArray(), 0, value.length());
-                        handler.endElement("", "", "value");
-                    }
-                } else {
-                    LOG.debug("{} not found for {}[{}]", attrName,
-                            anyTO.getClass().getSimpleName(), anyTO.getKey());
-                }
-
-                handler.endElement("", "", "derivedAttribute");
-            }
-            handler.endElement("", "", "derivedAttributes");
-        }
-
-        if (!virAttrs.isEmpty()) {
-            Map<String, AttrTO> virAttrMap = anyTO.getVirAttrMap();
-
-            handler.startElement("", "", "virtualAttributes", null);
-            for (String attrName : virAttrs) {
-                atts.clear();
-
-                atts.addAttribute("", "", ReportXMLConst.ATTR_NAME, ReportXMLConst.XSD_STRING, attrName);
-                handler.startElement("", "", "virtualAttribute", atts);
-
-                if (virAttrMap.containsKey(attrName)) {
-                    for (String value : virAttrMap.get(attrName).getValues()) {
-                        handler.startElement("", "", "value", null);
-                        handler.characters(value.toCharArray(), 0, value.length());
-                        handler.endElement("", "", "value");
-                    }
-                } else {
-                    LOG.debug("{} not found for {}[{}]", attrName,
-                            anyTO.getClass().getSimpleName(), anyTO.getKey());
-                }
-
-                handler.endElement("", "", "virtualAttribute");
-            }
-            handler.endElement("", "", "virtualAttributes");
-        }
-    }
-
-    private void doExtract(final ContentHandler handler, final List<User> users) throws SAXException {
-        AttributesImpl atts = new AttributesImpl();
-        for (User user : users) {
             atts.clear();
 
             for (Feature feature : conf.getFeatures()) {
@@ -247,27 +131,21 @@ public class UserReportlet extends AbstractReportlet {
 
             handler.startElement("", "", "user", atts);
 
-            // Using UserTO for attribute values, since the conversion logic of
-            // values to String is already encapsulated there
-            UserTO userTO = userDataBinder.getUserTO(user, true);
-
-            doExtractAttributes(handler, userTO, conf.getPlainAttrs(), conf.getDerAttrs(), conf.getVirAttrs());
+            doExtractAttributes(handler, user, conf.getPlainAttrs(), derSchemas, virSchemas);
 
             if (conf.getFeatures().contains(Feature.relationships)) {
                 handler.startElement("", "", "relationships", null);
 
-                for (RelationshipTO rel : userTO.getRelationships()) {
+                for (URelationship rel : user.getRelationships()) {
                     atts.clear();
 
                     atts.addAttribute("", "", "anyObjectKey",
-                            ReportXMLConst.XSD_STRING, rel.getRightKey());
+                            ReportXMLConst.XSD_STRING, rel.getRightEnd().getKey());
                     handler.startElement("", "", "relationship", atts);
 
                     if (conf.getFeatures().contains(Feature.resources)) {
-                        for (URelationship actualRel : user.getRelationships(rel.getRightKey())) {
-                            doExtractResources(
-                                    handler, anyObjectDataBinder.getAnyObjectTO(actualRel.getRightEnd(), true));
-                        }
+                        doExtractResources(
+                                handler, rel.getRightEnd(), anyObjectDAO.findAllResources(rel.getRightEnd()));
                     }
 
                     handler.endElement("", "", "relationship");
@@ -278,22 +156,17 @@ public class UserReportlet extends AbstractReportlet {
             if (conf.getFeatures().contains(Feature.memberships)) {
                 handler.startElement("", "", "memberships", null);
 
-                for (MembershipTO memb : userTO.getMemberships()) {
+                for (UMembership memb : user.getMemberships()) {
                     atts.clear();
 
                     atts.addAttribute("", "", "groupKey",
-                            ReportXMLConst.XSD_STRING, memb.getRightKey());
-                    atts.addAttribute("", "", "groupName", ReportXMLConst.XSD_STRING, memb.getGroupName());
+                            ReportXMLConst.XSD_STRING, memb.getRightEnd().getKey());
+                    atts.addAttribute("", "", "groupName",
+                            ReportXMLConst.XSD_STRING, memb.getRightEnd().getName());
                     handler.startElement("", "", "membership", atts);
 
                     if (conf.getFeatures().contains(Feature.resources)) {
-                        UMembership actualMemb = user.getMembership(memb.getRightKey());
-                        if (actualMemb == null) {
-                            LOG.warn("Unexpected: cannot find membership for group {} for user {}",
-                                    memb.getRightKey(), user);
-                        } else {
-                            doExtractResources(handler, groupDataBinder.getGroupTO(actualMemb.getRightEnd(), true));
-                        }
+                        doExtractResources(handler, memb.getRightEnd(), memb.getRightEnd().getResources());
                     }
 
                     handler.endElement("", "", "membership");
@@ -303,7 +176,7 @@ public class UserReportlet extends AbstractReportlet {
             }
 
             if (conf.getFeatures().contains(Feature.resources)) {
-                doExtractResources(handler, userTO);
+                doExtractResources(handler, user, userDAO.findAllResources(user));
             }
 
             handler.endElement("", "", "user");
@@ -347,13 +220,6 @@ public class UserReportlet extends AbstractReportlet {
         handler.endElement("", "", "configurations");
     }
 
-    private int count() {
-        return StringUtils.isBlank(conf.getMatchingCond())
-                ? userDAO.count()
-                : searchDAO.count(SyncopeConstants.FULL_ADMIN_REALMS,
-                        SearchCondConverter.convert(conf.getMatchingCond()), AnyTypeKind.USER);
-    }
-
     @Override
     protected void doExtract(final ReportletConf conf, final ContentHandler handler) throws SAXException {
         if (conf instanceof UserReportletConf) {
@@ -364,15 +230,15 @@ public class UserReportlet extends AbstractReportlet {
 
         doExtractConf(handler);
 
-        if (StringUtils.isBlank(this.conf.getMatchingCond())) {
-            doExtract(handler, userDAO.findAll());
-        } else {
-            for (int page = 1; page <= (count() / PAGE_SIZE) + 1; page++) {
-                List<User> users = searchDAO.search(SyncopeConstants.FULL_ADMIN_REALMS,
-                        SearchCondConverter.convert(this.conf.getMatchingCond()),
-                        page, PAGE_SIZE, Collections.<OrderByClause>emptyList(), AnyTypeKind.USER);
-                doExtract(handler, users);
+        SearchCond cond = StringUtils.isBlank(this.conf.getMatchingCond())
+                ? null
+                : SearchCondConverter.convert(this.conf.getMatchingCond());
+        doExtract(userDAO, cond, AnyTypeKind.USER, new ChunkHandler() {
+
+            @Override
+            public void handle(final List<String> keys) throws SAXException {
+                doExtract(handler, keys);
             }
-        }
+        });
     }
 }
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.logic.notification;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import org.junit.Test;
+
+public class NotificationMetricsTest {
+
+    @Test
+    public void run() {
+        NotificationMetrics metrics = new NotificationMetrics();
+
+        metrics.runStarted(3);
+        assertEquals(3, metrics.getBacklog());
+
+        metrics.sent();
+        metrics.taskExecuted();
+        metrics.sent();
+        metrics.notSent();
+        metrics.taskExecuted();
+
+        Map<String, Long> current = metrics.getMetrics();
+        assertEquals(1L, current.get("notification.backlog").longValue());
+        assertEquals(2L, current.get("notification.sent").longValue());
+        assertEquals(1L, current.get("notification.notSent").longValue());
+
+        metrics.runEnded();
+        assertEquals(0, metrics.getBacklog());
+        assertTrue(metrics.getThroughput() > 0);
+        assertTrue(metrics.getMetrics().get("notification.throughputPerMinute") > 0);
+    }
+}
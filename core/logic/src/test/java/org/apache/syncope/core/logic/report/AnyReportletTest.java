@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.logic.report;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javax.xml.transform.sax.SAXTransformerFactory;
+import javax.xml.transform.sax.TransformerHandler;
+import javax.xml.transform.stream.StreamResult;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.syncope.common.lib.report.GroupReportletConf;
+import org.apache.syncope.common.lib.report.ReconciliationReportletConf;
+import org.apache.syncope.common.lib.report.ReportletConf;
+import org.apache.syncope.common.lib.report.UserReportletConf;
+import org.apache.syncope.core.logic.AbstractTest;
+import org.apache.syncope.core.persistence.api.dao.GroupDAO;
+import org.apache.syncope.core.persistence.api.dao.Reportlet;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.provisioning.api.Connector;
+import org.apache.syncope.core.provisioning.api.ConnectorFactory;
+import org.apache.syncope.core.provisioning.api.utils.FormatUtils;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Verifies that walking through entities in several chunks yields the same report as reading all of them at once.
+ */
+@Transactional("Master")
+public class AnyReportletTest extends AbstractTest {
+
+    @Autowired
+    private UserDAO userDAO;
+
+    @Autowired
+    private GroupDAO groupDAO;
+
+    private Reportlet reportlet(final Class<? extends Reportlet> reportletClass, final int chunkSize) {
+        Reportlet reportlet = (Reportlet) ApplicationContextProvider.getBeanFactory().
+                createBean(reportletClass, AbstractBeanDefinition.AUTOWIRE_BY_TYPE, false);
+        Object target = AopTestUtils.getTargetObject(reportlet);
+        ReflectionTestUtils.setField(target, "chunkSize", chunkSize);
+        return reportlet;
+    }
+
+    private String extract(final Reportlet reportlet, final ReportletConf conf) throws Exception {
+        // formatting with a conversion pattern changes the thread's date format: start from the default one
+        FormatUtils.clear();
+
+        StringWriter writer = new StringWriter();
+
+        TransformerHandler handler = ((SAXTransformerFactory) SAXTransformerFactory.newInstance()).
+                newTransformerHandler();
+        handler.setResult(new StreamResult(writer));
+        handler.startDocument();
+        reportlet.extract(conf, handler);
+        handler.endDocument();
+
+        return writer.toString();
+    }
+
+    private String extract(final Class<? extends Reportlet> reportletClass, final int chunkSize, final ReportletConf conf)
+            throws Exception {
+
+        return extract(reportlet(reportletClass, chunkSize), conf);
+    }
+
+    /**
+     * Missing and misaligned items are collected into hash sets, so their order is not significant.
+     *
+     * @param report reconciliation report
+     * @return the given report, with items sorted within each any
+     */
+    private String sortItems(final String report) {
+        StringBuilder sorted = new StringBuilder();
+        List<String> items = new ArrayList<>();
+        for (String element : report.split("(?=<)")) {
+            if (element.startsWith("<missing") || element.startsWith("<misaligned")) {
+                items.add(element);
+            } else {
+                Collections.sort(items);
+                for (String item : items) {
+                    sorted.append(item);
+                }
+                items.clear();
+
+                sorted.append(element);
+            }
+        }
+        return sorted.toString();
+    }
+
+    @Test
+    public void users() throws Exception {
+        UserReportletConf conf = new UserReportletConf("users");
+        conf.getFeatures().addAll(Arrays.asList(UserReportletConf.Feature.values()));
+        conf.getPlainAttrs().add("fullname");
+        conf.getPlainAttrs().add("surname");
+        conf.getDerAttrs().add("cn");
+
+        User rossini = userDAO.findByUsername("rossini");
+
+        String single = extract(UserReportlet.class, AbstractAnyReportlet.CHUNK_SIZE, conf);
+        String chunked = extract(UserReportlet.class, 2, conf);
+        assertEquals(single, chunked);
+        assertEquals(userDAO.count(), StringUtils.countMatches(chunked, "<user "));
+
+        // the caller's persistence context is left untouched
+        assertSame(rossini, userDAO.findByUsername("rossini"));
+
+        // page size matching the number of users
+        assertEquals(single, extract(UserReportlet.class, userDAO.count(), conf));
+    }
+
+    @Test
+    public void usersMatchingCond() throws Exception {
+        UserReportletConf conf = new UserReportletConf("users");
+        conf.getFeatures().add(UserReportletConf.Feature.username);
+        conf.setMatchingCond("username!=rossini");
+
+        String single = extract(UserReportlet.class, AbstractAnyReportlet.CHUNK_SIZE, conf);
+        String chunked = extract(UserReportlet.class, 1, conf);
+        assertEquals(single, chunked);
+        assertEquals(userDAO.count() - 1, StringUtils.countMatches(chunked, "<user "));
+    }
+
+    @Test
+    public void groups() throws Exception {
+        GroupReportletConf conf = new GroupReportletConf("groups");
+        conf.getFeatures().addAll(Arrays.asList(GroupReportletConf.Feature.values()));
+        conf.getPlainAttrs().add("icon");
+        conf.getDerAttrs().add("rderivedschema");
+
+        String single = extract(GroupReportlet.class, AbstractAnyReportlet.CHUNK_SIZE, conf);
+        String chunked = extract(GroupReportlet.class, 3, conf);
+        assertEquals(single, chunked);
+        assertEquals(groupDAO.count(), StringUtils.countMatches(chunked, "<group "));
+    }
+
+    @Test
+    public void reconciliation() throws Exception {
+        // no connector is available here: every connector object is reported as missing
+        final Connector connector = (Connector) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[] { Connector.class },
+                new InvocationHandler() {
+
+            @Override
+            public Object invoke(final Object proxy, final Method method, final Object[] args) {
+                return null;
+            }
+        });
+        ConnectorFactory connFactory = (ConnectorFactory) Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class<?>[] { ConnectorFactory.class },
+                new InvocationHandler() {
+
+            @Override
+            public Object invoke(final Object proxy, final Method method, final Object[] args) {
+                return "getConnector".equals(method.getName()) ? connector : null;
+            }
+        });
+
+        ReconciliationReportletConf conf = new ReconciliationReportletConf("reconciliation");
+        conf.getFeatures().addAll(Arrays.asList(ReconciliationReportletConf.Feature.values()));
+
+        Reportlet single = reportlet(ReconciliationReportlet.class, AbstractAnyReportlet.CHUNK_SIZE);
+        Object target = AopTestUtils.getTargetObject(single);
+        ReflectionTestUtils.setField(target, "connFactory", connFactory);
+        Reportlet chunked = reportlet(ReconciliationReportlet.class, 2);
+        target = AopTestUtils.getTargetObject(chunked);
+        ReflectionTestUtils.setField(target, "connFactory", connFactory);
+
+        String expected = sortItems(extract(single, conf));
+        assertTrue(expected.contains("<missing "));
+        assertEquals(expected, sortItems(extract(chunked, conf)));
+    }
+}
@@ -18,6 +18,7 @@
  */
 package org.apache.syncope.core.persistence.api.dao;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
@@ -34,6 +35,14 @@ public interface AnyDAO<A extends Any<?>> extends DAO<A> {
 
     A findByWorkflowId(String workflowId);
 
+    /**
+     * Finds which of the given keys match existing entities, via a single query for each chunk of keys.
+     *
+     * @param keys keys to look for
+     * @return keys matching existing entities
+     */
+    Collection<String> findKeys(Collection<String> keys);
+
     List<A> findByAttrValue(String schemaName, PlainAttrValue attrValue);
 
     A findByAttrUniqueValue(String schemaName, PlainAttrValue attrUniqueValue);
@@ -71,6 +80,16 @@ public interface AnyDAO<A extends Any<?>> extends DAO<A> {
      */
     List<A> findAll(Set<String> adminRealms, int page, int itemsPerPage, List<OrderByClause> orderBy);
 
+    /**
+     * Find the keys of any objects without any limitation, sorted by key; meant for walking through all any objects
+     * in chunks via keyset pagination, without loading entities.
+     *
+     * @param lastKey last key returned by the previous invocation, null to start from the beginning
+     * @param count max number of keys to return
+     * @return keys of any objects of type {@link A} greater than lastKey
+     */
+    List<String> findAllKeys(String lastKey, int count);
+
     <S extends Schema> AllowedSchemas<S> findAllowedSchemas(A any, Class<S> reference);
 
     int count(Set<String> adminRealms);
@@ -42,6 +42,14 @@ public interface AnyObjectDAO extends AnyDAO<AnyObject> {
 
     AnyObject findByName(String name);
 
+    /**
+     * Finds keys of any objects with the given names, via a single query for each chunk of names.
+     *
+     * @param names names to look for
+     * @return map of found names to any object keys
+     */
+    Map<String, String> findKeysByName(Collection<String> names);
+
     AnyObject authFindByName(String name);
 
     List<Group> findDynGroupMemberships(AnyObject anyObject);
@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.Set;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
+import org.apache.syncope.core.persistence.api.dao.search.ProjectedAny;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.Any;
 
@@ -74,6 +75,39 @@ public interface AnySearchDAO extends DAO<Any<?>> {
             Set<String> adminRealms, SearchCond searchCondition, int page, int itemsPerPage,
             List<OrderByClause> orderBy, AnyTypeKind kind);
 
+    /**
+     * Projected search, reading only the given fields and plain attributes of matching any objects from the search
+     * views, without loading any entity.
+     * Only fields also returned by the corresponding TOs can be projected: credentials, tokens and the like are
+     * ignored as any unknown name. Errors are not swallowed.
+     *
+     * @param adminRealms realms for which the caller owns the proper entitlement(s)
+     * @param searchCondition the search condition
+     * @param page position of the first result, start from 1
+     * @param itemsPerPage number of results per page
+     * @param orderBy list of ordering clauses
+     * @param kind any object
+     * @param fields names of fields (as username, status or realm) and keys of plain schemas to read; unknown or not
+     * projectable names and binary schemas are ignored; type is always read for any objects
+     * @return the projections of any objects matching the given search condition (in the given page)
+     */
+    List<ProjectedAny> searchProjected(
+            Set<String> adminRealms, SearchCond searchCondition, int page, int itemsPerPage,
+            List<OrderByClause> orderBy, AnyTypeKind kind, List<String> fields);
+
+    /**
+     * Keyset-paginated search, returning only the keys of matching any objects, sorted by key: suitable for walking
+     * through large result sets without loading entities nor paying for OFFSET paging.
+     * Errors are not swallowed, so that an empty result always means that there is no more data.
+     *
+     * @param searchCondition the search condition
+     * @param lastKey last key returned by the previous invocation, null to start from the beginning
+     * @param count max number of keys to return
+     * @param kind any object
+     * @return the keys of any objects matching the given search condition, sorted by key and greater than lastKey
+     */
+    List<String> searchKeys(SearchCond searchCondition, String lastKey, int count, AnyTypeKind kind);
+
     /**
      * Verify if any matches the given search condition.
      *
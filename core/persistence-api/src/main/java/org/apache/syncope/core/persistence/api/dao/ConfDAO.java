@@ -18,6 +18,7 @@
  */
 package org.apache.syncope.core.persistence.api.dao;
 
+import java.util.List;
 import org.apache.syncope.core.persistence.api.entity.conf.CPlainAttr;
 import org.apache.syncope.core.persistence.api.entity.conf.Conf;
 
@@ -25,7 +26,36 @@ public interface ConfDAO extends DAO<Conf> {
 
     CPlainAttr find(String key);
 
-    CPlainAttr find(String key, String defaultValue);
+    /**
+     * Reads the first value of the given configuration parameter from an immutable snapshot, which is rebuilt only
+     * after configuration parameters are saved or deleted.
+     *
+     * @param <T> value type, according to the parameter's schema type: Boolean, Long, Double, Date, String or byte[]
+     * @param key configuration parameter key
+     * @param defaultValue value to return when the parameter is not set or not of the expected type
+     * @return first value of the given configuration parameter, or the given default value
+     */
+    <T> T find(String key, T defaultValue);
+
+    /**
+     * Reads the first value of the given configuration parameter, as {@link #find(java.lang.String, java.lang.Object)}.
+     *
+     * @param <T> value type, according to the parameter's schema type
+     * @param key configuration parameter key
+     * @param reference value type
+     * @return first value of the given configuration parameter; null if not set or not of the expected type
+     */
+    <T> T find(String key, Class<T> reference);
+
+    /**
+     * Reads all values of the given configuration parameter, as {@link #find(java.lang.String, java.lang.Object)}.
+     *
+     * @param <T> value type, according to the parameter's schema type
+     * @param key configuration parameter key
+     * @param reference value type
+     * @return values of the given configuration parameter; empty if not set
+     */
+    <T> List<T> findValues(String key, Class<T> reference);
 
     Conf get();
 
@@ -18,6 +18,7 @@
  */
 package org.apache.syncope.core.persistence.api.dao;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import org.apache.syncope.core.persistence.api.entity.AnyTypeClass;
@@ -36,6 +37,14 @@ public interface GroupDAO extends AnyDAO<Group> {
 
     Group findByName(String name);
 
+    /**
+     * Finds keys of groups with the given names, via a single query for each chunk of names.
+     *
+     * @param names names to look for
+     * @return map of found names to group keys
+     */
+    Map<String, String> findKeysByName(Collection<String> names);
+
     Group authFindByName(String name);
 
     List<Group> findOwnedByUser(String userKey);
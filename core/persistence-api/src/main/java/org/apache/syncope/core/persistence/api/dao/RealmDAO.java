@@ -19,6 +19,7 @@
 package org.apache.syncope.core.persistence.api.dao;
 
 import java.util.List;
+import java.util.Set;
 import java.util.regex.Pattern;
 import org.apache.syncope.core.persistence.api.entity.Policy;
 import org.apache.syncope.core.persistence.api.entity.Realm;
@@ -39,6 +40,12 @@ public interface RealmDAO extends DAO<Realm> {
 
     List<Realm> findChildren(Realm realm);
 
+    /**
+     * @param realm realm
+     * @return keys of the given realm and of all its descendants
+     */
+    Set<String> findDescendantKeys(Realm realm);
+
     List<Realm> findDescendants(Realm realm);
 
     List<Realm> findAll();
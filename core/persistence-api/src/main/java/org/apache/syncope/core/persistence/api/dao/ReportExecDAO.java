@@ -18,8 +18,10 @@
  */
 package org.apache.syncope.core.persistence.api.dao;
 
+import java.io.InputStream;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
 import org.apache.syncope.core.persistence.api.entity.Report;
 import org.apache.syncope.core.persistence.api.entity.ReportExec;
@@ -42,7 +44,71 @@ public interface ReportExecDAO extends DAO<ReportExec> {
 
     ReportExec save(ReportExec execution);
 
+    /**
+     * @param key report execution key
+     * @return whether the given report execution has any result
+     */
+    boolean hasExecResult(String key);
+
+    /**
+     * Opens a stream on the result of the given report execution, as zipped XML: the returned stream is read straight
+     * from the underlying storage, hence it must be consumed and closed within the current transaction.
+     *
+     * @param key report execution key
+     * @return stream on report execution result, or {@code null} if none
+     */
+    InputStream getExecResult(String key);
+
+    /**
+     * Streams the given zipped XML into the result of the given report execution; the stream is not closed.
+     *
+     * @param key report execution key
+     * @param execResult report execution result
+     */
+    void setExecResult(String key, InputStream execResult);
+
     void delete(String key);
 
     void delete(ReportExec execution);
+
+    /**
+     * Counts the executions which would be deleted by {@link #purge(java.util.Date, int, int)}.
+     *
+     * @param startedBefore only executions started before this date are counted
+     * @param keep number of latest executions to retain for each report
+     * @return number of executions which would be deleted
+     */
+    long countPurgeable(Date startedBefore, int keep);
+
+    /**
+     * Deletes, in a separate transaction, up to {@code max} executions started before the given date, while always
+     * retaining the latest {@code keep} executions of each report.
+     *
+     * @param startedBefore only executions started before this date are deleted
+     * @param keep number of latest executions to retain for each report
+     * @param max maximum number of executions to delete
+     * @return number of deleted executions
+     */
+    int purge(Date startedBefore, int keep, int max);
+
+    /**
+     * Finds, for each report with executions to delete, the start date before which its executions can be deleted,
+     * while always retaining the latest {@code keep} executions of each report; this is meant to be computed once, then
+     * passed to {@link #purge(java.util.Map, int)} until nothing is left to delete.
+     *
+     * @param startedBefore only executions started before this date are to be deleted
+     * @param keep number of latest executions to retain for each report
+     * @return start date before which executions can be deleted, for each report with executions to delete
+     */
+    Map<String, Date> findPurgeCutoffs(Date startedBefore, int keep);
+
+    /**
+     * Deletes, in a separate transaction, up to {@code max} executions started before the cutoff of their report;
+     * reports with no executions left to delete are removed from the given map.
+     *
+     * @param cutoffs as returned by {@link #findPurgeCutoffs(java.util.Date, int)}
+     * @param max maximum number of executions to delete
+     * @return number of deleted executions
+     */
+    int purge(Map<String, Date> cutoffs, int max);
 }
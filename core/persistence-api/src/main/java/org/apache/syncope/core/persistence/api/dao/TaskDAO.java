@@ -18,6 +18,7 @@
  */
 package org.apache.syncope.core.persistence.api.dao;
 
+import java.util.Date;
 import java.util.List;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.TaskType;
@@ -60,4 +61,22 @@ public interface TaskDAO extends DAO<Task> {
     void delete(Task task);
 
     void deleteAll(ExternalResource resource, TaskType type);
+
+    /**
+     * Counts the propagation tasks which would be deleted by {@link #purgePropagationTasks(java.util.Date, int)}.
+     *
+     * @param executedBefore only propagation tasks whose executions all started before this date are counted
+     * @return number of propagation tasks which would be deleted
+     */
+    long countPurgeablePropagationTasks(Date executedBefore);
+
+    /**
+     * Deletes, in a separate transaction, up to {@code max} propagation tasks - together with their executions -
+     * which were not executed since the given date; propagation tasks never executed are retained.
+     *
+     * @param executedBefore only propagation tasks whose executions all started before this date are deleted
+     * @param max maximum number of propagation tasks to delete
+     * @return number of deleted propagation tasks
+     */
+    int purgePropagationTasks(Date executedBefore, int max);
 }
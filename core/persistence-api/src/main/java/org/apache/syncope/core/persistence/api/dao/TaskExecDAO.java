@@ -20,6 +20,7 @@ package org.apache.syncope.core.persistence.api.dao;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
 import org.apache.syncope.core.persistence.api.entity.task.Task;
 import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
@@ -48,4 +49,45 @@ public interface TaskExecDAO extends DAO<TaskExec> {
     void delete(String key);
 
     void delete(TaskExec execution);
+
+    /**
+     * Counts the executions which would be deleted by {@link #purge(java.util.Date, int, int)}.
+     *
+     * @param startedBefore only executions started before this date are counted
+     * @param keep number of latest executions to retain for each task
+     * @return number of executions which would be deleted
+     */
+    long countPurgeable(Date startedBefore, int keep);
+
+    /**
+     * Deletes, in a separate transaction, up to {@code max} executions started before the given date, while always
+     * retaining the latest {@code keep} executions of each task.
+     *
+     * @param startedBefore only executions started before this date are deleted
+     * @param keep number of latest executions to retain for each task
+     * @param max maximum number of executions to delete
+     * @return number of deleted executions
+     */
+    int purge(Date startedBefore, int keep, int max);
+
+    /**
+     * Finds, for each task with executions to delete, the start date before which its executions can be deleted,
+     * while always retaining the latest {@code keep} executions of each task; this is meant to be computed once, then
+     * passed to {@link #purge(java.util.Map, int)} until nothing is left to delete.
+     *
+     * @param startedBefore only executions started before this date are to be deleted
+     * @param keep number of latest executions to retain for each task
+     * @return start date before which executions can be deleted, for each task with executions to delete
+     */
+    Map<String, Date> findPurgeCutoffs(Date startedBefore, int keep);
+
+    /**
+     * Deletes, in a separate transaction, up to {@code max} executions started before the cutoff of their task;
+     * tasks with no executions left to delete are removed from the given map.
+     *
+     * @param cutoffs as returned by {@link #findPurgeCutoffs(java.util.Date, int)}
+     * @param max maximum number of executions to delete
+     * @return number of deleted executions
+     */
+    int purge(Map<String, Date> cutoffs, int max);
 }
@@ -40,6 +40,14 @@ public interface UserDAO extends AnyDAO<User> {
 
     User findByUsername(String username);
 
+    /**
+     * Finds keys of users with the given usernames, via a single query for each chunk of usernames.
+     *
+     * @param usernames usernames to look for
+     * @return map of found usernames to user keys
+     */
+    Map<String, String> findKeysByUsername(Collection<String> usernames);
+
     User findByToken(String token);
 
     List<User> findBySecurityQuestion(SecurityQuestion securityQuestion);
@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.Set;
 import org.apache.syncope.common.lib.types.ConnConfProperty;
 import org.apache.syncope.common.lib.types.ConnectorCapability;
+import org.apache.syncope.common.lib.types.PropagationReadMode;
 import org.apache.syncope.common.lib.types.TraceLevel;
 import org.apache.syncope.core.persistence.api.entity.policy.AccountPolicy;
 import org.apache.syncope.core.persistence.api.entity.AnyType;
@@ -59,6 +60,10 @@ public interface ExternalResource extends ProvidedKeyEntity {
 
     void setPullPolicy(PullPolicy pullPolicy);
 
+    PropagationReadMode getPropagationReadMode();
+
+    void setPropagationReadMode(PropagationReadMode propagationReadMode);
+
     TraceLevel getCreateTraceLevel();
 
     void setCreateTraceLevel(TraceLevel createTraceLevel);
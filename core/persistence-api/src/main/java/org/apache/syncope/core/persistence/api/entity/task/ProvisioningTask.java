@@ -55,4 +55,10 @@ public interface ProvisioningTask extends SchedTask {
 
     void setSyncStatus(boolean syncStatus);
 
+    /**
+     * @return number of concurrent workers pushing or pulling any objects, null or 1 for sequential processing
+     */
+    Integer getConcurrency();
+
+    void setConcurrency(Integer concurrency);
 }
@@ -31,6 +31,7 @@ import java.util.Set;
 import java.util.regex.Pattern;
 import javax.persistence.NoResultException;
 import javax.persistence.Query;
+import javax.persistence.TypedQuery;
 import javax.persistence.TemporalType;
 import org.apache.commons.jexl3.parser.Parser;
 import org.apache.commons.jexl3.parser.ParserConstants;
@@ -69,6 +70,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 public abstract class AbstractAnyDAO<A extends Any<?>> extends AbstractDAO<A> implements AnyDAO<A> {
 
+    /**
+     * Maximum number of values bound to a single IN clause.
+     */
+    protected static final int IN_CHUNK_SIZE = 500;
+
     @Autowired
     protected PlainSchemaDAO plainSchemaDAO;
 
@@ -421,6 +427,52 @@ public abstract class AbstractAnyDAO<A extends Any<?>> extends AbstractDAO<A> im
                 getAnyUtils().getAnyTypeKind());
     }
 
+    /**
+     * Finds keys of entities having the given field matching any of the given values, splitting values in chunks to
+     * keep the number of query parameters bounded.
+     *
+     * @param field entity field
+     * @param values values to look for
+     * @return map of found values to entity keys
+     */
+    protected Map<String, String> findKeysBy(final String field, final Collection<String> values) {
+        Map<String, String> result = new HashMap<>();
+
+        List<String> distinct = new ArrayList<>(new HashSet<>(values));
+        for (int i = 0; i < distinct.size(); i += IN_CHUNK_SIZE) {
+            TypedQuery<Object[]> query = entityManager().createQuery(
+                    "SELECT e." + field + ", e.id FROM " + getAnyUtils().anyClass().getSimpleName() + " e"
+                    + " WHERE e." + field + " IN :values", Object[].class);
+            query.setParameter("values", distinct.subList(i, Math.min(i + IN_CHUNK_SIZE, distinct.size())));
+
+            for (Object[] row : query.getResultList()) {
+                result.put(row[0].toString(), row[1].toString());
+            }
+        }
+
+        return result;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Collection<String> findKeys(final Collection<String> keys) {
+        return findKeysBy("id", keys).values();
+    }
+
+    @Override
+    public List<String> findAllKeys(final String lastKey, final int count) {
+        TypedQuery<String> query = entityManager().createQuery(
+                "SELECT e.id FROM " + getAnyUtils().anyClass().getSimpleName() + " e"
+                + (lastKey == null ? "" : " WHERE e.id > :lastKey")
+                + " ORDER BY e.id", String.class);
+        if (lastKey != null) {
+            query.setParameter("lastKey", lastKey);
+        }
+        query.setMaxResults(count);
+
+        return query.getResultList();
+    }
+
     @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
     @Override
     @SuppressWarnings("unchecked")
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import org.apache.syncope.core.spring.security.AuthCache;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Invalidates {@link AuthCache} entries for the current domain, both immediately and once the current transaction
+ * is committed: otherwise, authentications performed meanwhile would cache data read before the commit.
+ */
+final class AuthCacheInvalidator {
+
+    static void invalidate(final String userKey) {
+        final String domain = AuthContextUtils.getDomain();
+        AuthCache.getInstance().invalidate(domain, userKey);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCommit() {
+                    AuthCache.getInstance().invalidate(domain, userKey);
+                }
+            });
+        }
+    }
+
+    static void invalidateAll() {
+        final String domain = AuthContextUtils.getDomain();
+        AuthCache.getInstance().invalidateAll(domain);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCommit() {
+                    AuthCache.getInstance().invalidateAll(domain);
+                }
+            });
+        }
+    }
+
+    private AuthCacheInvalidator() {
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+import javax.persistence.EntityManager;
+import org.apache.openjpa.enhance.PersistenceCapable;
+import org.apache.openjpa.kernel.OpenJPAStateManager;
+import org.apache.openjpa.persistence.OpenJPAPersistence;
+import org.apache.syncope.core.persistence.api.entity.Any;
+import org.apache.syncope.core.persistence.api.entity.PlainAttr;
+import org.apache.syncope.core.persistence.api.entity.PlainAttrValue;
+
+/**
+ * Tells which fields and plain schemas of an any object were changed within the current transaction, according to
+ * the state tracked by OpenJPA.
+ */
+final class ChangedSchemas {
+
+    /**
+     * Plain attributes are reported for all the entities changed within the current transaction, not only for the
+     * given any object: the result might then be larger than needed, but never smaller.
+     *
+     * @param entityManager entity manager
+     * @param any any object
+     * @return names of changed fields and keys of changed plain schemas, or {@code null} if this cannot be told, as
+     * for new or detached entities
+     */
+    static Set<String> find(final EntityManager entityManager, final Any<?> any) {
+        if (!(any instanceof PersistenceCapable)
+                || !(((PersistenceCapable) any).pcGetStateManager() instanceof OpenJPAStateManager)) {
+
+            return null;
+        }
+        OpenJPAStateManager sm = (OpenJPAStateManager) ((PersistenceCapable) any).pcGetStateManager();
+        if (sm.isNew()) {
+            return null;
+        }
+
+        Set<String> changed = new HashSet<>();
+
+        BitSet dirty = sm.getDirty();
+        for (int i = dirty.nextSetBit(0); i >= 0; i = dirty.nextSetBit(i + 1)) {
+            changed.add(sm.getMetaData().getField(i).getName());
+        }
+
+        for (Object object : OpenJPAPersistence.cast(entityManager).getTransactionalObjects()) {
+            PlainAttr<?> attr = null;
+            if (object instanceof PlainAttr) {
+                attr = (PlainAttr<?>) object;
+            } else if (object instanceof PlainAttrValue) {
+                attr = ((PlainAttrValue) object).getAttr();
+                if (attr == null) {
+                    return null;
+                }
+            }
+
+            if (attr != null) {
+                if (attr.getSchema() == null) {
+                    return null;
+                }
+                changed.add(attr.getSchema().getKey());
+            }
+        }
+
+        return changed;
+    }
+
+    private ChangedSchemas() {
+    }
+}
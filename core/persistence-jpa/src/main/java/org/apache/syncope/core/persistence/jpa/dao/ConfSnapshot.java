@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.syncope.core.persistence.api.entity.PlainAttrValue;
+import org.apache.syncope.core.persistence.api.entity.conf.CPlainAttr;
+import org.apache.syncope.core.persistence.api.entity.conf.Conf;
+
+/**
+ * Immutable snapshot of the configuration parameters of a domain, holding typed values only: once built, reading
+ * does not involve any persistence access.
+ */
+class ConfSnapshot {
+
+    private final Map<String, List<Object>> values = new HashMap<>();
+
+    /**
+     * Dates and binary values are mutable: callers only get copies, so that the snapshot cannot be altered.
+     *
+     * @param value typed value
+     * @return the given value, or a copy thereof if mutable
+     */
+    private static Object copy(final Object value) {
+        if (value instanceof Date) {
+            return new Date(((Date) value).getTime());
+        }
+        if (value instanceof byte[]) {
+            return ((byte[]) value).clone();
+        }
+        return value;
+    }
+
+    ConfSnapshot(final Conf conf) {
+        for (CPlainAttr attr : conf.getPlainAttrs()) {
+            List<Object> attrValues = new ArrayList<>();
+            if (attr.getUniqueValue() != null) {
+                attrValues.add(copy(attr.getUniqueValue().getValue()));
+            }
+            for (PlainAttrValue value : attr.getValues()) {
+                attrValues.add(copy(value.getValue()));
+            }
+            values.put(attr.getSchema().getKey(), attrValues);
+        }
+    }
+
+    /**
+     * @param key configuration parameter key
+     * @return typed values of the given configuration parameter; empty if not set
+     */
+    public List<Object> getValues(final String key) {
+        List<Object> result = values.get(key);
+        if (result == null) {
+            return Collections.emptyList();
+        }
+
+        List<Object> copies = new ArrayList<>(result.size());
+        for (Object value : result) {
+            copies.add(copy(value));
+        }
+        return copies;
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.persistence.EntityManager;
+import org.apache.openjpa.event.RemoteCommitEvent;
+import org.apache.openjpa.event.RemoteCommitEventManager;
+import org.apache.openjpa.event.RemoteCommitListener;
+import org.apache.openjpa.persistence.OpenJPAEntityManagerFactorySPI;
+import org.apache.openjpa.persistence.OpenJPAPersistence;
+import org.apache.openjpa.util.OpenJPAId;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Per-domain cache of a value built from the persistent entities of some given classes.
+ * The value of a domain is invalidated whenever any such entity is saved or deleted:
+ * <ul>
+ * <li>immediately and again after the current transaction is completed, when signaled via {@link #invalidate()};
+ * meanwhile, the value is always built anew for the current transaction, so that uncommitted changes are never
+ * cached;</li>
+ * <li>when another node commits changes, if remote commit events are enabled.</li>
+ * </ul>
+ *
+ * @param <T> cached value
+ */
+class DomainCache<T> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DomainCache.class);
+
+    interface Loader<T> {
+
+        T load();
+    }
+
+    private final Class<?>[] references;
+
+    private final String dirtyKey;
+
+    private final Map<String, T> values = new ConcurrentHashMap<>();
+
+    private final Map<String, Long> generations = new HashMap<>();
+
+    DomainCache(final Class<?>... references) {
+        this.references = references;
+        this.dirtyKey = DomainCache.class.getName() + "." + references[0].getName() + ".";
+    }
+
+    private boolean isReference(final Class<?> clazz) {
+        for (Class<?> reference : references) {
+            if (reference.isAssignableFrom(clazz)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isReferenceTypeName(final Collection<String> typeNames) {
+        for (Class<?> reference : references) {
+            if (typeNames.contains(reference.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isReferenceId(final Collection<?> oids) {
+        if (oids != null) {
+            for (Object oid : oids) {
+                if (oid instanceof OpenJPAId && isReference(((OpenJPAId) oid).getType())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void invalidate(final String domain) {
+        synchronized (generations) {
+            Long generation = generations.get(domain);
+            generations.put(domain, generation == null ? 1L : generation + 1);
+            values.remove(domain);
+        }
+    }
+
+    /**
+     * Invalidates the value for the current domain.
+     */
+    public void invalidate() {
+        final String domain = AuthContextUtils.getDomain();
+        invalidate(domain);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.hasResource(dirtyKey + domain)) {
+
+            TransactionSynchronizationManager.bindResource(dirtyKey + domain, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCompletion(final int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(dirtyKey + domain);
+                    invalidate(domain);
+                }
+            });
+        }
+    }
+
+    private void listenRemoteCommits(final EntityManager entityManager, final String domain) {
+        RemoteCommitEventManager eventManager = ((OpenJPAEntityManagerFactorySPI) OpenJPAPersistence.cast(
+                entityManager).getEntityManagerFactory()).getConfiguration().getRemoteCommitEventManager();
+        if (eventManager.areRemoteEventsEnabled()) {
+            eventManager.addListener(new RemoteCommitListener() {
+
+                @Override
+                public void afterCommit(final RemoteCommitEvent event) {
+                    boolean changed = isReferenceTypeName(event.getPersistedTypeNames());
+                    if (!changed && event.getPayloadType() == RemoteCommitEvent.PAYLOAD_EXTENTS) {
+                        changed = isReferenceTypeName(event.getUpdatedTypeNames())
+                                || isReferenceTypeName(event.getDeletedTypeNames());
+                    } else if (!changed) {
+                        changed = isReferenceId(event.getUpdatedObjectIds())
+                                || isReferenceId(event.getDeletedObjectIds());
+                    }
+
+                    if (changed) {
+                        LOG.debug("{} changed remotely, invalidating cache for domain {}", references[0], domain);
+                        invalidate(domain);
+                    }
+                }
+
+                @Override
+                public void close() {
+                    // nothing to do
+                }
+            });
+        }
+    }
+
+    /**
+     * @return value for the current domain, if cached and not invalidated by the current transaction; null otherwise
+     */
+    public T getIfPresent() {
+        String domain = AuthContextUtils.getDomain();
+        return TransactionSynchronizationManager.hasResource(dirtyKey + domain) ? null : values.get(domain);
+    }
+
+    /**
+     * @param entityManager entity manager for the current domain
+     * @param loader builds the value when not cached
+     * @return value for the current domain
+     */
+    public T get(final EntityManager entityManager, final Loader<T> loader) {
+        String domain = AuthContextUtils.getDomain();
+        boolean dirty = TransactionSynchronizationManager.hasResource(dirtyKey + domain);
+
+        T value = dirty ? null : values.get(domain);
+        if (value == null) {
+            Long generation;
+            synchronized (generations) {
+                generation = generations.get(domain);
+                if (generation == null) {
+                    generation = 0L;
+                    generations.put(domain, generation);
+                    listenRemoteCommits(entityManager, domain);
+                }
+            }
+
+            value = loader.load();
+
+            if (!dirty) {
+                synchronized (generations) {
+                    if (generation.equals(generations.get(domain))) {
+                        values.put(domain, value);
+                    }
+                }
+            }
+        }
+
+        return value;
+    }
+}
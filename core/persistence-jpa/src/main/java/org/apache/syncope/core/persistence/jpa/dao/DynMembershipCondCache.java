@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.apache.commons.collections4.map.LRUMap;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
+import org.apache.syncope.core.persistence.api.search.SearchCondConverter;
+
+/**
+ * Keeps the parsed form of dynamic membership FIQL conditions, so that they are not converted again each time
+ * dynamic memberships are refreshed, together with the fields and plain schemas each condition references.
+ */
+class DynMembershipCondCache {
+
+    private static final int MAX_SIZE = 5000;
+
+    private static class Entry {
+
+        private final SearchCond cond;
+
+        private final Set<String> referenced;
+
+        Entry(final SearchCond cond) {
+            this.cond = cond;
+            Set<String> schemas = new HashSet<>();
+            this.referenced = collectReferenced(cond, schemas) ? Collections.unmodifiableSet(schemas) : null;
+        }
+    }
+
+    /**
+     * Collects the fields and plain schemas referenced by the given condition.
+     *
+     * @param cond search condition
+     * @param referenced where to collect references
+     * @return {@code false} if the condition depends on something else than fields and plain attributes, as
+     * memberships, roles, resources or relationships
+     */
+    private static boolean collectReferenced(final SearchCond cond, final Set<String> referenced) {
+        switch (cond.getType()) {
+            case LEAF:
+            case NOT_LEAF:
+                if (cond.getAttributeCond() != null) {
+                    referenced.add(cond.getAttributeCond().getSchema());
+                    return true;
+                }
+                if (cond.getAnyCond() != null) {
+                    referenced.add(cond.getAnyCond().getSchema());
+                    return true;
+                }
+                if (cond.getAssignableCond() != null) {
+                    referenced.add("realm");
+                    return true;
+                }
+                if (cond.getAnyTypeCond() != null) {
+                    referenced.add("type");
+                    return true;
+                }
+                return false;
+
+            case AND:
+            case OR:
+                return collectReferenced(cond.getLeftSearchCond(), referenced)
+                        && collectReferenced(cond.getRightSearchCond(), referenced);
+
+            default:
+                return false;
+        }
+    }
+
+    private final Map<String, Entry> conds = Collections.synchronizedMap(new LRUMap<String, Entry>(MAX_SIZE));
+
+    private Entry getEntry(final String fiql) {
+        Entry entry = conds.get(fiql);
+        if (entry == null) {
+            entry = new Entry(SearchCondConverter.convert(fiql));
+            conds.put(fiql, entry);
+        }
+        return entry;
+    }
+
+    public SearchCond get(final String fiql) {
+        return getEntry(fiql).cond;
+    }
+
+    /**
+     * Tells whether the given dynamic membership condition needs to be evaluated again for an any object, given
+     * the changes it went through.
+     *
+     * @param fiql dynamic membership condition
+     * @param changed names of changed fields and keys of changed plain schemas, or {@code null} if unknown
+     * @return {@code false} if none of the fields and plain schemas referenced by the condition was changed
+     */
+    public boolean isAffected(final String fiql, final Set<String> changed) {
+        Set<String> referenced = getEntry(fiql).referenced;
+        return changed == null || referenced == null || !Collections.disjoint(changed, referenced);
+    }
+}
@@ -142,6 +142,12 @@ public class JPAAnyObjectDAO extends AbstractAnyDAO<AnyObject> implements AnyObj
         return result;
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public Map<String, String> findKeysByName(final Collection<String> names) {
+        return findKeysBy("name", names);
+    }
+
     @Override
     public AnyObject authFindByName(final String name) {
         if (name == null) {
@@ -22,26 +22,33 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import javax.persistence.Entity;
 import javax.persistence.Query;
 import javax.persistence.TemporalType;
+import javax.persistence.TypedQuery;
 import javax.validation.ValidationException;
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
-import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.ClassUtils;
 import org.apache.commons.lang3.SerializationUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.AttrSchemaType;
+import org.apache.syncope.core.provisioning.api.utils.FormatUtils;
 import org.apache.syncope.core.provisioning.api.utils.RealmUtils;
-import org.apache.syncope.core.provisioning.api.utils.EntityUtils;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
 import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
@@ -51,6 +58,7 @@ import org.apache.syncope.core.persistence.api.dao.UserDAO;
 import org.apache.syncope.core.persistence.api.dao.search.AttributeCond;
 import org.apache.syncope.core.persistence.api.dao.search.MembershipCond;
 import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
+import org.apache.syncope.core.persistence.api.dao.search.ProjectedAny;
 import org.apache.syncope.core.persistence.api.dao.search.ResourceCond;
 import org.apache.syncope.core.persistence.api.dao.search.RoleCond;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
@@ -80,6 +88,39 @@ public class JPAAnySearchDAO extends AbstractDAO<Any<?>> implements AnySearchDAO
 
     private static final String EMPTY_QUERY = "SELECT any_id FROM user_search_attr WHERE 1=2";
 
+    /**
+     * Upper bound for the number of keys bound in a single IN clause: some DBMSes (Oracle notably) do not accept
+     * more than 1000 elements.
+     */
+    private static final int MAX_IN_CLAUSE_KEYS = 1000;
+
+    /**
+     * Fields that can be read by projected searches, for each any type kind: only those which are also returned by
+     * the corresponding TOs, so that credentials, tokens and the like are never exposed.
+     */
+    private static final Map<AnyTypeKind, Set<String>> PROJECTABLE_FIELDS = new EnumMap<>(AnyTypeKind.class);
+
+    /**
+     * Projectable fields stored as integers but logically mapping to boolean values.
+     */
+    private static final Set<String> BOOLEAN_FIELDS = Collections.singleton("mustChangePassword");
+
+    static {
+        List<String> common = Arrays.asList("status", "creator", "creationDate", "lastModifier", "lastChangeDate");
+
+        Set<String> userFields = new HashSet<>(common);
+        userFields.addAll(Arrays.asList("username", "lastLoginDate", "changePwdDate", "mustChangePassword"));
+        PROJECTABLE_FIELDS.put(AnyTypeKind.USER, Collections.unmodifiableSet(userFields));
+
+        Set<String> groupFields = new HashSet<>(common);
+        groupFields.add("name");
+        PROJECTABLE_FIELDS.put(AnyTypeKind.GROUP, Collections.unmodifiableSet(groupFields));
+
+        Set<String> anyObjectFields = new HashSet<>(common);
+        anyObjectFields.add("name");
+        PROJECTABLE_FIELDS.put(AnyTypeKind.ANY_OBJECT, Collections.unmodifiableSet(anyObjectFields));
+    }
+
     @Autowired
     private RealmDAO realmDAO;
 
@@ -98,40 +139,57 @@ public class JPAAnySearchDAO extends AbstractDAO<Any<?>> implements AnySearchDAO
     @Autowired
     private AnyUtilsFactory anyUtilsFactory;
 
+    /**
+     * Builds a predicate matching the given realm keys, as a disjunction of IN clauses with no more than
+     * {@link #MAX_IN_CLAUSE_KEYS} elements each.
+     *
+     * @param realmKeys realm keys, not empty
+     * @param parameters query parameters
+     * @return realm predicate
+     */
+    private String getRealmPredicate(final Set<String> realmKeys, final List<Object> parameters) {
+        StringBuilder predicate = new StringBuilder();
+        for (List<String> chunk : ListUtils.partition(new ArrayList<>(realmKeys), MAX_IN_CLAUSE_KEYS)) {
+            if (predicate.length() > 0) {
+                predicate.append(" OR ");
+            }
+            predicate.append("realm_id IN (");
+            for (int i = 0; i < chunk.size(); i++) {
+                if (i > 0) {
+                    predicate.append(", ");
+                }
+                predicate.append('?').append(setParameter(parameters, chunk.get(i)));
+            }
+            predicate.append(')');
+        }
+        return predicate.toString();
+    }
+
     private String getAdminRealmsFilter(
             final Set<String> adminRealms,
             final SearchSupport svs,
             final List<Object> parameters) {
 
-        Set<String> realmKeys = new HashSet<>();
+        Set<String> realmKeys = new LinkedHashSet<>();
         for (String realmPath : RealmUtils.normalize(adminRealms)) {
+            if (SyncopeConstants.ROOT_REALM.equals(realmPath)) {
+                // every realm is a descendant of root: no need to restrict further
+                return "1=1";
+            }
+
             Realm realm = realmDAO.findByFullPath(realmPath);
             if (realm == null) {
                 LOG.warn("Ignoring invalid realm {}", realmPath);
             } else {
-                CollectionUtils.collect(
-                        realmDAO.findDescendants(realm), EntityUtils.<Realm>keyTransformer(), realmKeys);
+                realmKeys.addAll(realmDAO.findDescendantKeys(realm));
             }
         }
-
-        StringBuilder adminRealmFilter = new StringBuilder("u.any_id IN (").
-                append("SELECT any_id FROM ").append(svs.field().name).
-                append(" WHERE realm_id IN (SELECT id AS realm_id FROM Realm");
-
-        boolean firstRealm = true;
-        for (String realmKey : realmKeys) {
-            if (firstRealm) {
-                adminRealmFilter.append(" WHERE");
-                firstRealm = false;
-            } else {
-                adminRealmFilter.append(" OR");
-            }
-            adminRealmFilter.append(" id=?").append(setParameter(parameters, realmKey));
+        if (realmKeys.isEmpty()) {
+            return "1=1";
         }
 
-        adminRealmFilter.append("))");
-
-        return adminRealmFilter.toString();
+        return "u.any_id IN (SELECT any_id FROM " + svs.field().name
+                + " WHERE " + getRealmPredicate(realmKeys, parameters) + ")";
     }
 
     @Override
@@ -200,6 +258,57 @@ public class JPAAnySearchDAO extends AbstractDAO<Any<?>> implements AnySearchDAO
         return result;
     }
 
+    @Override
+    public List<ProjectedAny> searchProjected(
+            final Set<String> adminRealms, final SearchCond cond, final int page, final int itemsPerPage,
+            final List<OrderByClause> orderBy, final AnyTypeKind typeKind, final List<String> fields) {
+
+        List<ProjectedAny> result = Collections.emptyList();
+
+        if (adminRealms != null && !adminRealms.isEmpty()) {
+            LOG.debug("Search condition:\n{}", cond);
+
+            if (cond != null && cond.isValid()) {
+                Query query = buildSearchQuery(adminRealms, cond, page, itemsPerPage, orderBy, typeKind);
+                result = buildProjectedResult(getKeys(query.getResultList()), typeKind, fields);
+            } else {
+                LOG.error("Invalid search condition:\n{}", cond);
+            }
+        }
+
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public List<String> searchKeys(
+            final SearchCond cond, final String lastKey, final int count, final AnyTypeKind typeKind) {
+
+        List<String> result = Collections.emptyList();
+
+        if (cond != null && cond.isValid()) {
+            SearchCond actualCond = cond;
+            if (lastKey != null) {
+                AnyCond keyCond = new AnyCond(AttributeCond.Type.GT);
+                keyCond.setSchema("key");
+                keyCond.setExpression(lastKey);
+                actualCond = SearchCond.getAndCond(cond, SearchCond.getLeafCond(keyCond));
+            }
+
+            OrderByClause orderByKey = new OrderByClause();
+            orderByKey.setField("key");
+            orderByKey.setDirection(OrderByClause.Direction.ASC);
+
+            Query query = buildSearchQuery(SyncopeConstants.FULL_ADMIN_REALMS,
+                    actualCond, 1, count, Collections.singletonList(orderByKey), typeKind);
+            result = new ArrayList<>(getKeys(query.getResultList()));
+        } else {
+            LOG.error("Invalid search condition:\n{}", cond);
+        }
+
+        return result;
+    }
+
     @Override
     public <T extends Any<?>> boolean matches(final T any, final SearchCond cond) {
         List<Object> parameters = Collections.synchronizedList(new ArrayList<>());
@@ -370,8 +479,7 @@ public class JPAAnySearchDAO extends AbstractDAO<Any<?>> implements AnySearchDAO
         return obs;
     }
 
-    @SuppressWarnings("unchecked")
-    private <T extends Any<?>> List<T> doSearch(final Set<String> adminRealms,
+    private Query buildSearchQuery(final Set<String> adminRealms,
             final SearchCond cond, final int page, final int itemsPerPage, final List<OrderByClause> orderBy,
             final AnyTypeKind typeKind) {
 
@@ -407,30 +515,270 @@ public class JPAAnySearchDAO extends AbstractDAO<Any<?>> implements AnySearchDAO
         // 5. populate the search query with parameter values
         fillWithParameters(query, parameters);
 
-        // 6. Prepare the result (avoiding duplicates)
-        List<T> result = new ArrayList<>();
+        return query;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Any<?>> List<T> doSearch(final Set<String> adminRealms,
+            final SearchCond cond, final int page, final int itemsPerPage, final List<OrderByClause> orderBy,
+            final AnyTypeKind typeKind) {
 
-        for (Object anyKey : query.getResultList()) {
-            String actualKey = anyKey instanceof Object[]
+        Query query = buildSearchQuery(adminRealms, cond, page, itemsPerPage, orderBy, typeKind);
+
+        // Prepare the result (avoiding duplicates)
+        return buildResult(query.getResultList(), typeKind);
+    }
+
+    private Set<String> getKeys(final List<Object> raw) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (Object anyKey : raw) {
+            keys.add(anyKey instanceof Object[]
                     ? (String) ((Object[]) anyKey)[0]
-                    : ((String) anyKey);
+                    : ((String) anyKey));
+        }
+        return keys;
+    }
+
+    /**
+     * Loads the entities matching the given native query results with one JPQL query for each chunk of
+     * {@link #MAX_IN_CLAUSE_KEYS} keys, rather than one lookup per key; the order of the native query results,
+     * which reflects the requested ORDER BY, is preserved.
+     *
+     * @param <T> any
+     * @param raw native query results, either keys or arrays whose first element is the key
+     * @param typeKind any type kind
+     * @return entities matching the given keys, in the same order and without duplicates
+     */
+    private <T extends Any<?>> List<T> buildResult(final List<Object> raw, final AnyTypeKind typeKind) {
+        Set<String> orderedKeys = getKeys(raw);
+        if (orderedKeys.isEmpty()) {
+            return Collections.<T>emptyList();
+        }
+
+        // only one collection is fetch-joined per query, to avoid the cartesian product of plain attributes and
+        // memberships: the latter are then batch-loaded by a second query on the same (already managed) entities;
+        // no DISTINCT, as it would make LOB columns to be loaded one row at a time: duplicates are merged by key
+        Class<T> anyClass = anyUtilsFactory.getInstance(typeKind).anyClass();
+        String plainAttrsQuery = "SELECT e FROM " + anyClass.getSimpleName()
+                + " e LEFT JOIN FETCH e.plainAttrs WHERE e.id IN :keys";
+        String membershipsQuery = typeKind == AnyTypeKind.GROUP
+                ? null
+                : "SELECT e FROM " + anyClass.getSimpleName()
+                + " e LEFT JOIN FETCH e.memberships WHERE e.id IN :keys";
+
+        Map<String, T> anys = new HashMap<>(orderedKeys.size());
+        for (List<String> chunk : ListUtils.partition(new ArrayList<>(orderedKeys), MAX_IN_CLAUSE_KEYS)) {
+            TypedQuery<T> query = entityManager().createQuery(plainAttrsQuery, anyClass);
+            query.setParameter("keys", chunk);
+            for (T any : query.getResultList()) {
+                anys.put(any.getKey(), any);
+            }
 
-            T any = typeKind == AnyTypeKind.USER
-                    ? (T) userDAO.find(actualKey)
-                    : typeKind == AnyTypeKind.GROUP
-                            ? (T) groupDAO.find(actualKey)
-                            : (T) anyObjectDAO.find(actualKey);
+            if (membershipsQuery != null) {
+                query = entityManager().createQuery(membershipsQuery, anyClass);
+                query.setParameter("keys", chunk);
+                query.getResultList();
+            }
+        }
+
+        Set<T> result = new LinkedHashSet<>(orderedKeys.size());
+        for (String key : orderedKeys) {
+            T any = anys.get(key);
             if (any == null) {
-                LOG.error("Could not find {} with id {}, even though returned by the native query",
-                        typeKind, actualKey);
-            } else if (!result.contains(any)) {
+                LOG.error("Could not find {} with id {}, even though returned by the native query", typeKind, key);
+            } else {
                 result.add(any);
             }
         }
 
+        return new ArrayList<>(result);
+    }
+
+    private String getInClause(final String column, final List<String> values, final List<Object> parameters) {
+        StringBuilder clause = new StringBuilder(column).append(" IN (");
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                clause.append(", ");
+            }
+            clause.append('?').append(setParameter(parameters, values.get(i)));
+        }
+        return clause.append(')').toString();
+    }
+
+    private String formatValue(final PlainSchema schema, final Object[] row) {
+        // row: any_id, schema_id, booleanvalue, datevalue, doublevalue, longvalue, stringvalue
+        String result;
+        switch (schema.getType()) {
+            case Boolean:
+                result = row[2] == null ? null : Boolean.toString(((Number) row[2]).intValue() == 1);
+                break;
+
+            case Date:
+                result = row[3] == null
+                        ? null
+                        : schema.getConversionPattern() == null
+                        ? FormatUtils.format((Date) row[3])
+                        : FormatUtils.format((Date) row[3], false, schema.getConversionPattern());
+                break;
+
+            case Double:
+                result = row[4] == null
+                        ? null
+                        : schema.getConversionPattern() == null
+                        ? FormatUtils.format(((Number) row[4]).doubleValue())
+                        : FormatUtils.format(((Number) row[4]).doubleValue(), schema.getConversionPattern());
+                break;
+
+            case Long:
+                result = row[5] == null
+                        ? null
+                        : schema.getConversionPattern() == null
+                        ? FormatUtils.format(((Number) row[5]).longValue())
+                        : FormatUtils.format(((Number) row[5]).longValue(), schema.getConversionPattern());
+                break;
+
+            default:
+                result = (String) row[6];
+        }
         return result;
     }
 
+    private void readPlainAttrs(
+            final SearchSupport.SearchView view,
+            final Map<String, PlainSchema> schemas,
+            final List<String> keys,
+            final Map<String, ProjectedAny> projected) {
+
+        if (schemas.isEmpty()) {
+            return;
+        }
+
+        List<Object> parameters = new ArrayList<>();
+        Query query = entityManager().createNativeQuery(
+                "SELECT any_id, schema_id, booleanvalue, datevalue, doublevalue, longvalue, stringvalue"
+                + " FROM " + view.name
+                + " WHERE " + getInClause("any_id", keys, parameters)
+                + " AND " + getInClause("schema_id", new ArrayList<>(schemas.keySet()), parameters));
+        fillWithParameters(query, parameters);
+
+        for (Object raw : query.getResultList()) {
+            Object[] row = (Object[]) raw;
+            String value = formatValue(schemas.get((String) row[1]), row);
+            if (value != null) {
+                ProjectedAny any = projected.get((String) row[0]);
+                List<String> values = any.getPlainAttrs().get((String) row[1]);
+                if (values == null) {
+                    values = new ArrayList<>();
+                    any.getPlainAttrs().put((String) row[1], values);
+                }
+                values.add(value);
+            }
+        }
+    }
+
+    /**
+     * Reads the given fields and plain attributes of the given any objects from the search views, with at most three
+     * native queries for each chunk of {@link #MAX_IN_CLAUSE_KEYS} keys.
+     *
+     * @param orderedKeys keys of matching any objects, as sorted by the search query
+     * @param typeKind any type kind
+     * @param fields names of fields and keys of plain schemas to read
+     * @return projections, in the same order as the given keys
+     */
+    private List<ProjectedAny> buildProjectedResult(
+            final Set<String> orderedKeys, final AnyTypeKind typeKind, final List<String> fields) {
+
+        if (orderedKeys.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        SearchSupport svs = new SearchSupport(typeKind);
+        Set<String> projectable = PROJECTABLE_FIELDS.get(typeKind);
+
+        List<String> anyFields = new ArrayList<>();
+        boolean realm = false;
+        Map<String, PlainSchema> schemas = new HashMap<>();
+        Map<String, PlainSchema> uniqueSchemas = new HashMap<>();
+        for (String field : new LinkedHashSet<>(fields)) {
+            if ("key".equals(field)) {
+                continue;
+            }
+            if ("realm".equals(field)) {
+                realm = true;
+                continue;
+            }
+
+            if (projectable.contains(field)) {
+                anyFields.add(field);
+            } else {
+                PlainSchema schema = schemaDAO.find(field);
+                if (schema == null || schema.getType() == AttrSchemaType.Binary) {
+                    LOG.warn("Ignoring invalid or not projectable field or schema '{}'", field);
+                } else if (schema.isUniqueConstraint()) {
+                    uniqueSchemas.put(schema.getKey(), schema);
+                } else {
+                    schemas.put(schema.getKey(), schema);
+                }
+            }
+        }
+
+        Map<String, ProjectedAny> projected = new LinkedHashMap<>(orderedKeys.size());
+        for (String key : orderedKeys) {
+            projected.put(key, new ProjectedAny(key));
+        }
+
+        Map<String, String> realmKeys = new HashMap<>();
+        for (List<String> chunk : ListUtils.partition(new ArrayList<>(orderedKeys), MAX_IN_CLAUSE_KEYS)) {
+            if (realm || !anyFields.isEmpty() || typeKind == AnyTypeKind.ANY_OBJECT) {
+                List<Object> parameters = new ArrayList<>();
+                StringBuilder queryString = new StringBuilder("SELECT any_id, realm_id, ").
+                        append(typeKind == AnyTypeKind.ANY_OBJECT ? "type_id" : "NULL");
+                for (String anyField : anyFields) {
+                    queryString.append(", ").append(anyField);
+                }
+                queryString.append(" FROM ").append(svs.field().name).
+                        append(" WHERE ").append(getInClause("any_id", chunk, parameters));
+
+                Query query = entityManager().createNativeQuery(queryString.toString());
+                fillWithParameters(query, parameters);
+                for (Object raw : query.getResultList()) {
+                    Object[] row = (Object[]) raw;
+                    ProjectedAny any = projected.get((String) row[0]);
+                    if (realm) {
+                        // realm full paths are replaced below, once for each distinct realm
+                        realmKeys.put((String) row[0], (String) row[1]);
+                    }
+                    if (typeKind == AnyTypeKind.ANY_OBJECT) {
+                        any.getFields().put("type", row[2]);
+                    }
+                    for (int i = 0; i < anyFields.size(); i++) {
+                        Object value = row[i + 3];
+                        if (value instanceof Number && BOOLEAN_FIELDS.contains(anyFields.get(i))) {
+                            value = ((Number) value).intValue() == 1;
+                        }
+                        any.getFields().put(anyFields.get(i), value);
+                    }
+                }
+            }
+
+            readPlainAttrs(svs.attr(), schemas, chunk, projected);
+            readPlainAttrs(svs.uniqueAttr(), uniqueSchemas, chunk, projected);
+        }
+
+        if (realm) {
+            Map<String, String> realmFullPaths = new HashMap<>();
+            for (String realmKey : new HashSet<>(realmKeys.values())) {
+                Realm anyRealm = realmDAO.find(realmKey);
+                realmFullPaths.put(realmKey, anyRealm == null ? null : anyRealm.getFullPath());
+            }
+            for (Map.Entry<String, String> entry : realmKeys.entrySet()) {
+                projected.get(entry.getKey()).getFields().put("realm", realmFullPaths.get(entry.getValue()));
+            }
+        }
+
+        return new ArrayList<>(projected.values());
+    }
+
     private StringBuilder getQuery(final SearchCond cond, final List<Object> parameters, final SearchSupport svs) {
         StringBuilder query = new StringBuilder();
 
@@ -691,10 +1039,7 @@ public class JPAAnySearchDAO extends AbstractDAO<Any<?>> implements AnySearchDAO
             }
             query.append("realm_id=?").append(setParameter(parameters, realmDAO.getRoot().getKey()));
         } else {
-            for (Realm current : realmDAO.findDescendants(realm)) {
-                query.append("realm_id=?").append(setParameter(parameters, current.getKey())).append(" OR ");
-            }
-            query.setLength(query.length() - 4);
+            query.append(getRealmPredicate(realmDAO.findDescendantKeys(realm), parameters));
         }
         query.append(')');
 
@@ -916,6 +1261,21 @@ public class JPAAnySearchDAO extends AbstractDAO<Any<?>> implements AnySearchDAO
         return query.toString();
     }
 
+    private static boolean isBooleanAsInteger(final Field anyField) {
+        boolean foundBooleanMin = false;
+        boolean foundBooleanMax = false;
+        if (Integer.class.equals(anyField.getType())) {
+            for (Annotation annotation : anyField.getAnnotations()) {
+                if (Min.class.equals(annotation.annotationType())) {
+                    foundBooleanMin = ((Min) annotation).value() == 0;
+                } else if (Max.class.equals(annotation.annotationType())) {
+                    foundBooleanMax = ((Max) annotation).value() == 1;
+                }
+            }
+        }
+        return foundBooleanMin && foundBooleanMax;
+    }
+
     private String getQuery(
             final AnyCond cond, final boolean not, final List<Object> parameters, final SearchSupport svs) {
 
@@ -943,18 +1303,7 @@ public class JPAAnySearchDAO extends AbstractDAO<Any<?>> implements AnySearchDAO
         }
 
         // Deal with any Integer fields logically mapping to boolean values
-        boolean foundBooleanMin = false;
-        boolean foundBooleanMax = false;
-        if (Integer.class.equals(anyField.getType())) {
-            for (Annotation annotation : anyField.getAnnotations()) {
-                if (Min.class.equals(annotation.annotationType())) {
-                    foundBooleanMin = ((Min) annotation).value() == 0;
-                } else if (Max.class.equals(annotation.annotationType())) {
-                    foundBooleanMax = ((Max) annotation).value() == 1;
-                }
-            }
-        }
-        if (foundBooleanMin && foundBooleanMax) {
+        if (isBooleanAsInteger(anyField)) {
             schema.setType(AttrSchemaType.Boolean);
         }
 
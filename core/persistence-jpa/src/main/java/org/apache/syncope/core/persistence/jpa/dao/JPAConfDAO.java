@@ -18,28 +18,32 @@
  */
 package org.apache.syncope.core.persistence.jpa.dao;
 
+import java.util.ArrayList;
+import java.util.List;
 import org.apache.syncope.core.persistence.api.dao.ConfDAO;
-import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
-import org.apache.syncope.core.persistence.api.entity.PlainAttrUniqueValue;
-import org.apache.syncope.core.persistence.api.entity.PlainAttrValue;
-import org.apache.syncope.core.persistence.api.entity.PlainSchema;
 import org.apache.syncope.core.persistence.api.entity.conf.CPlainAttr;
 import org.apache.syncope.core.persistence.api.entity.conf.Conf;
 import org.apache.syncope.core.persistence.jpa.entity.conf.JPACPlainAttr;
 import org.apache.syncope.core.persistence.jpa.entity.conf.JPACPlainAttrUniqueValue;
 import org.apache.syncope.core.persistence.jpa.entity.conf.JPACPlainAttrValue;
 import org.apache.syncope.core.persistence.jpa.entity.conf.JPAConf;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.springframework.beans.factory.annotation.BeanFactoryAnnotationUtils;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Repository
 public class JPAConfDAO extends AbstractDAO<Conf> implements ConfDAO {
 
     private static final String KEY = "cd64d66f-6fff-4008-b966-a06b1cc1436d";
 
-    @Autowired
-    private PlainSchemaDAO schemaDAO;
+    private final DomainCache<ConfSnapshot> snapshots = new DomainCache<>(
+            JPAConf.class, JPACPlainAttr.class, JPACPlainAttrValue.class, JPACPlainAttrUniqueValue.class);
 
     @Override
     public Conf get() {
@@ -60,34 +64,89 @@ public class JPAConfDAO extends AbstractDAO<Conf> implements ConfDAO {
         return get().getPlainAttr(key);
     }
 
-    @Transactional(readOnly = true)
-    @Override
-    public CPlainAttr find(final String key, final String defaultValue) {
-        CPlainAttr result = find(key);
-        if (result == null) {
-            PlainSchema schema = schemaDAO.find(key);
-            if (schema != null) {
-                JPACPlainAttr newAttr = new JPACPlainAttr();
-                newAttr.setSchema(schemaDAO.find(key));
-
-                PlainAttrValue attrValue;
-                if (newAttr.getSchema().isUniqueConstraint()) {
-                    attrValue = new JPACPlainAttrUniqueValue();
-                    ((PlainAttrUniqueValue) attrValue).setSchema(newAttr.getSchema());
-                } else {
-                    attrValue = new JPACPlainAttrValue();
+    /**
+     * Typed reads are not transactional, so that the cached snapshot is returned without going through the
+     * transaction manager; a transaction is only needed - and joined, if already active - to build the snapshot.
+     *
+     * @return configuration snapshot for the current domain
+     */
+    private ConfSnapshot getSnapshot() {
+        ConfSnapshot snapshot = snapshots.getIfPresent();
+        if (snapshot == null) {
+            TransactionTemplate txTemplate = new TransactionTemplate(BeanFactoryAnnotationUtils.qualifiedBeanOfType(
+                    ApplicationContextProvider.getBeanFactory(),
+                    PlatformTransactionManager.class,
+                    AuthContextUtils.getDomain()));
+            txTemplate.setReadOnly(true);
+            snapshot = txTemplate.execute(new TransactionCallback<ConfSnapshot>() {
+
+                @Override
+                public ConfSnapshot doInTransaction(final TransactionStatus status) {
+                    return snapshots.get(entityManager(), new DomainCache.Loader<ConfSnapshot>() {
+
+                        @Override
+                        public ConfSnapshot load() {
+                            return new ConfSnapshot(get());
+                        }
+                    });
                 }
-                newAttr.add(defaultValue, attrValue);
+            });
+        }
+        return snapshot;
+    }
 
-                result = newAttr;
-            }
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T find(final String key, final T defaultValue) {
+        List<Object> values = getSnapshot().getValues(key);
+        if (values.isEmpty() || values.get(0) == null) {
+            return defaultValue;
+        }
+
+        Object value = values.get(0);
+        if (defaultValue != null && !defaultValue.getClass().isInstance(value)) {
+            LOG.error("Configuration parameter {} is {}, not {} as expected: returning default value",
+                    key, value.getClass().getName(), defaultValue.getClass().getName());
+            return defaultValue;
+        }
+        return (T) value;
+    }
+
+    @Override
+    public <T> T find(final String key, final Class<T> reference) {
+        List<Object> values = getSnapshot().getValues(key);
+        if (values.isEmpty() || values.get(0) == null) {
+            return null;
         }
 
+        Object value = values.get(0);
+        if (!reference.isInstance(value)) {
+            LOG.error("Configuration parameter {} is {}, not {} as expected: ignoring",
+                    key, value.getClass().getName(), reference.getName());
+            return null;
+        }
+        return reference.cast(value);
+    }
+
+    @Override
+    public <T> List<T> findValues(final String key, final Class<T> reference) {
+        List<T> result = new ArrayList<>();
+        for (Object value : getSnapshot().getValues(key)) {
+            if (reference.isInstance(value)) {
+                result.add(reference.cast(value));
+            } else {
+                LOG.error("Configuration parameter {} has value {}, not {} as expected: ignoring",
+                        key, value, reference.getName());
+            }
+        }
         return result;
     }
 
     @Override
     public Conf save(final CPlainAttr attr) {
+        snapshots.invalidate();
+        AuthCacheInvalidator.invalidateAll();
+
         Conf instance = get();
 
         CPlainAttr old = instance.getPlainAttr(attr.getSchema().getKey());
@@ -106,6 +165,9 @@ public class JPAConfDAO extends AbstractDAO<Conf> implements ConfDAO {
 
     @Override
     public Conf delete(final String key) {
+        snapshots.invalidate();
+        AuthCacheInvalidator.invalidateAll();
+
         Conf instance = get();
         CPlainAttr attr = instance.getPlainAttr(key);
         if (attr != null) {
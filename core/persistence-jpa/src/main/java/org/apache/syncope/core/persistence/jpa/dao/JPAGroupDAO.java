@@ -18,6 +18,7 @@
  */
 package org.apache.syncope.core.persistence.jpa.dao;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -36,7 +37,6 @@ import org.apache.syncope.core.persistence.api.entity.user.User;
 import org.apache.syncope.core.persistence.jpa.entity.group.JPAGroup;
 import org.apache.syncope.common.lib.types.StandardEntitlement;
 import org.apache.syncope.core.provisioning.api.utils.RealmUtils;
-import org.apache.syncope.core.persistence.api.search.SearchCondConverter;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.apache.syncope.core.spring.security.DelegatedAdministrationException;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
@@ -44,6 +44,7 @@ import org.apache.syncope.core.persistence.api.dao.NotFoundException;
 import org.apache.syncope.core.persistence.api.dao.PlainAttrDAO;
 import org.apache.syncope.core.persistence.api.dao.search.AssignableCond;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
+import org.apache.syncope.core.persistence.api.entity.Any;
 import org.apache.syncope.core.persistence.api.entity.AnyTypeClass;
 import org.apache.syncope.core.persistence.api.entity.AnyUtils;
 import org.apache.syncope.core.persistence.api.entity.Realm;
@@ -52,11 +53,14 @@ import org.apache.syncope.core.persistence.api.entity.anyobject.AMembership;
 import org.apache.syncope.core.persistence.api.entity.anyobject.APlainAttr;
 import org.apache.syncope.core.persistence.api.entity.anyobject.AnyObject;
 import org.apache.syncope.core.persistence.api.entity.group.TypeExtension;
+import org.apache.syncope.core.persistence.api.entity.user.UDynGroupMembership;
 import org.apache.syncope.core.persistence.api.entity.user.UMembership;
 import org.apache.syncope.core.persistence.api.entity.user.UPlainAttr;
 import org.apache.syncope.core.persistence.jpa.entity.JPAAnyUtilsFactory;
+import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAADynGroupMembership;
 import org.apache.syncope.core.persistence.jpa.entity.anyobject.JPAAMembership;
 import org.apache.syncope.core.persistence.jpa.entity.group.JPATypeExtension;
+import org.apache.syncope.core.persistence.jpa.entity.user.JPAUDynGroupMembership;
 import org.apache.syncope.core.persistence.jpa.entity.user.JPAUMembership;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
@@ -74,6 +78,8 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
     @Autowired
     private PlainAttrDAO plainAttrDAO;
 
+    private final DynMembershipCondCache dynMembershipConds = new DynMembershipCondCache();
+
     @Override
     protected AnyUtils init() {
         return new JPAAnyUtilsFactory().getInstance(AnyTypeKind.GROUP);
@@ -133,6 +139,12 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
         return result;
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public Map<String, String> findKeysByName(final Collection<String> names) {
+        return findKeysBy("name", names);
+    }
+
     @Override
     public Group authFindByName(final String name) {
         if (name == null) {
@@ -209,7 +221,7 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
         cond.setRealmFullPath(groupRealm.getFullPath());
         cond.setFromGroup(false);
 
-        return SearchCond.getAndCond(SearchCond.getLeafCond(cond), SearchCondConverter.convert(baseCondFIQL));
+        return SearchCond.getAndCond(SearchCond.getLeafCond(cond), dynMembershipConds.get(baseCondFIQL));
     }
 
     @Override
@@ -238,6 +250,9 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
             }
         }
 
+        // group ownership contributes to authorities
+        AuthCacheInvalidator.invalidateAll();
+
         return merged;
     }
 
@@ -270,6 +285,8 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
             userDAO.save(leftEnd);
         }
 
+        AuthCacheInvalidator.invalidateAll();
+
         entityManager().remove(group);
     }
 
@@ -283,19 +300,37 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
         return query.getResultList();
     }
 
+    private boolean isAffected(final String fiql, final Set<String> changed) {
+        return dynMembershipConds.isAffected(fiql, changed) || changed.contains("realm");
+    }
+
+    private boolean matches(final SearchCondMatcher matcher, final Any<?> any, final SearchCond cond) {
+        Boolean matches = matcher.matches(any, cond);
+        return matches == null ? searchDAO.matches(any, cond) : matches;
+    }
+
     @Transactional
     @Override
     public void refreshDynMemberships(final AnyObject anyObject) {
-        for (Group group : findAll()) {
-            for (ADynGroupMembership memb : group.getADynMemberships()) {
-                if (searchDAO.matches(
-                        anyObject,
-                        buildDynMembershipCond(memb.getFIQLCond(), group.getRealm()))) {
-
-                    memb.add(anyObject);
-                } else {
-                    memb.getMembers().remove(anyObject);
-                }
+        Set<String> changed = ChangedSchemas.find(entityManager(), anyObject);
+        SearchCondMatcher matcher = new SearchCondMatcher(plainSchemaDAO, new JPAAnyUtilsFactory());
+
+        TypedQuery<ADynGroupMembership> query = entityManager().createQuery(
+                "SELECT e FROM " + JPAADynGroupMembership.class.getSimpleName() + " e", ADynGroupMembership.class);
+
+        for (ADynGroupMembership memb : query.getResultList()) {
+            if (changed != null && !isAffected(memb.getFIQLCond(), changed)) {
+                continue;
+            }
+
+            if (matches(
+                    matcher,
+                    anyObject,
+                    buildDynMembershipCond(memb.getFIQLCond(), memb.getGroup().getRealm()))) {
+
+                memb.add(anyObject);
+            } else {
+                memb.getMembers().remove(anyObject);
             }
         }
     }
@@ -303,16 +338,25 @@ public class JPAGroupDAO extends AbstractAnyDAO<Group> implements GroupDAO {
     @Transactional
     @Override
     public void refreshDynMemberships(final User user) {
-        for (Group group : findAll()) {
-            if (group.getUDynMembership() != null) {
-                if (searchDAO.matches(
-                        user,
-                        buildDynMembershipCond(group.getUDynMembership().getFIQLCond(), group.getRealm()))) {
-
-                    group.getUDynMembership().add(user);
-                } else {
-                    group.getUDynMembership().getMembers().remove(user);
-                }
+        Set<String> changed = ChangedSchemas.find(entityManager(), user);
+        SearchCondMatcher matcher = new SearchCondMatcher(plainSchemaDAO, new JPAAnyUtilsFactory());
+
+        TypedQuery<UDynGroupMembership> query = entityManager().createQuery(
+                "SELECT e FROM " + JPAUDynGroupMembership.class.getSimpleName() + " e", UDynGroupMembership.class);
+
+        for (UDynGroupMembership memb : query.getResultList()) {
+            if (changed != null && !isAffected(memb.getFIQLCond(), changed)) {
+                continue;
+            }
+
+            if (matches(
+                    matcher,
+                    user,
+                    buildDynMembershipCond(memb.getFIQLCond(), memb.getGroup().getRealm()))) {
+
+                memb.add(user);
+            } else {
+                memb.getMembers().remove(user);
             }
         }
     }
@@ -88,6 +88,9 @@ public class JPAPolicyDAO extends AbstractDAO<Policy> implements PolicyDAO {
 
     @Override
     public <T extends Policy> T save(final T policy) {
+        if (policy instanceof AccountPolicy) {
+            AuthCacheInvalidator.invalidateAll();
+        }
         return entityManager().merge(policy);
     }
 
@@ -101,6 +104,9 @@ public class JPAPolicyDAO extends AbstractDAO<Policy> implements PolicyDAO {
             }
         }
 
+        if (policy instanceof AccountPolicy) {
+            AuthCacheInvalidator.invalidateAll();
+        }
         entityManager().remove(policy);
     }
 }
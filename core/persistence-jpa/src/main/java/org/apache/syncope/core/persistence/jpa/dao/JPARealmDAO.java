@@ -19,13 +19,24 @@
 package org.apache.syncope.core.persistence.jpa.dao;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import javax.persistence.NoResultException;
 import javax.persistence.TypedQuery;
 import org.apache.commons.collections4.IterableUtils;
 import org.apache.commons.collections4.Predicate;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.openjpa.event.RemoteCommitEvent;
+import org.apache.openjpa.event.RemoteCommitEventManager;
+import org.apache.openjpa.event.RemoteCommitListener;
+import org.apache.openjpa.persistence.OpenJPAEntityManagerFactorySPI;
+import org.apache.openjpa.persistence.OpenJPAPersistence;
+import org.apache.openjpa.util.OpenJPAId;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.core.persistence.api.dao.MalformedPathException;
 import org.apache.syncope.core.persistence.api.dao.RealmDAO;
@@ -37,16 +48,139 @@ import org.apache.syncope.core.persistence.api.entity.Role;
 import org.apache.syncope.core.persistence.api.entity.policy.PasswordPolicy;
 import org.apache.syncope.core.persistence.api.entity.policy.PullPolicy;
 import org.apache.syncope.core.persistence.jpa.entity.JPARealm;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Repository
 public class JPARealmDAO extends AbstractDAO<Realm> implements RealmDAO {
 
+    private static final String DIRTY_TREE = JPARealmDAO.class.getName() + ".DIRTY_TREE.";
+
     @Autowired
     private RoleDAO roleDAO;
 
+    /**
+     * Realm trees, per domain; an entry is removed whenever any realm of the given domain is saved or deleted,
+     * either locally or - if remote commit events are enabled - by another cluster node.
+     */
+    private final ConcurrentMap<String, RealmTree> trees = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Long> generations = new ConcurrentHashMap<>();
+
+    private void invalidateTree(final String domain) {
+        synchronized (trees) {
+            Long generation = generations.get(domain);
+            generations.put(domain, generation == null ? 1L : generation + 1);
+            trees.remove(domain);
+        }
+    }
+
+    /**
+     * Invalidates the realm tree of the current domain, both immediately and after the current transaction - if any -
+     * is completed; meanwhile, the current transaction will not see any cached tree.
+     */
+    private void invalidateTree() {
+        final String domain = AuthContextUtils.getDomain();
+        invalidateTree(domain);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.hasResource(DIRTY_TREE + domain)) {
+
+            TransactionSynchronizationManager.bindResource(DIRTY_TREE + domain, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCompletion(final int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(DIRTY_TREE + domain);
+                    invalidateTree(domain);
+                }
+            });
+        }
+    }
+
+    private boolean isRealmChanged(final Collection<?> oids) {
+        if (oids != null) {
+            for (Object oid : oids) {
+                if (oid instanceof OpenJPAId && JPARealm.class.isAssignableFrom(((OpenJPAId) oid).getType())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void listenRemoteCommits(final String domain) {
+        RemoteCommitEventManager eventManager = ((OpenJPAEntityManagerFactorySPI) OpenJPAPersistence.cast(
+                entityManager()).getEntityManagerFactory()).getConfiguration().getRemoteCommitEventManager();
+        if (eventManager.areRemoteEventsEnabled()) {
+            eventManager.addListener(new RemoteCommitListener() {
+
+                @Override
+                public void afterCommit(final RemoteCommitEvent event) {
+                    boolean changed = event.getPersistedTypeNames().contains(JPARealm.class.getName());
+                    if (!changed && event.getPayloadType() == RemoteCommitEvent.PAYLOAD_EXTENTS) {
+                        changed = event.getUpdatedTypeNames().contains(JPARealm.class.getName())
+                                || event.getDeletedTypeNames().contains(JPARealm.class.getName());
+                    } else if (!changed) {
+                        changed = isRealmChanged(event.getUpdatedObjectIds())
+                                || isRealmChanged(event.getDeletedObjectIds());
+                    }
+
+                    if (changed) {
+
+                        LOG.debug("Realms changed remotely, invalidating realm tree for domain {}", domain);
+                        invalidateTree(domain);
+                    }
+                }
+
+                @Override
+                public void close() {
+                    // nothing to do
+                }
+            });
+        }
+    }
+
+    /**
+     * @return realm tree for the current domain; built via a single query if not cached
+     */
+    private RealmTree getTree() {
+        String domain = AuthContextUtils.getDomain();
+        boolean dirty = TransactionSynchronizationManager.hasResource(DIRTY_TREE + domain);
+
+        RealmTree tree = dirty ? null : trees.get(domain);
+        if (tree == null) {
+            Long generation;
+            synchronized (trees) {
+                generation = generations.get(domain);
+                if (generation == null) {
+                    generation = 0L;
+                    generations.put(domain, generation);
+                    listenRemoteCommits(domain);
+                }
+            }
+
+            TypedQuery<Object[]> query = entityManager().createQuery(
+                    "SELECT e.id, e.name, p.id FROM " + JPARealm.class.getSimpleName() + " e LEFT JOIN e.parent p",
+                    Object[].class);
+            tree = new RealmTree(query.getResultList());
+
+            if (!dirty) {
+                synchronized (trees) {
+                    if (generation.equals(generations.get(domain))) {
+                        trees.put(domain, tree);
+                    }
+                }
+            }
+        }
+
+        return tree;
+    }
+
     @Override
     public Realm getRoot() {
         TypedQuery<Realm> query = entityManager().createQuery(
@@ -78,6 +212,14 @@ public class JPARealmDAO extends AbstractDAO<Realm> implements RealmDAO {
             throw new MalformedPathException(fullPath);
         }
 
+        String key = getTree().getKey(fullPath);
+        if (key != null) {
+            Realm realm = find(key);
+            if (realm != null) {
+                return realm;
+            }
+        }
+
         Realm root = getRoot();
         if (root == null) {
             return null;
@@ -169,10 +311,36 @@ public class JPARealmDAO extends AbstractDAO<Realm> implements RealmDAO {
         }
     }
 
+    @Override
+    public Set<String> findDescendantKeys(final Realm realm) {
+        RealmTree tree = getTree();
+        if (tree.contains(realm.getKey())) {
+            return tree.getDescendantKeys(realm.getKey());
+        }
+
+        Set<String> result = new LinkedHashSet<>();
+        for (Realm descendant : findDescendants(realm)) {
+            result.add(descendant.getKey());
+        }
+        return result;
+    }
+
     @Override
     public List<Realm> findDescendants(final Realm realm) {
         List<Realm> result = new ArrayList<>();
-        findDescendants(result, realm);
+
+        RealmTree tree = getTree();
+        if (tree.contains(realm.getKey())) {
+            for (String key : tree.getDescendantKeys(realm.getKey())) {
+                Realm descendant = find(key);
+                if (descendant != null) {
+                    result.add(descendant);
+                }
+            }
+        } else {
+            findDescendants(result, realm);
+        }
+
         return result;
     }
 
@@ -185,6 +353,8 @@ public class JPARealmDAO extends AbstractDAO<Realm> implements RealmDAO {
 
     @Override
     public Realm save(final Realm realm) {
+        invalidateTree();
+        AuthCacheInvalidator.invalidateAll();
         return entityManager().merge(realm);
     }
 
@@ -199,6 +369,9 @@ public class JPARealmDAO extends AbstractDAO<Realm> implements RealmDAO {
 
             entityManager().remove(toBeDeleted);
         }
+
+        invalidateTree();
+        AuthCacheInvalidator.invalidateAll();
     }
 
     @Override
@@ -18,16 +18,32 @@
  */
 package org.apache.syncope.core.persistence.jpa.dao;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import javax.persistence.PersistenceException;
+import javax.persistence.Cache;
 import javax.persistence.Query;
 import javax.persistence.TypedQuery;
+import org.apache.openjpa.persistence.OpenJPAEntityManager;
 import org.apache.syncope.core.persistence.api.dao.ReportExecDAO;
 import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
 import org.apache.syncope.core.persistence.api.entity.Report;
 import org.apache.syncope.core.persistence.api.entity.ReportExec;
+import org.apache.syncope.core.persistence.jpa.entity.JPAReport;
 import org.apache.syncope.core.persistence.jpa.entity.JPAReportExec;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.ReflectionUtils;
 
@@ -165,6 +181,111 @@ public class JPAReportExecDAO extends AbstractDAO<ReportExec> implements ReportE
         return entityManager().merge(execution);
     }
 
+    @Override
+    public boolean hasExecResult(final String key) {
+        Query query = entityManager().createNativeQuery(
+                "SELECT COUNT(e.id) FROM " + JPAReportExec.TABLE + " e WHERE e.id=?1 AND e.execResult IS NOT NULL");
+        query.setParameter(1, key);
+
+        return ((Number) query.getSingleResult()).intValue() > 0;
+    }
+
+    /**
+     * Stream on a JDBC binary column, releasing all the underlying resources when closed.
+     */
+    private static class ExecResultInputStream extends FilterInputStream {
+
+        private final Connection conn;
+
+        private final PreparedStatement stmt;
+
+        private final ResultSet rs;
+
+        ExecResultInputStream(
+                final InputStream in, final Connection conn, final PreparedStatement stmt, final ResultSet rs) {
+
+            super(in);
+            this.conn = conn;
+            this.stmt = stmt;
+            this.rs = rs;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                closeQuietly(conn, stmt, rs);
+            }
+        }
+    }
+
+    private static void closeQuietly(final Connection conn, final PreparedStatement stmt, final ResultSet rs) {
+        for (AutoCloseable closeable : new AutoCloseable[] { rs, stmt, conn }) {
+            if (closeable != null) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    LOG.debug("While closing {}", closeable, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * The connection returned is the one bound to the current transaction, where the report execution row was
+     * flushed: closing it only releases OpenJPA's reference.
+     *
+     * @return connection bound to the current transaction
+     */
+    private Connection connection() {
+        return (Connection) entityManager().unwrap(OpenJPAEntityManager.class).getConnection();
+    }
+
+    @Override
+    public InputStream getExecResult(final String key) {
+        flush();
+
+        Connection conn = connection();
+        PreparedStatement stmt = null;
+        ResultSet rs = null;
+        try {
+            stmt = conn.prepareStatement("SELECT execResult FROM " + JPAReportExec.TABLE + " WHERE id=?");
+            stmt.setString(1, key);
+            rs = stmt.executeQuery();
+
+            InputStream in = rs.next() ? rs.getBinaryStream(1) : null;
+            if (in == null) {
+                closeQuietly(conn, stmt, rs);
+                return null;
+            }
+            return new ExecResultInputStream(in, conn, stmt, rs);
+        } catch (SQLException e) {
+            closeQuietly(conn, stmt, rs);
+            throw new PersistenceException("While reading result of report execution " + key, e);
+        }
+    }
+
+    @Override
+    public void setExecResult(final String key, final InputStream execResult) {
+        flush();
+
+        Connection conn = connection();
+        PreparedStatement stmt = null;
+        try {
+            stmt = conn.prepareStatement("UPDATE " + JPAReportExec.TABLE + " SET execResult=? WHERE id=?");
+            stmt.setBinaryStream(1, execResult);
+            stmt.setString(2, key);
+            if (stmt.executeUpdate() == 0) {
+                throw new PersistenceException("Report execution " + key + " not found");
+            }
+        } catch (SQLException e) {
+            throw new PersistenceException("While writing result of report execution " + key, e);
+        } finally {
+            closeQuietly(conn, stmt, null);
+        }
+    }
+
     @Override
     public void delete(final String key) {
         ReportExec execution = find(key);
@@ -183,4 +304,119 @@ public class JPAReportExecDAO extends AbstractDAO<ReportExec> implements ReportE
 
         entityManager().remove(execution);
     }
+
+    private Date getPurgeCutoff(final String report, final Date startedBefore, final int keep) {
+        TypedQuery<Date> query = entityManager().createQuery(
+                "SELECT e.start FROM " + JPAReportExec.class.getSimpleName() + " e "
+                + "WHERE e.report.id=:report ORDER BY e.start DESC", Date.class);
+        query.setParameter("report", report);
+        // start of the keep-th latest execution: all executions of the report started before can be deleted
+        query.setFirstResult(keep - 1);
+        query.setMaxResults(1);
+
+        List<Date> result = query.getResultList();
+        return result.isEmpty() || result.get(0).after(startedBefore) ? startedBefore : result.get(0);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Map<String, Date> findPurgeCutoffs(final Date startedBefore, final int keep) {
+        Map<String, Date> cutoffs = new LinkedHashMap<>();
+        if (keep <= 0) {
+            TypedQuery<String> query = entityManager().createQuery(
+                    "SELECT DISTINCT e.report.id FROM " + JPAReportExec.class.getSimpleName() + " e "
+                    + "WHERE e.start < :startedBefore", String.class);
+            query.setParameter("startedBefore", startedBefore);
+            for (String report : query.getResultList()) {
+                cutoffs.put(report, startedBefore);
+            }
+        } else {
+            // only owners with executions to delete, besides the latest keep: no need to compute cutoff for others
+            TypedQuery<String> query = entityManager().createQuery(
+                    "SELECT e.report.id FROM " + JPAReportExec.class.getSimpleName() + " e GROUP BY e.report.id "
+                    + "HAVING COUNT(e) > :keep AND MIN(e.start) < :startedBefore", String.class);
+            query.setParameter("keep", (long) keep);
+            query.setParameter("startedBefore", startedBefore);
+            for (String report : query.getResultList()) {
+                cutoffs.put(report, getPurgeCutoff(report, startedBefore, keep));
+            }
+        }
+        return cutoffs;
+    }
+
+    private TypedQuery<Long> purgeableCount(final String report, final Date startedBefore) {
+        TypedQuery<Long> query = entityManager().createQuery(
+                "SELECT COUNT(e) FROM " + JPAReportExec.class.getSimpleName() + " e WHERE e.start < :startedBefore"
+                + (report == null ? "" : " AND e.report.id=:report"), Long.class);
+        query.setParameter("startedBefore", startedBefore);
+        if (report != null) {
+            query.setParameter("report", report);
+        }
+        return query;
+    }
+
+    private TypedQuery<String> purgeableKeys(final String report, final Date startedBefore) {
+        TypedQuery<String> query = entityManager().createQuery(
+                "SELECT e.id FROM " + JPAReportExec.class.getSimpleName() + " e WHERE e.start < :startedBefore"
+                + (report == null ? "" : " AND e.report.id=:report"), String.class);
+        query.setParameter("startedBefore", startedBefore);
+        if (report != null) {
+            query.setParameter("report", report);
+        }
+        return query;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public long countPurgeable(final Date startedBefore, final int keep) {
+        if (keep <= 0) {
+            return purgeableCount(null, startedBefore).getSingleResult();
+        }
+
+        long count = 0;
+        for (Map.Entry<String, Date> cutoff : findPurgeCutoffs(startedBefore, keep).entrySet()) {
+            count += purgeableCount(cutoff.getKey(), cutoff.getValue()).getSingleResult();
+        }
+        return count;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Override
+    public int purge(final Date startedBefore, final int keep, final int max) {
+        return purge(findPurgeCutoffs(startedBefore, keep), max);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Override
+    public int purge(final Map<String, Date> cutoffs, final int max) {
+        List<String> keys = new ArrayList<>();
+        for (Iterator<Map.Entry<String, Date>> itor = cutoffs.entrySet().iterator();
+                itor.hasNext() && keys.size() < max;) {
+
+            Map.Entry<String, Date> cutoff = itor.next();
+            int requested = max - keys.size();
+            List<String> found = purgeableKeys(cutoff.getKey(), cutoff.getValue()).
+                    setMaxResults(requested).getResultList();
+            keys.addAll(found);
+            if (found.size() < requested) {
+                // nothing left to delete for this report, once the executions just found are deleted
+                itor.remove();
+            }
+        }
+        if (keys.isEmpty()) {
+            return 0;
+        }
+
+        Query delete = entityManager().createQuery(
+                "DELETE FROM " + JPAReportExec.class.getSimpleName() + " e WHERE e.id IN :keys");
+        delete.setParameter("keys", keys);
+        int deleted = delete.executeUpdate();
+
+        // bulk deletes bypass the data cache, which would otherwise keep serving the deleted executions
+        Cache cache = entityManager().getEntityManagerFactory().getCache();
+        cache.evict(JPAReportExec.class);
+        cache.evict(JPAReport.class);
+
+        return deleted;
+    }
 }
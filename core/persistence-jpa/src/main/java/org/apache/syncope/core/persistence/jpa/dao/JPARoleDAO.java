@@ -19,16 +19,21 @@
 package org.apache.syncope.core.persistence.jpa.dao;
 
 import java.util.List;
+import java.util.Set;
 import javax.persistence.Query;
 import javax.persistence.TypedQuery;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
-import org.apache.syncope.core.persistence.api.search.SearchCondConverter;
 import org.apache.syncope.core.persistence.api.dao.RoleDAO;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
+import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.Realm;
 import org.apache.syncope.core.persistence.api.entity.Role;
+import org.apache.syncope.core.persistence.api.entity.user.DynRoleMembership;
 import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.persistence.jpa.entity.JPAAnyUtilsFactory;
 import org.apache.syncope.core.persistence.jpa.entity.JPARole;
+import org.apache.syncope.core.persistence.jpa.entity.user.JPADynRoleMembership;
 import org.apache.syncope.core.persistence.jpa.entity.user.JPAUser;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
@@ -40,6 +45,11 @@ public class JPARoleDAO extends AbstractDAO<Role> implements RoleDAO {
     @Autowired
     private AnySearchDAO searchDAO;
 
+    @Autowired
+    private PlainSchemaDAO plainSchemaDAO;
+
+    private final DynMembershipCondCache dynMembershipConds = new DynMembershipCondCache();
+
     @Override
     public int count() {
         Query query = entityManager().createQuery(
@@ -72,7 +82,7 @@ public class JPARoleDAO extends AbstractDAO<Role> implements RoleDAO {
         // refresh dynaminc memberships
         if (role.getDynMembership() != null) {
             List<User> matchingUsers = searchDAO.search(
-                    SearchCondConverter.convert(role.getDynMembership().getFIQLCond()), AnyTypeKind.USER);
+                    dynMembershipConds.get(role.getDynMembership().getFIQLCond()), AnyTypeKind.USER);
 
             role.getDynMembership().getMembers().clear();
             for (User user : matchingUsers) {
@@ -80,6 +90,8 @@ public class JPARoleDAO extends AbstractDAO<Role> implements RoleDAO {
             }
         }
 
+        AuthCacheInvalidator.invalidateAll();
+
         return entityManager().merge(role);
     }
 
@@ -93,6 +105,8 @@ public class JPARoleDAO extends AbstractDAO<Role> implements RoleDAO {
             user.getRoles().remove(role);
         }
 
+        AuthCacheInvalidator.invalidateAll();
+
         entityManager().remove(role);
     }
 
@@ -109,13 +123,23 @@ public class JPARoleDAO extends AbstractDAO<Role> implements RoleDAO {
     @Transactional
     @Override
     public void refreshDynMemberships(final User user) {
-        for (Role role : findAll()) {
-            if (role.getDynMembership() != null) {
-                if (searchDAO.matches(user, SearchCondConverter.convert(role.getDynMembership().getFIQLCond()))) {
-                    role.getDynMembership().add(user);
-                } else {
-                    role.getDynMembership().getMembers().remove(user);
-                }
+        Set<String> changed = ChangedSchemas.find(entityManager(), user);
+        SearchCondMatcher matcher = new SearchCondMatcher(plainSchemaDAO, new JPAAnyUtilsFactory());
+
+        TypedQuery<DynRoleMembership> query = entityManager().createQuery(
+                "SELECT e FROM " + JPADynRoleMembership.class.getSimpleName() + " e", DynRoleMembership.class);
+
+        for (DynRoleMembership memb : query.getResultList()) {
+            if (!dynMembershipConds.isAffected(memb.getFIQLCond(), changed)) {
+                continue;
+            }
+
+            SearchCond cond = dynMembershipConds.get(memb.getFIQLCond());
+            Boolean matches = matcher.matches(user, cond);
+            if (matches == null ? searchDAO.matches(user, cond) : matches) {
+                memb.add(user);
+            } else {
+                memb.getMembers().remove(user);
             }
         }
     }
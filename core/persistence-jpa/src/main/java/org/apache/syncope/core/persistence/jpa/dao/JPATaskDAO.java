@@ -19,8 +19,11 @@
 package org.apache.syncope.core.persistence.jpa.dao;
 
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
+import javax.persistence.Cache;
 import javax.persistence.Query;
+import javax.persistence.TypedQuery;
 import org.apache.commons.collections4.Closure;
 import org.apache.commons.collections4.IterableUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -37,7 +40,9 @@ import org.apache.syncope.core.persistence.jpa.entity.task.JPAPushTask;
 import org.apache.syncope.core.persistence.jpa.entity.task.JPASchedTask;
 import org.apache.syncope.core.persistence.jpa.entity.task.JPAPullTask;
 import org.apache.syncope.core.persistence.jpa.entity.task.AbstractTask;
+import org.apache.syncope.core.persistence.jpa.entity.task.JPATaskExec;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.ReflectionUtils;
 
@@ -276,4 +281,49 @@ public class JPATaskDAO extends AbstractDAO<Task> implements TaskDAO {
             }
         });
     }
+
+    private <T> TypedQuery<T> purgeablePropagationTasks(
+            final String select, final Date executedBefore, final Class<T> resultClass) {
+
+        TypedQuery<T> query = entityManager().createQuery(
+                "SELECT " + select + " FROM " + JPAPropagationTask.class.getSimpleName() + " t "
+                + "WHERE EXISTS (SELECT e FROM " + JPATaskExec.class.getSimpleName() + " e WHERE e.task=t) "
+                + "AND NOT EXISTS (SELECT e FROM " + JPATaskExec.class.getSimpleName() + " e "
+                + "WHERE e.task=t AND e.start >= :executedBefore)", resultClass);
+        query.setParameter("executedBefore", executedBefore);
+        return query;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public long countPurgeablePropagationTasks(final Date executedBefore) {
+        return purgeablePropagationTasks("COUNT(t)", executedBefore, Long.class).getSingleResult();
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Override
+    public int purgePropagationTasks(final Date executedBefore, final int max) {
+        List<String> keys = purgeablePropagationTasks("t.id", executedBefore, String.class).
+                setMaxResults(max).getResultList();
+        if (keys.isEmpty()) {
+            return 0;
+        }
+
+        Query delete = entityManager().createQuery(
+                "DELETE FROM " + JPATaskExec.class.getSimpleName() + " e WHERE e.task.id IN :keys");
+        delete.setParameter("keys", keys);
+        delete.executeUpdate();
+
+        delete = entityManager().createQuery(
+                "DELETE FROM " + JPAPropagationTask.class.getSimpleName() + " t WHERE t.id IN :keys");
+        delete.setParameter("keys", keys);
+        int deleted = delete.executeUpdate();
+
+        // bulk deletes bypass the data cache, which would otherwise keep serving the deleted tasks and executions
+        Cache cache = entityManager().getEntityManagerFactory().getCache();
+        cache.evict(JPATaskExec.class);
+        cache.evict(JPAPropagationTask.class);
+
+        return deleted;
+    }
 }
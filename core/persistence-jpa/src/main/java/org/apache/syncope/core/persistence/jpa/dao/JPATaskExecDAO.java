@@ -18,8 +18,13 @@
  */
 package org.apache.syncope.core.persistence.jpa.dao;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import javax.persistence.Cache;
 import javax.persistence.Query;
 import javax.persistence.TypedQuery;
 import org.apache.syncope.core.persistence.api.dao.TaskDAO;
@@ -27,9 +32,11 @@ import org.apache.syncope.core.persistence.api.dao.TaskExecDAO;
 import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
 import org.apache.syncope.core.persistence.api.entity.task.Task;
 import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
+import org.apache.syncope.core.persistence.jpa.entity.task.AbstractTask;
 import org.apache.syncope.core.persistence.jpa.entity.task.JPATaskExec;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.ReflectionUtils;
 
@@ -195,4 +202,119 @@ public class JPATaskExecDAO extends AbstractDAO<TaskExec> implements TaskExecDAO
 
         entityManager().remove(execution);
     }
+
+    private Date getPurgeCutoff(final String task, final Date startedBefore, final int keep) {
+        TypedQuery<Date> query = entityManager().createQuery(
+                "SELECT e.start FROM " + JPATaskExec.class.getSimpleName() + " e "
+                + "WHERE e.task.id=:task ORDER BY e.start DESC", Date.class);
+        query.setParameter("task", task);
+        // start of the keep-th latest execution: all executions of the task started before can be deleted
+        query.setFirstResult(keep - 1);
+        query.setMaxResults(1);
+
+        List<Date> result = query.getResultList();
+        return result.isEmpty() || result.get(0).after(startedBefore) ? startedBefore : result.get(0);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public Map<String, Date> findPurgeCutoffs(final Date startedBefore, final int keep) {
+        Map<String, Date> cutoffs = new LinkedHashMap<>();
+        if (keep <= 0) {
+            TypedQuery<String> query = entityManager().createQuery(
+                    "SELECT DISTINCT e.task.id FROM " + JPATaskExec.class.getSimpleName() + " e "
+                    + "WHERE e.start < :startedBefore", String.class);
+            query.setParameter("startedBefore", startedBefore);
+            for (String task : query.getResultList()) {
+                cutoffs.put(task, startedBefore);
+            }
+        } else {
+            // only owners with executions to delete, besides the latest keep: no need to compute cutoff for others
+            TypedQuery<String> query = entityManager().createQuery(
+                    "SELECT e.task.id FROM " + JPATaskExec.class.getSimpleName() + " e GROUP BY e.task.id "
+                    + "HAVING COUNT(e) > :keep AND MIN(e.start) < :startedBefore", String.class);
+            query.setParameter("keep", (long) keep);
+            query.setParameter("startedBefore", startedBefore);
+            for (String task : query.getResultList()) {
+                cutoffs.put(task, getPurgeCutoff(task, startedBefore, keep));
+            }
+        }
+        return cutoffs;
+    }
+
+    private TypedQuery<Long> purgeableCount(final String task, final Date startedBefore) {
+        TypedQuery<Long> query = entityManager().createQuery(
+                "SELECT COUNT(e) FROM " + JPATaskExec.class.getSimpleName() + " e WHERE e.start < :startedBefore"
+                + (task == null ? "" : " AND e.task.id=:task"), Long.class);
+        query.setParameter("startedBefore", startedBefore);
+        if (task != null) {
+            query.setParameter("task", task);
+        }
+        return query;
+    }
+
+    private TypedQuery<String> purgeableKeys(final String task, final Date startedBefore) {
+        TypedQuery<String> query = entityManager().createQuery(
+                "SELECT e.id FROM " + JPATaskExec.class.getSimpleName() + " e WHERE e.start < :startedBefore"
+                + (task == null ? "" : " AND e.task.id=:task"), String.class);
+        query.setParameter("startedBefore", startedBefore);
+        if (task != null) {
+            query.setParameter("task", task);
+        }
+        return query;
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public long countPurgeable(final Date startedBefore, final int keep) {
+        if (keep <= 0) {
+            return purgeableCount(null, startedBefore).getSingleResult();
+        }
+
+        long count = 0;
+        for (Map.Entry<String, Date> cutoff : findPurgeCutoffs(startedBefore, keep).entrySet()) {
+            count += purgeableCount(cutoff.getKey(), cutoff.getValue()).getSingleResult();
+        }
+        return count;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Override
+    public int purge(final Date startedBefore, final int keep, final int max) {
+        return purge(findPurgeCutoffs(startedBefore, keep), max);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Override
+    public int purge(final Map<String, Date> cutoffs, final int max) {
+        List<String> keys = new ArrayList<>();
+        for (Iterator<Map.Entry<String, Date>> itor = cutoffs.entrySet().iterator();
+                itor.hasNext() && keys.size() < max;) {
+
+            Map.Entry<String, Date> cutoff = itor.next();
+            int requested = max - keys.size();
+            List<String> found = purgeableKeys(cutoff.getKey(), cutoff.getValue()).
+                    setMaxResults(requested).getResultList();
+            keys.addAll(found);
+            if (found.size() < requested) {
+                // nothing left to delete for this task, once the executions just found are deleted
+                itor.remove();
+            }
+        }
+        if (keys.isEmpty()) {
+            return 0;
+        }
+
+        Query delete = entityManager().createQuery(
+                "DELETE FROM " + JPATaskExec.class.getSimpleName() + " e WHERE e.id IN :keys");
+        delete.setParameter("keys", keys);
+        int deleted = delete.executeUpdate();
+
+        // bulk deletes bypass the data cache, which would otherwise keep serving the deleted executions
+        Cache cache = entityManager().getEntityManagerFactory().getCache();
+        cache.evict(JPATaskExec.class);
+        cache.evict(AbstractTask.class);
+
+        return deleted;
+    }
 }
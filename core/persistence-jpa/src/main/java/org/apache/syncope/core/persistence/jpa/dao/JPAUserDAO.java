@@ -200,6 +200,12 @@ public class JPAUserDAO extends AbstractAnyDAO<User> implements UserDAO {
         return result;
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public Map<String, String> findKeysByUsername(final Collection<String> usernames) {
+        return findKeysBy("username", usernames);
+    }
+
     @Override
     public User findByToken(final String token) {
         TypedQuery<User> query = entityManager().createQuery("SELECT e FROM " + JPAUser.class.getSimpleName()
@@ -412,6 +418,8 @@ public class JPAUserDAO extends AbstractAnyDAO<User> implements UserDAO {
         roleDAO.refreshDynMemberships(merged);
         groupDAO.refreshDynMemberships(merged);
 
+        AuthCacheInvalidator.invalidate(merged.getKey());
+
         return merged;
     }
 
@@ -424,6 +432,8 @@ public class JPAUserDAO extends AbstractAnyDAO<User> implements UserDAO {
             group.getUDynMembership().getMembers().remove(user);
         }
 
+        AuthCacheInvalidator.invalidate(user.getKey());
+
         entityManager().remove(user);
     }
 
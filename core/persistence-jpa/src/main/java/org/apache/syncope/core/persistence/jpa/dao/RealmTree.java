@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.syncope.common.lib.SyncopeConstants;
+
+/**
+ * Immutable snapshot of the realm hierarchy of a domain, built from a single query: full paths are resolved to realm
+ * keys, and sets of descendant keys are computed, without any further query.
+ */
+class RealmTree {
+
+    private final Map<String, String> keysByFullPath = new HashMap<>();
+
+    private final Map<String, String> fullPaths = new HashMap<>();
+
+    private final Map<String, List<String>> children = new HashMap<>();
+
+    private final Map<String, Set<String>> descendants = new ConcurrentHashMap<>();
+
+    /**
+     * @param realms (key, name, parent key) for each realm
+     */
+    RealmTree(final List<Object[]> realms) {
+        Map<String, String> names = new HashMap<>(realms.size());
+        List<String> roots = new ArrayList<>();
+        for (Object[] realm : realms) {
+            String key = (String) realm[0];
+            String parent = (String) realm[2];
+
+            names.put(key, (String) realm[1]);
+            if (parent == null) {
+                roots.add(key);
+            } else {
+                List<String> siblings = children.get(parent);
+                if (siblings == null) {
+                    siblings = new ArrayList<>();
+                    children.put(parent, siblings);
+                }
+                siblings.add(key);
+            }
+        }
+
+        Deque<String> toVisit = new ArrayDeque<>();
+        for (String root : roots) {
+            fullPaths.put(root, SyncopeConstants.ROOT_REALM);
+            toVisit.add(root);
+        }
+        while (!toVisit.isEmpty()) {
+            String key = toVisit.poll();
+            keysByFullPath.put(fullPaths.get(key), key);
+            for (String child : getChildren(key)) {
+                fullPaths.put(child, StringUtils.appendIfMissing(fullPaths.get(key), "/") + names.get(child));
+                toVisit.add(child);
+            }
+        }
+    }
+
+    private List<String> getChildren(final String key) {
+        List<String> result = children.get(key);
+        return result == null ? Collections.<String>emptyList() : result;
+    }
+
+    /**
+     * @param fullPath realm full path
+     * @return key of the realm with the given full path, or null if not found
+     */
+    public String getKey(final String fullPath) {
+        return keysByFullPath.get(fullPath);
+    }
+
+    public boolean contains(final String key) {
+        return fullPaths.containsKey(key);
+    }
+
+    /**
+     * @param key realm key
+     * @return keys of the given realm and of all its descendants, parents before children
+     */
+    public Set<String> getDescendantKeys(final String key) {
+        Set<String> result = descendants.get(key);
+        if (result == null) {
+            Set<String> keys = new LinkedHashSet<>();
+            Deque<String> toVisit = new ArrayDeque<>();
+            toVisit.add(key);
+            while (!toVisit.isEmpty()) {
+                String current = toVisit.poll();
+                keys.add(current);
+                toVisit.addAll(getChildren(current));
+            }
+
+            result = Collections.unmodifiableSet(keys);
+            descendants.put(key, result);
+        }
+        return result;
+    }
+}
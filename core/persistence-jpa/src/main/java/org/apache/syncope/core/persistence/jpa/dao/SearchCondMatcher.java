@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.dao;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import javax.validation.ValidationException;
+import org.apache.syncope.common.lib.types.AttrSchemaType;
+import org.apache.syncope.core.persistence.api.dao.PlainSchemaDAO;
+import org.apache.syncope.core.persistence.api.dao.search.AnyCond;
+import org.apache.syncope.core.persistence.api.dao.search.AssignableCond;
+import org.apache.syncope.core.persistence.api.dao.search.AttributeCond;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
+import org.apache.syncope.core.persistence.api.entity.Any;
+import org.apache.syncope.core.persistence.api.entity.AnyUtilsFactory;
+import org.apache.syncope.core.persistence.api.entity.GroupableRelatable;
+import org.apache.syncope.core.persistence.api.entity.PlainAttr;
+import org.apache.syncope.core.persistence.api.entity.PlainAttrValue;
+import org.apache.syncope.core.persistence.api.entity.PlainSchema;
+import org.apache.syncope.core.persistence.api.entity.anyobject.AnyObject;
+import org.apache.syncope.core.persistence.api.entity.group.Group;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Evaluates dynamic membership conditions against an in-memory entity, without issuing any native query.
+ * Only the subset of conditions whose outcome can be computed from the entity alone with the same semantics as
+ * the SQL generated by {@link JPAAnySearchDAO} is supported: for any other condition {@code null} is returned and
+ * the caller is expected to fall back to the database.
+ * Case-sensitive string comparisons are among the latter, as their outcome depends on the database collation.
+ */
+class SearchCondMatcher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SearchCondMatcher.class);
+
+    private final PlainSchemaDAO schemaDAO;
+
+    private final AnyUtilsFactory anyUtilsFactory;
+
+    SearchCondMatcher(final PlainSchemaDAO schemaDAO, final AnyUtilsFactory anyUtilsFactory) {
+        this.schemaDAO = schemaDAO;
+        this.anyUtilsFactory = anyUtilsFactory;
+    }
+
+    /**
+     * @param any entity to check
+     * @param cond search condition
+     * @return whether the given entity matches the given condition, or {@code null} if this cannot be told without
+     * querying the database
+     */
+    public Boolean matches(final Any<?> any, final SearchCond cond) {
+        Boolean result = null;
+
+        switch (cond.getType()) {
+            case LEAF:
+                if (cond.getAssignableCond() != null) {
+                    result = matches(any, cond.getAssignableCond());
+                } else if (cond.getAnyCond() != null) {
+                    result = matches(any, cond.getAnyCond());
+                } else if (cond.getAttributeCond() != null) {
+                    result = matches(any, cond.getAttributeCond());
+                }
+                break;
+
+            case AND:
+                Boolean andLeft = matches(any, cond.getLeftSearchCond());
+                if (Boolean.FALSE.equals(andLeft)) {
+                    result = false;
+                } else {
+                    Boolean andRight = matches(any, cond.getRightSearchCond());
+                    if (Boolean.FALSE.equals(andRight)) {
+                        result = false;
+                    } else if (andLeft != null && andRight != null) {
+                        result = true;
+                    }
+                }
+                break;
+
+            case OR:
+                Boolean orLeft = matches(any, cond.getLeftSearchCond());
+                if (Boolean.TRUE.equals(orLeft)) {
+                    result = true;
+                } else {
+                    Boolean orRight = matches(any, cond.getRightSearchCond());
+                    if (Boolean.TRUE.equals(orRight)) {
+                        result = true;
+                    } else if (orLeft != null && orRight != null) {
+                        result = false;
+                    }
+                }
+                break;
+
+            case NOT_LEAF:
+            default:
+        }
+
+        return result;
+    }
+
+    private Boolean matches(final Any<?> any, final AssignableCond cond) {
+        if (cond.isFromGroup() || any.getRealm() == null) {
+            return null;
+        }
+
+        String realmPath = any.getRealm().getFullPath();
+        return realmPath.equals(cond.getRealmFullPath())
+                || realmPath.startsWith(cond.getRealmFullPath().endsWith("/")
+                        ? cond.getRealmFullPath()
+                        : cond.getRealmFullPath() + "/");
+    }
+
+    private Boolean matches(final Any<?> any, final AnyCond cond) {
+        String value;
+        if ("key".equals(cond.getSchema())) {
+            value = any.getKey();
+        } else if ("username".equals(cond.getSchema()) && any instanceof User) {
+            value = ((User) any).getUsername();
+        } else if ("name".equals(cond.getSchema()) && any instanceof Group) {
+            value = ((Group) any).getName();
+        } else if ("name".equals(cond.getSchema()) && any instanceof AnyObject) {
+            value = ((AnyObject) any).getName();
+        } else {
+            return null;
+        }
+
+        Boolean result;
+        switch (cond.getType()) {
+            case IEQ:
+                result = value != null && value.equalsIgnoreCase(cond.getExpression());
+                break;
+
+            default:
+                result = null;
+        }
+
+        return result;
+    }
+
+    private Boolean matches(final Any<?> any, final AttributeCond cond) {
+        if (cond.getType() != AttributeCond.Type.EQ && cond.getType() != AttributeCond.Type.IEQ) {
+            return null;
+        }
+
+        PlainSchema schema = schemaDAO.find(cond.getSchema());
+        if (schema == null) {
+            return false;
+        }
+        if (cond.getType() == AttributeCond.Type.IEQ
+                ? schema.getType() != AttrSchemaType.String && schema.getType() != AttrSchemaType.Enum
+                : schema.getType() != AttrSchemaType.Boolean && schema.getType() != AttrSchemaType.Long) {
+
+            return null;
+        }
+
+        PlainAttrValue expected = anyUtilsFactory.getInstance(any).newPlainAttrValue();
+        try {
+            schema.getValidator().validate(cond.getExpression(), expected);
+        } catch (ValidationException e) {
+            LOG.error("Could not validate expression '" + cond.getExpression() + "'", e);
+            return false;
+        }
+
+        for (PlainAttr<?> attr : getPlainAttrs(any, schema.getKey())) {
+            for (PlainAttrValue value : getValues(attr)) {
+                if (cond.getType() == AttributeCond.Type.IEQ) {
+                    if (value.getValueAsString().equalsIgnoreCase(expected.getValueAsString())) {
+                        return true;
+                    }
+                } else if (expected.getValue().equals(value.getValue())) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private Collection<? extends PlainAttr<?>> getPlainAttrs(final Any<?> any, final String schema) {
+        if (any instanceof GroupableRelatable) {
+            // search views include attributes owned via memberships as well
+            return ((GroupableRelatable<?, ?, ?, ?, ?>) any).getPlainAttrs(schema);
+        }
+
+        PlainAttr<?> attr = any.getPlainAttr(schema);
+        return attr == null
+                ? Collections.<PlainAttr<?>>emptyList()
+                : Collections.<PlainAttr<?>>singletonList(attr);
+    }
+
+    private List<PlainAttrValue> getValues(final PlainAttr<?> attr) {
+        List<PlainAttrValue> values = new ArrayList<>();
+        if (attr.getUniqueValue() == null) {
+            values.addAll(attr.getValues());
+        } else {
+            values.add(attr.getUniqueValue());
+        }
+        return values;
+    }
+}
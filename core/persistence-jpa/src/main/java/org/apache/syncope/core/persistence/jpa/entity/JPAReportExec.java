@@ -24,7 +24,6 @@ import javax.persistence.FetchType;
 import javax.persistence.Lob;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
-import org.apache.commons.lang3.ArrayUtils;
 import org.apache.syncope.common.lib.types.ReportExecStatus;
 import org.apache.syncope.core.persistence.api.entity.Report;
 import org.apache.syncope.core.persistence.api.entity.ReportExec;
@@ -44,11 +43,12 @@ public class JPAReportExec extends AbstractExec implements ReportExec {
     private JPAReport report;
 
     /**
-     * Report execution result, stored as an XML stream.
+     * Report execution result, stored as zipped XML: never loaded as entity field, but streamed from and to the
+     * underlying column by {@link org.apache.syncope.core.persistence.jpa.dao.JPAReportExecDAO}.
      */
     @Lob
     @Basic(fetch = FetchType.LAZY)
-    private Byte[] execResult;
+    private byte[] execResult;
 
     @Override
     public Report getReport() {
@@ -61,16 +61,6 @@ public class JPAReportExec extends AbstractExec implements ReportExec {
         this.report = (JPAReport) report;
     }
 
-    @Override
-    public byte[] getExecResult() {
-        return execResult == null ? null : ArrayUtils.toPrimitive(execResult);
-    }
-
-    @Override
-    public void setExecResult(final byte[] execResult) {
-        this.execResult = execResult == null ? null : ArrayUtils.toObject(execResult);
-    }
-
     @Override
     public void setStatus(final ReportExecStatus status) {
         super.setStatus(status.name());
@@ -46,6 +46,7 @@ import org.apache.commons.collections4.Predicate;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.common.lib.types.ConnConfProperty;
 import org.apache.syncope.common.lib.types.ConnectorCapability;
+import org.apache.syncope.common.lib.types.PropagationReadMode;
 import org.apache.syncope.common.lib.types.TraceLevel;
 import org.apache.syncope.core.persistence.api.entity.policy.AccountPolicy;
 import org.apache.syncope.core.persistence.api.entity.ConnInstance;
@@ -112,6 +113,9 @@ public class JPAExternalResource extends AbstractProvidedKeyEntity implements Ex
     @Max(1)
     private Integer randomPwdIfNotProvided;
 
+    @Enumerated(EnumType.STRING)
+    private PropagationReadMode propagationReadMode;
+
     @Enumerated(EnumType.STRING)
     @NotNull
     private TraceLevel createTraceLevel;
@@ -268,6 +272,16 @@ public class JPAExternalResource extends AbstractProvidedKeyEntity implements Ex
         this.randomPwdIfNotProvided = getBooleanAsInteger(randomPwdIfNotProvided);
     }
 
+    @Override
+    public PropagationReadMode getPropagationReadMode() {
+        return propagationReadMode == null ? PropagationReadMode.FULL : propagationReadMode;
+    }
+
+    @Override
+    public void setPropagationReadMode(final PropagationReadMode propagationReadMode) {
+        this.propagationReadMode = propagationReadMode;
+    }
+
     @Override
     public TraceLevel getCreateTraceLevel() {
         return createTraceLevel;
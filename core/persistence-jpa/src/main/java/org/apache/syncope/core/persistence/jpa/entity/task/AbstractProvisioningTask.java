@@ -79,6 +79,9 @@ public abstract class AbstractProvisioningTask extends JPASchedTask implements P
     @Enumerated(EnumType.STRING)
     protected MatchingRule matchingRule;
 
+    @Min(1)
+    private Integer concurrency;
+
     @Override
     public String getJobDelegateClassName() {
         return null;
@@ -162,4 +165,14 @@ public abstract class AbstractProvisioningTask extends JPASchedTask implements P
     public void setMatchingRule(final MatchingRule matchigRule) {
         this.matchingRule = matchigRule;
     }
+
+    @Override
+    public Integer getConcurrency() {
+        return concurrency;
+    }
+
+    @Override
+    public void setConcurrency(final Integer concurrency) {
+        this.concurrency = concurrency;
+    }
 }
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.openjpa;
+
+import java.util.Collection;
+import org.apache.openjpa.event.RemoteCommitEvent;
+import org.apache.openjpa.event.RemoteCommitListener;
+import org.apache.openjpa.util.OpenJPAId;
+import org.apache.syncope.core.persistence.api.entity.DynMembership;
+import org.apache.syncope.core.persistence.api.entity.Membership;
+import org.apache.syncope.core.persistence.api.entity.Realm;
+import org.apache.syncope.core.persistence.api.entity.Role;
+import org.apache.syncope.core.persistence.api.entity.conf.CPlainAttr;
+import org.apache.syncope.core.persistence.api.entity.conf.CPlainAttrValue;
+import org.apache.syncope.core.persistence.api.entity.conf.Conf;
+import org.apache.syncope.core.persistence.api.entity.group.Group;
+import org.apache.syncope.core.persistence.api.entity.policy.AccountPolicy;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.spring.security.AuthCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Invalidates {@link AuthCache} entries of the given domain when changes are committed by other nodes.
+ */
+public class AuthCacheRemoteCommitListener implements RemoteCommitListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AuthCacheRemoteCommitListener.class);
+
+    private static final Class<?>[] AFFECTING_ALL = new Class<?>[] {
+        Group.class, Role.class, Realm.class, Membership.class, DynMembership.class, AccountPolicy.class,
+        Conf.class, CPlainAttr.class, CPlainAttrValue.class };
+
+    private final String domain;
+
+    public AuthCacheRemoteCommitListener(final String domain) {
+        this.domain = domain;
+    }
+
+    private boolean isAffectingAll(final Class<?> type) {
+        for (Class<?> reference : AFFECTING_ALL) {
+            if (reference.isAssignableFrom(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isAffectingAll(final Collection<String> typeNames) {
+        if (typeNames != null) {
+            for (String typeName : typeNames) {
+                try {
+                    Class<?> type = Class.forName(typeName, false, getClass().getClassLoader());
+                    if (isAffectingAll(type) || User.class.isAssignableFrom(type)) {
+                        return true;
+                    }
+                } catch (ClassNotFoundException e) {
+                    LOG.debug("Could not load {}", typeName, e);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return whether all entries are to be invalidated
+     */
+    private boolean invalidate(final Collection<?> oids) {
+        if (oids != null) {
+            for (Object oid : oids) {
+                if (oid instanceof OpenJPAId) {
+                    Class<?> type = ((OpenJPAId) oid).getType();
+                    if (isAffectingAll(type)) {
+                        return true;
+                    }
+                    if (User.class.isAssignableFrom(type)) {
+                        AuthCache.getInstance().invalidate(domain, ((OpenJPAId) oid).getIdObject().toString());
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void afterCommit(final RemoteCommitEvent event) {
+        AuthCache authCache = AuthCache.getInstance();
+        if (!authCache.isEnabled()) {
+            return;
+        }
+
+        boolean all;
+        if (event.getPayloadType() == RemoteCommitEvent.PAYLOAD_EXTENTS) {
+            // object ids are not available: with users among the affected classes, all entries are invalidated
+            all = isAffectingAll(event.getUpdatedTypeNames()) || isAffectingAll(event.getDeletedTypeNames());
+        } else {
+            all = invalidate(event.getUpdatedObjectIds()) || invalidate(event.getDeletedObjectIds());
+        }
+
+        if (all) {
+            LOG.debug("Data affecting authentication changed remotely, invalidating cache for domain {}", domain);
+            authCache.invalidateAll(domain);
+        }
+    }
+
+    @Override
+    public void close() {
+        // nothing to do
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.openjpa;
+
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import org.apache.openjpa.event.RemoteCommitEvent;
+import org.apache.openjpa.event.TCPRemoteCommitProvider;
+
+/**
+ * OpenJPA remote commit provider for keeping L2 (data and query) caches coherent among the nodes of a Syncope
+ * cluster: each node notifies its peers, via TCP, about the entities updated or deleted by local transactions, so
+ * that peers can evict them from their caches.
+ * Notifications are collected for {@code BatchInterval} milliseconds and merged into a single message per payload
+ * type, so that peers are not flooded by one message per transaction; 0 means sending notifications immediately.
+ *
+ * Example configuration, for a node of a three-node cluster:
+ * <pre>
+ * org.apache.syncope.core.persistence.jpa.openjpa.ClusterRemoteCommitProvider(
+ *     Port=5636, Addresses=node1:5636;node2:5636;node3:5636, BatchInterval=100)
+ * </pre>
+ * Each node's own address is automatically ignored; any other property of {@link TCPRemoteCommitProvider} can be
+ * set as well.
+ */
+public class ClusterRemoteCommitProvider extends TCPRemoteCommitProvider {
+
+    private long batchInterval = 100;
+
+    private final List<RemoteCommitEvent> pending = new ArrayList<>();
+
+    private ScheduledExecutorService flusher;
+
+    public ClusterRemoteCommitProvider() throws UnknownHostException {
+        super();
+    }
+
+    public long getBatchInterval() {
+        return batchInterval;
+    }
+
+    public void setBatchInterval(final long batchInterval) {
+        this.batchInterval = batchInterval;
+    }
+
+    @Override
+    public void endConfiguration() {
+        super.endConfiguration();
+
+        if (batchInterval > 0) {
+            flusher = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+
+                @Override
+                public Thread newThread(final Runnable runnable) {
+                    Thread thread = new Thread(runnable, "ClusterRemoteCommitProvider-" + getPort());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            flusher.scheduleWithFixedDelay(new Runnable() {
+
+                @Override
+                public void run() {
+                    flush();
+                }
+            }, batchInterval, batchInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void broadcast(final RemoteCommitEvent event) {
+        if (flusher == null) {
+            super.broadcast(event);
+        } else {
+            synchronized (pending) {
+                pending.add(event);
+            }
+        }
+    }
+
+    private static void addAll(final Collection<Object> target, final Collection<?> source) {
+        if (source != null) {
+            target.addAll(source);
+        }
+    }
+
+    private static Collection<Object> nullIfEmpty(final Collection<Object> collection) {
+        return collection.isEmpty() ? null : collection;
+    }
+
+    /**
+     * Merges the given events into one event per payload type.
+     *
+     * @param events events to merge
+     * @return merged events
+     */
+    protected static Collection<RemoteCommitEvent> merge(final List<RemoteCommitEvent> events) {
+        Map<Integer, List<RemoteCommitEvent>> byPayload = new LinkedHashMap<>();
+        for (RemoteCommitEvent event : events) {
+            List<RemoteCommitEvent> sameType = byPayload.get(event.getPayloadType());
+            if (sameType == null) {
+                sameType = new ArrayList<>();
+                byPayload.put(event.getPayloadType(), sameType);
+            }
+            sameType.add(event);
+        }
+
+        List<RemoteCommitEvent> merged = new ArrayList<>(byPayload.size());
+        for (Map.Entry<Integer, List<RemoteCommitEvent>> entry : byPayload.entrySet()) {
+            if (entry.getValue().size() == 1) {
+                merged.add(entry.getValue().get(0));
+                continue;
+            }
+
+            int payload = entry.getKey();
+            Collection<Object> addIds = new LinkedHashSet<>();
+            Collection<Object> addClasses = new LinkedHashSet<>();
+            Collection<Object> updates = new LinkedHashSet<>();
+            Collection<Object> deletes = new LinkedHashSet<>();
+            for (RemoteCommitEvent event : entry.getValue()) {
+                if (payload == RemoteCommitEvent.PAYLOAD_OIDS_WITH_ADDS) {
+                    addAll(addIds, event.getPersistedObjectIds());
+                }
+                addAll(addClasses, event.getPersistedTypeNames());
+                if (payload == RemoteCommitEvent.PAYLOAD_EXTENTS) {
+                    addAll(updates, event.getUpdatedTypeNames());
+                    addAll(deletes, event.getDeletedTypeNames());
+                } else {
+                    addAll(updates, event.getUpdatedObjectIds());
+                    addAll(deletes, event.getDeletedObjectIds());
+                }
+            }
+            merged.add(new RemoteCommitEvent(
+                    payload, nullIfEmpty(addIds), nullIfEmpty(addClasses), nullIfEmpty(updates), nullIfEmpty(deletes)));
+        }
+
+        return merged;
+    }
+
+    /**
+     * Sends all pending notifications to peers.
+     */
+    public void flush() {
+        List<RemoteCommitEvent> events;
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            events = new ArrayList<>(pending);
+            pending.clear();
+        }
+
+        try {
+            for (RemoteCommitEvent event : merge(events)) {
+                super.broadcast(event);
+            }
+        } catch (Exception e) {
+            if (log.isWarnEnabled()) {
+                log.warn("While broadcasting " + events.size() + " remote commit events", e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+            flush();
+        }
+        super.close();
+    }
+}
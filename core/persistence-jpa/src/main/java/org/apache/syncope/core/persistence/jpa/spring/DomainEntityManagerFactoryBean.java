@@ -18,6 +18,11 @@
  */
 package org.apache.syncope.core.persistence.jpa.spring;
 
+import javax.persistence.EntityManagerFactory;
+import org.apache.openjpa.event.RemoteCommitEventManager;
+import org.apache.openjpa.persistence.OpenJPAEntityManagerFactorySPI;
+import org.apache.openjpa.persistence.OpenJPAPersistence;
+import org.apache.syncope.core.persistence.jpa.openjpa.AuthCacheRemoteCommitListener;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 
 /**
@@ -42,4 +47,17 @@ public class DomainEntityManagerFactoryBean extends LocalContainerEntityManagerF
         }
     }
 
+    @Override
+    protected EntityManagerFactory createNativeEntityManagerFactory() {
+        EntityManagerFactory emf = super.createNativeEntityManagerFactory();
+
+        RemoteCommitEventManager eventManager = ((OpenJPAEntityManagerFactorySPI) OpenJPAPersistence.cast(emf)).
+                getConfiguration().getRemoteCommitEventManager();
+        if (eventManager.areRemoteEventsEnabled()) {
+            eventManager.addListener(new AuthCacheRemoteCommitListener(getPersistenceUnitName()));
+        }
+
+        return emf;
+    }
+
 }
@@ -23,4 +23,7 @@ CREATE TABLE IF NOT EXISTS SYNCOPEAUDIT (
   THROWABLE TEXT
 );
 
+CREATE INDEX IF NOT EXISTS SYNCOPEAUDIT_EVENT_DATE_IDX ON SYNCOPEAUDIT(EVENT_DATE);
+CREATE INDEX IF NOT EXISTS SYNCOPEAUDIT_LOGGER_IDX ON SYNCOPEAUDIT(LOGGER);
+
 COMMIT;
@@ -0,0 +1,39 @@
+-- Licensed to the Apache Software Foundation (ASF) under one
+-- or more contributor license agreements.  See the NOTICE file
+-- distributed with this work for additional information
+-- regarding copyright ownership.  The ASF licenses this file
+-- to you under the Apache License, Version 2.0 (the
+-- "License"); you may not use this file except in compliance
+-- with the License.  You may obtain a copy of the License at
+--
+--   http://www.apache.org/licenses/LICENSE-2.0
+--
+-- Unless required by applicable law or agreed to in writing,
+-- software distributed under the License is distributed on an
+-- "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+-- KIND, either express or implied.  See the License for the
+-- specific language governing permissions and limitations
+-- under the License.
+
+CREATE TABLE IF NOT EXISTS SYNCOPEAUDIT (
+  EVENT_DATE TIMESTAMP,
+  LOGGER_LEVEL VARCHAR(255) NOT NULL,
+  LOGGER VARCHAR(255) NOT NULL,
+  MESSAGE TEXT NOT NULL,
+  THROWABLE TEXT
+);
+
+-- MySQL does not support CREATE INDEX IF NOT EXISTS
+SET @exists := (SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'SYNCOPEAUDIT' AND INDEX_NAME = 'SYNCOPEAUDIT_EVENT_DATE_IDX');
+SET @ddl := IF(@exists > 0, 'DO 0', 'CREATE INDEX SYNCOPEAUDIT_EVENT_DATE_IDX ON SYNCOPEAUDIT(EVENT_DATE)');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @exists := (SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'SYNCOPEAUDIT' AND INDEX_NAME = 'SYNCOPEAUDIT_LOGGER_IDX');
+SET @ddl := IF(@exists > 0, 'DO 0', 'CREATE INDEX SYNCOPEAUDIT_LOGGER_IDX ON SYNCOPEAUDIT(LOGGER)');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
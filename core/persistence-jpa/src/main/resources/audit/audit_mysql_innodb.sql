@@ -21,4 +21,19 @@ CREATE TABLE IF NOT EXISTS SYNCOPEAUDIT (
   LOGGER VARCHAR(255) NOT NULL,
   MESSAGE TEXT NOT NULL,
   THROWABLE TEXT
-) ENGINE=InnoDB
+) ENGINE=InnoDB;
+
+-- MySQL does not support CREATE INDEX IF NOT EXISTS
+SET @exists := (SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'SYNCOPEAUDIT' AND INDEX_NAME = 'SYNCOPEAUDIT_EVENT_DATE_IDX');
+SET @ddl := IF(@exists > 0, 'DO 0', 'CREATE INDEX SYNCOPEAUDIT_EVENT_DATE_IDX ON SYNCOPEAUDIT(EVENT_DATE)');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @exists := (SELECT COUNT(*) FROM INFORMATION_SCHEMA.STATISTICS
+  WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'SYNCOPEAUDIT' AND INDEX_NAME = 'SYNCOPEAUDIT_LOGGER_IDX');
+SET @ddl := IF(@exists > 0, 'DO 0', 'CREATE INDEX SYNCOPEAUDIT_LOGGER_IDX ON SYNCOPEAUDIT(LOGGER)');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -15,10 +15,29 @@
 -- specific language governing permissions and limitations
 -- under the License.
 
-CREATE TABLE SYNCOPEAUDIT (
-  EVENT_DATE TIMESTAMP,
-  LOGGER_LEVEL VARCHAR(255) NOT NULL,
-  LOGGER VARCHAR(255) NOT NULL,
-  MESSAGE CLOB NOT NULL,
-  THROWABLE CLOB
-);
+-- run as a single PL/SQL block: set Master.audit.sql.separator=/ for this script
+DECLARE
+  existing NUMBER;
+BEGIN
+  SELECT COUNT(*) INTO existing FROM USER_TABLES WHERE TABLE_NAME = 'SYNCOPEAUDIT';
+  IF existing = 0 THEN
+    EXECUTE IMMEDIATE 'CREATE TABLE SYNCOPEAUDIT (
+      EVENT_DATE TIMESTAMP,
+      LOGGER_LEVEL VARCHAR(255) NOT NULL,
+      LOGGER VARCHAR(255) NOT NULL,
+      MESSAGE CLOB NOT NULL,
+      THROWABLE CLOB
+    )';
+  END IF;
+
+  SELECT COUNT(*) INTO existing FROM USER_INDEXES WHERE INDEX_NAME = 'SYNCOPEAUDIT_EVENT_DATE_IDX';
+  IF existing = 0 THEN
+    EXECUTE IMMEDIATE 'CREATE INDEX SYNCOPEAUDIT_EVENT_DATE_IDX ON SYNCOPEAUDIT(EVENT_DATE)';
+  END IF;
+
+  SELECT COUNT(*) INTO existing FROM USER_INDEXES WHERE INDEX_NAME = 'SYNCOPEAUDIT_LOGGER_IDX';
+  IF existing = 0 THEN
+    EXECUTE IMMEDIATE 'CREATE INDEX SYNCOPEAUDIT_LOGGER_IDX ON SYNCOPEAUDIT(LOGGER)';
+  END IF;
+END;
+/
@@ -25,4 +25,12 @@ CREATE TABLE SYNCOPEAUDIT (
   MESSAGE TEXT NOT NULL,
   THROWABLE TEXT
 )
-END
+END;
+
+IF NOT EXISTS
+(SELECT * FROM sys.indexes WHERE name = 'SYNCOPEAUDIT_EVENT_DATE_IDX' AND object_id = OBJECT_ID(N'[dbo].[SYNCOPEAUDIT]'))
+CREATE INDEX SYNCOPEAUDIT_EVENT_DATE_IDX ON SYNCOPEAUDIT(EVENT_DATE);
+
+IF NOT EXISTS
+(SELECT * FROM sys.indexes WHERE name = 'SYNCOPEAUDIT_LOGGER_IDX' AND object_id = OBJECT_ID(N'[dbo].[SYNCOPEAUDIT]'))
+CREATE INDEX SYNCOPEAUDIT_LOGGER_IDX ON SYNCOPEAUDIT(LOGGER);
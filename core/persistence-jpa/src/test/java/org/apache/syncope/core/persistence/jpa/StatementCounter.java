@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.apache.openjpa.lib.jdbc.AbstractJDBCListener;
+import org.apache.openjpa.lib.jdbc.JDBCEvent;
+
+/**
+ * Records the SQL statements executed by OpenJPA, for tests checking the number of database round-trips.
+ */
+public class StatementCounter extends AbstractJDBCListener {
+
+    private static final List<String> STATEMENTS = Collections.synchronizedList(new ArrayList<String>());
+
+    public static void reset() {
+        STATEMENTS.clear();
+    }
+
+    /**
+     * @param table table name
+     * @return number of statements executed since last reset, reading from the given table
+     */
+    public static int count(final String table) {
+        int count = 0;
+        synchronized (STATEMENTS) {
+            for (String statement : STATEMENTS) {
+                if (statement.contains(" FROM " + table + " ")) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void beforeExecuteStatement(final JDBCEvent event) {
+        if (event.getSQL() != null) {
+            STATEMENTS.add(event.getSQL());
+        }
+    }
+}
@@ -24,12 +24,16 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceUnitUtil;
 import org.apache.commons.collections4.IterableUtils;
 import org.apache.commons.collections4.Predicate;
+import org.apache.openjpa.persistence.OpenJPAPersistence;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
@@ -41,6 +45,7 @@ import org.apache.syncope.core.persistence.api.dao.UserDAO;
 import org.apache.syncope.core.persistence.api.dao.search.AttributeCond;
 import org.apache.syncope.core.persistence.api.dao.search.MembershipCond;
 import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
+import org.apache.syncope.core.persistence.api.dao.search.ProjectedAny;
 import org.apache.syncope.core.persistence.api.dao.search.ResourceCond;
 import org.apache.syncope.core.persistence.api.dao.search.RoleCond;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
@@ -57,6 +62,12 @@ import org.apache.syncope.core.persistence.api.entity.anyobject.AnyObject;
 import org.apache.syncope.core.persistence.api.entity.group.Group;
 import org.apache.syncope.core.persistence.api.entity.user.User;
 import org.apache.syncope.core.persistence.jpa.AbstractTest;
+import org.apache.syncope.core.persistence.jpa.StatementCounter;
+import org.apache.syncope.core.persistence.jpa.entity.user.JPAUMembership;
+import org.apache.syncope.core.persistence.jpa.entity.user.JPAUPlainAttr;
+import org.apache.syncope.core.persistence.jpa.entity.user.JPAUPlainAttrUniqueValue;
+import org.apache.syncope.core.persistence.jpa.entity.user.JPAUPlainAttrValue;
+import org.apache.syncope.core.persistence.jpa.entity.user.JPAUser;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.transaction.annotation.Transactional;
@@ -124,6 +135,39 @@ public class AnySearchTest extends AbstractTest {
         assertTrue(searchDAO.matches(user, SearchCond.getLeafCond(relationshipTypeCond)));
     }
 
+    @Test
+    public void userMatchByAttributesAndRealm() {
+        User user = userDAO.find("1417acbe-cbf6-4277-9372-e75e04f97000");
+        assertNotNull(user);
+
+        AttributeCond fullnameCond = new AttributeCond(AttributeCond.Type.IEQ);
+        fullnameCond.setSchema("fullname");
+        fullnameCond.setExpression("gioacchino rossini");
+
+        AnyCond usernameCond = new AnyCond(AnyCond.Type.EQ);
+        usernameCond.setSchema("username");
+        usernameCond.setExpression("rossini");
+
+        AssignableCond assignableCond = new AssignableCond();
+        assignableCond.setRealmFullPath("/even");
+        assignableCond.setFromGroup(false);
+
+        SearchCond cond = SearchCond.getAndCond(
+                SearchCond.getLeafCond(assignableCond),
+                SearchCond.getAndCond(SearchCond.getLeafCond(fullnameCond), SearchCond.getLeafCond(usernameCond)));
+        assertTrue(searchDAO.matches(user, cond));
+
+        assignableCond.setRealmFullPath("/odd");
+        assertFalse(searchDAO.matches(user, cond));
+
+        AttributeCond ctypeCond = new AttributeCond(AttributeCond.Type.EQ);
+        ctypeCond.setSchema("ctype");
+        ctypeCond.setExpression("F");
+        assertFalse(searchDAO.matches(user, SearchCond.getLeafCond(ctypeCond)));
+        assertTrue(searchDAO.matches(user, SearchCond.getOrCond(
+                SearchCond.getLeafCond(ctypeCond), SearchCond.getLeafCond(usernameCond))));
+    }
+
     @Test
     public void groupMatch() {
         Group group = groupDAO.find("37d15e4c-cdc1-460b-a591-8505c8133806");
@@ -543,6 +587,96 @@ public class AnySearchTest extends AbstractTest {
                 users.size());
     }
 
+    @Test
+    public void userOrderByKeepsOrderAcrossPages() {
+        AnyCond usernameLeafCond = new AnyCond(AnyCond.Type.ISNOTNULL);
+        usernameLeafCond.setSchema("username");
+        SearchCond searchCondition = SearchCond.getLeafCond(usernameLeafCond);
+
+        OrderByClause orderByClause = new OrderByClause();
+        orderByClause.setField("username");
+        orderByClause.setDirection(OrderByClause.Direction.DESC);
+
+        List<User> users = searchDAO.search(SyncopeConstants.FULL_ADMIN_REALMS, searchCondition, 1, 3,
+                Collections.singletonList(orderByClause), AnyTypeKind.USER);
+        assertEquals(3, users.size());
+        users.addAll(searchDAO.search(SyncopeConstants.FULL_ADMIN_REALMS, searchCondition, 2, 3,
+                Collections.singletonList(orderByClause), AnyTypeKind.USER));
+        assertEquals(new HashSet<>(users).size(), users.size());
+
+        PersistenceUnitUtil util = entityManager().getEntityManagerFactory().getPersistenceUnitUtil();
+        for (int i = 0; i < users.size(); i++) {
+            if (i > 0) {
+                assertTrue(users.get(i - 1).getUsername().compareTo(users.get(i).getUsername()) > 0);
+            }
+
+            // collections are hydrated by the search itself, no lazy load is needed afterwards
+            assertTrue(util.isLoaded(users.get(i), "plainAttrs"));
+            assertTrue(util.isLoaded(users.get(i), "memberships"));
+        }
+    }
+
+    private int countUserStatements(final SearchCond searchCondition, final int itemsPerPage) {
+        // reference data (schemas, groups, realms...) stays cached, users are read again from the database
+        EntityManagerFactory emf = entityManager().getEntityManagerFactory();
+        emf.getCache().evict(JPAUser.class);
+        emf.getCache().evict(JPAUPlainAttr.class);
+        emf.getCache().evict(JPAUPlainAttrValue.class);
+        emf.getCache().evict(JPAUPlainAttrUniqueValue.class);
+        emf.getCache().evict(JPAUMembership.class);
+        OpenJPAPersistence.cast(emf).getQueryResultCache().evictAll();
+        entityManager().clear();
+
+        StatementCounter.reset();
+        List<User> users = searchDAO.search(SyncopeConstants.FULL_ADMIN_REALMS, searchCondition, 1, itemsPerPage,
+                Collections.<OrderByClause>emptyList(), AnyTypeKind.USER);
+        assertEquals(itemsPerPage, users.size());
+        return StatementCounter.count("SyncopeUser")
+                + StatementCounter.count("UPlainAttr")
+                + StatementCounter.count("UPlainAttrValue")
+                + StatementCounter.count("UPlainAttrUniqueValue")
+                + StatementCounter.count("UMembership");
+    }
+
+    @Test
+    public void userSearchRoundTripsDoNotGrowWithResults() {
+        AnyCond usernameLeafCond = new AnyCond(AnyCond.Type.ISNOTNULL);
+        usernameLeafCond.setSchema("username");
+        SearchCond searchCondition = SearchCond.getLeafCond(usernameLeafCond);
+
+        int total = searchDAO.count(SyncopeConstants.FULL_ADMIN_REALMS, searchCondition, AnyTypeKind.USER);
+        assertTrue(total > 2);
+
+        // warm up
+        countUserStatements(searchCondition, total);
+
+        int singleResultStatements = countUserStatements(searchCondition, 1);
+        int allResultsStatements = countUserStatements(searchCondition, total);
+
+        // users and their collections are read by a fixed number of queries, whatever the number of results
+        assertEquals(singleResultStatements, allResultsStatements);
+    }
+
+    @Test
+    public void searchKeys() {
+        AttributeCond fullnameCond = new AttributeCond(AttributeCond.Type.LIKE);
+        fullnameCond.setSchema("fullname");
+        fullnameCond.setExpression("%o%");
+        SearchCond cond = SearchCond.getLeafCond(fullnameCond);
+
+        List<String> keys = new ArrayList<>();
+        List<String> chunk = searchDAO.searchKeys(cond, null, 2, AnyTypeKind.USER);
+        while (!chunk.isEmpty()) {
+            keys.addAll(chunk);
+            chunk = searchDAO.searchKeys(cond, chunk.get(chunk.size() - 1), 2, AnyTypeKind.USER);
+        }
+
+        assertEquals(searchDAO.count(SyncopeConstants.FULL_ADMIN_REALMS, cond, AnyTypeKind.USER), keys.size());
+        for (int i = 1; i < keys.size(); i++) {
+            assertTrue(keys.get(i - 1).compareTo(keys.get(i)) < 0);
+        }
+    }
+
     @Test
     public void groupOrderBy() {
         AnyCond idLeafCond = new AnyCond(AnyCond.Type.LIKE);
@@ -781,4 +915,40 @@ public class AnySearchTest extends AbstractTest {
                 AnyTypeKind.USER);
         assertFalse(users.isEmpty());
     }
+
+    @Test
+    public void searchProjected() {
+        AnyCond usernameLeafCond = new AnyCond(AnyCond.Type.EQ);
+        usernameLeafCond.setSchema("username");
+        usernameLeafCond.setExpression("rossini");
+
+        List<ProjectedAny> projected = searchDAO.searchProjected(
+                SyncopeConstants.FULL_ADMIN_REALMS,
+                SearchCond.getLeafCond(usernameLeafCond),
+                1,
+                10,
+                Collections.<OrderByClause>emptyList(),
+                AnyTypeKind.USER,
+                Arrays.asList("username", "status", "realm", "mustChangePassword", "fullname", "firstname",
+                        "loginDate", "unexisting", "password", "token", "securityAnswer", "failedLogins"));
+        assertEquals(1, projected.size());
+
+        User rossini = userDAO.findByUsername("rossini");
+        ProjectedAny any = projected.get(0);
+        assertEquals(rossini.getKey(), any.getKey());
+        assertEquals("rossini", any.getFields().get("username"));
+        assertEquals("active", any.getFields().get("status"));
+        assertEquals(rossini.getRealm().getFullPath(), any.getFields().get("realm"));
+        assertTrue(any.getFields().containsKey("mustChangePassword"));
+        assertFalse(any.getFields().containsKey("unexisting"));
+        assertFalse(any.getFields().containsKey("password"));
+        assertFalse(any.getFields().containsKey("token"));
+        assertFalse(any.getFields().containsKey("securityAnswer"));
+        assertFalse(any.getFields().containsKey("failedLogins"));
+
+        assertEquals(Collections.singletonList("Gioacchino Rossini"), any.getPlainAttrs().get("fullname"));
+        assertEquals(Collections.singletonList("Gioacchino"), any.getPlainAttrs().get("firstname"));
+        assertEquals(2, any.getPlainAttrs().get("loginDate").size());
+        assertFalse(any.getPlainAttrs().containsKey("unexisting"));
+    }
 }
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.inner;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Collections;
+import org.apache.openjpa.event.RemoteCommitEvent;
+import org.apache.openjpa.util.StringId;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.core.persistence.jpa.entity.JPARole;
+import org.apache.syncope.core.persistence.jpa.entity.user.JPAUser;
+import org.apache.syncope.core.persistence.jpa.openjpa.AuthCacheRemoteCommitListener;
+import org.apache.syncope.core.spring.security.AuthCache;
+import org.apache.syncope.core.spring.security.SyncopeGrantedAuthority;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AuthCacheRemoteCommitListenerTest {
+
+    private final AuthCache cache = AuthCache.getInstance();
+
+    private final AuthCacheRemoteCommitListener listener =
+            new AuthCacheRemoteCommitListener(SyncopeConstants.MASTER_DOMAIN);
+
+    @Before
+    public void populate() {
+        cache.configure(10, 60);
+        cache.put(SyncopeConstants.MASTER_DOMAIN, "rossini", "password", "key1", "rossini",
+                Collections.<SyncopeGrantedAuthority>emptySet());
+        cache.put(SyncopeConstants.MASTER_DOMAIN, "verdi", "password", "key2", "verdi",
+                Collections.<SyncopeGrantedAuthority>emptySet());
+        cache.put("Two", "rossini", "password", "key1", "rossini",
+                Collections.<SyncopeGrantedAuthority>emptySet());
+    }
+
+    @After
+    public void reset() {
+        cache.configure(1000, 60);
+    }
+
+    private RemoteCommitEvent updated(final Object oid) {
+        return new RemoteCommitEvent(RemoteCommitEvent.PAYLOAD_OIDS,
+                null, null, Collections.singleton(oid), Collections.emptySet());
+    }
+
+    @Test
+    public void userChanged() {
+        listener.afterCommit(updated(new StringId(JPAUser.class, "key1")));
+
+        assertNull(cache.get(SyncopeConstants.MASTER_DOMAIN, "rossini", "password"));
+        assertNotNull(cache.get(SyncopeConstants.MASTER_DOMAIN, "verdi", "password"));
+        assertNotNull(cache.get("Two", "rossini", "password"));
+    }
+
+    @Test
+    public void roleChanged() {
+        listener.afterCommit(updated(new StringId(JPARole.class, "User reviewer")));
+
+        assertNull(cache.get(SyncopeConstants.MASTER_DOMAIN, "rossini", "password"));
+        assertNull(cache.get(SyncopeConstants.MASTER_DOMAIN, "verdi", "password"));
+        assertNotNull(cache.get("Two", "rossini", "password"));
+    }
+
+    @Test
+    public void extents() {
+        listener.afterCommit(new RemoteCommitEvent(RemoteCommitEvent.PAYLOAD_EXTENTS,
+                null, null, Collections.singleton(JPAUser.class.getName()), Collections.emptySet()));
+
+        assertNull(cache.get(SyncopeConstants.MASTER_DOMAIN, "rossini", "password"));
+        assertNull(cache.get(SyncopeConstants.MASTER_DOMAIN, "verdi", "password"));
+        assertNotNull(cache.get("Two", "rossini", "password"));
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.persistence.jpa.inner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.apache.openjpa.conf.OpenJPAConfigurationImpl;
+import org.apache.openjpa.event.RemoteCommitEvent;
+import org.apache.openjpa.event.RemoteCommitEventManager;
+import org.apache.openjpa.event.RemoteCommitListener;
+import org.apache.syncope.core.persistence.jpa.openjpa.ClusterRemoteCommitProvider;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ClusterRemoteCommitProviderTest {
+
+    private static class Node implements RemoteCommitListener {
+
+        private final ClusterRemoteCommitProvider provider;
+
+        private final BlockingQueue<RemoteCommitEvent> received = new LinkedBlockingQueue<>();
+
+        Node(final int port, final int peerPort) throws IOException {
+            // same configuration string as set via openjpa.RemoteCommitProvider
+            OpenJPAConfigurationImpl conf = new OpenJPAConfigurationImpl();
+            conf.setRemoteCommitProvider(ClusterRemoteCommitProvider.class.getName()
+                    + "(Port=" + port + ", Addresses=127.0.0.1:" + port + ";127.0.0.1:" + peerPort
+                    + ", BatchInterval=200)");
+
+            RemoteCommitEventManager eventManager = new RemoteCommitEventManager(conf);
+            eventManager.addListener(this);
+            provider = (ClusterRemoteCommitProvider) eventManager.getRemoteCommitProvider();
+        }
+
+        @Override
+        public void afterCommit(final RemoteCommitEvent event) {
+            received.add(event);
+        }
+
+        @Override
+        public void close() {
+            provider.close();
+        }
+    }
+
+    private Node node1;
+
+    private Node node2;
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    @Before
+    public void start() throws IOException {
+        int port1 = freePort();
+        int port2 = freePort();
+        node1 = new Node(port1, port2);
+        node2 = new Node(port2, port1);
+    }
+
+    @After
+    public void stop() {
+        node1.close();
+        node2.close();
+    }
+
+    @Test
+    public void invalidationsAreBatched() throws InterruptedException {
+        node1.provider.broadcast(new RemoteCommitEvent(
+                RemoteCommitEvent.PAYLOAD_OIDS, null, null, Collections.singleton("user1"), null));
+        node1.provider.broadcast(new RemoteCommitEvent(
+                RemoteCommitEvent.PAYLOAD_OIDS, null, null, Collections.singleton("user2"),
+                Collections.singleton("group1")));
+
+        RemoteCommitEvent event = node2.received.poll(10, TimeUnit.SECONDS);
+        assertNotNull(event);
+        assertEquals(new HashSet<>(Arrays.asList("user1", "user2")), new HashSet<>(event.getUpdatedObjectIds()));
+        assertEquals(Collections.singletonList("group1"), Arrays.asList(event.getDeletedObjectIds().toArray()));
+
+        // both invalidations were sent as a single message, and not back to the sender
+        assertTrue(node2.received.poll(1, TimeUnit.SECONDS) == null);
+        assertTrue(node1.received.isEmpty());
+    }
+
+    @Test
+    public void mergeKeepsPayloadTypes() throws InterruptedException {
+        node2.provider.broadcast(new RemoteCommitEvent(
+                RemoteCommitEvent.PAYLOAD_EXTENTS, null, null, Collections.singleton("JPAUser"), null));
+        node2.provider.broadcast(new RemoteCommitEvent(
+                RemoteCommitEvent.PAYLOAD_OIDS, null, null, Collections.singleton("realm1"), null));
+        node2.provider.flush();
+
+        // messages may be delivered in any order
+        Map<Integer, RemoteCommitEvent> events = new HashMap<>();
+        for (int i = 0; i < 2; i++) {
+            RemoteCommitEvent event = node1.received.poll(10, TimeUnit.SECONDS);
+            assertNotNull(event);
+            events.put(event.getPayloadType(), event);
+        }
+        assertTrue(events.get(RemoteCommitEvent.PAYLOAD_EXTENTS).getUpdatedTypeNames().contains("JPAUser"));
+        assertTrue(events.get(RemoteCommitEvent.PAYLOAD_OIDS).getUpdatedObjectIds().contains("realm1"));
+    }
+}
@@ -24,6 +24,7 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.Date;
 import org.apache.syncope.common.lib.types.AttrSchemaType;
 import org.apache.syncope.common.lib.types.EntityViolationType;
 import org.apache.syncope.core.persistence.api.attrvalue.validation.InvalidEntityException;
@@ -36,6 +37,7 @@ import org.apache.syncope.core.persistence.jpa.AbstractTest;
 import org.apache.syncope.core.persistence.jpa.entity.conf.JPACPlainAttrValue;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Transactional("Master")
@@ -61,6 +63,38 @@ public class ConfTest extends AbstractTest {
         assertNull(conf);
     }
 
+    @Test
+    public void readTyped() {
+        assertTrue(confDAO.find("selfRegistration.allowed", false));
+        assertEquals(60L, confDAO.find("token.expireTime", 0L).longValue());
+        assertEquals(2, confDAO.findValues("authentication.statuses", String.class).size());
+
+        // missing or not matching the expected type
+        assertEquals("default", confDAO.find("non.existing", "default"));
+        assertTrue(confDAO.findValues("non.existing", String.class).isEmpty());
+        assertEquals("default", confDAO.find("token.expireTime", "default"));
+        assertEquals(60L, confDAO.find("token.expireTime", Long.class).longValue());
+        assertNull(confDAO.find("token.expireTime", String.class));
+        assertNull(confDAO.find("non.existing", Long.class));
+
+        // snapshot is rebuilt after save
+        CPlainAttr expireTime = confDAO.find("token.expireTime");
+        expireTime.getValues().clear();
+        add(expireTime, "120");
+        confDAO.save(expireTime);
+        confDAO.flush();
+
+        assertEquals(120L, confDAO.find("token.expireTime", 0L).longValue());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void readTypedWithoutTransaction() {
+        // built within its own transaction, then read from the cached snapshot
+        assertTrue(confDAO.find("selfRegistration.allowed", false));
+        assertEquals(60L, confDAO.find("token.expireTime", Long.class).longValue());
+    }
+
     private void add(final CPlainAttr newAttr, final String value) {
         JPACPlainAttrValue attrValue;
         if (newAttr.getSchema().isUniqueConstraint()) {
@@ -99,6 +133,13 @@ public class ConfTest extends AbstractTest {
         actual = confDAO.find("useless");
         assertEquals(actual.getValuesAsStrings(), newConf.getValuesAsStrings());
 
+        // typed values cannot alter the snapshot
+        confDAO.flush();
+        Date date = confDAO.find("useless", Date.class);
+        assertNotNull(date);
+        date.setTime(0);
+        assertEquals(actual.getValues().get(0).getDateValue(), confDAO.find("useless", Date.class));
+
         // 4. delete conf
         confDAO.delete("useless");
         assertNull(confDAO.find("useless"));
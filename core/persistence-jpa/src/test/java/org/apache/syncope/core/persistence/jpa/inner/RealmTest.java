@@ -26,6 +26,7 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.util.List;
+import java.util.Set;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.types.EntityViolationType;
@@ -98,6 +99,26 @@ public class RealmTest extends AbstractTest {
                 isEmpty());
     }
 
+    @Test
+    public void findDescendantKeys() {
+        Realm even = realmDAO.findByFullPath("/even");
+        Set<String> keys = realmDAO.findDescendantKeys(even);
+        assertEquals(realmDAO.findDescendants(even).size(), keys.size());
+        assertTrue(keys.contains(even.getKey()));
+        assertTrue(keys.contains("0679e069-7355-4b20-bd11-a5a0a5453c7c"));
+        assertFalse(keys.contains(realmDAO.findByFullPath("/odd").getKey()));
+
+        // new realms are visible right after save, even though the realm tree was already built
+        Realm realm = entityFactory.newEntity(Realm.class);
+        realm.setName("last");
+        realm.setParent(realmDAO.findByFullPath("/even/two"));
+        realm = realmDAO.save(realm);
+        realmDAO.flush();
+
+        assertEquals(realm, realmDAO.findByFullPath("/even/two/last"));
+        assertTrue(realmDAO.findDescendantKeys(even).contains(realm.getKey()));
+    }
+
     @Test
     public void findAll() {
         List<Realm> list = realmDAO.findAll();
@@ -30,6 +30,7 @@ import org.apache.commons.collections4.IterableUtils;
 import org.apache.commons.collections4.Predicate;
 import org.apache.syncope.common.lib.types.EntityViolationType;
 import org.apache.syncope.common.lib.types.MappingPurpose;
+import org.apache.syncope.common.lib.types.PropagationReadMode;
 import org.apache.syncope.core.persistence.api.attrvalue.validation.InvalidEntityException;
 import org.apache.syncope.core.persistence.api.dao.AnyTypeDAO;
 import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
@@ -57,6 +58,7 @@ public class ResourceTest extends AbstractTest {
     public void findById() {
         ExternalResource resource = resourceDAO.find("ws-target-resource-1");
         assertNotNull("findById did not work", resource);
+        assertEquals(PropagationReadMode.FULL, resource.getPropagationReadMode());
 
         ConnInstance connector = resource.getConnector();
         assertNotNull("connector not found", connector);
@@ -110,6 +112,7 @@ public class ResourceTest extends AbstractTest {
         ExternalResource resource = entityFactory.newEntity(ExternalResource.class);
         resource.setKey("ws-target-resource-basic-save");
         resource.setPropagationPriority(2);
+        resource.setPropagationReadMode(PropagationReadMode.MINIMAL);
 
         Provision provision = entityFactory.newEntity(Provision.class);
         provision.setAnyType(anyTypeDAO.findUser());
@@ -138,6 +141,7 @@ public class ResourceTest extends AbstractTest {
         assertNotNull(actual.getProvision(anyTypeDAO.findUser()).getMapping());
         assertFalse(actual.getProvision(anyTypeDAO.findUser()).getMapping().getItems().isEmpty());
         assertEquals(Integer.valueOf(2), actual.getPropagationPriority());
+        assertEquals(PropagationReadMode.MINIMAL, actual.getPropagationReadMode());
     }
 
     @Test(expected = InvalidEntityException.class)
@@ -21,11 +21,15 @@ package org.apache.syncope.core.persistence.jpa.inner;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.types.CipherAlgorithm;
@@ -87,6 +91,17 @@ public class UserTest extends AbstractTest {
         assertEquals("did not get expected number of users", 1, list.size());
     }
 
+    @Test
+    public void findAllKeys() {
+        List<String> keys = userDAO.findAllKeys(null, 3);
+        assertEquals(3, keys.size());
+
+        List<String> next = userDAO.findAllKeys(keys.get(2), 3);
+        assertEquals(2, next.size());
+        assertTrue(keys.get(2).compareTo(next.get(0)) < 0);
+        assertTrue(userDAO.findAllKeys(next.get(1), 3).isEmpty());
+    }
+
     @Test
     public void findByDerAttributeValue() {
         final List<User> list = userDAO.findByDerAttrValue("cn", "Vivaldi, Antonio");
@@ -137,6 +152,18 @@ public class UserTest extends AbstractTest {
         assertNull("found user but did not expect it", user);
     }
 
+    @Test
+    public void findKeysByUsername() {
+        Map<String, String> keys = userDAO.findKeysByUsername(Arrays.asList("rossini", "vivaldi", "user6"));
+        assertEquals(2, keys.size());
+        assertEquals("1417acbe-cbf6-4277-9372-e75e04f97000", keys.get("rossini"));
+        assertEquals(userDAO.findByUsername("vivaldi").getKey(), keys.get("vivaldi"));
+
+        Collection<String> existing = userDAO.findKeys(Arrays.asList(keys.get("rossini"), "unexisting"));
+        assertEquals(1, existing.size());
+        assertTrue(existing.contains(keys.get("rossini")));
+    }
+
     @Test
     public void save() {
         User user = entityFactory.newEntity(User.class);
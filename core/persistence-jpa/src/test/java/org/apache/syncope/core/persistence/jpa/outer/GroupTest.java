@@ -264,6 +264,55 @@ public class GroupTest extends AbstractTest {
         assertTrue(dynGroupMemberships.isEmpty());
     }
 
+    @Test
+    public void udynMembershipRefresh() {
+        // 0. create group with dynamic membership
+        Group group = entityFactory.newEntity(Group.class);
+        group.setRealm(realmDAO.getRoot());
+        group.setName("refreshed");
+
+        UDynGroupMembership dynMembership = entityFactory.newEntity(UDynGroupMembership.class);
+        dynMembership.setFIQLCond("cool==true");
+        dynMembership.setGroup(group);
+
+        group.setUDynMembership(dynMembership);
+
+        group = groupDAO.save(group);
+        groupDAO.flush();
+
+        User user = userDAO.findByUsername("rossini");
+        assertFalse(findDynGroupMemberships(user).contains(group));
+
+        // 1. change an attribute not referenced by the condition: membership is not evaluated again, hence
+        // stays as it is, even when out of sync
+        group.getUDynMembership().add(user);
+        groupDAO.flush();
+
+        user.getPlainAttr("firstname").getValues().get(0).setStringValue("Gioachino");
+        user = userDAO.save(user);
+        userDAO.flush();
+        assertTrue(findDynGroupMemberships(user).contains(group));
+
+        // 2. add the attribute referenced by the condition: membership is evaluated again
+        user.add(anyTypeClassDAO.find("other"));
+
+        UPlainAttr attr = entityFactory.newEntity(UPlainAttr.class);
+        attr.setOwner(user);
+        attr.setSchema(plainSchemaDAO.find("cool"));
+        attr.add("false", anyUtilsFactory.getInstance(AnyTypeKind.USER));
+        user.add(attr);
+
+        user = userDAO.save(user);
+        userDAO.flush();
+        assertFalse(findDynGroupMemberships(user).contains(group));
+
+        // 3. change the attribute referenced by the condition: membership is evaluated again
+        user.getPlainAttr("cool").getValues().get(0).setBooleanValue(true);
+        user = userDAO.save(user);
+        userDAO.flush();
+        assertTrue(findDynGroupMemberships(user).contains(group));
+    }
+
     /**
      * Static copy of {@link org.apache.syncope.core.persistence.jpa.dao.JPAAnyObjectDAO} method with same signature:
      * required for avoiding creating of a new transaction - good for general use case but bad for the way how
@@ -18,13 +18,21 @@
  */
 package org.apache.syncope.core.persistence.jpa.outer;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
 import javax.persistence.EntityExistsException;
+import org.apache.commons.io.IOUtils;
 import org.apache.syncope.common.lib.types.ReportExecStatus;
 import org.apache.syncope.core.persistence.api.dao.ReportDAO;
 import org.apache.syncope.core.persistence.api.dao.ReportExecDAO;
@@ -34,7 +42,14 @@ import org.apache.syncope.core.persistence.api.entity.ReportExec;
 import org.apache.syncope.core.persistence.jpa.AbstractTest;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Transactional("Master")
 public class ReportTest extends AbstractTest {
@@ -48,6 +63,10 @@ public class ReportTest extends AbstractTest {
     @Autowired
     private ReportExecDAO reportExecDAO;
 
+    @Autowired
+    @Qualifier("Master")
+    private PlatformTransactionManager transactionManager;
+
     @Test
     public void find() {
         Report report = reportDAO.find("0062ea9c-924d-4ecf-9961-4492a8cc6d1b");
@@ -99,6 +118,36 @@ public class ReportTest extends AbstractTest {
         assertEquals(2, report.getExecs().size());
     }
 
+    @Test
+    public void execResult() throws IOException {
+        Report report = reportDAO.find("0062ea9c-924d-4ecf-9961-4492a8cc6d1b");
+
+        ReportExec reportExec = entityFactory.newEntity(ReportExec.class);
+        reportExec.setReport(report);
+        reportExec.setStart(new Date());
+        reportExec.setStatus(ReportExecStatus.RUNNING);
+        report.add(reportExec);
+        reportExec = reportExecDAO.save(reportExec);
+
+        assertFalse(reportExecDAO.hasExecResult(reportExec.getKey()));
+        assertNull(reportExecDAO.getExecResult(reportExec.getKey()));
+
+        byte[] result = new byte[1024 * 1024];
+        new Random().nextBytes(result);
+        reportExecDAO.setExecResult(reportExec.getKey(), new ByteArrayInputStream(result));
+
+        // further updates to the execution do not affect its result
+        reportExec.setEnd(new Date());
+        reportExec.setStatus(ReportExecStatus.SUCCESS);
+        reportExecDAO.save(reportExec);
+        reportExecDAO.flush();
+
+        assertTrue(reportExecDAO.hasExecResult(reportExec.getKey()));
+        try (InputStream in = reportExecDAO.getExecResult(reportExec.getKey())) {
+            assertArrayEquals(result, IOUtils.toByteArray(in));
+        }
+    }
+
     @Test
     public void deleteReport() {
         reportDAO.delete("0062ea9c-924d-4ecf-9961-4492a8cc6d1b");
@@ -123,4 +172,52 @@ public class ReportTest extends AbstractTest {
         Report report = reportDAO.find("0062ea9c-924d-4ecf-9961-4492a8cc6d1b");
         assertEquals(report.getExecs().size(), executionNumber - 1);
     }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void purgeExecutions() {
+        final Date[] starts = new Date[4];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = new Date(TimeUnit.DAYS.toMillis(i + 1));
+        }
+        // all executions started before, as the ones from content are more recent
+        Date before = new Date(TimeUnit.DAYS.toMillis(10));
+
+        final String key = new TransactionTemplate(transactionManager).execute(new TransactionCallback<String>() {
+
+            @Override
+            public String doInTransaction(final TransactionStatus status) {
+                Report report = entityFactory.newEntity(Report.class);
+                report.setName("purge");
+                report.setActive(true);
+                report.setTemplate(reportTemplateDAO.find("sample"));
+
+                for (Date start : starts) {
+                    ReportExec reportExec = entityFactory.newEntity(ReportExec.class);
+                    reportExec.setReport(report);
+                    reportExec.setStart(start);
+                    reportExec.setStatus(ReportExecStatus.SUCCESS);
+                    report.add(reportExec);
+                }
+
+                return reportDAO.save(report).getKey();
+            }
+        });
+        try {
+            assertEquals(2, reportExecDAO.countPurgeable(before, 2));
+            assertEquals(1, reportExecDAO.purge(before, 2, 1));
+            assertEquals(1, reportExecDAO.purge(before, 2, 1));
+            assertEquals(0, reportExecDAO.purge(before, 2, 1));
+
+            assertEquals(2, reportExecDAO.countPurgeable(before, 0));
+        } finally {
+            new TransactionTemplate(transactionManager).execute(new TransactionCallbackWithoutResult() {
+
+                @Override
+                protected void doInTransactionWithoutResult(final TransactionStatus status) {
+                    reportDAO.delete(key);
+                }
+            });
+        }
+    }
 }
@@ -27,7 +27,9 @@ import static org.junit.Assert.assertTrue;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import org.apache.syncope.common.lib.to.UserTO;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.types.MatchingRule;
@@ -52,7 +54,14 @@ import org.identityconnectors.framework.common.objects.Attribute;
 import org.identityconnectors.framework.common.objects.AttributeBuilder;
 import org.junit.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionCallbackWithoutResult;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.apache.syncope.core.persistence.api.entity.task.PullTask;
 import org.apache.syncope.core.persistence.api.entity.task.AnyTemplatePullTask;
 import org.apache.syncope.core.provisioning.api.pushpull.PullActions;
@@ -72,6 +81,52 @@ public class TaskTest extends AbstractTest {
     @Autowired
     private UserDAO userDAO;
     
+    @Autowired
+    @Qualifier("Master")
+    private PlatformTransactionManager transactionManager;
+    
+    private static Date daysAfterEpoch(final int days) {
+        return new Date(TimeUnit.DAYS.toMillis(days));
+    }
+    
+    private String createPropagationTask(final Date... execStarts) {
+        return new TransactionTemplate(transactionManager).execute(new TransactionCallback<String>() {
+            
+            @Override
+            public String doInTransaction(final TransactionStatus status) {
+                PropagationTask task = entityFactory.newEntity(PropagationTask.class);
+                task.setResource(resourceDAO.find("ws-target-resource-1"));
+                task.setAnyTypeKind(AnyTypeKind.USER);
+                task.setAnyType(AnyTypeKind.USER.name());
+                task.setOperation(ResourceOperation.UPDATE);
+                task.setConnObjectKey("purge");
+                task.setAttributes(Collections.singleton(AttributeBuilder.build("purge", "value")));
+                
+                for (Date start : execStarts) {
+                    TaskExec execution = entityFactory.newEntity(TaskExec.class);
+                    execution.setTask(task);
+                    execution.setStatus(PropagationTaskExecStatus.SUCCESS.name());
+                    execution.setStart(start);
+                    task.add(execution);
+                }
+                
+                return taskDAO.save(task).getKey();
+            }
+        });
+    }
+    
+    private void deleteTasks(final String... keys) {
+        new TransactionTemplate(transactionManager).execute(new TransactionCallbackWithoutResult() {
+            
+            @Override
+            protected void doInTransactionWithoutResult(final TransactionStatus status) {
+                for (String key : keys) {
+                    taskDAO.delete(key);
+                }
+            }
+        });
+    }
+    
     @Test
     public void read() {
         PropagationTask task = taskDAO.find("1e697572-b896-484c-ae7f-0c8f63fcbc6c");
@@ -302,4 +357,85 @@ public class TaskTest extends AbstractTest {
         assertEquals("issueSYNCOPE144 Description_2", actual.getDescription());
     }
     
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void purgeExecutions() {
+        // all executions started before, as the ones from content are more recent
+        Date before = daysAfterEpoch(10);
+        
+        String task1 = createPropagationTask(
+                daysAfterEpoch(1), daysAfterEpoch(2), daysAfterEpoch(3), daysAfterEpoch(4));
+        String task2 = createPropagationTask(daysAfterEpoch(1));
+        String task3 = createPropagationTask(daysAfterEpoch(1), daysAfterEpoch(20));
+        try {
+            // only the 2 earliest executions of task1 are not among the latest 2 for their task
+            assertEquals(2, taskExecDAO.countPurgeable(before, 2));
+            assertEquals(1, taskExecDAO.purge(before, 2, 1));
+            assertEquals(1, taskExecDAO.purge(before, 2, 1));
+            assertEquals(0, taskExecDAO.purge(before, 2, 1));
+            
+            // 3rd execution of task1 and 1st of task3
+            assertEquals(2, taskExecDAO.countPurgeable(before, 1));
+            
+            assertEquals(4, taskExecDAO.countPurgeable(before, 0));
+            assertEquals(4, taskExecDAO.purge(before, 0, 10));
+            assertEquals(1, taskExecDAO.countPurgeable(daysAfterEpoch(30), 0));
+        } finally {
+            deleteTasks(task1, task2, task3);
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void purgeExecutionsWithCutoffs() {
+        Date before = daysAfterEpoch(10);
+
+        final String task1 = createPropagationTask(
+                daysAfterEpoch(1), daysAfterEpoch(2), daysAfterEpoch(3), daysAfterEpoch(4));
+        String task2 = createPropagationTask(daysAfterEpoch(1));
+        try {
+            // cutoffs are computed once, then consumed chunk by chunk
+            Map<String, Date> cutoffs = taskExecDAO.findPurgeCutoffs(before, 2);
+            assertEquals(1, cutoffs.size());
+            assertTrue(cutoffs.containsKey(task1));
+
+            assertEquals(1, taskExecDAO.purge(cutoffs, 1));
+            assertEquals(1, taskExecDAO.purge(cutoffs, 1));
+            assertEquals(0, taskExecDAO.purge(cutoffs, 1));
+            assertTrue(cutoffs.isEmpty());
+
+            // purged executions must not be served any more by the data cache
+            assertEquals(2, new TransactionTemplate(transactionManager).execute(new TransactionCallback<Integer>() {
+
+                @Override
+                public Integer doInTransaction(final TransactionStatus status) {
+                    return taskDAO.find(task1).getExecs().size();
+                }
+            }).intValue());
+        } finally {
+            deleteTasks(task1, task2);
+        }
+    }
+    
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void purgePropagationTasks() {
+        Date before = daysAfterEpoch(10);
+        
+        String executed = createPropagationTask(daysAfterEpoch(1), daysAfterEpoch(2));
+        String notExecuted = createPropagationTask();
+        String recentlyExecuted = createPropagationTask(daysAfterEpoch(1), daysAfterEpoch(20));
+        try {
+            assertEquals(1, taskDAO.countPurgeablePropagationTasks(before));
+            assertEquals(1, taskDAO.purgePropagationTasks(before, 10));
+            assertEquals(0, taskDAO.purgePropagationTasks(before, 10));
+            
+            assertNull(taskDAO.find(executed));
+            assertNotNull(taskDAO.find(notExecuted));
+            assertNotNull(taskDAO.find(recentlyExecuted));
+            assertEquals(2, taskExecDAO.countPurgeable(daysAfterEpoch(30), 0));
+        } finally {
+            deleteTasks(notExecuted, recentlyExecuted);
+        }
+    }
 }
@@ -22,6 +22,21 @@ import org.apache.syncope.common.lib.types.AuditElements;
 
 public interface AuditManager {
 
+    /**
+     * Checks if audit is requested matching the provided conditions, for either successful or failed outcome.
+     *
+     * @param type event category type
+     * @param category event category
+     * @param subcategory event subcategory
+     * @param event event
+     * @return whether audit is requested by any enabled audit logger
+     */
+    boolean auditRequested(
+            AuditElements.EventCategoryType type,
+            String category,
+            String subcategory,
+            String event);
+
     void audit(
             AuditElements.EventCategoryType type,
             String category,
@@ -32,4 +47,8 @@ public interface AuditManager {
             Object output,
             Object... input);
 
+    /**
+     * Discards the enabled audit loggers known for the current domain, so that they are read again on next audit.
+     */
+    void reloadAuditLoggers();
 }
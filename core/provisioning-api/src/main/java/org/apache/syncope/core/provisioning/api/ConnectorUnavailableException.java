@@ -0,0 +1,33 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.api;
+
+/**
+ * Raised when a connector request is not even attempted, either because the resource is known to be down or because
+ * too many requests are already pending on it; as for {@link TimeoutException}, no assumption can be made about the
+ * remote object.
+ */
+public class ConnectorUnavailableException extends TimeoutException {
+
+    private static final long serialVersionUID = 3389216548264716742L;
+
+    public ConnectorUnavailableException(final String msg) {
+        super(msg);
+    }
+}
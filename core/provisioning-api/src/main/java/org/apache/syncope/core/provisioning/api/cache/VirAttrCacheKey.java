@@ -63,12 +63,27 @@ public class VirAttrCacheKey {
 
     @Override
     public boolean equals(final Object obj) {
-        return EqualsBuilder.reflectionEquals(this, obj, true);
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        VirAttrCacheKey other = (VirAttrCacheKey) obj;
+        return new EqualsBuilder().
+                append(type, other.type).
+                append(key, other.key).
+                append(virSchema, other.virSchema).
+                build();
     }
 
     @Override
     public int hashCode() {
-        return HashCodeBuilder.reflectionHashCode(this, true);
+        return new HashCodeBuilder().
+                append(type).
+                append(key).
+                append(virSchema).
+                build();
     }
 
     @Override
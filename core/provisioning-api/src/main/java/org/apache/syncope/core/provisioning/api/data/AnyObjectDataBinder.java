@@ -21,6 +21,7 @@ package org.apache.syncope.core.provisioning.api.data;
 import org.apache.syncope.common.lib.patch.AnyObjectPatch;
 import org.apache.syncope.common.lib.to.AnyObjectTO;
 import org.apache.syncope.core.provisioning.api.PropagationByResource;
+import org.apache.syncope.core.persistence.api.dao.search.ProjectedAny;
 import org.apache.syncope.core.persistence.api.entity.anyobject.AnyObject;
 
 public interface AnyObjectDataBinder {
@@ -29,6 +30,8 @@ public interface AnyObjectDataBinder {
 
     AnyObjectTO getAnyObjectTO(AnyObject anyObject, boolean details);
 
+    AnyObjectTO getAnyObjectTO(ProjectedAny projected);
+
     void create(AnyObject anyObject, AnyObjectTO anyObjectTO);
 
     PropagationByResource update(AnyObject toBeUpdated, AnyObjectPatch anyObjectPatch);
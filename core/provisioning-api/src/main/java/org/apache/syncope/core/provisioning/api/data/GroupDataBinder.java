@@ -22,6 +22,7 @@ import java.util.Map;
 import org.apache.syncope.common.lib.patch.GroupPatch;
 import org.apache.syncope.common.lib.to.GroupTO;
 import org.apache.syncope.core.provisioning.api.PropagationByResource;
+import org.apache.syncope.core.persistence.api.dao.search.ProjectedAny;
 import org.apache.syncope.core.persistence.api.entity.group.Group;
 
 public interface GroupDataBinder {
@@ -30,6 +31,8 @@ public interface GroupDataBinder {
 
     GroupTO getGroupTO(Group group, boolean details);
 
+    GroupTO getGroupTO(ProjectedAny projected);
+
     void create(Group group, GroupTO groupTO);
 
     PropagationByResource update(Group group, GroupPatch groupPatch);
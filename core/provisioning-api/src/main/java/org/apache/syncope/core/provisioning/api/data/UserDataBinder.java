@@ -21,6 +21,7 @@ package org.apache.syncope.core.provisioning.api.data;
 import org.apache.syncope.common.lib.patch.UserPatch;
 import org.apache.syncope.common.lib.to.UserTO;
 import org.apache.syncope.core.provisioning.api.PropagationByResource;
+import org.apache.syncope.core.persistence.api.dao.search.ProjectedAny;
 import org.apache.syncope.core.persistence.api.entity.user.User;
 
 public interface UserDataBinder {
@@ -33,6 +34,8 @@ public interface UserDataBinder {
 
     UserTO getUserTO(User user, boolean details);
 
+    UserTO getUserTO(ProjectedAny projected);
+
     void create(User user, UserTO userTO, boolean storePassword);
 
     /**
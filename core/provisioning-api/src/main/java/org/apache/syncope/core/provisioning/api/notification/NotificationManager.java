@@ -39,6 +39,22 @@ public interface NotificationManager {
      */
     long countExecutionsWithStatus(final String taskKey, final String status);
 
+    /**
+     * Checks if any active notification is listening to the provided event, for either successful or failed
+     * outcome.
+     *
+     * @param type event category type
+     * @param category event category
+     * @param subcategory event subcategory
+     * @param event event
+     * @return whether any notification is available for the given event
+     */
+    boolean notificationsAvailable(
+            AuditElements.EventCategoryType type,
+            String category,
+            String subcategory,
+            String event);
+
     /**
      * Create notification tasks for each notification matching provided conditions.
      *
@@ -62,6 +78,12 @@ public interface NotificationManager {
             Object output,
             Object... input);
 
+    /**
+     * Discards the notification index built for the current domain, so that it is built again on next
+     * {@link #createTasks} call; to be invoked whenever notifications are created, updated or deleted.
+     */
+    void reloadNotifications();
+
     long getMaxRetries();
 
     /**
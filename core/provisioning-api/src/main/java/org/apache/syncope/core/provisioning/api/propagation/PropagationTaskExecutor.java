@@ -67,4 +67,12 @@ public interface PropagationTaskExecutor {
      * @return reporter to report propagation execution status
      */
     PropagationReporter execute(Collection<PropagationTask> tasks, boolean nullPriorityAsync);
+
+    /**
+     * Returns the number of remote object reads which were not performed, according to the configured
+     * propagation read mode of the involved resources.
+     *
+     * @return number of avoided remote reads
+     */
+    long getAvoidedRemoteReads();
 }
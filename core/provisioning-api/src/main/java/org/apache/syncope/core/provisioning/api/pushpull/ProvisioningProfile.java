@@ -19,7 +19,6 @@
 package org.apache.syncope.core.provisioning.api.pushpull;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
 import org.apache.syncope.common.lib.types.ConflictResolutionAction;
 import org.apache.syncope.core.persistence.api.entity.task.ProvisioningTask;
@@ -31,10 +30,12 @@ public class ProvisioningProfile<T extends ProvisioningTask, A extends Provision
 
     private final T task;
 
-    private final List<ProvisioningReport> results = new ArrayList<>();
+    private final ProvisioningReportCollection results;
 
     private boolean dryRun;
 
+    private boolean concurrent;
+
     private ConflictResolutionAction resAct;
 
     private final List<A> actions = new ArrayList<>();
@@ -42,6 +43,29 @@ public class ProvisioningProfile<T extends ProvisioningTask, A extends Provision
     public ProvisioningProfile(final Connector connector, final T task) {
         this.connector = connector;
         this.task = task;
+        this.results = new ProvisioningReportCollection(
+                task.getResource() == null ? null : task.getResource().getProvisioningTraceLevel(),
+                ProvisioningReportCollection.DEFAULT_MAX_DETAILS);
+    }
+
+    private ProvisioningProfile(final ProvisioningProfile<T, A> profile, final T task) {
+        this.connector = profile.connector;
+        this.task = task;
+        this.results = profile.results;
+        this.dryRun = profile.dryRun;
+        this.concurrent = profile.concurrent;
+        this.resAct = profile.resAct;
+        this.actions.addAll(profile.actions);
+    }
+
+    /**
+     * Returns a copy of this profile bound to the given task instance; connector, actions and results are shared.
+     *
+     * @param task task instance, as loaded by the current thread
+     * @return copy of this profile, bound to the given task instance
+     */
+    public ProvisioningProfile<T, A> withTask(final T task) {
+        return new ProvisioningProfile<>(this, task);
     }
 
     public Connector getConnector() {
@@ -52,7 +76,7 @@ public class ProvisioningProfile<T extends ProvisioningTask, A extends Provision
         return task;
     }
 
-    public Collection<ProvisioningReport> getResults() {
+    public ProvisioningReportCollection getResults() {
         return results;
     }
 
@@ -64,6 +88,18 @@ public class ProvisioningProfile<T extends ProvisioningTask, A extends Provision
         this.dryRun = dryRun;
     }
 
+    /**
+     * @return whether this profile is shared among concurrent workers: in such case, the task instance returned by
+     * {@link #getTask()} belongs to the job's persistence context and each worker must load its own
+     */
+    public boolean isConcurrent() {
+        return concurrent;
+    }
+
+    public void setConcurrent(final boolean concurrent) {
+        this.concurrent = concurrent;
+    }
+
     public ConflictResolutionAction getResAct() {
         return resAct;
     }
@@ -0,0 +1,252 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.api.pushpull;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.syncope.common.lib.types.ResourceOperation;
+import org.apache.syncope.common.lib.types.TraceLevel;
+
+/**
+ * Collects provisioning results, keeping counters by any type, status and operation, while retaining in memory only
+ * a bounded number of reports for each of such combinations; reports which would not be shown for the given trace
+ * level are not retained at all.
+ * This allows to report about provisioning tasks dealing with large amount of objects without memory occupation growing
+ * with the number of objects handled.
+ */
+public class ProvisioningReportCollection extends AbstractCollection<ProvisioningReport> {
+
+    public static final int DEFAULT_MAX_DETAILS = 1000;
+
+    private static class BucketKey {
+
+        private final String anyType;
+
+        private final ProvisioningReport.Status status;
+
+        private final ResourceOperation operation;
+
+        BucketKey(
+                final String anyType,
+                final ProvisioningReport.Status status,
+                final ResourceOperation operation) {
+
+            this.anyType = anyType;
+            this.status = status;
+            this.operation = operation;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            BucketKey other = (BucketKey) obj;
+            return new EqualsBuilder().
+                    append(anyType, other.anyType).
+                    append(status, other.status).
+                    append(operation, other.operation).
+                    build();
+        }
+
+        @Override
+        public int hashCode() {
+            return new HashCodeBuilder().
+                    append(anyType).
+                    append(status).
+                    append(operation).
+                    build();
+        }
+    }
+
+    private static class Bucket {
+
+        private final AtomicLong count = new AtomicLong();
+
+        private final List<ProvisioningReport> details = new ArrayList<>();
+    }
+
+    private final TraceLevel traceLevel;
+
+    private final int maxDetails;
+
+    private final ConcurrentMap<BucketKey, Bucket> buckets = new ConcurrentHashMap<>();
+
+    private final AtomicInteger retained = new AtomicInteger();
+
+    /**
+     * @param traceLevel trace level to report with; when null, all reports are retained
+     * @param maxDetails maximum number of reports to retain for each any type, status and operation
+     */
+    public ProvisioningReportCollection(final TraceLevel traceLevel, final int maxDetails) {
+        this.traceLevel = traceLevel == null ? TraceLevel.ALL : traceLevel;
+        this.maxDetails = maxDetails;
+    }
+
+    private boolean toBeRetained(final ProvisioningReport report) {
+        switch (traceLevel) {
+            case ALL:
+                return true;
+
+            case FAILURES:
+                return report.getStatus() == ProvisioningReport.Status.FAILURE;
+
+            default:
+                return false;
+        }
+    }
+
+    private Bucket getBucket(final BucketKey key) {
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            Bucket newBucket = new Bucket();
+            bucket = buckets.putIfAbsent(key, newBucket);
+            if (bucket == null) {
+                bucket = newBucket;
+            }
+        }
+        return bucket;
+    }
+
+    /**
+     * Counts the given report and retains it, unless not relevant for the configured trace level or if the maximum
+     * number of reports was already retained for the same any type, status and operation.
+     * As counting happens here, the given report is expected to be complete: any type, status and operation set
+     * afterwards are not taken into account.
+     *
+     * @param report provisioning report
+     * @return whether the given report was retained
+     */
+    @Override
+    public boolean add(final ProvisioningReport report) {
+        Bucket bucket = getBucket(new BucketKey(report.getAnyType(), report.getStatus(), report.getOperation()));
+        bucket.count.incrementAndGet();
+
+        if (toBeRetained(report)) {
+            synchronized (bucket.details) {
+                if (bucket.details.size() < maxDetails) {
+                    bucket.details.add(report);
+                    retained.incrementAndGet();
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return any types for which at least one report was added
+     */
+    public Set<String> getAnyTypes() {
+        Set<String> anyTypes = new HashSet<>();
+        for (BucketKey key : buckets.keySet()) {
+            anyTypes.add(key.anyType);
+        }
+        return anyTypes;
+    }
+
+    /**
+     * @param anyType any type
+     * @param status status
+     * @param operation operation, or null for any operation
+     * @return number of reports added for the given parameters, including the ones not retained
+     */
+    public long count(
+            final String anyType,
+            final ProvisioningReport.Status status,
+            final ResourceOperation operation) {
+
+        long count = 0;
+        for (Map.Entry<BucketKey, Bucket> entry : buckets.entrySet()) {
+            if (matches(entry.getKey(), anyType, status, operation)) {
+                count += entry.getValue().count.get();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @param anyType any type
+     * @param status status
+     * @param operation operation, or null for any operation
+     * @return reports retained for the given parameters
+     */
+    public List<ProvisioningReport> details(
+            final String anyType,
+            final ProvisioningReport.Status status,
+            final ResourceOperation operation) {
+
+        List<ProvisioningReport> details = new ArrayList<>();
+        for (Map.Entry<BucketKey, Bucket> entry : buckets.entrySet()) {
+            if (matches(entry.getKey(), anyType, status, operation)) {
+                synchronized (entry.getValue().details) {
+                    details.addAll(entry.getValue().details);
+                }
+            }
+        }
+        return details;
+    }
+
+    private boolean matches(
+            final BucketKey key,
+            final String anyType,
+            final ProvisioningReport.Status status,
+            final ResourceOperation operation) {
+
+        return (anyType == null ? key.anyType == null : anyType.equals(key.anyType))
+                && status == key.status
+                && (operation == null || operation == key.operation);
+    }
+
+    /**
+     * @return iterator over the retained reports
+     */
+    @Override
+    public Iterator<ProvisioningReport> iterator() {
+        List<ProvisioningReport> details = new ArrayList<>();
+        for (Bucket bucket : buckets.values()) {
+            synchronized (bucket.details) {
+                details.addAll(bucket.details);
+            }
+        }
+        return details.iterator();
+    }
+
+    /**
+     * @return number of retained reports
+     */
+    @Override
+    public int size() {
+        return retained.get();
+    }
+}
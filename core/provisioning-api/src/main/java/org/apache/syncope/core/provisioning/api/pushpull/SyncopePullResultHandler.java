@@ -18,6 +18,7 @@
  */
 package org.apache.syncope.core.provisioning.api.pushpull;
 
+import java.util.List;
 import org.identityconnectors.framework.common.objects.SyncDelta;
 import org.identityconnectors.framework.common.objects.SyncResultsHandler;
 import org.apache.syncope.core.persistence.api.entity.task.PullTask;
@@ -26,6 +27,15 @@ public interface SyncopePullResultHandler extends SyncopeResultHandler<PullTask,
 
     void setPullExecutor(SyncopePullExecutor executor);
 
+    /**
+     * Finds in advance, where possible with set-based queries, the entities matching the given deltas; this allows
+     * subsequent {@link #handle(org.identityconnectors.framework.common.objects.SyncDelta)} invocations for the same
+     * deltas not to query for matches one by one.
+     *
+     * @param deltas deltas about to be handled, all related to the same object class
+     */
+    void correlate(List<SyncDelta> deltas);
+
     @Override
     boolean handle(SyncDelta delta);
 }
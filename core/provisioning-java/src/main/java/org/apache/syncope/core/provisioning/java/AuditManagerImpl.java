@@ -18,6 +18,10 @@
  */
 package org.apache.syncope.core.provisioning.java;
 
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.syncope.core.provisioning.api.AuditManager;
 import org.apache.syncope.common.lib.types.AuditElements;
 import org.apache.syncope.common.lib.types.AuditElements.Result;
@@ -32,6 +36,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Component
 public class AuditManagerImpl implements AuditManager {
@@ -39,10 +45,63 @@ public class AuditManagerImpl implements AuditManager {
     @Autowired
     private LoggerDAO loggerDAO;
 
+    /**
+     * Names of enabled audit loggers, per domain.
+     */
+    private final Map<String, Set<String>> enabledAuditLoggers = new ConcurrentHashMap<>();
+
     public static String getDomainAuditLoggerName(final String domain) {
         return LoggerType.AUDIT.getPrefix() + "." + domain;
     }
 
+    private Set<String> getEnabledAuditLoggers() {
+        Set<String> enabled = enabledAuditLoggers.get(AuthContextUtils.getDomain());
+        if (enabled == null) {
+            enabled = new HashSet<>();
+            for (org.apache.syncope.core.persistence.api.entity.Logger syncopeLogger
+                    : loggerDAO.findAll(LoggerType.AUDIT)) {
+
+                if (syncopeLogger.getLevel() == LoggerLevel.DEBUG) {
+                    enabled.add(syncopeLogger.getKey());
+                }
+            }
+            enabledAuditLoggers.put(AuthContextUtils.getDomain(), enabled);
+        }
+        return enabled;
+    }
+
+    @Override
+    public void reloadAuditLoggers() {
+        final String domain = AuthContextUtils.getDomain();
+        enabledAuditLoggers.remove(domain);
+
+        // concurrent audits might have read again before the current transaction ends
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCompletion(final int status) {
+                    enabledAuditLoggers.remove(domain);
+                }
+            });
+        }
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public boolean auditRequested(
+            final AuditElements.EventCategoryType type,
+            final String category,
+            final String subcategory,
+            final String event) {
+
+        Set<String> enabled = getEnabledAuditLoggers();
+        return enabled.contains(new AuditLoggerName(type, category, subcategory, event, Result.SUCCESS).
+                toLoggerName())
+                || enabled.contains(new AuditLoggerName(type, category, subcategory, event, Result.FAILURE).
+                        toLoggerName());
+    }
+
     @Transactional(readOnly = true)
     @Override
     public void audit(
@@ -55,6 +114,11 @@ public class AuditManagerImpl implements AuditManager {
             final Object output,
             final Object... input) {
 
+        AuditLoggerName auditLoggerName = new AuditLoggerName(type, category, subcategory, event, result);
+        if (!getEnabledAuditLoggers().contains(auditLoggerName.toLoggerName())) {
+            return;
+        }
+
         Throwable throwable = null;
         if (output instanceof Throwable) {
             throwable = (Throwable) output;
@@ -62,20 +126,16 @@ public class AuditManagerImpl implements AuditManager {
 
         AuditEntry auditEntry = new AuditEntry(
                 AuthContextUtils.getUsername(),
-                new AuditLoggerName(type, category, subcategory, event, result),
+                auditLoggerName,
                 before,
                 throwable == null ? output : throwable.getMessage(),
                 input);
 
-        org.apache.syncope.core.persistence.api.entity.Logger syncopeLogger =
-                loggerDAO.find(auditEntry.getLogger().toLoggerName());
-        if (syncopeLogger != null && syncopeLogger.getLevel() == LoggerLevel.DEBUG) {
-            Logger logger = LoggerFactory.getLogger(getDomainAuditLoggerName(AuthContextUtils.getDomain()));
-            if (throwable == null) {
-                logger.debug(POJOHelper.serialize(auditEntry));
-            } else {
-                logger.debug(POJOHelper.serialize(auditEntry), throwable);
-            }
+        Logger logger = LoggerFactory.getLogger(getDomainAuditLoggerName(AuthContextUtils.getDomain()));
+        if (throwable == null) {
+            logger.debug(POJOHelper.serialize(auditEntry));
+        } else {
+            logger.debug(POJOHelper.serialize(auditEntry), throwable);
         }
     }
 }
@@ -0,0 +1,283 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.apache.syncope.core.provisioning.api.ConnectorUnavailableException;
+import org.apache.syncope.core.provisioning.api.TimeoutException;
+import org.identityconnectors.framework.common.exceptions.ConnectorIOException;
+import org.identityconnectors.framework.common.exceptions.OperationTimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Isolates the requests towards a single connector: requests are run by a dedicated thread pool, with its own
+ * concurrency limit and bounded queue, so that a slow resource cannot starve the others.
+ * A circuit breaker makes requests fail fast once the resource appears to be down: after {@code failureThreshold}
+ * consecutive timeouts or I/O failures, requests are refused for {@code openInterval} seconds; then a single trial
+ * request is let through, whose outcome either closes the circuit or keeps it open for another interval.
+ */
+public class ConnectorBulkhead {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConnectorBulkhead.class);
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+
+    }
+
+    /**
+     * Upper bounds (in milliseconds) of latency histogram buckets; last bucket holds all slower requests.
+     */
+    public static final long[] LATENCY_BUCKETS = { 10, 50, 100, 500, 1000, 5000, 10000 };
+
+    private final String name;
+
+    private final int maxConcurrent;
+
+    private final int failureThreshold;
+
+    private final long openInterval;
+
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    private final AtomicBoolean trial = new AtomicBoolean();
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    private final AtomicLong shortCircuited = new AtomicLong();
+
+    private final AtomicLongArray latencies = new AtomicLongArray(LATENCY_BUCKETS.length + 1);
+
+    private volatile State state = State.CLOSED;
+
+    private volatile long openedAt;
+
+    public ConnectorBulkhead(
+            final String name,
+            final int maxConcurrent,
+            final int queueCapacity,
+            final int failureThreshold,
+            final int openInterval) {
+
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.failureThreshold = failureThreshold;
+        this.openInterval = TimeUnit.SECONDS.toMillis(openInterval);
+
+        BlockingQueue<Runnable> queue = queueCapacity > 0
+                ? new ArrayBlockingQueue<Runnable>(queueCapacity)
+                : new SynchronousQueue<Runnable>();
+        this.executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 60L, TimeUnit.SECONDS, queue,
+                new ThreadFactory() {
+
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(final Runnable runnable) {
+                Thread thread = new Thread(runnable, "ConnectorBulkhead-" + name + "-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        }, new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Runs the given request, waiting at most {@code timeout} seconds for its completion.
+     *
+     * @param <T> result type
+     * @param request connector request
+     * @param timeout timeout, in seconds
+     * @return request result
+     * @throws ConnectorUnavailableException if circuit is open or too many requests are pending
+     * @throws TimeoutException if the request did not complete in time
+     */
+    public <T> T execute(final Callable<T> request, final long timeout) {
+        boolean trialRequest = acquire();
+
+        long start = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(request);
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            if (trialRequest) {
+                open();
+            }
+            throw new ConnectorUnavailableException("Too many pending requests for " + name);
+        }
+
+        try {
+            T result = future.get(timeout, TimeUnit.SECONDS);
+            onSuccess();
+            return result;
+        } catch (java.util.concurrent.TimeoutException e) {
+            future.cancel(true);
+            onFailure();
+            throw new TimeoutException("Request timeout");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ConnectorIOException || e.getCause() instanceof OperationTimeoutException) {
+                onFailure();
+            } else {
+                onSuccess();
+            }
+
+            LOG.error("Connector request execution failure", e);
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else {
+                throw new IllegalArgumentException(e.getCause());
+            }
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalArgumentException(e);
+        } finally {
+            record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+            // trial request without outcome (e.g. interrupted): keep the circuit open for another interval
+            if (trialRequest && state == State.HALF_OPEN) {
+                open();
+            }
+        }
+    }
+
+    private boolean acquire() {
+        State current = state;
+        if (current == State.CLOSED) {
+            return false;
+        }
+
+        if (current == State.OPEN
+                && System.currentTimeMillis() - openedAt >= openInterval
+                && trial.compareAndSet(false, true)) {
+
+            state = State.HALF_OPEN;
+            return true;
+        }
+
+        shortCircuited.incrementAndGet();
+        throw new ConnectorUnavailableException("Circuit open for " + name);
+    }
+
+    private void onSuccess() {
+        consecutiveFailures.set(0);
+        if (state != State.CLOSED) {
+            state = State.CLOSED;
+            trial.set(false);
+            LOG.info("Circuit closed for {}", name);
+        }
+    }
+
+    private void onFailure() {
+        if (failureThreshold <= 0) {
+            return;
+        }
+
+        if (state == State.HALF_OPEN || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            open();
+        }
+    }
+
+    private void open() {
+        if (state != State.OPEN) {
+            LOG.warn("Circuit open for {}: requests will be refused for {} ms", name, openInterval);
+        }
+        openedAt = System.currentTimeMillis();
+        state = State.OPEN;
+        trial.set(false);
+    }
+
+    private void record(final long latency) {
+        int bucket = 0;
+        while (bucket < LATENCY_BUCKETS.length && latency > LATENCY_BUCKETS[bucket]) {
+            bucket++;
+        }
+        latencies.incrementAndGet(bucket);
+    }
+
+    /**
+     * Stops accepting requests; the running and queued ones are let complete.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * @return number of requests either running or waiting in queue
+     */
+    public int getInFlight() {
+        return executor.getActiveCount() + executor.getQueue().size();
+    }
+
+    /**
+     * @return number of requests refused because of full queue
+     */
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    /**
+     * @return number of requests refused because of open circuit
+     */
+    public long getShortCircuited() {
+        return shortCircuited.get();
+    }
+
+    /**
+     * @return number of requests per latency bucket, as defined by {@link #LATENCY_BUCKETS}
+     */
+    public long[] getLatencyHistogram() {
+        long[] histogram = new long[latencies.length()];
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] = latencies.get(i);
+        }
+        return histogram;
+    }
+}
@@ -23,6 +23,8 @@ import java.util.HashSet;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import javax.annotation.Resource;
 import org.apache.syncope.common.lib.types.ConnConfProperty;
 import org.apache.syncope.common.lib.types.ConnectorCapability;
 import org.apache.syncope.core.spring.security.AuthContextUtils;
@@ -35,6 +37,7 @@ import org.apache.syncope.core.provisioning.api.ConnIdBundleManager;
 import org.apache.syncope.core.provisioning.api.Connector;
 import org.apache.syncope.core.provisioning.api.ConnectorFactory;
 import org.apache.syncope.core.provisioning.api.ConnectorRegistry;
+import org.apache.syncope.core.provisioning.api.MetricsSource;
 import org.apache.syncope.core.persistence.api.entity.resource.ExternalResource;
 import org.identityconnectors.common.l10n.CurrentLocale;
 import org.identityconnectors.framework.api.ConnectorFacadeFactory;
@@ -45,7 +48,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 @Component
-public class ConnectorManager implements ConnectorRegistry, ConnectorFactory, SyncopeLoader {
+public class ConnectorManager implements ConnectorRegistry, ConnectorFactory, SyncopeLoader, MetricsSource {
 
     private static final Logger LOG = LoggerFactory.getLogger(ConnectorManager.class);
 
@@ -55,8 +58,26 @@ public class ConnectorManager implements ConnectorRegistry, ConnectorFactory, Sy
     @Autowired
     private ExternalResourceDAO resourceDAO;
 
+    @Resource(name = "connectorBulkheadMaxConcurrent")
+    private Integer bulkheadMaxConcurrent;
+
+    @Resource(name = "connectorBulkheadQueueCapacity")
+    private Integer bulkheadQueueCapacity;
+
+    @Resource(name = "connectorBulkheadFailureThreshold")
+    private Integer bulkheadFailureThreshold;
+
+    @Resource(name = "connectorBulkheadOpenInterval")
+    private Integer bulkheadOpenInterval;
+
     private EntityFactory entityFactory;
 
+    /**
+     * Bulkhead shared by all connectors created via {@link #createConnector(ConnInstance)}, for ad-hoc requests
+     * such as checks and tests.
+     */
+    private ConnectorBulkhead adHocBulkhead;
+
     @Override
     public Integer getPriority() {
         return 100;
@@ -98,6 +119,7 @@ public class ConnectorManager implements ConnectorRegistry, ConnectorFactory, Sy
         override.setConf(connInstance.getConf());
         override.getCapabilities().addAll(connInstance.getCapabilities());
         override.setConnRequestTimeout(connInstance.getConnRequestTimeout());
+        override.setPoolConf(connInstance.getPoolConf());
 
         Map<String, ConnConfProperty> overridable = new HashMap<>();
         Set<ConnConfProperty> conf = new HashSet<>();
@@ -132,9 +154,40 @@ public class ConnectorManager implements ConnectorRegistry, ConnectorFactory, Sy
         return override;
     }
 
+    private ConnectorBulkhead createBulkhead(final String name, final ConnInstance connInstance) {
+        int maxConcurrent = connInstance.getPoolConf() != null
+                && connInstance.getPoolConf().getMaxObjects() != null && connInstance.getPoolConf().getMaxObjects() > 0
+                ? connInstance.getPoolConf().getMaxObjects()
+                : bulkheadMaxConcurrent;
+
+        return new ConnectorBulkhead(
+                name, maxConcurrent, bulkheadQueueCapacity, bulkheadFailureThreshold, bulkheadOpenInterval);
+    }
+
+    private Connector createConnector(final String name, final ConnInstance connInstance) {
+        Connector connector = new ConnectorFacadeProxy(connInstance, createBulkhead(name, connInstance));
+        ApplicationContextProvider.getBeanFactory().autowireBean(connector);
+
+        return connector;
+    }
+
+    /**
+     * Creates a connector for ad-hoc requests: all such connectors share a bulkhead, which never opens the circuit
+     * as requests might target different configurations.
+     *
+     * @param connInstance connector instance
+     * @return connector for ad-hoc requests
+     */
     @Override
     public Connector createConnector(final ConnInstance connInstance) {
-        Connector connector = new ConnectorFacadeProxy(connInstance);
+        synchronized (this) {
+            if (adHocBulkhead == null) {
+                adHocBulkhead = new ConnectorBulkhead(
+                        "adHoc", bulkheadMaxConcurrent, bulkheadQueueCapacity, 0, bulkheadOpenInterval);
+            }
+        }
+
+        Connector connector = new ConnectorFacadeProxy(connInstance, adHocBulkhead);
         ApplicationContextProvider.getBeanFactory().autowireBean(connector);
 
         return connector;
@@ -146,11 +199,11 @@ public class ConnectorManager implements ConnectorRegistry, ConnectorFactory, Sy
                 resource.getConnector(),
                 resource.getConfOverride(),
                 resource.isOverrideCapabilities() ? resource.getCapabilitiesOverride() : null);
-        Connector connector = createConnector(connInstance);
-        LOG.debug("Connector to be registered: {}", connector);
-
         String beanName = getBeanName(resource);
 
+        Connector connector = createConnector(beanName, connInstance);
+        LOG.debug("Connector to be registered: {}", connector);
+
         if (ApplicationContextProvider.getBeanFactory().containsSingleton(beanName)) {
             unregisterConnector(beanName);
         }
@@ -161,9 +214,57 @@ public class ConnectorManager implements ConnectorRegistry, ConnectorFactory, Sy
 
     @Override
     public void unregisterConnector(final String id) {
+        if (ApplicationContextProvider.getBeanFactory().containsSingleton(id)) {
+            Object connector = ApplicationContextProvider.getBeanFactory().getSingleton(id);
+            if (connector instanceof ConnectorFacadeProxy) {
+                ((ConnectorFacadeProxy) connector).getBulkhead().shutdown();
+            }
+        }
         ApplicationContextProvider.getBeanFactory().destroySingleton(id);
     }
 
+    /**
+     * @return bulkheads of registered connectors, by bean name, and of ad-hoc connectors, if any were created
+     */
+    public Map<String, ConnectorBulkhead> getBulkheads() {
+        Map<String, ConnectorBulkhead> bulkheads = new HashMap<>();
+        for (Map.Entry<String, Connector> entry
+                : ApplicationContextProvider.getBeanFactory().getBeansOfType(Connector.class).entrySet()) {
+
+            if (entry.getValue() instanceof ConnectorFacadeProxy) {
+                bulkheads.put(entry.getKey(), ((ConnectorFacadeProxy) entry.getValue()).getBulkhead());
+            }
+        }
+        synchronized (this) {
+            if (adHocBulkhead != null) {
+                bulkheads.put(adHocBulkhead.getName(), adHocBulkhead);
+            }
+        }
+        return bulkheads;
+    }
+
+    @Override
+    public Map<String, Long> getMetrics() {
+        Map<String, Long> metrics = new TreeMap<>();
+        for (Map.Entry<String, ConnectorBulkhead> entry : getBulkheads().entrySet()) {
+            String prefix = "connector." + entry.getKey() + ".";
+            ConnectorBulkhead bulkhead = entry.getValue();
+
+            metrics.put(prefix + "inFlight", (long) bulkhead.getInFlight());
+            metrics.put(prefix + "rejected", bulkhead.getRejected());
+            metrics.put(prefix + "shortCircuited", bulkhead.getShortCircuited());
+            metrics.put(prefix + "circuitOpen", bulkhead.getState() == ConnectorBulkhead.State.CLOSED ? 0L : 1L);
+
+            long[] histogram = bulkhead.getLatencyHistogram();
+            for (int i = 0; i < histogram.length; i++) {
+                metrics.put(prefix + "latency." + (i < ConnectorBulkhead.LATENCY_BUCKETS.length
+                        ? "le" + ConnectorBulkhead.LATENCY_BUCKETS[i]
+                        : "gt" + ConnectorBulkhead.LATENCY_BUCKETS[i - 1]), histogram[i]);
+            }
+        }
+        return metrics;
+    }
+
     @Transactional(readOnly = true)
     @Override
     public void load() {
@@ -203,6 +304,13 @@ public class ConnectorManager implements ConnectorRegistry, ConnectorFactory, Sy
 
         LOG.info("Done unloading {} connectors", connectors);
 
+        synchronized (this) {
+            if (adHocBulkhead != null) {
+                adHocBulkhead.shutdown();
+                adHocBulkhead = null;
+            }
+        }
+
         ConnectorFacadeFactory.getInstance().dispose();
         connIdBundleManager.resetConnManagers();
         LOG.info("All connector resources disposed");
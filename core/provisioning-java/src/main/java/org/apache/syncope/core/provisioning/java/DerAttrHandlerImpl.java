@@ -47,12 +47,18 @@ public class DerAttrHandlerImpl implements DerAttrHandler {
 
     private Map<DerSchema, String> getValues(final Any<?> any, final Set<DerSchema> schemas) {
         Map<DerSchema, String> result = new HashMap<>(schemas.size());
+        if (schemas.isEmpty()) {
+            return result;
+        }
 
-        for (DerSchema schema : schemas) {
-            JexlContext jexlContext = new MapContext();
-            JexlUtils.addPlainAttrsToContext(any.getPlainAttrs(), jexlContext);
-            JexlUtils.addFieldsToContext(any, jexlContext);
+        // variables are read once, then copied for each evaluation as expressions might alter their context
+        Map<String, Object> vars = new HashMap<>();
+        JexlContext base = new MapContext(vars);
+        JexlUtils.addPlainAttrsToContext(any.getPlainAttrs(), base);
+        JexlUtils.addFieldsToContext(any, base);
 
+        for (DerSchema schema : schemas) {
+            JexlContext jexlContext = new MapContext(new HashMap<>(vars));
             result.put(schema, JexlUtils.evaluate(schema.getExpression(), jexlContext));
         }
 
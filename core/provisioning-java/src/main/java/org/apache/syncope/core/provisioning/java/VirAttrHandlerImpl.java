@@ -25,6 +25,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.core.persistence.api.entity.Any;
@@ -37,6 +39,7 @@ import org.apache.syncope.core.persistence.api.entity.resource.Provision;
 import org.apache.syncope.core.provisioning.api.Connector;
 import org.apache.syncope.core.provisioning.api.ConnectorFactory;
 import org.apache.syncope.core.provisioning.api.MappingManager;
+import org.apache.syncope.core.provisioning.api.MetricsSource;
 import org.apache.syncope.core.provisioning.api.VirAttrHandler;
 import org.apache.syncope.core.provisioning.api.cache.VirAttrCache;
 import org.apache.syncope.core.provisioning.api.cache.VirAttrCacheValue;
@@ -48,11 +51,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Transactional(readOnly = true)
 @Component
-public class VirAttrHandlerImpl implements VirAttrHandler {
+public class VirAttrHandlerImpl implements VirAttrHandler, MetricsSource {
 
     private static final Logger LOG = LoggerFactory.getLogger(VirAttrHandler.class);
 
@@ -68,6 +72,16 @@ public class VirAttrHandlerImpl implements VirAttrHandler {
     @Autowired
     private AnyUtilsFactory anyUtilsFactory;
 
+    /**
+     * Number of reads from external resources performed to fill the cache.
+     */
+    private final AtomicLong loads = new AtomicLong();
+
+    /**
+     * Overall time spent in reads from external resources, in nanoseconds.
+     */
+    private final AtomicLong loadTime = new AtomicLong();
+
     private Map<VirSchema, List<String>> getValues(final Any<?> any, final Set<VirSchema> schemas) {
         Collection<? extends ExternalResource> ownedResources = anyUtilsFactory.getInstance(any).getAllResources(any);
 
@@ -113,9 +127,16 @@ public class VirAttrHandlerImpl implements VirAttrHandler {
 
                 Connector connector = connFactory.getConnector(entry.getKey().getResource());
                 try {
-                    ConnectorObject connectorObject = connector.getObject(entry.getKey().getObjectClass(),
-                            new Uid(connObjectKey),
-                            MappingUtils.buildOperationOptions(linkingMappingItems.iterator()));
+                    long start = System.nanoTime();
+                    ConnectorObject connectorObject;
+                    try {
+                        connectorObject = connector.getObject(entry.getKey().getObjectClass(),
+                                new Uid(connObjectKey),
+                                MappingUtils.buildOperationOptions(linkingMappingItems.iterator()));
+                    } finally {
+                        loads.incrementAndGet();
+                        loadTime.addAndGet(System.nanoTime() - start);
+                    }
 
                     if (connectorObject == null) {
                         LOG.debug("No read from {} about {}", entry.getKey(), connObjectKey);
@@ -182,4 +203,12 @@ public class VirAttrHandlerImpl implements VirAttrHandler {
                 getForMembership(membership.getRightEnd()));
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS)
+    @Override
+    public Map<String, Long> getMetrics() {
+        Map<String, Long> metrics = new HashMap<>();
+        metrics.put("virAttrCache.loads", loads.get());
+        metrics.put("virAttrCache.loadTime", TimeUnit.NANOSECONDS.toMillis(loadTime.get()));
+        return metrics;
+    }
 }
@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.cache;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.syncope.core.provisioning.api.MetricsSource;
+import org.apache.syncope.core.provisioning.api.cache.VirAttrCache;
+import org.apache.syncope.core.provisioning.api.cache.VirAttrCacheKey;
+import org.apache.syncope.core.provisioning.api.cache.VirAttrCacheValue;
+
+/**
+ * In-memory (ConcurrentHashMap) virtual attribute value cache implementation: reads never lock and expiration is
+ * evaluated against a monotonic clock.
+ * When full, entries are evicted according to the CLOCK (second chance) algorithm, approximating LRU in constant
+ * time; expired entries are always evicted first.
+ */
+public class ConcurrentVirAttrCache implements VirAttrCache, MetricsSource {
+
+    protected static class Entry {
+
+        protected final VirAttrCacheValue value;
+
+        protected final long expireAt;
+
+        protected volatile boolean referenced;
+
+        protected Entry(final VirAttrCacheValue value, final long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+
+        protected boolean isExpired(final long now) {
+            return now - expireAt >= 0;
+        }
+    }
+
+    /**
+     * Elapsed time in nanoseconds.
+     */
+    protected final long ttl;
+
+    /**
+     * Max cache size.
+     */
+    protected final int maxCacheSize;
+
+    /**
+     * Cache entries.
+     */
+    protected final ConcurrentMap<VirAttrCacheKey, Entry> cache;
+
+    /**
+     * Eviction queue; may contain keys no longer cached, which are discarded when met.
+     */
+    protected final Queue<VirAttrCacheKey> clock = new ConcurrentLinkedQueue<>();
+
+    protected final AtomicInteger clockSize = new AtomicInteger();
+
+    protected final AtomicLong hits = new AtomicLong();
+
+    protected final AtomicLong misses = new AtomicLong();
+
+    protected final AtomicLong evictions = new AtomicLong();
+
+    public ConcurrentVirAttrCache(final int ttl, final int maxCacheSize) {
+        this.ttl = TimeUnit.SECONDS.toNanos(ttl);
+        this.maxCacheSize = maxCacheSize;
+        this.cache = new ConcurrentHashMap<>(maxCacheSize);
+    }
+
+    @Override
+    public void put(
+            final String type,
+            final String key,
+            final String schemaKey,
+            final VirAttrCacheValue value) {
+
+        long now = System.nanoTime();
+        while (cache.size() >= maxCacheSize && evict(now)) {
+            evictions.incrementAndGet();
+        }
+        if (clockSize.get() > 2 * maxCacheSize) {
+            purge();
+        }
+
+        VirAttrCacheKey cacheKey = new VirAttrCacheKey(type, key, schemaKey);
+        if (cache.put(cacheKey, new Entry(value, now + ttl)) == null) {
+            clock.offer(cacheKey);
+            clockSize.incrementAndGet();
+        }
+    }
+
+    @Override
+    public VirAttrCacheValue get(final String type, final String key, final String schemaKey) {
+        VirAttrCacheKey cacheKey = new VirAttrCacheKey(type, key, schemaKey);
+
+        Entry entry = cache.get(cacheKey);
+        if (entry != null && entry.isExpired(System.nanoTime())) {
+            cache.remove(cacheKey, entry);
+            entry = null;
+        }
+
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+
+        hits.incrementAndGet();
+        entry.referenced = true;
+        return entry.value;
+    }
+
+    @Override
+    public void expire(final String type, final String key, final String schemaKey) {
+        cache.remove(new VirAttrCacheKey(type, key, schemaKey));
+    }
+
+    /**
+     * Values returned by {@link #get(java.lang.String, java.lang.String, java.lang.String)} are never expired.
+     *
+     * @param value cache entry value.
+     * @return TRUE if the value is not null; FALSE otherwise.
+     */
+    @Override
+    public boolean isValidEntry(final VirAttrCacheValue value) {
+        return value != null;
+    }
+
+    /**
+     * Removes the first entry in eviction queue which is either expired or not referenced since last check; referenced
+     * entries are given a second chance by moving them back to the end of the queue.
+     *
+     * @param now current time, in nanoseconds
+     * @return whether any entry was removed
+     */
+    protected boolean evict(final long now) {
+        VirAttrCacheKey cacheKey;
+        while ((cacheKey = clock.poll()) != null) {
+            clockSize.decrementAndGet();
+
+            Entry entry = cache.get(cacheKey);
+            if (entry != null) {
+                if (entry.referenced && !entry.isExpired(now)) {
+                    entry.referenced = false;
+                    clock.offer(cacheKey);
+                    clockSize.incrementAndGet();
+                } else if (cache.remove(cacheKey, entry)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Removes from eviction queue the keys which are no longer cached.
+     */
+    protected void purge() {
+        for (Iterator<VirAttrCacheKey> itor = clock.iterator(); itor.hasNext();) {
+            if (!cache.containsKey(itor.next())) {
+                itor.remove();
+                clockSize.decrementAndGet();
+            }
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public double getHitRatio() {
+        long requests = hits.get() + misses.get();
+        return requests == 0 ? 0 : (double) hits.get() / requests;
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public int getSize() {
+        return cache.size();
+    }
+
+    @Override
+    public Map<String, Long> getMetrics() {
+        Map<String, Long> metrics = new HashMap<>();
+        metrics.put("virAttrCache.hits", getHits());
+        metrics.put("virAttrCache.misses", getMisses());
+        metrics.put("virAttrCache.evictions", getEvictions());
+        metrics.put("virAttrCache.size", (long) getSize());
+        return metrics;
+    }
+}
@@ -19,6 +19,7 @@
 package org.apache.syncope.core.provisioning.java.data;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -49,6 +50,7 @@ import org.apache.syncope.core.persistence.api.dao.PolicyDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
 import org.apache.syncope.core.persistence.api.dao.VirSchemaDAO;
+import org.apache.syncope.core.persistence.api.dao.search.ProjectedAny;
 import org.apache.syncope.core.persistence.api.entity.DerSchema;
 import org.apache.syncope.core.persistence.api.entity.EntityFactory;
 import org.apache.syncope.core.persistence.api.entity.PlainAttr;
@@ -85,6 +87,9 @@ import org.apache.syncope.core.provisioning.api.MappingManager;
 import org.apache.syncope.core.provisioning.api.VirAttrHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyAccessorFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.apache.syncope.core.persistence.api.entity.GroupableRelatable;
 import org.apache.syncope.core.provisioning.java.IntAttrNameParser;
@@ -602,6 +607,31 @@ abstract class AbstractAnyDataBinder {
         }
     }
 
+    protected void fillTO(final AnyTO anyTO, final ProjectedAny projected, final String... ignoreProperties) {
+        anyTO.setKey(projected.getKey());
+
+        List<String> ignore = Arrays.asList(ignoreProperties);
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(anyTO);
+        for (Map.Entry<String, Object> field : projected.getFields().entrySet()) {
+            if ("realm".equals(field.getKey())) {
+                anyTO.setRealm((String) field.getValue());
+            } else if (!ignore.contains(field.getKey()) && wrapper.isWritableProperty(field.getKey())) {
+                try {
+                    wrapper.setPropertyValue(field.getKey(), field.getValue());
+                } catch (BeansException e) {
+                    LOG.warn("Could not set {} on {}", field.getKey(), anyTO.getClass().getSimpleName(), e);
+                }
+            }
+        }
+
+        for (Map.Entry<String, List<String>> entry : projected.getPlainAttrs().entrySet()) {
+            anyTO.getPlainAttrs().add(new AttrTO.Builder().
+                    schema(entry.getKey()).
+                    values(entry.getValue()).
+                    build());
+        }
+    }
+
     protected RelationshipTO getRelationshipTO(final Relationship<? extends Any<?>, AnyObject> relationship) {
         return new RelationshipTO.Builder().
                 type(relationship.getType().getKey()).
@@ -45,6 +45,7 @@ import org.apache.syncope.common.lib.types.ResourceOperation;
 import org.apache.syncope.core.spring.BeanUtils;
 import org.apache.syncope.core.provisioning.api.utils.EntityUtils;
 import org.apache.syncope.core.persistence.api.dao.AnyTypeDAO;
+import org.apache.syncope.core.persistence.api.dao.search.ProjectedAny;
 import org.apache.syncope.core.persistence.api.entity.AnyType;
 import org.apache.syncope.core.persistence.api.entity.AnyUtils;
 import org.apache.syncope.core.persistence.api.entity.PlainSchema;
@@ -82,6 +83,14 @@ public class AnyObjectDataBinderImpl extends AbstractAnyDataBinder implements An
                 : getAnyObjectTO(anyObjectDAO.authFindByName(key), true);
     }
 
+    @Override
+    public AnyObjectTO getAnyObjectTO(final ProjectedAny projected) {
+        AnyObjectTO anyObjectTO = new AnyObjectTO();
+        anyObjectTO.setType((String) projected.getFields().get("type"));
+        fillTO(anyObjectTO, projected, IGNORE_PROPERTIES);
+        return anyObjectTO;
+    }
+
     @Override
     public AnyObjectTO getAnyObjectTO(final AnyObject anyObject, final boolean details) {
         AnyObjectTO anyObjectTO = new AnyObjectTO();
@@ -41,6 +41,7 @@ import org.apache.syncope.core.provisioning.api.PropagationByResource;
 import org.apache.syncope.core.provisioning.api.data.GroupDataBinder;
 import org.apache.syncope.core.persistence.api.search.SearchCondConverter;
 import org.apache.syncope.core.persistence.api.dao.AnyTypeDAO;
+import org.apache.syncope.core.persistence.api.dao.search.ProjectedAny;
 import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.Any;
 import org.apache.syncope.core.persistence.api.entity.AnyType;
@@ -365,6 +366,13 @@ public class GroupDataBinderImpl extends AbstractAnyDataBinder implements GroupD
         return groupTO;
     }
 
+    @Override
+    public GroupTO getGroupTO(final ProjectedAny projected) {
+        GroupTO groupTO = new GroupTO();
+        fillTO(groupTO, projected);
+        return groupTO;
+    }
+
     @Transactional(readOnly = true)
     @Override
     public GroupTO getGroupTO(final String key) {
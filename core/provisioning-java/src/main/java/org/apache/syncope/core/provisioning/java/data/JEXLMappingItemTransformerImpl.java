@@ -55,9 +55,8 @@ public class JEXLMappingItemTransformerImpl
 
         if (StringUtils.isNotBlank(propagationJEXL) && values != null) {
             for (PlainAttrValue value : values) {
-                JexlContext jexlContext = new MapContext();
+                JexlContext jexlContext = any == null ? new MapContext() : JexlUtils.newFieldsContext(any);
                 if (any != null) {
-                    JexlUtils.addFieldsToContext(any, jexlContext);
                     JexlUtils.addPlainAttrsToContext(any.getPlainAttrs(), jexlContext);
                     JexlUtils.addDerAttrsToContext(any, jexlContext);
                 }
@@ -261,6 +261,8 @@ public class ResourceDataBinderImpl implements ResourceDataBinder {
             orgUnit.setConnObjectLink(orgUnitTO.getConnObjectLink());
         }
 
+        resource.setPropagationReadMode(resourceTO.getPropagationReadMode());
+
         resource.setCreateTraceLevel(resourceTO.getCreateTraceLevel());
         resource.setUpdateTraceLevel(resourceTO.getUpdateTraceLevel());
         resource.setDeleteTraceLevel(resourceTO.getDeleteTraceLevel());
@@ -492,6 +494,8 @@ public class ResourceDataBinderImpl implements ResourceDataBinder {
 
         resourceTO.setRandomPwdIfNotProvided(resource.isRandomPwdIfNotProvided());
 
+        resourceTO.setPropagationReadMode(resource.getPropagationReadMode());
+
         resourceTO.setCreateTraceLevel(resource.getCreateTraceLevel());
         resourceTO.setUpdateTraceLevel(resource.getUpdateTraceLevel());
         resourceTO.setDeleteTraceLevel(resource.getDeleteTraceLevel());
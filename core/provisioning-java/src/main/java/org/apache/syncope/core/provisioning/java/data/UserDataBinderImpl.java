@@ -60,6 +60,7 @@ import org.apache.syncope.core.spring.security.Encryptor;
 import org.apache.syncope.core.spring.BeanUtils;
 import org.apache.syncope.core.provisioning.api.utils.EntityUtils;
 import org.apache.syncope.core.persistence.api.dao.AnyTypeDAO;
+import org.apache.syncope.core.persistence.api.dao.search.ProjectedAny;
 import org.apache.syncope.core.persistence.api.dao.RoleDAO;
 import org.apache.syncope.core.persistence.api.entity.AnyUtils;
 import org.apache.syncope.core.persistence.api.entity.PlainSchema;
@@ -110,7 +111,7 @@ public class UserDataBinderImpl extends AbstractAnyDataBinder implements UserDat
     @Transactional(readOnly = true)
     @Override
     public UserTO returnUserTO(final UserTO userTO) {
-        if (!confDAO.find("return.password.value", "false").getValues().get(0).getBooleanValue()) {
+        if (!confDAO.find("return.password.value", false)) {
             userTO.setPassword(null);
         }
         return userTO;
@@ -152,8 +153,7 @@ public class UserDataBinderImpl extends AbstractAnyDataBinder implements UserDat
 
     private void setPassword(final User user, final String password, final SyncopeClientCompositeException scce) {
         try {
-            String algorithm = confDAO.find(
-                    "password.cipher.algorithm", CipherAlgorithm.AES.name()).getValues().get(0).getStringValue();
+            String algorithm = confDAO.find("password.cipher.algorithm", CipherAlgorithm.AES.name());
             CipherAlgorithm predefined = CipherAlgorithm.valueOf(algorithm);
             user.setPassword(password, predefined);
         } catch (IllegalArgumentException e) {
@@ -611,6 +611,13 @@ public class UserDataBinderImpl extends AbstractAnyDataBinder implements UserDat
         return userTO;
     }
 
+    @Override
+    public UserTO getUserTO(final ProjectedAny projected) {
+        UserTO userTO = new UserTO();
+        fillTO(userTO, projected, IGNORE_PROPERTIES);
+        return userTO;
+    }
+
     @Transactional(readOnly = true)
     @Override
     public UserTO getUserTO(final String key) {
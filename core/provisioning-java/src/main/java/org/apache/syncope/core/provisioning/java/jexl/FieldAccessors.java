@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.jexl;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.syncope.core.persistence.api.entity.Any;
+import org.apache.syncope.core.persistence.api.entity.Realm;
+import org.apache.syncope.core.provisioning.api.utils.FormatUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Per-class plan for reading the fields made available to JEXL expressions: bean introspection and access checks
+ * are performed once per class, then values are read via method handles.
+ */
+final class FieldAccessors {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FieldAccessors.class);
+
+    private static final String[] IGNORE_FIELDS = { "password", "clearPassword", "serialVersionUID", "class" };
+
+    private static final MethodType READER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodHandle REALM_NAME;
+
+    static {
+        try {
+            REALM_NAME = MethodHandles.lookup().findStatic(FieldAccessors.class, "realmName", READER_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static final ConcurrentMap<Class<?>, Map<String, Accessor>> PLANS = new ConcurrentHashMap<>();
+
+    /**
+     * Reads a single field value, as expected by JEXL expressions.
+     */
+    static final class Accessor {
+
+        private final MethodHandle reader;
+
+        private final boolean date;
+
+        private Accessor(final MethodHandle reader, final boolean date) {
+            this.reader = reader.asType(READER_TYPE);
+            this.date = date;
+        }
+
+        /**
+         * @param object object to read from
+         * @return field value: empty string if null, formatted if date
+         * @throws Throwable if reading fails
+         */
+        Object read(final Object object) throws Throwable {
+            Object value = (Object) reader.invokeExact(object);
+            return value == null
+                    ? StringUtils.EMPTY
+                    : date
+                            ? FormatUtils.format((Date) value, false)
+                            : value;
+        }
+    }
+
+    private static Object realmName(final Object realm) {
+        return realm == null ? null : ((Realm) realm).getName();
+    }
+
+    private static Map<String, Accessor> build(final Class<?> clazz) {
+        Map<String, Accessor> plan = new HashMap<>();
+
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            for (PropertyDescriptor desc : Introspector.getBeanInfo(clazz).getPropertyDescriptors()) {
+                Class<?> type = desc.getPropertyType();
+                String fieldName = desc.getName();
+
+                if (type != null
+                        && !fieldName.startsWith("pc")
+                        && !ArrayUtils.contains(IGNORE_FIELDS, fieldName)
+                        && !Iterable.class.isAssignableFrom(type)
+                        && !type.isArray()) {
+
+                    try {
+                        MethodHandle reader;
+                        if (desc.getReadMethod() == null) {
+                            Field field = clazz.getDeclaredField(fieldName);
+                            field.setAccessible(true);
+                            reader = lookup.unreflectGetter(field);
+                        } else {
+                            desc.getReadMethod().setAccessible(true);
+                            reader = lookup.unreflect(desc.getReadMethod());
+                        }
+
+                        plan.put(fieldName, new Accessor(reader, type.equals(Date.class)));
+                    } catch (Exception e) {
+                        LOG.error("Reading '{}' value error", fieldName, e);
+                    }
+                }
+            }
+        } catch (IntrospectionException e) {
+            LOG.error("Reading class attributes error", e);
+        }
+
+        // realm is reported by name
+        Accessor realm = plan.get("realm");
+        if (realm != null && Any.class.isAssignableFrom(clazz)) {
+            plan.put("realm", new Accessor(MethodHandles.filterReturnValue(realm.reader, REALM_NAME), false));
+        }
+
+        return Collections.unmodifiableMap(plan);
+    }
+
+    /**
+     * @param clazz class
+     * @return accessors for the fields of the given class, by field name
+     */
+    static Map<String, Accessor> get(final Class<?> clazz) {
+        Map<String, Accessor> plan = PLANS.get(clazz);
+        if (plan == null) {
+            plan = build(clazz);
+            Map<String, Accessor> existing = PLANS.putIfAbsent(clazz, plan);
+            if (existing != null) {
+                plan = existing;
+            }
+        }
+        return plan;
+    }
+
+    private FieldAccessors() {
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.jexl;
+
+import java.util.Map;
+import org.apache.commons.jexl3.MapContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * JEXL context exposing the fields of the given object: only the fields actually referenced by expressions are read,
+ * on first access; variables explicitly set take precedence.
+ */
+class FieldsContext extends MapContext {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FieldsContext.class);
+
+    private final Object object;
+
+    private final Map<String, FieldAccessors.Accessor> accessors;
+
+    FieldsContext(final Object object) {
+        super();
+        this.object = object;
+        this.accessors = FieldAccessors.get(object.getClass());
+    }
+
+    @Override
+    public boolean has(final String name) {
+        return super.has(name) || accessors.containsKey(name);
+    }
+
+    @Override
+    public Object get(final String name) {
+        if (super.has(name)) {
+            return super.get(name);
+        }
+
+        FieldAccessors.Accessor accessor = accessors.get(name);
+        if (accessor == null) {
+            return null;
+        }
+
+        Object value = null;
+        try {
+            value = accessor.read(object);
+            LOG.debug("Add field {} with value {}", name, value);
+        } catch (Throwable t) {
+            LOG.error("Reading '{}' value error", name, t);
+        }
+        super.set(name, value);
+        return value;
+    }
+}
@@ -18,12 +18,7 @@
  */
 package org.apache.syncope.core.provisioning.java.jexl;
 
-import java.beans.IntrospectionException;
-import java.beans.Introspector;
-import java.beans.PropertyDescriptor;
-import java.lang.reflect.Field;
 import java.util.Collection;
-import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import org.apache.commons.jexl3.JexlBuilder;
@@ -33,12 +28,10 @@ import org.apache.commons.jexl3.JexlException;
 import org.apache.commons.jexl3.JexlExpression;
 import org.apache.commons.jexl3.JxltEngine;
 import org.apache.commons.jexl3.MapContext;
-import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.common.lib.to.AnyTO;
 import org.apache.syncope.common.lib.to.AttrTO;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
-import org.apache.syncope.core.provisioning.api.utils.FormatUtils;
 import org.apache.syncope.core.persistence.api.entity.Any;
 import org.apache.syncope.core.persistence.api.entity.DerSchema;
 import org.apache.syncope.core.persistence.api.entity.PlainAttr;
@@ -53,8 +46,6 @@ public final class JexlUtils {
 
     private static final Logger LOG = LoggerFactory.getLogger(JexlUtils.class);
 
-    private static final String[] IGNORE_FIELDS = { "password", "clearPassword", "serialVersionUID", "class" };
-
     private static JexlEngine JEXL_ENGINE;
 
     private static JexlEngine getEngine() {
@@ -110,49 +101,28 @@ public final class JexlUtils {
         return result;
     }
 
+    /**
+     * Creates a new context exposing the fields of the given object, read only when referenced by the evaluated
+     * expressions; variables set on the returned context take precedence over fields.
+     *
+     * @param object object whose fields are exposed
+     * @return new context
+     */
+    public static JexlContext newFieldsContext(final Object object) {
+        return new FieldsContext(object);
+    }
+
     public static JexlContext addFieldsToContext(final Object object, final JexlContext jexlContext) {
         JexlContext context = jexlContext == null ? new MapContext() : jexlContext;
 
-        try {
-            for (PropertyDescriptor desc : Introspector.getBeanInfo(object.getClass()).getPropertyDescriptors()) {
-                Class<?> type = desc.getPropertyType();
-                String fieldName = desc.getName();
-
-                if ((!fieldName.startsWith("pc"))
-                        && (!ArrayUtils.contains(IGNORE_FIELDS, fieldName))
-                        && (!Iterable.class.isAssignableFrom(type))
-                        && (!type.isArray())) {
-
-                    try {
-                        Object fieldValue;
-                        if (desc.getReadMethod() == null) {
-                            final Field field = object.getClass().getDeclaredField(fieldName);
-                            field.setAccessible(true);
-                            fieldValue = field.get(object);
-                        } else {
-                            fieldValue = desc.getReadMethod().invoke(object);
-                        }
-
-                        context.set(fieldName, fieldValue == null
-                                ? StringUtils.EMPTY
-                                : (type.equals(Date.class)
-                                ? FormatUtils.format((Date) fieldValue, false)
-                                : fieldValue));
-
-                        LOG.debug("Add field {} with value {}", fieldName, fieldValue);
-                    } catch (Exception iae) {
-                        LOG.error("Reading '{}' value error", fieldName, iae);
-                    }
-                }
-            }
-        } catch (IntrospectionException ie) {
-            LOG.error("Reading class attributes error", ie);
-        }
+        for (Map.Entry<String, FieldAccessors.Accessor> entry : FieldAccessors.get(object.getClass()).entrySet()) {
+            try {
+                Object fieldValue = entry.getValue().read(object);
+                context.set(entry.getKey(), fieldValue);
 
-        if (object instanceof Any) {
-            Any<?> any = (Any<?>) object;
-            if (any.getRealm() != null) {
-                context.set("realm", any.getRealm().getName());
+                LOG.debug("Add field {} with value {}", entry.getKey(), fieldValue);
+            } catch (Throwable t) {
+                LOG.error("Reading '{}' value error", entry.getKey(), t);
             }
         }
 
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.job;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.apache.syncope.core.persistence.api.dao.ConfDAO;
+import org.apache.syncope.core.persistence.api.dao.ReportExecDAO;
+import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
+import org.quartz.JobExecutionException;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Deletes task executions, propagation tasks and report executions older than the configured retention periods.
+ * Retention is read from the following configuration parameters (as Long values), when defined:
+ * <ul>
+ * <li>{@code purge.taskExec.days} (default 30) and {@code purge.taskExec.keep} (default 10): task executions started
+ * before the given number of days are deleted, but the latest executions of each task are always kept</li>
+ * <li>{@code purge.propagationTask.days} (default 30): propagation tasks not executed since the given number of days
+ * are deleted, together with their executions</li>
+ * <li>{@code purge.reportExec.days} (default 30) and {@code purge.reportExec.keep} (default 10): as for task
+ * executions, but for report executions</li>
+ * </ul>
+ * A number of days less than 1 disables purging for the related type.
+ * Rows are deleted via bulk statements, in chunks of {@link #CHUNK_SIZE} rows, each committed in its own transaction
+ * so that no lock is held for long; a dry run reports how many rows would be deleted.
+ */
+public class RetentionPurge extends AbstractSchedTaskJobDelegate {
+
+    protected static final int CHUNK_SIZE = 1000;
+
+    private static final String TASK_EXEC_DAYS = "purge.taskExec.days";
+
+    private static final String TASK_EXEC_KEEP = "purge.taskExec.keep";
+
+    private static final String PROPAGATION_TASK_DAYS = "purge.propagationTask.days";
+
+    private static final String REPORT_EXEC_DAYS = "purge.reportExec.days";
+
+    private static final String REPORT_EXEC_KEEP = "purge.reportExec.keep";
+
+    @Autowired
+    private ConfDAO confDAO;
+
+    @Autowired
+    private ReportExecDAO reportExecDAO;
+
+    protected long getConf(final String key, final long defaultValue) {
+        return confDAO.find(key, defaultValue);
+    }
+
+    protected Date daysAgo(final long days) {
+        return new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(days));
+    }
+
+    @Override
+    protected String doExecute(final boolean dryRun) throws JobExecutionException {
+        LOG.info("RetentionPurge {} running [SchedTask {}]", (dryRun
+                ? "dry "
+                : ""), task.getKey());
+
+        StringBuilder result = new StringBuilder(dryRun ? "DRY RUN: nothing purged\n" : "");
+
+        long days = getConf(TASK_EXEC_DAYS, 30);
+        if (days > 0) {
+            Date before = daysAgo(days);
+            int keep = (int) getConf(TASK_EXEC_KEEP, 10);
+
+            long purged = 0;
+            if (dryRun) {
+                purged = taskExecDAO.countPurgeable(before, keep);
+            } else {
+                Map<String, Date> cutoffs = taskExecDAO.findPurgeCutoffs(before, keep);
+                int chunk;
+                do {
+                    chunk = taskExecDAO.purge(cutoffs, CHUNK_SIZE);
+                    purged += chunk;
+                } while (chunk > 0);
+            }
+            LOG.debug("Purged {} task executions", purged);
+
+            result.append("Task executions older than ").append(days).append(" days, keeping latest ").append(keep).
+                    append(" for each task: ").append(purged).append(dryRun ? " to purge\n" : " purged\n");
+        }
+
+        days = getConf(PROPAGATION_TASK_DAYS, 30);
+        if (days > 0) {
+            Date before = daysAgo(days);
+
+            long purged = 0;
+            if (dryRun) {
+                purged = taskDAO.countPurgeablePropagationTasks(before);
+            } else {
+                int chunk;
+                do {
+                    chunk = taskDAO.purgePropagationTasks(before, CHUNK_SIZE);
+                    purged += chunk;
+                } while (chunk > 0);
+            }
+            LOG.debug("Purged {} propagation tasks", purged);
+
+            result.append("Propagation tasks not executed in the last ").append(days).append(" days: ").
+                    append(purged).append(dryRun ? " to purge\n" : " purged\n");
+        }
+
+        days = getConf(REPORT_EXEC_DAYS, 30);
+        if (days > 0) {
+            Date before = daysAgo(days);
+            int keep = (int) getConf(REPORT_EXEC_KEEP, 10);
+
+            long purged = 0;
+            if (dryRun) {
+                purged = reportExecDAO.countPurgeable(before, keep);
+            } else {
+                Map<String, Date> cutoffs = reportExecDAO.findPurgeCutoffs(before, keep);
+                int chunk;
+                do {
+                    chunk = reportExecDAO.purge(cutoffs, CHUNK_SIZE);
+                    purged += chunk;
+                } while (chunk > 0);
+            }
+            LOG.debug("Purged {} report executions", purged);
+
+            result.append("Report executions older than ").append(days).append(" days, keeping latest ").
+                    append(keep).append(" for each report: ").
+                    append(purged).append(dryRun ? " to purge\n" : " purged\n");
+        }
+
+        return result.toString();
+    }
+
+    @Override
+    protected boolean hasToBeRegistered(final TaskExec execution) {
+        return true;
+    }
+}
@@ -26,6 +26,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.commons.jexl3.MapContext;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
@@ -44,6 +45,7 @@ import org.apache.syncope.core.persistence.api.dao.GroupDAO;
 import org.apache.syncope.core.persistence.api.dao.TaskDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
 import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.EntityFactory;
 import org.apache.syncope.core.persistence.api.entity.Notification;
 import org.apache.syncope.core.persistence.api.entity.PlainAttr;
@@ -56,6 +58,7 @@ import org.apache.syncope.core.provisioning.api.data.GroupDataBinder;
 import org.apache.syncope.core.provisioning.api.data.UserDataBinder;
 import org.apache.syncope.core.persistence.api.search.SearchCondConverter;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
 import org.apache.syncope.core.persistence.api.dao.AnyObjectDAO;
 import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
 import org.apache.syncope.core.persistence.api.dao.DerSchemaDAO;
@@ -80,6 +83,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.support.AbstractBeanDefinition;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Component
 @Transactional(rollbackFor = { Throwable.class })
@@ -87,6 +92,22 @@ public class NotificationManagerImpl implements NotificationManager {
 
     private static final Logger LOG = LoggerFactory.getLogger(NotificationManager.class);
 
+    /**
+     * Active notifications, indexed by the events they are listening to, with pre-parsed about conditions.
+     */
+    private static class NotificationIndex {
+
+        private final Map<String, List<String>> byEvent = new HashMap<>();
+
+        private final Map<String, Map<String, SearchCond>> abouts = new HashMap<>();
+
+    }
+
+    /**
+     * Notification index, per domain.
+     */
+    private final Map<String, NotificationIndex> indexes = new ConcurrentHashMap<>();
+
     @Autowired
     private DerSchemaDAO derSchemaDAO;
 
@@ -156,10 +177,66 @@ public class NotificationManagerImpl implements NotificationManager {
     @Autowired
     private IntAttrNameParser intAttrNameParser;
 
+    private NotificationIndex getIndex() {
+        NotificationIndex index = indexes.get(AuthContextUtils.getDomain());
+        if (index == null) {
+            index = new NotificationIndex();
+
+            for (Notification notification : notificationDAO.findAll()) {
+                if (!notification.isActive()) {
+                    LOG.debug("Notification {} is not active, will not be indexed", notification.getKey());
+                    continue;
+                }
+
+                Map<String, SearchCond> abouts = new HashMap<>();
+                try {
+                    for (AnyAbout about : notification.getAbouts()) {
+                        LOG.debug("Notification about {} defined: {}", about.getAnyType(), about.get());
+                        abouts.put(about.getAnyType().getKey(), SearchCondConverter.convert(about.get()));
+                    }
+                } catch (Exception e) {
+                    LOG.error("Invalid about condition for notification {}, will not be indexed",
+                            notification.getKey(), e);
+                    continue;
+                }
+                index.abouts.put(notification.getKey(), abouts);
+
+                for (String event : notification.getEvents()) {
+                    List<String> keys = index.byEvent.get(event);
+                    if (keys == null) {
+                        keys = new ArrayList<>();
+                        index.byEvent.put(event, keys);
+                    }
+                    keys.add(notification.getKey());
+                }
+            }
+
+            indexes.put(AuthContextUtils.getDomain(), index);
+        }
+        return index;
+    }
+
+    @Override
+    public void reloadNotifications() {
+        final String domain = AuthContextUtils.getDomain();
+        indexes.remove(domain);
+
+        // concurrent calls might have built the index again before the current transaction ends
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+
+                @Override
+                public void afterCompletion(final int status) {
+                    indexes.remove(domain);
+                }
+            });
+        }
+    }
+
     @Transactional(readOnly = true)
     @Override
     public long getMaxRetries() {
-        return confDAO.find("notification.maxRetries", "0").getValues().get(0).getLongValue();
+        return confDAO.find("notification.maxRetries", 0L);
     }
 
     /**
@@ -254,6 +331,21 @@ public class NotificationManagerImpl implements NotificationManager {
         return writer.toString();
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public boolean notificationsAvailable(
+            final AuditElements.EventCategoryType type,
+            final String category,
+            final String subcategory,
+            final String event) {
+
+        NotificationIndex index = getIndex();
+        return index.byEvent.containsKey(
+                AuditLoggerName.buildEvent(type, category, subcategory, event, Result.SUCCESS))
+                || index.byEvent.containsKey(
+                        AuditLoggerName.buildEvent(type, category, subcategory, event, Result.FAILURE));
+    }
+
     @Override
     public List<NotificationTask> createTasks(
             final AuditElements.EventCategoryType type,
@@ -265,6 +357,14 @@ public class NotificationManagerImpl implements NotificationManager {
             final Object output,
             final Object... input) {
 
+        String currentEvent = AuditLoggerName.buildEvent(type, category, subcategory, event, condition);
+        NotificationIndex index = getIndex();
+        List<String> notificationKeys = index.byEvent.get(currentEvent);
+        if (notificationKeys == null) {
+            LOG.debug("No notifications found for event {}", currentEvent);
+            return Collections.emptyList();
+        }
+
         Any<?> any = null;
 
         if (before instanceof UserTO) {
@@ -301,20 +401,15 @@ public class NotificationManagerImpl implements NotificationManager {
         LOG.debug("Search notification for [{}]{}", anyType, any);
 
         List<NotificationTask> notifications = new ArrayList<>();
-        for (Notification notification : notificationDAO.findAll()) {
-            if (LOG.isDebugEnabled()) {
-                for (AnyAbout about : notification.getAbouts()) {
-                    LOG.debug("Notification about {} defined: {}", about.getAnyType(), about.get());
-                }
-            }
-
-            if (notification.isActive()) {
-                String currentEvent = AuditLoggerName.buildEvent(type, category, subcategory, event, condition);
-                if (!notification.getEvents().contains(currentEvent)) {
-                    LOG.debug("No events found about {}", any);
-                } else if (anyType == null || any == null
-                        || notification.getAbout(anyType) == null
-                        || searchDAO.matches(any, SearchCondConverter.convert(notification.getAbout(anyType).get()))) {
+        for (String notificationKey : notificationKeys) {
+            Notification notification = notificationDAO.find(notificationKey);
+            if (notification == null) {
+                LOG.debug("Notification {} not found, skipping", notificationKey);
+            } else {
+                SearchCond about = anyType == null
+                        ? null
+                        : index.abouts.get(notificationKey).get(anyType.getKey());
+                if (any == null || about == null || searchDAO.matches(any, about)) {
 
                     LOG.debug("Creating notification task for event {} about {}", currentEvent, any);
 
@@ -340,8 +435,6 @@ public class NotificationManagerImpl implements NotificationManager {
                     notificationTask = taskDAO.save(notificationTask);
                     notifications.add(notificationTask);
                 }
-            } else {
-                LOG.debug("Notification {} is not active, task will not be created", notification.getKey());
             }
         }
         return notifications;
@@ -27,9 +27,11 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import org.apache.commons.collections4.IteratorUtils;
 import org.apache.syncope.common.lib.types.AuditElements;
 import org.apache.syncope.common.lib.types.AuditElements.Result;
+import org.apache.syncope.common.lib.types.PropagationReadMode;
 import org.apache.syncope.common.lib.types.PropagationTaskExecStatus;
 import org.apache.syncope.common.lib.types.ResourceOperation;
 import org.apache.syncope.common.lib.types.TraceLevel;
@@ -41,6 +43,7 @@ import org.apache.syncope.core.persistence.api.entity.task.PropagationTask;
 import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
 import org.apache.syncope.core.provisioning.api.Connector;
 import org.apache.syncope.core.provisioning.api.ConnectorFactory;
+import org.apache.syncope.core.provisioning.api.MetricsSource;
 import org.apache.syncope.core.provisioning.api.TimeoutException;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationActions;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationReporter;
@@ -71,6 +74,7 @@ import org.identityconnectors.framework.common.objects.ConnectorObject;
 import org.identityconnectors.framework.common.objects.ConnectorObjectBuilder;
 import org.identityconnectors.framework.common.objects.Name;
 import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.identityconnectors.framework.common.objects.OperationalAttributes;
 import org.identityconnectors.framework.common.objects.ResultsHandler;
 import org.identityconnectors.framework.common.objects.Uid;
 import org.identityconnectors.framework.common.objects.filter.EqualsFilter;
@@ -81,7 +85,7 @@ import org.springframework.beans.factory.support.AbstractBeanDefinition;
 import org.springframework.transaction.annotation.Transactional;
 
 @Transactional(rollbackFor = { Throwable.class })
-public abstract class AbstractPropagationTaskExecutor implements PropagationTaskExecutor {
+public abstract class AbstractPropagationTaskExecutor implements PropagationTaskExecutor, MetricsSource {
 
     protected static final Logger LOG = LoggerFactory.getLogger(PropagationTaskExecutor.class);
 
@@ -148,6 +152,11 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
     @Autowired
     protected VirAttrCache virAttrCache;
 
+    /**
+     * Number of remote reads not performed because of resources' {@link PropagationReadMode}.
+     */
+    protected final AtomicLong avoidedRemoteReads = new AtomicLong();
+
     @Override
     public TaskExec execute(final PropagationTask task) {
         return execute(task, null);
@@ -377,11 +386,18 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
             connector = connFactory.getConnector(task.getResource());
 
             // Try to read remote object BEFORE any actual operation
-            beforeObj = provision == null && orgUnit == null
-                    ? null
-                    : orgUnit == null
-                            ? getRemoteObject(task, connector, provision, false)
-                            : getRemoteObject(task, connector, orgUnit);
+            if (provision == null && orgUnit == null) {
+                beforeObj = null;
+            } else if (task.getOperation() == ResourceOperation.CREATE
+                    && task.getResource().getPropagationReadMode() == PropagationReadMode.MINIMAL) {
+
+                LOG.debug("Not reading remote object before create on {}", task.getResource().getKey());
+                avoidedRemoteReads.incrementAndGet();
+            } else {
+                beforeObj = orgUnit == null
+                        ? getRemoteObject(task, connector, provision, false)
+                        : getRemoteObject(task, connector, orgUnit);
+            }
 
             for (PropagationActions action : actions) {
                 action.before(task, beforeObj);
@@ -443,15 +459,22 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
                 if (uid != null) {
                     task.setConnObjectKey(uid.getUidValue());
                 }
-                try {
-                    afterObj = provision == null && orgUnit == null
-                            ? null
-                            : orgUnit == null
+                if (provision != null || orgUnit != null) {
+                    if (isAfterObjReadNeeded(task, execution)) {
+                        try {
+                            afterObj = orgUnit == null
                                     ? getRemoteObject(task, connector, provision, true)
                                     : getRemoteObject(task, connector, orgUnit);
-                } catch (Exception ignore) {
-                    // ignore exception
-                    LOG.error("Error retrieving after object", ignore);
+                        } catch (Exception ignore) {
+                            // ignore exception
+                            LOG.error("Error retrieving after object", ignore);
+                        }
+                    } else {
+                        afterObj = buildAfterObj(task, beforeObj, uid, propagationAttempted[0]);
+                        long avoided = avoidedRemoteReads.incrementAndGet();
+                        LOG.debug("Not reading remote object after {} on {}, {} remote reads avoided so far",
+                                task.getOperation(), task.getResource().getKey(), avoided);
+                    }
                 }
             }
 
@@ -517,6 +540,81 @@ public abstract class AbstractPropagationTaskExecutor implements PropagationTask
         return execution;
     }
 
+    /**
+     * Whether the remote object shall be read from the connector after propagation, according to the resource's
+     * {@link PropagationReadMode}: deletions and failed propagations always require reading back the actual status.
+     *
+     * @param task propagation task
+     * @param execution current execution
+     * @return whether the remote object shall be read after propagation
+     */
+    protected boolean isAfterObjReadNeeded(final PropagationTask task, final TaskExec execution) {
+        return task.getResource().getPropagationReadMode() == PropagationReadMode.FULL
+                || task.getOperation() == ResourceOperation.DELETE
+                || PropagationTaskExecStatus.valueOf(execution.getStatus()) == PropagationTaskExecStatus.FAILURE;
+    }
+
+    /**
+     * Builds the remote object after propagation out of the remote object before propagation and the attributes
+     * which were just propagated, without querying the connector.
+     *
+     * @param task propagation task
+     * @param beforeObj remote object before propagation, if available
+     * @param uid remote object identifier as returned by the connector
+     * @param propagationAttempted whether any propagation was actually attempted
+     * @return remote object after propagation, or null if no remote identifier is available
+     */
+    protected ConnectorObject buildAfterObj(
+            final PropagationTask task,
+            final ConnectorObject beforeObj,
+            final Uid uid,
+            final boolean propagationAttempted) {
+
+        if (!propagationAttempted) {
+            return beforeObj;
+        }
+        if (uid == null) {
+            return null;
+        }
+
+        Map<String, Attribute> attrs = new HashMap<>();
+        if (beforeObj != null) {
+            attrs.putAll(toMap(beforeObj.getAttributes()));
+        }
+        for (Attribute attr : task.getAttributes()) {
+            if (!MANDATORY_MISSING_ATTR_NAME.equals(attr.getName())
+                    && !MANDATORY_NULL_OR_EMPTY_ATTR_NAME.equals(attr.getName())
+                    && !OperationalAttributes.PASSWORD_NAME.equals(attr.getName())) {
+
+                attrs.put(attr.getName().toUpperCase(), attr);
+            }
+        }
+        attrs.remove(Uid.NAME);
+
+        Name name = AttributeUtil.getNameFromAttributes(new HashSet<>(attrs.values()));
+        if (name == null) {
+            name = new Name(uid.getUidValue());
+        }
+        attrs.remove(Name.NAME);
+
+        return new ConnectorObjectBuilder().
+                setObjectClass(new ObjectClass(task.getObjectClassName())).
+                setUid(uid).
+                setName(name).
+                addAttributes(attrs.values()).
+                build();
+    }
+
+    @Override
+    public long getAvoidedRemoteReads() {
+        return avoidedRemoteReads.get();
+    }
+
+    @Override
+    public Map<String, Long> getMetrics() {
+        return Collections.singletonMap("propagation.avoidedRemoteReads", avoidedRemoteReads.get());
+    }
+
     @Override
     public void execute(final Collection<PropagationTask> tasks) {
         execute(tasks, false);
@@ -29,7 +29,6 @@ import java.util.Set;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.Transformer;
 import org.apache.commons.jexl3.JexlContext;
-import org.apache.commons.jexl3.MapContext;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.syncope.common.lib.patch.StringPatchItem;
@@ -488,8 +487,7 @@ public class PropagationManagerImpl implements PropagationManager {
                 Set<Attribute> preparedAttrs = new HashSet<>();
                 preparedAttrs.add(AttributeBuilder.build(orgUnit.getExtAttrName(), realm.getName()));
 
-                JexlContext jexlContext = new MapContext();
-                JexlUtils.addFieldsToContext(realm, jexlContext);
+                JexlContext jexlContext = JexlUtils.newFieldsContext(realm);
                 String evalConnObjectLink = JexlUtils.evaluate(orgUnit.getConnObjectLink(), jexlContext);
                 if (StringUtils.isBlank(evalConnObjectLink)) {
                     // add connObjectKey as __NAME__ attribute ...
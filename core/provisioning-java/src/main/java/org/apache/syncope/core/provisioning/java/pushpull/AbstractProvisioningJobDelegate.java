@@ -26,11 +26,13 @@ import javax.annotation.Resource;
 import org.apache.commons.collections4.IterableUtils;
 import org.apache.commons.collections4.Predicate;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.ResourceOperation;
 import org.apache.syncope.common.lib.types.TraceLevel;
 import org.apache.syncope.core.persistence.api.dao.AnyTypeDAO;
 import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
 import org.apache.syncope.core.persistence.api.dao.PolicyDAO;
 import org.apache.syncope.core.persistence.api.entity.AnyType;
+import org.apache.syncope.core.persistence.api.entity.ConnPoolConf;
 import org.apache.syncope.core.persistence.api.entity.resource.ExternalResource;
 import org.apache.syncope.core.persistence.api.entity.resource.Mapping;
 import org.apache.syncope.core.persistence.api.entity.resource.Provision;
@@ -39,6 +41,7 @@ import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
 import org.apache.syncope.core.provisioning.api.Connector;
 import org.apache.syncope.core.provisioning.api.ConnectorFactory;
 import org.apache.syncope.core.provisioning.api.pushpull.ProvisioningReport;
+import org.apache.syncope.core.provisioning.api.pushpull.ProvisioningReportCollection;
 import org.apache.syncope.core.provisioning.java.job.AbstractSchedTaskJobDelegate;
 import org.apache.syncope.core.provisioning.java.job.TaskJob;
 import org.quartz.JobExecutionException;
@@ -71,6 +74,77 @@ public abstract class AbstractProvisioningJobDelegate<T extends ProvisioningTask
     @Autowired
     protected PolicyDAO policyDAO;
 
+    /**
+     * Number of workers to use for provisioning: the value requested by the task, if any, capped by the max number of
+     * objects allowed by the connector's pool configuration.
+     *
+     * @param task provisioning task
+     * @return number of workers to use for provisioning
+     */
+    protected int getConcurrency(final T task) {
+        int concurrency = task.getConcurrency() == null ? 1 : task.getConcurrency();
+
+        ConnPoolConf poolConf = task.getResource().getConnector().getPoolConf();
+        if (poolConf != null && poolConf.getMaxObjects() != null && poolConf.getMaxObjects() > 0) {
+            concurrency = Math.min(concurrency, poolConf.getMaxObjects());
+        }
+
+        return Math.max(1, concurrency);
+    }
+
+    /**
+     * Count the provisioning results for the given any types, status and operation.
+     *
+     * @param provResults provisioning results
+     * @param anyTypes any types
+     * @param status status
+     * @param operation operation, or null for any operation
+     * @return number of provisioning results
+     */
+    protected long count(
+            final ProvisioningReportCollection provResults,
+            final Collection<String> anyTypes,
+            final ProvisioningReport.Status status,
+            final ResourceOperation operation) {
+
+        long count = 0;
+        for (String anyType : anyTypes) {
+            count += provResults.count(anyType, status, operation);
+        }
+        return count;
+    }
+
+    /**
+     * Generates the report for the provisioning results retained for the given any types, status and operation,
+     * mentioning how many results were not retained, if any.
+     *
+     * @param provResults provisioning results
+     * @param anyTypes any types
+     * @param status status
+     * @param operation operation, or null for any operation
+     * @param traceLevel trace level
+     * @return report as string
+     */
+    protected String generate(
+            final ProvisioningReportCollection provResults,
+            final Collection<String> anyTypes,
+            final ProvisioningReport.Status status,
+            final ResourceOperation operation,
+            final TraceLevel traceLevel) {
+
+        List<ProvisioningReport> details = new ArrayList<>();
+        for (String anyType : anyTypes) {
+            details.addAll(provResults.details(anyType, status, operation));
+        }
+
+        StringBuilder report = new StringBuilder(ProvisioningReport.generate(details, traceLevel));
+        long omitted = count(provResults, anyTypes, status, operation) - details.size();
+        if (omitted > 0) {
+            report.append("... ").append(omitted).append(" more\n");
+        }
+        return report.toString();
+    }
+
     /**
      * Create a textual report of the provisionig operation, based on the trace level.
      *
@@ -80,7 +154,7 @@ public abstract class AbstractProvisioningJobDelegate<T extends ProvisioningTask
      * @return report as string
      */
     protected String createReport(
-            final Collection<ProvisioningReport> provResults,
+            final ProvisioningReportCollection provResults,
             final ExternalResource resource,
             final boolean dryRun) {
 
@@ -95,216 +169,28 @@ public abstract class AbstractProvisioningJobDelegate<T extends ProvisioningTask
             report.append("==>Dry run only, no modifications were made<==\n\n");
         }
 
-        List<ProvisioningReport> rSuccCreate = new ArrayList<>();
-        List<ProvisioningReport> rFailCreate = new ArrayList<>();
-        List<ProvisioningReport> rSuccUpdate = new ArrayList<>();
-        List<ProvisioningReport> rFailUpdate = new ArrayList<>();
-        List<ProvisioningReport> rSuccDelete = new ArrayList<>();
-        List<ProvisioningReport> rFailDelete = new ArrayList<>();
-        List<ProvisioningReport> rSuccNone = new ArrayList<>();
-        List<ProvisioningReport> rIgnore = new ArrayList<>();
-        List<ProvisioningReport> uSuccCreate = new ArrayList<>();
-        List<ProvisioningReport> uFailCreate = new ArrayList<>();
-        List<ProvisioningReport> uSuccUpdate = new ArrayList<>();
-        List<ProvisioningReport> uFailUpdate = new ArrayList<>();
-        List<ProvisioningReport> uSuccDelete = new ArrayList<>();
-        List<ProvisioningReport> uFailDelete = new ArrayList<>();
-        List<ProvisioningReport> uSuccNone = new ArrayList<>();
-        List<ProvisioningReport> uIgnore = new ArrayList<>();
-        List<ProvisioningReport> gSuccCreate = new ArrayList<>();
-        List<ProvisioningReport> gFailCreate = new ArrayList<>();
-        List<ProvisioningReport> gSuccUpdate = new ArrayList<>();
-        List<ProvisioningReport> gFailUpdate = new ArrayList<>();
-        List<ProvisioningReport> gSuccDelete = new ArrayList<>();
-        List<ProvisioningReport> gFailDelete = new ArrayList<>();
-        List<ProvisioningReport> gSuccNone = new ArrayList<>();
-        List<ProvisioningReport> gIgnore = new ArrayList<>();
-        List<ProvisioningReport> aSuccCreate = new ArrayList<>();
-        List<ProvisioningReport> aFailCreate = new ArrayList<>();
-        List<ProvisioningReport> aSuccUpdate = new ArrayList<>();
-        List<ProvisioningReport> aFailUpdate = new ArrayList<>();
-        List<ProvisioningReport> aSuccDelete = new ArrayList<>();
-        List<ProvisioningReport> aFailDelete = new ArrayList<>();
-        List<ProvisioningReport> aSuccNone = new ArrayList<>();
-        List<ProvisioningReport> aIgnore = new ArrayList<>();
-
-        for (ProvisioningReport provResult : provResults) {
-            AnyType anyType = anyTypeDAO.find(provResult.getAnyType());
-
-            switch (provResult.getStatus()) {
-                case SUCCESS:
-                    switch (provResult.getOperation()) {
-                        case CREATE:
-                            if (anyType == null) {
-                                rSuccCreate.add(provResult);
-                            } else {
-                                switch (anyType.getKind()) {
-                                    case USER:
-                                        uSuccCreate.add(provResult);
-                                        break;
-
-                                    case GROUP:
-                                        gSuccCreate.add(provResult);
-                                        break;
-
-                                    case ANY_OBJECT:
-                                    default:
-                                        aSuccCreate.add(provResult);
-                                }
-                            }
-                            break;
-
-                        case UPDATE:
-                            if (anyType == null) {
-                                rSuccUpdate.add(provResult);
-                            } else {
-                                switch (anyType.getKind()) {
-                                    case USER:
-                                        uSuccUpdate.add(provResult);
-                                        break;
-
-                                    case GROUP:
-                                        gSuccUpdate.add(provResult);
-                                        break;
-
-                                    case ANY_OBJECT:
-                                    default:
-                                        aSuccUpdate.add(provResult);
-                                }
-                            }
-                            break;
-
-                        case DELETE:
-                            if (anyType == null) {
-                                rSuccDelete.add(provResult);
-                            } else {
-                                switch (anyType.getKind()) {
-                                    case USER:
-                                        uSuccDelete.add(provResult);
-                                        break;
-
-                                    case GROUP:
-                                        gSuccDelete.add(provResult);
-                                        break;
-
-                                    case ANY_OBJECT:
-                                    default:
-                                        aSuccDelete.add(provResult);
-                                }
-                            }
-                            break;
-
-                        case NONE:
-                            if (anyType == null) {
-                                rSuccNone.add(provResult);
-                            } else {
-                                switch (anyType.getKind()) {
-                                    case USER:
-                                        uSuccNone.add(provResult);
-                                        break;
-
-                                    case GROUP:
-                                        gSuccNone.add(provResult);
-                                        break;
-
-                                    case ANY_OBJECT:
-                                    default:
-                                        aSuccNone.add(provResult);
-                                }
-                            }
-                            break;
-
-                        default:
-                    }
-                    break;
-
-                case FAILURE:
-                    switch (provResult.getOperation()) {
-                        case CREATE:
-                            if (anyType == null) {
-                                rFailCreate.add(provResult);
-                            } else {
-                                switch (anyType.getKind()) {
-                                    case USER:
-                                        uFailCreate.add(provResult);
-                                        break;
-
-                                    case GROUP:
-                                        gFailCreate.add(provResult);
-                                        break;
-
-                                    case ANY_OBJECT:
-                                    default:
-                                        aFailCreate.add(provResult);
-                                }
-                            }
-                            break;
-
-                        case UPDATE:
-                            if (anyType == null) {
-                                rFailUpdate.add(provResult);
-                            } else {
-                                switch (anyType.getKind()) {
-                                    case USER:
-                                        uFailUpdate.add(provResult);
-                                        break;
-
-                                    case GROUP:
-                                        gFailUpdate.add(provResult);
-                                        break;
-
-                                    case ANY_OBJECT:
-                                    default:
-                                        aFailUpdate.add(provResult);
-                                }
-                            }
-                            break;
-
-                        case DELETE:
-                            if (anyType == null) {
-                                rFailDelete.add(provResult);
-                            } else {
-                                switch (anyType.getKind()) {
-                                    case USER:
-                                        uFailDelete.add(provResult);
-                                        break;
-
-                                    case GROUP:
-                                        gFailDelete.add(provResult);
-                                        break;
-
-                                    case ANY_OBJECT:
-                                    default:
-                                        aFailDelete.add(provResult);
-                                }
-                            }
-                            break;
-
-                        default:
-                    }
-                    break;
-
-                case IGNORE:
-                    if (anyType == null) {
-                        rIgnore.add(provResult);
-                    } else {
-                        switch (anyType.getKind()) {
-                            case USER:
-                                uIgnore.add(provResult);
-                                break;
-
-                            case GROUP:
-                                gIgnore.add(provResult);
-                                break;
-
-                            case ANY_OBJECT:
-                            default:
-                                aIgnore.add(provResult);
-                        }
-                    }
-                    break;
-
-                default:
+        List<String> realms = new ArrayList<>();
+        List<String> users = new ArrayList<>();
+        List<String> groups = new ArrayList<>();
+        List<String> anyObjects = new ArrayList<>();
+        for (String anyTypeKey : provResults.getAnyTypes()) {
+            AnyType anyType = anyTypeKey == null ? null : anyTypeDAO.find(anyTypeKey);
+            if (anyType == null) {
+                realms.add(anyTypeKey);
+            } else {
+                switch (anyType.getKind()) {
+                    case USER:
+                        users.add(anyTypeKey);
+                        break;
+
+                    case GROUP:
+                        groups.add(anyTypeKey);
+                        break;
+
+                    case ANY_OBJECT:
+                    default:
+                        anyObjects.add(anyTypeKey);
+                }
             }
         }
 
@@ -321,204 +207,130 @@ public abstract class AbstractProvisioningJobDelegate<T extends ProvisioningTask
         boolean includeRealm = resource.getOrgUnit() != null;
 
         if (includeUser) {
-            report.append("Users ").
-                    append("[created/failures]: ").append(uSuccCreate.size()).append('/').append(uFailCreate.size()).
-                    append(' ').
-                    append("[updated/failures]: ").append(uSuccUpdate.size()).append('/').append(uFailUpdate.size()).
-                    append(' ').
-                    append("[deleted/failures]: ").append(uSuccDelete.size()).append('/').append(uFailDelete.size()).
-                    append(' ').
-                    append("[no operation/ignored]: ").append(uSuccNone.size()).append('/').append(uIgnore.size()).
-                    append('\n');
+            report.append("Users ");
+            appendSummary(report, provResults, users);
+            report.append('\n');
         }
         if (includeGroup) {
-            report.append("Groups ").
-                    append("[created/failures]: ").append(gSuccCreate.size()).append('/').append(gFailCreate.size()).
-                    append(' ').
-                    append("[updated/failures]: ").append(gSuccUpdate.size()).append('/').append(gFailUpdate.size()).
-                    append(' ').
-                    append("[deleted/failures]: ").append(gSuccDelete.size()).append('/').append(gFailDelete.size()).
-                    append(' ').
-                    append("[no operation/ignored]: ").append(gSuccNone.size()).append('/').append(gIgnore.size()).
-                    append('\n');
+            report.append("Groups ");
+            appendSummary(report, provResults, groups);
+            report.append('\n');
         }
         if (includeAnyObject) {
-            report.append("Any objects ").
-                    append("[created/failures]: ").append(aSuccCreate.size()).append('/').append(aFailCreate.size()).
-                    append(' ').
-                    append("[updated/failures]: ").append(aSuccUpdate.size()).append('/').append(aFailUpdate.size()).
-                    append(' ').
-                    append("[deleted/failures]: ").append(aSuccDelete.size()).append('/').append(aFailDelete.size()).
-                    append(' ').
-                    append("[no operation/ignored]: ").append(aSuccNone.size()).append('/').append(aIgnore.size());
+            report.append("Any objects ");
+            appendSummary(report, provResults, anyObjects);
         }
         if (includeRealm) {
-            report.append("Realms ").
-                    append("[created/failures]: ").append(rSuccCreate.size()).append('/').append(rFailCreate.size()).
-                    append(' ').
-                    append("[updated/failures]: ").append(rSuccUpdate.size()).append('/').append(rFailUpdate.size()).
-                    append(' ').
-                    append("[deleted/failures]: ").append(rSuccDelete.size()).append('/').append(rFailDelete.size()).
-                    append(' ').
-                    append("[no operation/ignored]: ").append(rSuccNone.size()).append('/').append(rIgnore.size());
+            report.append("Realms ");
+            appendSummary(report, provResults, realms);
         }
 
         // Failures
         if (traceLevel == TraceLevel.FAILURES || traceLevel == TraceLevel.ALL) {
             if (includeUser) {
-                if (!uFailCreate.isEmpty()) {
-                    report.append("\n\nUsers failed to create: ");
-                    report.append(ProvisioningReport.generate(uFailCreate, traceLevel));
-                }
-                if (!uFailUpdate.isEmpty()) {
-                    report.append("\nUsers failed to update: ");
-                    report.append(ProvisioningReport.generate(uFailUpdate, traceLevel));
-                }
-                if (!uFailDelete.isEmpty()) {
-                    report.append("\nUsers failed to delete: ");
-                    report.append(ProvisioningReport.generate(uFailDelete, traceLevel));
-                }
+                appendFailures(report, "\n\nUsers", "\nUsers", provResults, users, traceLevel);
             }
-
             if (includeGroup) {
-                if (!gFailCreate.isEmpty()) {
-                    report.append("\n\nGroups failed to create: ");
-                    report.append(ProvisioningReport.generate(gFailCreate, traceLevel));
-                }
-                if (!gFailUpdate.isEmpty()) {
-                    report.append("\nGroups failed to update: ");
-                    report.append(ProvisioningReport.generate(gFailUpdate, traceLevel));
-                }
-                if (!gFailDelete.isEmpty()) {
-                    report.append("\nGroups failed to delete: ");
-                    report.append(ProvisioningReport.generate(gFailDelete, traceLevel));
-                }
-            }
-
-            if (includeAnyObject && !aFailCreate.isEmpty()) {
-                report.append("\nAny objects failed to create: ");
-                report.append(ProvisioningReport.generate(aFailCreate, traceLevel));
-            }
-            if (includeAnyObject && !aFailUpdate.isEmpty()) {
-                report.append("\nAny objects failed to update: ");
-                report.append(ProvisioningReport.generate(aFailUpdate, traceLevel));
+                appendFailures(report, "\n\nGroups", "\nGroups", provResults, groups, traceLevel);
             }
-            if (includeAnyObject && !aFailDelete.isEmpty()) {
-                report.append("\nAny objects failed to delete: ");
-                report.append(ProvisioningReport.generate(aFailDelete, traceLevel));
+            if (includeAnyObject) {
+                appendFailures(report, "\nAny objects", "\nAny objects", provResults, anyObjects, traceLevel);
             }
-
             if (includeRealm) {
-                if (!rFailCreate.isEmpty()) {
-                    report.append("\nRealms failed to create: ");
-                    report.append(ProvisioningReport.generate(rFailCreate, traceLevel));
-                }
-                if (!rFailUpdate.isEmpty()) {
-                    report.append("\nRealms failed to update: ");
-                    report.append(ProvisioningReport.generate(rFailUpdate, traceLevel));
-                }
-                if (!rFailDelete.isEmpty()) {
-                    report.append("\nRealms failed to delete: ");
-                    report.append(ProvisioningReport.generate(rFailDelete, traceLevel));
-                }
+                appendFailures(report, "\nRealms", "\nRealms", provResults, realms, traceLevel);
             }
         }
 
         // Succeeded, only if on 'ALL' level
         if (traceLevel == TraceLevel.ALL) {
             if (includeUser) {
-                if (!uSuccCreate.isEmpty()) {
-                    report.append("\n\nUsers created:\n").
-                            append(ProvisioningReport.generate(uSuccCreate, traceLevel));
-                }
-                if (!uSuccUpdate.isEmpty()) {
-                    report.append("\nUsers updated:\n").
-                            append(ProvisioningReport.generate(uSuccUpdate, traceLevel));
-                }
-                if (!uSuccDelete.isEmpty()) {
-                    report.append("\nUsers deleted:\n").
-                            append(ProvisioningReport.generate(uSuccDelete, traceLevel));
-                }
-                if (!uSuccNone.isEmpty()) {
-                    report.append("\nUsers no operation:\n").
-                            append(ProvisioningReport.generate(uSuccNone, traceLevel));
-                }
-                if (!uIgnore.isEmpty()) {
-                    report.append("\nUsers ignored:\n").
-                            append(ProvisioningReport.generate(uIgnore, traceLevel));
-                }
+                appendSuccesses(report, "\n\nUsers", "\nUsers", provResults, users, traceLevel);
             }
             if (includeGroup) {
-                if (!gSuccCreate.isEmpty()) {
-                    report.append("\n\nGroups created:\n").
-                            append(ProvisioningReport.generate(gSuccCreate, traceLevel));
-                }
-                if (!gSuccUpdate.isEmpty()) {
-                    report.append("\nGroups updated:\n").
-                            append(ProvisioningReport.generate(gSuccUpdate, traceLevel));
-                }
-                if (!gSuccDelete.isEmpty()) {
-                    report.append("\nGroups deleted:\n").
-                            append(ProvisioningReport.generate(gSuccDelete, traceLevel));
-                }
-                if (!gSuccNone.isEmpty()) {
-                    report.append("\nGroups no operation:\n").
-                            append(ProvisioningReport.generate(gSuccNone, traceLevel));
-                }
-                if (!gIgnore.isEmpty()) {
-                    report.append("\nGroups ignored:\n").
-                            append(ProvisioningReport.generate(gIgnore, traceLevel));
-                }
+                appendSuccesses(report, "\n\nGroups", "\nGroups", provResults, groups, traceLevel);
             }
             if (includeAnyObject) {
-                if (!aSuccCreate.isEmpty()) {
-                    report.append("\n\nAny objects created:\n").
-                            append(ProvisioningReport.generate(aSuccCreate, traceLevel));
-                }
-                if (!aSuccUpdate.isEmpty()) {
-                    report.append("\nAny objects updated:\n").
-                            append(ProvisioningReport.generate(aSuccUpdate, traceLevel));
-                }
-                if (!aSuccDelete.isEmpty()) {
-                    report.append("\nAny objects deleted:\n").
-                            append(ProvisioningReport.generate(aSuccDelete, traceLevel));
-                }
-                if (!aSuccNone.isEmpty()) {
-                    report.append("\nAny objects no operation:\n").
-                            append(ProvisioningReport.generate(aSuccNone, traceLevel));
-                }
-                if (!aIgnore.isEmpty()) {
-                    report.append("\nAny objects ignored:\n").
-                            append(ProvisioningReport.generate(aIgnore, traceLevel));
-                }
+                appendSuccesses(report, "\n\nAny objects", "\nAny objects", provResults, anyObjects, traceLevel);
             }
             if (includeRealm) {
-                if (!rSuccCreate.isEmpty()) {
-                    report.append("\n\nRealms created:\n").
-                            append(ProvisioningReport.generate(rSuccCreate, traceLevel));
-                }
-                if (!rSuccUpdate.isEmpty()) {
-                    report.append("\nRealms updated:\n").
-                            append(ProvisioningReport.generate(rSuccUpdate, traceLevel));
-                }
-                if (!rSuccDelete.isEmpty()) {
-                    report.append("\nRealms deleted:\n").
-                            append(ProvisioningReport.generate(rSuccDelete, traceLevel));
-                }
-                if (!rSuccNone.isEmpty()) {
-                    report.append("\nRealms no operation:\n").
-                            append(ProvisioningReport.generate(rSuccNone, traceLevel));
-                }
-                if (!rIgnore.isEmpty()) {
-                    report.append("\nRealms ignored:\n").
-                            append(ProvisioningReport.generate(rIgnore, traceLevel));
-                }
+                appendSuccesses(report, "\n\nRealms", "\nRealms", provResults, realms, traceLevel);
             }
         }
 
         return report.toString();
     }
 
+    private void appendSummary(
+            final StringBuilder report,
+            final ProvisioningReportCollection provResults,
+            final Collection<String> anyTypes) {
+
+        report.append("[created/failures]: ").
+                append(count(provResults, anyTypes, ProvisioningReport.Status.SUCCESS, ResourceOperation.CREATE)).
+                append('/').
+                append(count(provResults, anyTypes, ProvisioningReport.Status.FAILURE, ResourceOperation.CREATE)).
+                append(' ').
+                append("[updated/failures]: ").
+                append(count(provResults, anyTypes, ProvisioningReport.Status.SUCCESS, ResourceOperation.UPDATE)).
+                append('/').
+                append(count(provResults, anyTypes, ProvisioningReport.Status.FAILURE, ResourceOperation.UPDATE)).
+                append(' ').
+                append("[deleted/failures]: ").
+                append(count(provResults, anyTypes, ProvisioningReport.Status.SUCCESS, ResourceOperation.DELETE)).
+                append('/').
+                append(count(provResults, anyTypes, ProvisioningReport.Status.FAILURE, ResourceOperation.DELETE)).
+                append(' ').
+                append("[no operation/ignored]: ").
+                append(count(provResults, anyTypes, ProvisioningReport.Status.SUCCESS, ResourceOperation.NONE)).
+                append('/').
+                append(count(provResults, anyTypes, ProvisioningReport.Status.IGNORE, null));
+    }
+
+    private void appendFailures(
+            final StringBuilder report,
+            final String firstPrefix,
+            final String prefix,
+            final ProvisioningReportCollection provResults,
+            final Collection<String> anyTypes,
+            final TraceLevel traceLevel) {
+
+        String[] labels = { "create", "update", "delete" };
+        ResourceOperation[] operations = {
+            ResourceOperation.CREATE, ResourceOperation.UPDATE, ResourceOperation.DELETE };
+
+        for (int i = 0; i < operations.length; i++) {
+            if (count(provResults, anyTypes, ProvisioningReport.Status.FAILURE, operations[i]) > 0) {
+                report.append(i == 0 ? firstPrefix : prefix).append(" failed to ").append(labels[i]).append(": ").
+                        append(generate(
+                                provResults, anyTypes, ProvisioningReport.Status.FAILURE, operations[i], traceLevel));
+            }
+        }
+    }
+
+    private void appendSuccesses(
+            final StringBuilder report,
+            final String firstPrefix,
+            final String prefix,
+            final ProvisioningReportCollection provResults,
+            final Collection<String> anyTypes,
+            final TraceLevel traceLevel) {
+
+        String[] labels = { "created", "updated", "deleted", "no operation", "ignored" };
+        ProvisioningReport.Status[] statuses = {
+            ProvisioningReport.Status.SUCCESS, ProvisioningReport.Status.SUCCESS, ProvisioningReport.Status.SUCCESS,
+            ProvisioningReport.Status.SUCCESS, ProvisioningReport.Status.IGNORE };
+        ResourceOperation[] operations = {
+            ResourceOperation.CREATE, ResourceOperation.UPDATE, ResourceOperation.DELETE, ResourceOperation.NONE,
+            null };
+
+        for (int i = 0; i < operations.length; i++) {
+            if (count(provResults, anyTypes, statuses[i], operations[i]) > 0) {
+                report.append(i == 0 ? firstPrefix : prefix).append(' ').append(labels[i]).append(":\n").
+                        append(generate(provResults, anyTypes, statuses[i], operations[i], traceLevel));
+            }
+        }
+    }
+
     @Override
     protected String doExecute(final boolean dryRun) throws JobExecutionException {
         try {
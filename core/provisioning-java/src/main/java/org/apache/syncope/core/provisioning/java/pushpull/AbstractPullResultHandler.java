@@ -20,7 +20,10 @@ package org.apache.syncope.core.provisioning.java.pushpull;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.syncope.common.lib.patch.AnyPatch;
 import org.apache.syncope.common.lib.patch.StringPatchItem;
@@ -35,6 +38,7 @@ import org.apache.syncope.common.lib.types.PullMode;
 import org.apache.syncope.common.lib.types.ResourceOperation;
 import org.apache.syncope.common.lib.types.UnmatchingRule;
 import org.apache.syncope.core.persistence.api.dao.NotFoundException;
+import org.apache.syncope.core.persistence.api.dao.TaskDAO;
 import org.apache.syncope.core.provisioning.api.propagation.PropagationException;
 import org.apache.syncope.core.spring.security.DelegatedAdministrationException;
 import org.apache.syncope.core.persistence.api.dao.VirSchemaDAO;
@@ -46,6 +50,7 @@ import org.apache.syncope.core.provisioning.api.ProvisioningManager;
 import org.apache.syncope.core.provisioning.api.cache.VirAttrCache;
 import org.apache.syncope.core.provisioning.api.cache.VirAttrCacheValue;
 import org.apache.syncope.core.provisioning.api.pushpull.IgnoreProvisionException;
+import org.apache.syncope.core.provisioning.api.pushpull.ProvisioningProfile;
 import org.apache.syncope.core.provisioning.api.pushpull.ProvisioningReport;
 import org.apache.syncope.core.provisioning.api.pushpull.PullActions;
 import org.apache.syncope.core.provisioning.api.pushpull.SyncopePullExecutor;
@@ -70,9 +75,21 @@ public abstract class AbstractPullResultHandler extends AbstractSyncopeResultHan
     @Autowired
     protected VirAttrCache virAttrCache;
 
+    @Autowired
+    protected TaskDAO taskDAO;
+
     protected SyncopePullExecutor executor;
 
-    protected Result latestResult;
+    /**
+     * Result of the latest delta handled by the current thread, as deltas can be handled concurrently.
+     */
+    protected final ThreadLocal<Result> latestResult = new ThreadLocal<>();
+
+    /**
+     * Matches found via {@link #correlate(java.util.List)}, by object class and uid; each is consumed when the
+     * related delta is handled, and all are discarded whenever a delta creates or renames an entity.
+     */
+    protected final Map<String, List<String>> correlations = new ConcurrentHashMap<>();
 
     protected abstract String getName(AnyTO anyTO);
 
@@ -105,8 +122,74 @@ public abstract class AbstractPullResultHandler extends AbstractSyncopeResultHan
         this.executor = executor;
     }
 
+    private static String getCorrelationKey(final SyncDelta delta) {
+        return delta.getObjectClass().getObjectClassValue() + "/" + (delta.getPreviousUid() == null
+                ? delta.getUid().getUidValue()
+                : delta.getPreviousUid().getUidValue());
+    }
+
+    /**
+     * When the profile is shared among concurrent workers, binds it - for the current invocation - to the pull task
+     * as loaded by the current transaction, since entities loaded by the job's persistence context are not to be
+     * accessed from worker threads.
+     *
+     * @return the profile to restore once the current invocation is over
+     */
+    private ProvisioningProfile<PullTask, PullActions> bindProfile() {
+        ProvisioningProfile<PullTask, PullActions> shared = profile;
+        if (shared.isConcurrent()) {
+            profile = shared.withTask(taskDAO.<PullTask>find(shared.getTask().getKey()));
+        }
+        return shared;
+    }
+
+    @Override
+    public void correlate(final List<SyncDelta> deltas) {
+        ProvisioningProfile<PullTask, PullActions> shared = bindProfile();
+        try {
+            doCorrelate(deltas);
+        } finally {
+            profile = shared;
+        }
+    }
+
+    private void doCorrelate(final List<SyncDelta> deltas) {
+        correlations.clear();
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        Provision provision = profile.getTask().getResource().getProvision(deltas.get(0).getObjectClass());
+        if (provision == null) {
+            return;
+        }
+
+        Map<String, SyncDelta> byUid = new HashMap<>(deltas.size());
+        for (SyncDelta delta : deltas) {
+            byUid.put(delta.getPreviousUid() == null
+                    ? delta.getUid().getUidValue()
+                    : delta.getPreviousUid().getUidValue(), delta);
+        }
+
+        Map<String, List<String>> matches = pullUtils.findExisting(byUid.keySet(), provision, getAnyUtils());
+        if (matches != null) {
+            for (Map.Entry<String, List<String>> entry : matches.entrySet()) {
+                correlations.put(getCorrelationKey(byUid.get(entry.getKey())), entry.getValue());
+            }
+        }
+    }
+
     @Override
     public boolean handle(final SyncDelta delta) {
+        ProvisioningProfile<PullTask, PullActions> shared = bindProfile();
+        try {
+            return doHandle(delta);
+        } finally {
+            profile = shared;
+        }
+    }
+
+    private boolean doHandle(final SyncDelta delta) {
         Provision provision = null;
         try {
             provision = profile.getTask().getResource().getProvision(delta.getObject().getObjectClass());
@@ -123,11 +206,8 @@ public abstract class AbstractPullResultHandler extends AbstractSyncopeResultHan
                 return true;
             }
 
-            boolean shouldContinue;
-            synchronized (this) {
-                shouldContinue = latestResult == Result.SUCCESS;
-                this.latestResult = null;
-            }
+            boolean shouldContinue = latestResult.get() == Result.SUCCESS;
+            latestResult.remove();
             if (shouldContinue) {
                 executor.setLatestSyncToken(delta.getObjectClass(), delta.getToken());
             }
@@ -688,7 +768,10 @@ public abstract class AbstractPullResultHandler extends AbstractSyncopeResultHan
                 : delta.getPreviousUid().getUidValue();
 
         try {
-            List<String> anyKeys = pullUtils.findExisting(uid, delta.getObject(), provision, anyUtils);
+            List<String> anyKeys = correlations.remove(getCorrelationKey(delta));
+            if (anyKeys == null) {
+                anyKeys = pullUtils.findExisting(uid, delta.getObject(), provision, anyUtils);
+            }
             LOG.debug("Match(es) found for {} as {}: {}",
                     delta.getUid().getUidValue(), delta.getObject().getObjectClass(), anyKeys);
 
@@ -715,10 +798,13 @@ public abstract class AbstractPullResultHandler extends AbstractSyncopeResultHan
                     switch (profile.getTask().getUnmatchingRule()) {
                         case ASSIGN:
                             profile.getResults().addAll(assign(delta, provision, anyUtils));
+                            // matches found in advance for the other buffered deltas might be stale now
+                            correlations.clear();
                             break;
 
                         case PROVISION:
                             profile.getResults().addAll(provision(delta, provision, anyUtils));
+                            correlations.clear();
                             break;
 
                         case IGNORE:
@@ -778,6 +864,11 @@ public abstract class AbstractPullResultHandler extends AbstractSyncopeResultHan
                         default:
                         // do nothing
                     }
+
+                    if (delta.getPreviousUid() != null) {
+                        // renamed: matches found in advance for the other buffered deltas might be stale now
+                        correlations.clear();
+                    }
                 }
             } else if (SyncDeltaType.DELETE == delta.getDeltaType()) {
                 if (anyKeys.isEmpty()) {
@@ -799,9 +890,7 @@ public abstract class AbstractPullResultHandler extends AbstractSyncopeResultHan
             final Object output,
             final SyncDelta delta) {
 
-        synchronized (this) {
-            this.latestResult = result;
-        }
+        latestResult.set(result);
 
         notificationManager.createTasks(AuditElements.EventCategoryType.PULL,
                 getAnyUtils().getAnyTypeKind().name().toLowerCase(),
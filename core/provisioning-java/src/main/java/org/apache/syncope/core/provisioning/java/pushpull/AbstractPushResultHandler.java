@@ -34,8 +34,10 @@ import org.apache.syncope.common.lib.types.PatchOperation;
 import org.apache.syncope.core.provisioning.api.PropagationByResource;
 import org.apache.syncope.common.lib.types.ResourceOperation;
 import org.apache.syncope.common.lib.types.UnmatchingRule;
+import org.apache.syncope.core.persistence.api.dao.TaskDAO;
 import org.apache.syncope.core.persistence.api.entity.task.PushTask;
 import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.provisioning.api.pushpull.ProvisioningProfile;
 import org.apache.syncope.core.provisioning.api.pushpull.ProvisioningReport;
 import org.apache.syncope.core.provisioning.api.pushpull.PushActions;
 import org.apache.syncope.core.persistence.api.entity.Any;
@@ -64,6 +66,9 @@ public abstract class AbstractPushResultHandler extends AbstractSyncopeResultHan
     @Autowired
     protected MappingManager mappingManager;
 
+    @Autowired
+    protected TaskDAO taskDAO;
+
     protected abstract String getName(Any<?> any);
 
     protected void deprovision(final Any<?> any) {
@@ -148,6 +153,19 @@ public abstract class AbstractPushResultHandler extends AbstractSyncopeResultHan
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     @Override
     public boolean handle(final String anyKey) {
+        ProvisioningProfile<PushTask, PushActions> shared = profile;
+        if (shared.isConcurrent()) {
+            // entities loaded by the job's persistence context are not to be accessed from worker threads
+            profile = shared.withTask(taskDAO.<PushTask>find(shared.getTask().getKey()));
+        }
+        try {
+            return doHandle(anyKey);
+        } finally {
+            profile = shared;
+        }
+    }
+
+    private boolean doHandle(final String anyKey) {
         Any<?> any = null;
         try {
             any = getAny(anyKey);
@@ -172,8 +190,8 @@ public abstract class AbstractPushResultHandler extends AbstractSyncopeResultHan
     private void doHandle(final Any<?> any) throws JobExecutionException {
         AnyUtils anyUtils = anyUtilsFactory.getInstance(any);
 
+        // results are counted by status and operation when added: add only once fully populated
         ProvisioningReport result = new ProvisioningReport();
-        profile.getResults().add(result);
 
         result.setKey(any.getKey());
         result.setAnyType(any.getType().getKey());
@@ -205,6 +223,7 @@ public abstract class AbstractPushResultHandler extends AbstractSyncopeResultHan
                 result.setOperation(getResourceOperation(profile.getTask().getMatchingRule()));
             }
             result.setStatus(ProvisioningReport.Status.SUCCESS);
+            profile.getResults().add(result);
         } else {
             try {
                 if (beforeObj == null) {
@@ -341,6 +360,8 @@ public abstract class AbstractPushResultHandler extends AbstractSyncopeResultHan
                 result.setStatus(ProvisioningReport.Status.SUCCESS);
                 resultStatus = AuditElements.Result.SUCCESS;
                 output = getRemoteObject(connObjecKey, provision.getObjectClass());
+
+                profile.getResults().add(result);
             } catch (IgnoreProvisionException e) {
                 throw e;
             } catch (Exception e) {
@@ -354,6 +375,7 @@ public abstract class AbstractPushResultHandler extends AbstractSyncopeResultHan
                 for (PushActions action : profile.getActions()) {
                     action.onError(profile, any, result, e);
                 }
+                profile.getResults().add(result);
 
                 throw new JobExecutionException(e);
             } finally {
@@ -0,0 +1,235 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.pushpull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import org.apache.syncope.core.provisioning.api.pushpull.SyncopePullExecutor;
+import org.apache.syncope.core.provisioning.api.pushpull.SyncopePullResultHandler;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.identityconnectors.framework.common.objects.SyncDelta;
+import org.identityconnectors.framework.common.objects.SyncResultsHandler;
+import org.identityconnectors.framework.common.objects.SyncToken;
+import org.identityconnectors.framework.common.objects.Uid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Buffers the deltas received from the connector, so that matching entities can be found for several deltas at once
+ * via {@link SyncopePullResultHandler#correlate(java.util.List)}; deltas are then handled one by one, each within its
+ * own transaction. Deltas sharing uid or previous uid with any buffered delta cause the buffer to be flushed first.
+ * When an executor is provided, the buffered deltas are partitioned by uid (previous uid for renames) and handled
+ * concurrently, each partition being correlated and handled by its own worker handler instance; all buffered deltas
+ * are handled before next buffer is processed. The latest sync token is then set to
+ * the one of the last delta before the first failure - hence never past a delta which was not handled - so that
+ * incremental pull can be resumed from there.
+ * Handling stops at the first delta for which the underlying handler returns false, which is then returned to the
+ * connector; {@link #flush()} must be invoked once the connector has finished sending deltas.
+ */
+public class BufferedPullResultHandler implements SyncResultsHandler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BufferedPullResultHandler.class);
+
+    private final SyncopePullResultHandler handler;
+
+    private final int bufferSize;
+
+    private final List<SyncDelta> buffer;
+
+    private final Set<String> bufferedUids = new HashSet<>();
+
+    private ExecutorService executor;
+
+    private List<SyncopePullResultHandler> workers = Collections.emptyList();
+
+    private SyncopePullExecutor pullExecutor;
+
+    private SyncToken latestSyncToken;
+
+    public BufferedPullResultHandler(final SyncopePullResultHandler handler, final int bufferSize) {
+        this.handler = handler;
+        this.bufferSize = bufferSize;
+        this.buffer = new ArrayList<>(bufferSize);
+    }
+
+    /**
+     * Enables concurrent handling of buffered deltas.
+     *
+     * @param executor executor running the workers
+     * @param workers handlers, one for each worker, not sharing any entity with the job's persistence context
+     * @param pullExecutor pull executor, to report the latest sync token to
+     * @param syncToken sync token to report if the first delta fails
+     */
+    public void setExecutor(
+            final ExecutorService executor,
+            final List<SyncopePullResultHandler> workers,
+            final SyncopePullExecutor pullExecutor,
+            final SyncToken syncToken) {
+
+        this.executor = executor;
+        this.workers = workers;
+        this.pullExecutor = pullExecutor;
+        this.latestSyncToken = syncToken;
+
+        // workers would report sync tokens in completion order: the latest sync token is reported from here instead,
+        // once it is known up to which delta all were handled
+        SyncopePullExecutor ignoring = new SyncopePullExecutor() {
+
+            @Override
+            public void setLatestSyncToken(final ObjectClass objectClass, final SyncToken latestSyncToken) {
+                // ignore
+            }
+        };
+        for (SyncopePullResultHandler worker : workers) {
+            worker.setPullExecutor(ignoring);
+        }
+    }
+
+    private static Set<String> getUids(final SyncDelta delta) {
+        Set<String> uids = new HashSet<>(2);
+        uids.add(delta.getUid().getUidValue());
+        if (delta.getPreviousUid() != null) {
+            uids.add(delta.getPreviousUid().getUidValue());
+        }
+        return uids;
+    }
+
+    @Override
+    public boolean handle(final SyncDelta delta) {
+        if (bufferSize <= 1 && executor == null) {
+            return handler.handle(delta);
+        }
+
+        // deltas sharing uid or previous uid are never buffered together, as matches found for the latter would
+        // not take into account the changes made by the former
+        Set<String> uids = getUids(delta);
+        if (!Collections.disjoint(bufferedUids, uids) && !flush()) {
+            return false;
+        }
+
+        buffer.add(delta);
+        bufferedUids.addAll(uids);
+        return buffer.size() < bufferSize || flush();
+    }
+
+    /**
+     * Handles all buffered deltas.
+     *
+     * @return false if handling was stopped by the underlying handler, true otherwise
+     */
+    public boolean flush() {
+        if (buffer.isEmpty()) {
+            return true;
+        }
+
+        List<SyncDelta> deltas = new ArrayList<>(buffer);
+        buffer.clear();
+        bufferedUids.clear();
+
+        if (executor == null || workers.size() <= 1 || deltas.size() <= 1) {
+            handler.correlate(deltas);
+            for (SyncDelta delta : deltas) {
+                if (!handler.handle(delta)) {
+                    return false;
+                }
+                if (executor != null) {
+                    latestSyncToken = delta.getToken();
+                }
+            }
+            return true;
+        }
+
+        return handleConcurrently(deltas);
+    }
+
+    private boolean handleConcurrently(final List<SyncDelta> deltas) {
+        int concurrency = workers.size();
+        List<List<Integer>> partitions = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            partitions.add(new ArrayList<Integer>());
+        }
+        for (int i = 0; i < deltas.size(); i++) {
+            // renames are partitioned by previous uid, as the deltas which might have preceded them
+            Uid uid = deltas.get(i).getPreviousUid() == null ? deltas.get(i).getUid() : deltas.get(i).getPreviousUid();
+            partitions.get(Math.floorMod(uid.getUidValue().hashCode(), concurrency)).add(i);
+        }
+
+        final boolean[] handled = new boolean[deltas.size()];
+        List<Future<?>> futures = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            final List<Integer> partition = partitions.get(i);
+            final SyncopePullResultHandler worker = workers.get(i);
+            if (!partition.isEmpty()) {
+                futures.add(executor.submit(new Runnable() {
+
+                    @Override
+                    public void run() {
+                        List<SyncDelta> partitionDeltas = new ArrayList<>(partition.size());
+                        for (Integer index : partition) {
+                            partitionDeltas.add(deltas.get(index));
+                        }
+                        worker.correlate(partitionDeltas);
+
+                        for (Integer index : partition) {
+                            if (!worker.handle(deltas.get(index))) {
+                                return;
+                            }
+                            handled[index] = true;
+                        }
+                    }
+                }));
+            }
+        }
+
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                LOG.error("While handling deltas", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+
+                // the latest sync token is left as reported for the previous buffer
+                for (Future<?> toCancel : futures) {
+                    toCancel.cancel(true);
+                }
+                return false;
+            }
+        }
+
+        int completed = 0;
+        while (completed < handled.length && handled[completed]) {
+            completed++;
+        }
+        if (completed > 0) {
+            latestSyncToken = deltas.get(completed - 1).getToken();
+        }
+        if (pullExecutor != null) {
+            pullExecutor.setLatestSyncToken(deltas.get(0).getObjectClass(), latestSyncToken);
+        }
+
+        return completed == handled.length;
+    }
+}
@@ -19,9 +19,9 @@
 package org.apache.syncope.core.provisioning.java.pushpull;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.syncope.common.lib.patch.AnyPatch;
 import org.apache.syncope.common.lib.patch.AttrPatch;
 import org.apache.syncope.common.lib.patch.GroupPatch;
@@ -40,7 +40,7 @@ import org.apache.syncope.core.provisioning.api.pushpull.GroupPullResultHandler;
 
 public class GroupPullResultHandlerImpl extends AbstractPullResultHandler implements GroupPullResultHandler {
 
-    protected final Map<String, String> groupOwnerMap = new HashMap<>();
+    protected final Map<String, String> groupOwnerMap = new ConcurrentHashMap<>();
 
     @Override
     public Map<String, String> getGroupOwnerMap() {
@@ -19,12 +19,15 @@
 package org.apache.syncope.core.provisioning.java.pushpull;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.apache.commons.collections4.IteratorUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.common.lib.policy.PullPolicySpec;
@@ -44,6 +47,7 @@ import org.apache.syncope.core.provisioning.api.pushpull.ProvisioningProfile;
 import org.quartz.JobExecutionException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
 import org.apache.syncope.core.provisioning.api.pushpull.ReconciliationFilterBuilder;
 import org.apache.syncope.core.persistence.api.entity.task.PullTask;
 import org.apache.syncope.core.provisioning.api.pushpull.AnyObjectPullResultHandler;
@@ -59,6 +63,11 @@ import org.identityconnectors.framework.common.objects.SyncToken;
 
 public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> implements SyncopePullExecutor {
 
+    /**
+     * Number of deltas for which matching entities are looked up together.
+     */
+    protected static final int CORRELATION_BUFFER_SIZE = 100;
+
     @Autowired
     private UserDAO userDAO;
 
@@ -71,15 +80,21 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
     @Autowired
     private PullUtils pullUtils;
 
-    private final Map<ObjectClass, SyncToken> latestSyncTokens = new HashMap<>();
+    private final Map<ObjectClass, SyncToken> latestSyncTokens =
+            Collections.synchronizedMap(new HashMap<ObjectClass, SyncToken>());
 
     @Override
     public void setLatestSyncToken(final ObjectClass objectClass, final SyncToken latestSyncToken) {
         latestSyncTokens.put(objectClass, latestSyncToken);
     }
 
-    private void setGroupOwners(final GroupPullResultHandler ghandler) {
-        for (Map.Entry<String, String> entry : ghandler.getGroupOwnerMap().entrySet()) {
+    private void setGroupOwners(final GroupPullResultHandler ghandler, final List<GroupPullResultHandler> workers) {
+        Map<String, String> groupOwners = new HashMap<>(ghandler.getGroupOwnerMap());
+        for (GroupPullResultHandler worker : workers) {
+            groupOwners.putAll(worker.getGroupOwnerMap());
+        }
+
+        for (Map.Entry<String, String> entry : groupOwners.entrySet()) {
             Group group = groupDAO.find(entry.getKey());
             if (group == null) {
                 throw new NotFoundException("Group " + entry.getKey());
@@ -217,21 +232,91 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
         ghandler.setProfile(profile);
         ghandler.setPullExecutor(this);
 
+        int concurrency = getConcurrency(pullTask);
+        ExecutorService executor = null;
+        if (concurrency > 1) {
+            LOG.debug("Pulling from {} with {} concurrent workers", pullTask.getResource(), concurrency);
+
+            // propagates the current security context - hence the domain - to workers
+            executor = new DelegatingSecurityContextExecutorService(Executors.newFixedThreadPool(concurrency));
+        }
+
+        List<GroupPullResultHandler> groupWorkers = new ArrayList<>();
+        try {
+            pullProvisions(pullTask, profile, connector, dryRun, executor, concurrency,
+                    ahandler, uhandler, ghandler, groupWorkers);
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+
+        try {
+            setGroupOwners(ghandler, groupWorkers);
+        } catch (Exception e) {
+            LOG.error("While setting group owners", e);
+        }
+
+        if (!profile.isDryRun()) {
+            for (PullActions action : actions) {
+                action.afterAll(profile);
+            }
+        }
+
+        String result = createReport(profile.getResults(), pullTask.getResource(), dryRun);
+        LOG.debug("Pull result: {}", result);
+        return result;
+    }
+
+    private SyncopePullResultHandler buildHandler(
+            final Class<? extends SyncopePullResultHandler> handlerClass,
+            final ProvisioningProfile<PullTask, PullActions> profile) {
+
+        SyncopePullResultHandler handler = (SyncopePullResultHandler) ApplicationContextProvider.getBeanFactory().
+                createBean(handlerClass, AbstractBeanDefinition.AUTOWIRE_BY_NAME, false);
+        handler.setProfile(profile);
+        handler.setPullExecutor(this);
+        return handler;
+    }
+
+    private void pullProvisions(
+            final PullTask pullTask,
+            final ProvisioningProfile<PullTask, PullActions> profile,
+            final Connector connector,
+            final boolean dryRun,
+            final ExecutorService executor,
+            final int concurrency,
+            final AnyObjectPullResultHandler ahandler,
+            final UserPullResultHandler uhandler,
+            final GroupPullResultHandler ghandler,
+            final List<GroupPullResultHandler> groupWorkers)
+            throws JobExecutionException {
+
+        ProvisioningProfile<PullTask, PullActions> workerProfile = null;
+        if (executor != null) {
+            workerProfile = profile.withTask(pullTask);
+            workerProfile.setConcurrent(true);
+        }
+
         for (Provision provision : pullTask.getResource().getProvisions()) {
             if (provision.getMapping() != null) {
                 SyncopePullResultHandler handler;
+                Class<? extends SyncopePullResultHandler> handlerClass;
                 switch (provision.getAnyType().getKind()) {
                     case USER:
                         handler = uhandler;
+                        handlerClass = UserPullResultHandlerImpl.class;
                         break;
 
                     case GROUP:
                         handler = ghandler;
+                        handlerClass = GroupPullResultHandlerImpl.class;
                         break;
 
                     case ANY_OBJECT:
                     default:
                         handler = ahandler;
+                        handlerClass = AnyObjectPullResultHandlerImpl.class;
                 }
 
                 try {
@@ -244,6 +329,22 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
                             linkinMappingItems.iterator());
                     OperationOptions options = MappingUtils.buildOperationOptions(mapItems);
 
+                    BufferedPullResultHandler bhandler =
+                            new BufferedPullResultHandler(handler, CORRELATION_BUFFER_SIZE);
+                    if (executor != null) {
+                        // each worker owns its handler instance, which loads the entities it needs in its own
+                        // transaction
+                        List<SyncopePullResultHandler> workers = new ArrayList<>(concurrency);
+                        for (int i = 0; i < concurrency; i++) {
+                            SyncopePullResultHandler worker = buildHandler(handlerClass, workerProfile);
+                            if (worker instanceof GroupPullResultHandler) {
+                                groupWorkers.add((GroupPullResultHandler) worker);
+                            }
+                            workers.add(worker);
+                        }
+                        bhandler.setExecutor(executor, workers, this, provision.getSyncToken());
+                    }
+
                     switch (pullTask.getPullMode()) {
                         case INCREMENTAL:
                             if (!dryRun) {
@@ -253,8 +354,9 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
                             connector.sync(
                                     provision.getObjectClass(),
                                     provision.getSyncToken(),
-                                    handler,
+                                    bhandler,
                                     options);
+                            bhandler.flush();
 
                             if (!dryRun) {
                                 provision.setSyncToken(latestSyncTokens.get(provision.getObjectClass()));
@@ -269,15 +371,17 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
                                             AbstractBeanDefinition.AUTOWIRE_BY_NAME, false);
                             connector.filteredReconciliation(provision.getObjectClass(),
                                     filterBuilder,
-                                    handler,
+                                    bhandler,
                                     options);
+                            bhandler.flush();
                             break;
 
                         case FULL_RECONCILIATION:
                         default:
                             connector.fullReconciliation(provision.getObjectClass(),
-                                    handler,
+                                    bhandler,
                                     options);
+                            bhandler.flush();
                             break;
                     }
                 } catch (Throwable t) {
@@ -285,21 +389,6 @@ public class PullJobDelegate extends AbstractProvisioningJobDelegate<PullTask> i
                 }
             }
         }
-        try {
-            setGroupOwners(ghandler);
-        } catch (Exception e) {
-            LOG.error("While setting group owners", e);
-        }
-
-        if (!profile.isDryRun()) {
-            for (PullActions action : actions) {
-                action.afterAll(profile);
-            }
-        }
-
-        String result = createReport(profile.getResults(), pullTask.getResource(), dryRun);
-        LOG.debug("Pull result: {}", result);
-        return result;
     }
 
     private PullPolicySpec getPullPolicySpec(final ProvisioningTask task) {
@@ -19,8 +19,11 @@
 package org.apache.syncope.core.provisioning.java.pushpull;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.common.lib.policy.PullPolicySpec;
@@ -168,13 +171,7 @@ public class PullUtils {
                         : groupDAO;
     }
 
-    private List<String> findByConnObjectKeyItem(
-            final String uid, final Provision provision, final AnyUtils anyUtils) {
-
-        List<String> result = new ArrayList<>();
-
-        MappingItem connObjectKeyItem = MappingUtils.getConnObjectKeyItem(provision);
-
+    private String transformUid(final String uid, final MappingItem connObjectKeyItem) {
         String transfUid = uid;
         for (MappingItemTransformer transformer : MappingUtils.getMappingItemTransformers(connObjectKeyItem)) {
             List<Object> output = transformer.beforePull(
@@ -185,6 +182,17 @@ public class PullUtils {
                 transfUid = output.get(0).toString();
             }
         }
+        return transfUid;
+    }
+
+    private List<String> findByConnObjectKeyItem(
+            final String uid, final Provision provision, final AnyUtils anyUtils) {
+
+        List<String> result = new ArrayList<>();
+
+        MappingItem connObjectKeyItem = MappingUtils.getConnObjectKeyItem(provision);
+
+        String transfUid = transformUid(uid, connObjectKeyItem);
 
         IntAttrName intAttrName = intAttrNameParser.parse(
                 connObjectKeyItem.getIntAttrName(),
@@ -323,6 +331,99 @@ public class PullUtils {
         }
     }
 
+    /**
+     * Find any objects based on mapped uid values, by issuing a single query for each chunk of values.
+     * This is only possible when no correlation rule is defined and connObjectKey is mapped to key, username or name:
+     * null is returned otherwise, and matches need to be found via
+     * {@link #findExisting(java.lang.String, org.identityconnectors.framework.common.objects.ConnectorObject,
+     * org.apache.syncope.core.persistence.api.entity.resource.Provision,
+     * org.apache.syncope.core.persistence.api.entity.AnyUtils)} for each uid value.
+     *
+     * @param uids for finding by connObjectKey
+     * @param provision external resource
+     * @param anyUtils any util
+     * @return map of each given uid value to list of matching users / groups / any objects, or null
+     */
+    public Map<String, List<String>> findExisting(
+            final Collection<String> uids,
+            final Provision provision,
+            final AnyUtils anyUtils) {
+
+        if (provision.getResource().getPullPolicy() != null
+                && getCorrelationRule(provision, provision.getResource().getPullPolicy().getSpecification()) != null) {
+
+            return null;
+        }
+
+        MappingItem connObjectKeyItem = MappingUtils.getConnObjectKeyItem(provision);
+        if (connObjectKeyItem == null) {
+            return null;
+        }
+
+        Map<String, List<String>> result = new HashMap<>(uids.size());
+        try {
+            IntAttrName intAttrName = intAttrNameParser.parse(
+                    connObjectKeyItem.getIntAttrName(),
+                    provision.getAnyType().getKind());
+            if (intAttrName.getField() == null) {
+                return null;
+            }
+
+            Map<String, String> transfUids = new HashMap<>(uids.size());
+            for (String uid : uids) {
+                transfUids.put(uid, transformUid(uid, connObjectKeyItem));
+            }
+
+            switch (intAttrName.getField()) {
+                case "key":
+                    Collection<String> keys = getAnyDAO(provision.getAnyType().getKind()).
+                            findKeys(transfUids.values());
+                    for (Map.Entry<String, String> entry : transfUids.entrySet()) {
+                        List<String> matches = new ArrayList<>();
+                        if (keys.contains(entry.getValue())) {
+                            matches.add(entry.getValue());
+                        }
+                        result.put(entry.getKey(), matches);
+                    }
+                    break;
+
+                case "username":
+                    Map<String, String> userKeys = userDAO.findKeysByUsername(transfUids.values());
+                    for (Map.Entry<String, String> entry : transfUids.entrySet()) {
+                        List<String> matches = new ArrayList<>();
+                        if (userKeys.containsKey(entry.getValue())) {
+                            matches.add(userKeys.get(entry.getValue()));
+                        }
+                        result.put(entry.getKey(), matches);
+                    }
+                    break;
+
+                case "name":
+                    Map<String, String> groupKeys = groupDAO.findKeysByName(transfUids.values());
+                    Map<String, String> anyObjectKeys = anyObjectDAO.findKeysByName(transfUids.values());
+                    for (Map.Entry<String, String> entry : transfUids.entrySet()) {
+                        List<String> matches = new ArrayList<>();
+                        if (groupKeys.containsKey(entry.getValue())) {
+                            matches.add(groupKeys.get(entry.getValue()));
+                        }
+                        if (anyObjectKeys.containsKey(entry.getValue())) {
+                            matches.add(anyObjectKeys.get(entry.getValue()));
+                        }
+                        result.put(entry.getKey(), matches);
+                    }
+                    break;
+
+                default:
+                    return null;
+            }
+        } catch (RuntimeException e) {
+            LOG.error("While finding matches for {}", uids, e);
+            return null;
+        }
+
+        return result;
+    }
+
     public Boolean readEnabled(final ConnectorObject connectorObject, final ProvisioningTask task) {
         Boolean enabled = null;
         if (task.isSyncStatus()) {
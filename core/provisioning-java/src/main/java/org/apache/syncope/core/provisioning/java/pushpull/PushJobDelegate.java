@@ -19,10 +19,14 @@
 package org.apache.syncope.core.provisioning.java.pushpull;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.syncope.common.lib.SyncopeConstants;
 import org.apache.syncope.common.lib.types.AnyTypeKind;
 import org.apache.syncope.core.persistence.api.search.SearchCondConverter;
 import org.apache.syncope.core.spring.ApplicationContextProvider;
@@ -32,22 +36,19 @@ import org.apache.syncope.core.persistence.api.dao.AnySearchDAO;
 import org.apache.syncope.core.persistence.api.dao.GroupDAO;
 import org.apache.syncope.core.persistence.api.dao.RealmDAO;
 import org.apache.syncope.core.persistence.api.dao.UserDAO;
-import org.apache.syncope.core.persistence.api.dao.search.OrderByClause;
-import org.apache.syncope.core.persistence.api.entity.Any;
+import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.Realm;
 import org.apache.syncope.core.persistence.api.entity.resource.ExternalResource;
 import org.apache.syncope.core.persistence.api.entity.resource.Provision;
 import org.apache.syncope.core.persistence.api.entity.task.PushTask;
 import org.apache.syncope.core.provisioning.api.Connector;
-import org.apache.syncope.core.provisioning.api.pushpull.AnyObjectPushResultHandler;
-import org.apache.syncope.core.provisioning.api.pushpull.GroupPushResultHandler;
 import org.apache.syncope.core.provisioning.api.pushpull.ProvisioningProfile;
 import org.apache.syncope.core.provisioning.api.pushpull.PushActions;
 import org.apache.syncope.core.provisioning.api.pushpull.SyncopePushResultHandler;
-import org.apache.syncope.core.provisioning.api.pushpull.UserPushResultHandler;
 import org.quartz.JobExecutionException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
 
 public class PushJobDelegate extends AbstractProvisioningJobDelegate<PushTask> {
 
@@ -97,21 +98,82 @@ public class PushJobDelegate extends AbstractProvisioningJobDelegate<PushTask> {
     }
 
     private void doHandle(
-            final List<? extends Any<?>> anys,
+            final List<String> anyKeys,
             final SyncopePushResultHandler handler,
             final ExternalResource resource)
             throws JobExecutionException {
 
-        for (Any<?> any : anys) {
+        for (String anyKey : anyKeys) {
             try {
-                handler.handle(any.getKey());
+                handler.handle(anyKey);
             } catch (Exception e) {
-                LOG.warn("Failure pushing '{}' on '{}'", any, resource, e);
-                throw new JobExecutionException("While pushing " + any + " on " + resource, e);
+                LOG.warn("Failure pushing '{}' on '{}'", anyKey, resource, e);
+                throw new JobExecutionException("While pushing " + anyKey + " on " + resource, e);
             }
         }
     }
 
+    private void doHandle(
+            final List<String> anyKeys,
+            final SyncopePushResultHandler handler,
+            final List<SyncopePushResultHandler> workers,
+            final ExternalResource resource,
+            final ExecutorService executor)
+            throws JobExecutionException {
+
+        if (executor == null || anyKeys.size() <= 1) {
+            doHandle(anyKeys, handler, resource);
+            return;
+        }
+
+        // each worker owns its handler instance, which loads the entities it needs in its own transaction
+        List<Future<Void>> futures = new ArrayList<>(workers.size());
+        List<List<String>> partitions =
+                ListUtils.partition(anyKeys, (anyKeys.size() + workers.size() - 1) / workers.size());
+        for (int i = 0; i < partitions.size(); i++) {
+            final List<String> partition = partitions.get(i);
+            final SyncopePushResultHandler worker = workers.get(i);
+
+            futures.add(executor.submit(new Callable<Void>() {
+
+                @Override
+                public Void call() throws JobExecutionException {
+                    doHandle(partition, worker, resource);
+                    return null;
+                }
+            }));
+        }
+
+        JobExecutionException failure = null;
+        for (Future<Void> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof JobExecutionException
+                            ? (JobExecutionException) e.getCause()
+                            : new JobExecutionException("While pushing on " + resource, e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new JobExecutionException("Interrupted while pushing on " + resource, e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private SyncopePushResultHandler buildHandler(
+            final Class<? extends SyncopePushResultHandler> handlerClass,
+            final ProvisioningProfile<PushTask, PushActions> profile) {
+
+        SyncopePushResultHandler handler = (SyncopePushResultHandler) ApplicationContextProvider.getBeanFactory().
+                createBean(handlerClass, AbstractBeanDefinition.AUTOWIRE_BY_NAME, false);
+        handler.setProfile(profile);
+        return handler;
+    }
+
     @Override
     protected String doExecuteProvisioning(
             final PushTask pushTask,
@@ -164,68 +226,93 @@ public class PushJobDelegate extends AbstractProvisioningJobDelegate<PushTask> {
         }
 
         // ...then provisions for any types
-        AnyObjectPushResultHandler ahandler = (AnyObjectPushResultHandler) ApplicationContextProvider.getBeanFactory().
-                createBean(AnyObjectPushResultHandlerImpl.class, AbstractBeanDefinition.AUTOWIRE_BY_NAME, false);
-        ahandler.setProfile(profile);
+        int concurrency = getConcurrency(pushTask);
+        ExecutorService executor = null;
+        if (concurrency > 1) {
+            LOG.debug("Pushing on {} with {} concurrent workers", pushTask.getResource(), concurrency);
 
-        UserPushResultHandler uhandler =
-                (UserPushResultHandler) ApplicationContextProvider.getBeanFactory().
-                        createBean(UserPushResultHandlerImpl.class, AbstractBeanDefinition.AUTOWIRE_BY_NAME, false);
-        uhandler.setProfile(profile);
+            // propagates the current security context - hence the domain - to workers
+            executor = new DelegatingSecurityContextExecutorService(Executors.newFixedThreadPool(concurrency));
+        }
 
-        GroupPushResultHandler ghandler =
-                (GroupPushResultHandler) ApplicationContextProvider.getBeanFactory().
-                        createBean(GroupPushResultHandlerImpl.class, AbstractBeanDefinition.AUTOWIRE_BY_NAME, false);
-        ghandler.setProfile(profile);
+        try {
+            pushProvisions(pushTask, profile, executor, concurrency);
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+
+        if (!profile.isDryRun()) {
+            for (PushActions action : actions) {
+                action.afterAll(profile);
+            }
+        }
+
+        String result = createReport(profile.getResults(), pushTask.getResource(), dryRun);
+        LOG.debug("Push result: {}", result);
+        return result;
+    }
+
+    private void pushProvisions(
+            final PushTask pushTask,
+            final ProvisioningProfile<PushTask, PushActions> profile,
+            final ExecutorService executor,
+            final int concurrency)
+            throws JobExecutionException {
+
+        ProvisioningProfile<PushTask, PushActions> workerProfile = null;
+        if (executor != null) {
+            workerProfile = profile.withTask(pushTask);
+            workerProfile.setConcurrent(true);
+        }
 
         for (Provision provision : pushTask.getResource().getProvisions()) {
             if (provision.getMapping() != null) {
                 AnyDAO<?> anyDAO = getAnyDAO(provision.getAnyType().getKind());
 
-                SyncopePushResultHandler handler;
+                Class<? extends SyncopePushResultHandler> handlerClass;
                 switch (provision.getAnyType().getKind()) {
                     case USER:
-                        handler = uhandler;
+                        handlerClass = UserPushResultHandlerImpl.class;
                         break;
 
                     case GROUP:
-                        handler = ghandler;
+                        handlerClass = GroupPushResultHandlerImpl.class;
                         break;
 
                     case ANY_OBJECT:
                     default:
-                        handler = ahandler;
+                        handlerClass = AnyObjectPushResultHandlerImpl.class;
+                }
+                SyncopePushResultHandler handler = buildHandler(handlerClass, profile);
+                List<SyncopePushResultHandler> workers = new ArrayList<>(concurrency);
+                if (executor != null) {
+                    for (int i = 0; i < concurrency; i++) {
+                        workers.add(buildHandler(handlerClass, workerProfile));
+                    }
                 }
 
                 String filter = pushTask.getFilter(provision.getAnyType()) == null
                         ? null
                         : pushTask.getFilter(provision.getAnyType()).getFIQLCond();
-                if (StringUtils.isBlank(filter)) {
-                    doHandle(anyDAO.findAll(), handler, pushTask.getResource());
-                } else {
-                    int count = anyDAO.count(SyncopeConstants.FULL_ADMIN_REALMS);
-                    for (int page = 1; page <= (count / PAGE_SIZE) + 1; page++) {
-                        List<? extends Any<?>> anys = searchDAO.search(
-                                SyncopeConstants.FULL_ADMIN_REALMS,
-                                SearchCondConverter.convert(filter),
-                                page,
-                                PAGE_SIZE,
-                                Collections.<OrderByClause>emptyList(),
-                                provision.getAnyType().getKind());
-                        doHandle(anys, handler, pushTask.getResource());
+                SearchCond cond = StringUtils.isBlank(filter) ? null : SearchCondConverter.convert(filter);
+
+                // walk through keys only, by keyset pagination: no entity is loaded here, each handler invocation
+                // runs in its own transaction; stop only on empty page, as a page can be shorter than requested
+                // before the actual end of data
+                String lastKey = null;
+                List<String> anyKeys;
+                do {
+                    anyKeys = cond == null
+                            ? anyDAO.findAllKeys(lastKey, PAGE_SIZE)
+                            : searchDAO.searchKeys(cond, lastKey, PAGE_SIZE, provision.getAnyType().getKind());
+                    if (!anyKeys.isEmpty()) {
+                        doHandle(anyKeys, handler, workers, pushTask.getResource(), executor);
+                        lastKey = anyKeys.get(anyKeys.size() - 1);
                     }
-                }
+                } while (!anyKeys.isEmpty());
             }
         }
-
-        if (!profile.isDryRun()) {
-            for (PushActions action : actions) {
-                action.afterAll(profile);
-            }
-        }
-
-        String result = createReport(profile.getResults(), pushTask.getResource(), dryRun);
-        LOG.debug("Push result: {}", result);
-        return result;
     }
 }
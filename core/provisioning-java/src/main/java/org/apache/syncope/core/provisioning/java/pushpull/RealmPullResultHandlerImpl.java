@@ -25,7 +25,6 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.IterableUtils;
 import org.apache.commons.collections4.Predicate;
 import org.apache.commons.jexl3.JexlContext;
-import org.apache.commons.jexl3.MapContext;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.syncope.common.lib.SyncopeClientException;
 import org.apache.syncope.common.lib.to.RealmTO;
@@ -78,6 +77,11 @@ public class RealmPullResultHandlerImpl
         this.executor = executor;
     }
 
+    @Override
+    public void correlate(final List<SyncDelta> deltas) {
+        // nothing to do: realms are matched by name or full path
+    }
+
     @Override
     public boolean handle(final SyncDelta delta) {
         try {
@@ -576,8 +580,7 @@ public class RealmPullResultHandlerImpl
 
             @Override
             public boolean evaluate(final Realm realm) {
-                JexlContext jexlContext = new MapContext();
-                JexlUtils.addFieldsToContext(realm, jexlContext);
+                JexlContext jexlContext = JexlUtils.newFieldsContext(realm);
                 String evalConnObjectLink = JexlUtils.evaluate(orgUnit.getConnObjectLink(), jexlContext);
 
                 return delta.getObject().getName().getNameValue().equals(evalConnObjectLink);
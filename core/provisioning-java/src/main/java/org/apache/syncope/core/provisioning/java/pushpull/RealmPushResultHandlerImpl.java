@@ -132,8 +132,8 @@ public class RealmPushResultHandlerImpl
     }
 
     private void doHandle(final Realm realm) throws JobExecutionException {
+        // results are counted by status and operation when added: add only once fully populated
         ProvisioningReport result = new ProvisioningReport();
-        profile.getResults().add(result);
 
         result.setKey(realm.getKey());
         result.setAnyType(REALM_TYPE);
@@ -158,6 +158,7 @@ public class RealmPushResultHandlerImpl
                 result.setOperation(getResourceOperation(profile.getTask().getMatchingRule()));
             }
             result.setStatus(ProvisioningReport.Status.SUCCESS);
+            profile.getResults().add(result);
         } else {
             try {
                 if (beforeObj == null) {
@@ -297,6 +298,8 @@ public class RealmPushResultHandlerImpl
                         realm.getName(),
                         profile.getConnector(),
                         profile.getTask().getResource().getOrgUnit());
+
+                profile.getResults().add(result);
             } catch (IgnoreProvisionException e) {
                 throw e;
             } catch (Exception e) {
@@ -310,6 +313,7 @@ public class RealmPushResultHandlerImpl
                 for (PushActions action : profile.getActions()) {
                     action.onError(profile, realm, result, e);
                 }
+                profile.getResults().add(result);
 
                 throw new JobExecutionException(e);
             } finally {
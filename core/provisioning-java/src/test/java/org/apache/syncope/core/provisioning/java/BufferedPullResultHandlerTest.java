@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.apache.syncope.core.persistence.api.entity.task.PullTask;
+import org.apache.syncope.core.provisioning.api.pushpull.ProvisioningProfile;
+import org.apache.syncope.core.provisioning.api.pushpull.PullActions;
+import org.apache.syncope.core.provisioning.api.pushpull.SyncopePullExecutor;
+import org.apache.syncope.core.provisioning.api.pushpull.SyncopePullResultHandler;
+import org.apache.syncope.core.provisioning.java.pushpull.BufferedPullResultHandler;
+import org.identityconnectors.framework.common.objects.ConnectorObjectBuilder;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.identityconnectors.framework.common.objects.SyncDelta;
+import org.identityconnectors.framework.common.objects.SyncDeltaBuilder;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
+import org.identityconnectors.framework.common.objects.SyncToken;
+import org.identityconnectors.framework.common.objects.Uid;
+import org.junit.Test;
+
+public class BufferedPullResultHandlerTest {
+
+    private static class RecordingHandler implements SyncopePullResultHandler {
+
+        private final List<SyncDelta> handled = Collections.synchronizedList(new ArrayList<SyncDelta>());
+
+        private final List<List<SyncDelta>> correlated = Collections.synchronizedList(new ArrayList<List<SyncDelta>>());
+
+        private final String failingUid;
+
+        private SyncopePullExecutor executor;
+
+        RecordingHandler(final String failingUid) {
+            this.failingUid = failingUid;
+        }
+
+        @Override
+        public void setPullExecutor(final SyncopePullExecutor executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public void correlate(final List<SyncDelta> deltas) {
+            correlated.add(deltas);
+        }
+
+        @Override
+        public boolean handle(final SyncDelta delta) {
+            if (delta.getUid().getUidValue().equals(failingUid)) {
+                return false;
+            }
+            handled.add(delta);
+            if (executor != null) {
+                executor.setLatestSyncToken(delta.getObjectClass(), delta.getToken());
+            }
+            return true;
+        }
+
+        @Override
+        public ProvisioningProfile<PullTask, PullActions> getProfile() {
+            return null;
+        }
+
+        @Override
+        public void setProfile(final ProvisioningProfile<PullTask, PullActions> profile) {
+        }
+    }
+
+    private static class TokenRecorder implements SyncopePullExecutor {
+
+        private SyncToken latestSyncToken;
+
+        @Override
+        public void setLatestSyncToken(final ObjectClass objectClass, final SyncToken latestSyncToken) {
+            this.latestSyncToken = latestSyncToken;
+        }
+    }
+
+    private SyncDelta delta(final int token, final String uid, final String previousUid) {
+        return new SyncDeltaBuilder().
+                setDeltaType(SyncDeltaType.CREATE_OR_UPDATE).
+                setToken(new SyncToken(token)).
+                setUid(new Uid(uid)).
+                setPreviousUid(previousUid == null ? null : new Uid(previousUid)).
+                setObject(new ConnectorObjectBuilder().
+                        setObjectClass(ObjectClass.ACCOUNT).setUid(uid).setName(uid).build()).
+                build();
+    }
+
+    private SyncDelta delta(final int token, final String uid) {
+        return delta(token, uid, null);
+    }
+
+    @Test
+    public void sequential() {
+        RecordingHandler handler = new RecordingHandler(null);
+        BufferedPullResultHandler bhandler = new BufferedPullResultHandler(handler, 3);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(bhandler.handle(delta(i, "uid" + i)));
+        }
+        assertEquals(3, handler.handled.size());
+        assertTrue(bhandler.flush());
+
+        assertEquals(5, handler.handled.size());
+        assertEquals(2, handler.correlated.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, handler.handled.get(i).getToken().getValue());
+        }
+    }
+
+    @Test
+    public void sharedUidsNotBuffered() {
+        RecordingHandler handler = new RecordingHandler(null);
+        BufferedPullResultHandler bhandler = new BufferedPullResultHandler(handler, 10);
+
+        assertTrue(bhandler.handle(delta(0, "a")));
+        assertTrue(bhandler.handle(delta(1, "b")));
+        // renames a: buffered deltas are handled first
+        assertTrue(bhandler.handle(delta(2, "c", "a")));
+        assertEquals(1, handler.correlated.size());
+        assertEquals(2, handler.correlated.get(0).size());
+        // same uid as the renamed one: buffered deltas are handled first
+        assertTrue(bhandler.handle(delta(3, "c")));
+        assertEquals(2, handler.correlated.size());
+        assertEquals(1, handler.correlated.get(1).size());
+        assertTrue(bhandler.handle(delta(4, "d")));
+        assertTrue(bhandler.flush());
+
+        assertEquals(3, handler.correlated.size());
+        assertEquals(2, handler.correlated.get(2).size());
+        assertEquals(5, handler.handled.size());
+    }
+
+    @Test
+    public void concurrent() {
+        RecordingHandler handler = new RecordingHandler("uid3");
+        List<SyncopePullResultHandler> workers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            workers.add(handler);
+        }
+        TokenRecorder recorder = new TokenRecorder();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            BufferedPullResultHandler bhandler = new BufferedPullResultHandler(handler, 10);
+            bhandler.setExecutor(executor, workers, recorder, new SyncToken(-1));
+
+            for (int i = 0; i < 9; i++) {
+                assertTrue(bhandler.handle(delta(i, "uid" + i)));
+            }
+            assertFalse(bhandler.flush());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (SyncDelta delta : handler.handled) {
+            assertFalse("uid3".equals(delta.getUid().getUidValue()));
+        }
+
+        // sync token is set to the last delta before the first failure, even if later deltas were handled
+        assertEquals(2, recorder.latestSyncToken.getValue());
+    }
+}
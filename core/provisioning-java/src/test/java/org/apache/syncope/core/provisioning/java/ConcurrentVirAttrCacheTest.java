@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import org.apache.syncope.core.provisioning.api.cache.VirAttrCacheValue;
+import org.apache.syncope.core.provisioning.java.cache.ConcurrentVirAttrCache;
+import org.junit.Test;
+
+public class ConcurrentVirAttrCacheTest {
+
+    @Test
+    public void getAndExpire() {
+        ConcurrentVirAttrCache cache = new ConcurrentVirAttrCache(60, 10);
+        cache.put("USER", "key1", "virtualdata", new VirAttrCacheValue());
+
+        assertNotNull(cache.get("USER", "key1", "virtualdata"));
+        assertNull(cache.get("USER", "key2", "virtualdata"));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(0.5, cache.getHitRatio(), 0);
+        assertEquals(1L, cache.getMetrics().get("virAttrCache.hits").longValue());
+        assertEquals(1L, cache.getMetrics().get("virAttrCache.misses").longValue());
+
+        cache.expire("USER", "key1", "virtualdata");
+        assertNull(cache.get("USER", "key1", "virtualdata"));
+    }
+
+    @Test
+    public void ttl() {
+        ConcurrentVirAttrCache cache = new ConcurrentVirAttrCache(0, 10);
+        cache.put("USER", "key1", "virtualdata", new VirAttrCacheValue());
+
+        assertNull(cache.get("USER", "key1", "virtualdata"));
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void evict() {
+        ConcurrentVirAttrCache cache = new ConcurrentVirAttrCache(60, 3);
+        cache.put("USER", "key1", "virtualdata", new VirAttrCacheValue());
+        cache.put("USER", "key2", "virtualdata", new VirAttrCacheValue());
+        cache.put("USER", "key3", "virtualdata", new VirAttrCacheValue());
+
+        // key1 is referenced, hence key2 is evicted first
+        assertNotNull(cache.get("USER", "key1", "virtualdata"));
+        cache.put("USER", "key4", "virtualdata", new VirAttrCacheValue());
+
+        assertEquals(3, cache.getSize());
+        assertEquals(1, cache.getEvictions());
+        assertNotNull(cache.get("USER", "key1", "virtualdata"));
+        assertNull(cache.get("USER", "key2", "virtualdata"));
+        assertNotNull(cache.get("USER", "key3", "virtualdata"));
+        assertNotNull(cache.get("USER", "key4", "virtualdata"));
+    }
+}
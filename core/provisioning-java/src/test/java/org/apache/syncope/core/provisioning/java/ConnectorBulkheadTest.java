@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.syncope.core.provisioning.api.ConnectorUnavailableException;
+import org.apache.syncope.core.provisioning.api.TimeoutException;
+import org.identityconnectors.framework.common.exceptions.ConnectionFailedException;
+import org.identityconnectors.framework.common.exceptions.UnknownUidException;
+import org.junit.Test;
+
+public class ConnectorBulkheadTest {
+
+    private static final Callable<String> OK = new Callable<String>() {
+
+        @Override
+        public String call() {
+            return "OK";
+        }
+    };
+
+    private static final Callable<String> DOWN = new Callable<String>() {
+
+        @Override
+        public String call() {
+            throw new ConnectionFailedException("down");
+        }
+    };
+
+    private static final Callable<String> NOT_FOUND = new Callable<String>() {
+
+        @Override
+        public String call() {
+            throw new UnknownUidException("not found");
+        }
+    };
+
+    @Test
+    public void circuitBreaker() throws InterruptedException {
+        ConnectorBulkhead bulkhead = new ConnectorBulkhead("test", 2, 10, 2, 1);
+        try {
+            assertEquals("OK", bulkhead.execute(OK, 5));
+
+            // application errors do not count as failures
+            for (int i = 0; i < 3; i++) {
+                try {
+                    bulkhead.execute(NOT_FOUND, 5);
+                    fail();
+                } catch (UnknownUidException e) {
+                    assertEquals(ConnectorBulkhead.State.CLOSED, bulkhead.getState());
+                }
+            }
+
+            for (int i = 0; i < 2; i++) {
+                try {
+                    bulkhead.execute(DOWN, 5);
+                    fail();
+                } catch (ConnectionFailedException e) {
+                    // expected
+                }
+            }
+            assertEquals(ConnectorBulkhead.State.OPEN, bulkhead.getState());
+
+            try {
+                bulkhead.execute(OK, 5);
+                fail();
+            } catch (ConnectorUnavailableException e) {
+                assertEquals(1, bulkhead.getShortCircuited());
+            }
+
+            // after open interval, a successful trial request closes the circuit
+            Thread.sleep(1100);
+            assertEquals("OK", bulkhead.execute(OK, 5));
+            assertEquals(ConnectorBulkhead.State.CLOSED, bulkhead.getState());
+
+            long total = 0;
+            for (long count : bulkhead.getLatencyHistogram()) {
+                total += count;
+            }
+            assertEquals(7, total);
+        } finally {
+            bulkhead.shutdown();
+        }
+    }
+
+    @Test
+    public void bulkhead() throws InterruptedException {
+        final ConnectorBulkhead bulkhead = new ConnectorBulkhead("test", 1, 0, 0, 1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService callers = Executors.newSingleThreadExecutor();
+        try {
+            callers.submit(new Runnable() {
+
+                @Override
+                public void run() {
+                    bulkhead.execute(new Callable<String>() {
+
+                        @Override
+                        public String call() throws InterruptedException {
+                            started.countDown();
+                            release.await();
+                            return "OK";
+                        }
+                    }, 5);
+                }
+            });
+            started.await();
+            assertEquals(1, bulkhead.getInFlight());
+
+            try {
+                bulkhead.execute(OK, 5);
+                fail();
+            } catch (ConnectorUnavailableException e) {
+                assertEquals(1, bulkhead.getRejected());
+            }
+        } finally {
+            release.countDown();
+            callers.shutdown();
+        }
+
+        // no failure threshold: timeouts never open the circuit
+        try {
+            bulkhead.execute(new Callable<String>() {
+
+                @Override
+                public String call() throws InterruptedException {
+                    Thread.sleep(5000);
+                    return "OK";
+                }
+            }, 1);
+            fail();
+        } catch (TimeoutException e) {
+            assertEquals(ConnectorBulkhead.State.CLOSED, bulkhead.getState());
+        } finally {
+            bulkhead.shutdown();
+        }
+    }
+
+    @Test
+    public void interruptedTrial() throws Exception {
+        final ConnectorBulkhead bulkhead = new ConnectorBulkhead("test", 2, 10, 1, 1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService callers = Executors.newSingleThreadExecutor();
+        try {
+            try {
+                bulkhead.execute(DOWN, 5);
+                fail();
+            } catch (ConnectionFailedException e) {
+                assertEquals(ConnectorBulkhead.State.OPEN, bulkhead.getState());
+            }
+
+            Thread.sleep(1100);
+            Future<?> trial = callers.submit(new Runnable() {
+
+                @Override
+                public void run() {
+                    bulkhead.execute(new Callable<String>() {
+
+                        @Override
+                        public String call() throws InterruptedException {
+                            started.countDown();
+                            release.await();
+                            return "OK";
+                        }
+                    }, 5);
+                }
+            });
+            started.await();
+            assertEquals(ConnectorBulkhead.State.HALF_OPEN, bulkhead.getState());
+
+            // interrupted trial request keeps the circuit open for another interval
+            trial.cancel(true);
+            callers.shutdown();
+            assertTrue(callers.awaitTermination(5, TimeUnit.SECONDS));
+            assertEquals(ConnectorBulkhead.State.OPEN, bulkhead.getState());
+            try {
+                bulkhead.execute(OK, 5);
+                fail();
+            } catch (ConnectorUnavailableException e) {
+                assertEquals(1, bulkhead.getShortCircuited());
+            }
+
+            Thread.sleep(1100);
+            assertEquals("OK", bulkhead.execute(OK, 5));
+            assertEquals(ConnectorBulkhead.State.CLOSED, bulkhead.getState());
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+            bulkhead.shutdown();
+        }
+    }
+}
@@ -19,8 +19,12 @@
 package org.apache.syncope.core.provisioning.java;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
+import org.apache.syncope.core.persistence.api.entity.ConnInstance;
 import org.apache.syncope.core.persistence.api.entity.resource.ExternalResource;
 import org.apache.syncope.core.provisioning.api.ConnIdBundleManager;
 import org.apache.syncope.core.provisioning.api.Connector;
@@ -47,6 +51,10 @@ public class ConnectorManagerTest extends AbstractTest {
         connManager = new ConnectorManager();
         ReflectionTestUtils.setField(connManager, "connIdBundleManager", connIdBundleManager);
         ReflectionTestUtils.setField(connManager, "resourceDAO", resourceDAO);
+        ReflectionTestUtils.setField(connManager, "bulkheadMaxConcurrent", 10);
+        ReflectionTestUtils.setField(connManager, "bulkheadQueueCapacity", 100);
+        ReflectionTestUtils.setField(connManager, "bulkheadFailureThreshold", 5);
+        ReflectionTestUtils.setField(connManager, "bulkheadOpenInterval", 30);
 
         // Remove any other connector instance bean set up by standard ConnectorManager.load()
         connManager.unload();
@@ -68,4 +76,28 @@ public class ConnectorManagerTest extends AbstractTest {
                 ApplicationContextProvider.getBeanFactory().
                 getBeanNamesForType(Connector.class, false, true).length);
     }
+
+    @Test
+    public void adHocConnectorsShareBulkhead() {
+        // only consider local connector bundles
+        ConnInstance connInstance = null;
+        for (ExternalResource resource : resourceDAO.findAll()) {
+            if (resource.getConnector().getLocation().startsWith("file")) {
+                connInstance = resource.getConnector();
+            }
+        }
+        assertNotNull(connInstance);
+
+        Connector first = connManager.createConnector(connInstance);
+        Connector second = connManager.createConnector(connInstance);
+        assertSame(
+                ((ConnectorFacadeProxy) first).getBulkhead(),
+                ((ConnectorFacadeProxy) second).getBulkhead());
+
+        assertSame(((ConnectorFacadeProxy) first).getBulkhead(), connManager.getBulkheads().get("adHoc"));
+        assertTrue(connManager.getMetrics().containsKey("connector.adHoc.inFlight"));
+
+        connManager.unload();
+        assertTrue(connManager.getBulkheads().isEmpty());
+    }
 }
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import org.apache.commons.jexl3.JexlContext;
+import org.apache.commons.jexl3.MapContext;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.provisioning.java.jexl.JexlUtils;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional("Master")
+public class JexlUtilsTest extends AbstractTest {
+
+    @Autowired
+    private UserDAO userDAO;
+
+    @Test
+    public void fieldsContext() {
+        User user = userDAO.findByUsername("rossini");
+        assertNotNull(user);
+
+        String expression = "username + ' in ' + realm + ' since ' + creationDate + ' [' + failedLogins + ']'";
+
+        JexlContext eager = JexlUtils.addFieldsToContext(user, new MapContext());
+        JexlContext lazy = JexlUtils.newFieldsContext(user);
+        assertEquals(JexlUtils.evaluate(expression, eager), JexlUtils.evaluate(expression, lazy));
+        assertEquals(user.getRealm().getName(), lazy.get("realm"));
+        assertEquals(eager.get("creationDate"), lazy.get("creationDate"));
+
+        // ignored fields are never exposed
+        assertFalse(eager.has("password"));
+        assertFalse(lazy.has("password"));
+        assertNull(lazy.get("password"));
+
+        // explicitly set variables take precedence over fields
+        lazy.set("username", "other");
+        assertEquals("other", JexlUtils.evaluate("username", lazy));
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import org.apache.syncope.common.lib.to.UserTO;
+import org.apache.syncope.common.lib.types.AuditElements;
+import org.apache.syncope.core.persistence.api.dao.MailTemplateDAO;
+import org.apache.syncope.core.persistence.api.dao.NotificationDAO;
+import org.apache.syncope.core.persistence.api.entity.Notification;
+import org.apache.syncope.core.persistence.api.entity.task.NotificationTask;
+import org.apache.syncope.core.provisioning.api.notification.NotificationManager;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional("Master")
+public class NotificationManagerTest extends AbstractTest {
+
+    @Autowired
+    private NotificationManager notificationManager;
+
+    @Autowired
+    private NotificationDAO notificationDAO;
+
+    @Autowired
+    private MailTemplateDAO mailTemplateDAO;
+
+    private List<NotificationTask> createTasks(final String event, final String userKey) {
+        UserTO userTO = new UserTO();
+        userTO.setKey(userKey);
+
+        return notificationManager.createTasks(
+                AuditElements.EventCategoryType.CUSTOM,
+                null,
+                null,
+                event,
+                AuditElements.Result.SUCCESS,
+                userTO,
+                null);
+    }
+
+    @Test
+    public void createTasks() {
+        // no notification listening
+        assertFalse(notificationManager.notificationsAvailable(
+                AuditElements.EventCategoryType.CUSTOM, null, null, "unlistened"));
+        assertTrue(notificationManager.notificationsAvailable(
+                AuditElements.EventCategoryType.CUSTOM, null, null, "unexisting1"));
+        assertTrue(createTasks("unlistened", "1417acbe-cbf6-4277-9372-e75e04f97000").isEmpty());
+
+        Notification notification = notificationDAO.find("9e2b911c-25de-4c77-bcea-b86ed9451050");
+        notification.getStaticRecipients().add("recipient@syncope.apache.org");
+        notification.setTemplate(mailTemplateDAO.find("confirmPasswordReset"));
+        notificationDAO.save(notification);
+        notificationManager.reloadNotifications();
+
+        // rossini matches about condition, verdi does not
+        List<NotificationTask> tasks = createTasks("unexisting2", "1417acbe-cbf6-4277-9372-e75e04f97000");
+        assertEquals(1, tasks.size());
+        assertEquals("9e2b911c-25de-4c77-bcea-b86ed9451050", tasks.get(0).getNotification().getKey());
+
+        assertTrue(createTasks("unexisting2", "74cd8ece-715a-44a4-a736-e17b46c4e7e6").isEmpty());
+
+        // deactivate notification: no task is created after reload
+        notification.setActive(false);
+        notificationDAO.save(notification);
+        notificationManager.reloadNotifications();
+
+        assertTrue(createTasks("unexisting2", "1417acbe-cbf6-4277-9372-e75e04f97000").isEmpty());
+    }
+}
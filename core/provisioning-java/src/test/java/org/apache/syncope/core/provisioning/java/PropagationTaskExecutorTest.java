@@ -0,0 +1,239 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.PropagationReadMode;
+import org.apache.syncope.common.lib.types.PropagationTaskExecStatus;
+import org.apache.syncope.common.lib.types.ResourceOperation;
+import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.entity.EntityFactory;
+import org.apache.syncope.core.persistence.api.entity.resource.ExternalResource;
+import org.apache.syncope.core.persistence.api.entity.task.PropagationTask;
+import org.apache.syncope.core.persistence.api.entity.task.TaskExec;
+import org.apache.syncope.core.provisioning.api.Connector;
+import org.apache.syncope.core.provisioning.api.ConnectorFactory;
+import org.apache.syncope.core.provisioning.api.propagation.PropagationReporter;
+import org.apache.syncope.core.provisioning.java.propagation.AbstractPropagationTaskExecutor;
+import org.apache.syncope.core.provisioning.java.propagation.PriorityPropagationTaskExecutor;
+import org.identityconnectors.framework.common.objects.AttributeBuilder;
+import org.identityconnectors.framework.common.objects.ConnectorObject;
+import org.identityconnectors.framework.common.objects.ConnectorObjectBuilder;
+import org.identityconnectors.framework.common.objects.Name;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.identityconnectors.framework.common.objects.Uid;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.ReflectionUtils;
+
+@Transactional("Master")
+public class PropagationTaskExecutorTest extends AbstractTest {
+
+    private static final String CONN_OBJECT_KEY = "propagationTaskExecutorTest";
+
+    @Autowired
+    private ApplicationContext ctx;
+
+    @Autowired
+    private EntityFactory entityFactory;
+
+    @Autowired
+    private ExternalResourceDAO resourceDAO;
+
+    @Autowired
+    private UserDAO userDAO;
+
+    private PriorityPropagationTaskExecutor executor;
+
+    /**
+     * Connector methods invoked during the last propagation.
+     */
+    private final List<String> invoked = new ArrayList<>();
+
+    /**
+     * Whether the remote object exists, as returned by {@link Connector#getObject}.
+     */
+    private boolean remoteObjectExists;
+
+    @Before
+    public void before() {
+        invoked.clear();
+        remoteObjectExists = false;
+
+        final Connector connector = (Connector) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[] { Connector.class }, new InvocationHandler() {
+
+            @Override
+            public Object invoke(final Object proxy, final Method method, final Object[] args) {
+                invoked.add(method.getName());
+
+                switch (method.getName()) {
+                    case "getObject":
+                        return remoteObjectExists
+                                ? new ConnectorObjectBuilder().
+                                setObjectClass(ObjectClass.ACCOUNT).
+                                setUid(CONN_OBJECT_KEY).
+                                setName(CONN_OBJECT_KEY).
+                                addAttribute(AttributeBuilder.build("SURNAME", "before")).
+                                build()
+                                : null;
+
+                    case "create":
+                    case "update":
+                        ((Boolean[]) args[args.length - 1])[0] = true;
+                        return new Uid(CONN_OBJECT_KEY);
+
+                    case "delete":
+                        ((Boolean[]) args[args.length - 1])[0] = true;
+                        return null;
+
+                    default:
+                        return null;
+                }
+            }
+        });
+        ConnectorFactory connFactory = (ConnectorFactory) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[] { ConnectorFactory.class }, new InvocationHandler() {
+
+            @Override
+            public Object invoke(final Object proxy, final Method method, final Object[] args) {
+                return "getConnector".equals(method.getName()) ? connector : null;
+            }
+        });
+
+        executor = new PriorityPropagationTaskExecutor();
+        ctx.getAutowireCapableBeanFactory().autowireBean(executor);
+        ReflectionTestUtils.setField(executor, "connFactory", connFactory);
+    }
+
+    private PropagationTask task(final PropagationReadMode readMode, final ResourceOperation operation) {
+        ExternalResource resource = resourceDAO.find("resource-testdb");
+        resource.setPropagationReadMode(readMode);
+
+        PropagationTask task = entityFactory.newEntity(PropagationTask.class);
+        task.setResource(resource);
+        task.setObjectClassName(ObjectClass.ACCOUNT_NAME);
+        task.setAnyTypeKind(AnyTypeKind.USER);
+        task.setEntityKey(userDAO.findByUsername("rossini").getKey());
+        task.setOperation(operation);
+        task.setConnObjectKey(CONN_OBJECT_KEY);
+        task.setAttributes(new HashSet<>(Arrays.asList(
+                new Name(CONN_OBJECT_KEY), AttributeBuilder.build("SURNAME", "after"))));
+        return task;
+    }
+
+    private TaskExec execute(final PropagationTask task, final PropagationReporter reporter) {
+        Method execute = ReflectionUtils.findMethod(
+                AbstractPropagationTaskExecutor.class, "execute", PropagationTask.class, PropagationReporter.class);
+        ReflectionUtils.makeAccessible(execute);
+        return (TaskExec) ReflectionUtils.invokeMethod(execute, executor, task, reporter);
+    }
+
+    private ConnectorObject propagate(final PropagationTask task) {
+        final ConnectorObject[] afterObj = new ConnectorObject[1];
+        PropagationReporter reporter = (PropagationReporter) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[] { PropagationReporter.class }, new InvocationHandler() {
+
+            @Override
+            public Object invoke(final Object proxy, final Method method, final Object[] args) {
+                if ("onSuccessOrNonPriorityResourceFailures".equals(method.getName())) {
+                    afterObj[0] = (ConnectorObject) args[4];
+                }
+                return null;
+            }
+        });
+
+        TaskExec execution = execute(task, reporter);
+        assertEquals(PropagationTaskExecStatus.SUCCESS.name(), execution.getStatus());
+        return afterObj[0];
+    }
+
+    @Test
+    public void fullReadsBeforeAndAfter() {
+        propagate(task(PropagationReadMode.FULL, ResourceOperation.CREATE));
+
+        assertEquals(Arrays.asList("getObject", "create", "getObject"), invoked);
+        assertEquals(0, executor.getAvoidedRemoteReads());
+    }
+
+    @Test
+    public void beforeSkipsReadAfterUpdate() {
+        remoteObjectExists = true;
+        ConnectorObject afterObj = propagate(task(PropagationReadMode.BEFORE, ResourceOperation.UPDATE));
+
+        assertEquals(Arrays.asList("getObject", "update"), invoked);
+        assertEquals(1, executor.getAvoidedRemoteReads());
+        assertEquals(Long.valueOf(1), executor.getMetrics().get("propagation.avoidedRemoteReads"));
+
+        // after object is built out of the propagated attributes
+        assertNotNull(afterObj);
+        assertEquals(CONN_OBJECT_KEY, afterObj.getUid().getUidValue());
+        assertEquals("after", afterObj.getAttributeByName("SURNAME").getValue().get(0));
+    }
+
+    @Test
+    public void minimalSkipsBothReadsOnCreate() {
+        ConnectorObject afterObj = propagate(task(PropagationReadMode.MINIMAL, ResourceOperation.CREATE));
+
+        assertEquals(Arrays.asList("create"), invoked);
+        assertEquals(2, executor.getAvoidedRemoteReads());
+
+        assertNotNull(afterObj);
+        assertEquals(CONN_OBJECT_KEY, afterObj.getName().getNameValue());
+    }
+
+    @Test
+    public void deleteAlwaysReadsAfter() {
+        remoteObjectExists = true;
+        propagate(task(PropagationReadMode.MINIMAL, ResourceOperation.DELETE));
+
+        assertEquals(Arrays.asList("getObject", "delete", "getObject"), invoked);
+        assertEquals(0, executor.getAvoidedRemoteReads());
+    }
+
+    @Test
+    public void noReadSkippedOnFailure() {
+        PropagationTask task = task(PropagationReadMode.MINIMAL, ResourceOperation.CREATE);
+        task.setAttributes(new HashSet<>(Arrays.asList(
+                new Name(CONN_OBJECT_KEY),
+                AttributeBuilder.build(PriorityPropagationTaskExecutor.MANDATORY_NULL_OR_EMPTY_ATTR_NAME, "SURNAME"))));
+
+        TaskExec execution = execute(task, null);
+        assertEquals(PropagationTaskExecStatus.FAILURE.name(), execution.getStatus());
+
+        // before read is skipped on create, after read is performed anyway, since propagation failed
+        assertEquals(Arrays.asList("getObject"), invoked);
+        assertEquals(1, executor.getAvoidedRemoteReads());
+    }
+}
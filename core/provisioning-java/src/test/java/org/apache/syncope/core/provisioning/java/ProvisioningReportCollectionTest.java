@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.syncope.common.lib.types.ResourceOperation;
+import org.apache.syncope.common.lib.types.TraceLevel;
+import org.apache.syncope.core.provisioning.api.pushpull.ProvisioningReport;
+import org.apache.syncope.core.provisioning.api.pushpull.ProvisioningReportCollection;
+import org.junit.Test;
+
+public class ProvisioningReportCollectionTest {
+
+    private ProvisioningReport report(
+            final String anyType, final ProvisioningReport.Status status, final ResourceOperation operation) {
+
+        ProvisioningReport report = new ProvisioningReport();
+        report.setAnyType(anyType);
+        report.setStatus(status);
+        report.setOperation(operation);
+        return report;
+    }
+
+    @Test
+    public void bounded() {
+        ProvisioningReportCollection results = new ProvisioningReportCollection(TraceLevel.ALL, 10);
+        for (int i = 0; i < 100; i++) {
+            results.add(report("USER", ProvisioningReport.Status.SUCCESS, ResourceOperation.CREATE));
+            results.add(report("USER", ProvisioningReport.Status.FAILURE, ResourceOperation.CREATE));
+        }
+        results.add(report("GROUP", ProvisioningReport.Status.IGNORE, ResourceOperation.NONE));
+
+        assertEquals(100, results.count("USER", ProvisioningReport.Status.SUCCESS, ResourceOperation.CREATE));
+        assertEquals(100, results.count("USER", ProvisioningReport.Status.FAILURE, null));
+        assertEquals(1, results.count("GROUP", ProvisioningReport.Status.IGNORE, null));
+        assertEquals(10, results.details("USER", ProvisioningReport.Status.SUCCESS, ResourceOperation.CREATE).size());
+        assertEquals(21, results.size());
+        assertEquals(2, results.getAnyTypes().size());
+    }
+
+    @Test
+    public void traceLevel() {
+        ProvisioningReportCollection results = new ProvisioningReportCollection(TraceLevel.FAILURES, 10);
+        results.add(report("USER", ProvisioningReport.Status.SUCCESS, ResourceOperation.UPDATE));
+        results.add(report("USER", ProvisioningReport.Status.FAILURE, ResourceOperation.UPDATE));
+
+        assertEquals(1, results.count("USER", ProvisioningReport.Status.SUCCESS, ResourceOperation.UPDATE));
+        assertTrue(results.details("USER", ProvisioningReport.Status.SUCCESS, ResourceOperation.UPDATE).isEmpty());
+        assertEquals(1, results.size());
+
+        results = new ProvisioningReportCollection(TraceLevel.SUMMARY, 10);
+        results.add(report(null, ProvisioningReport.Status.FAILURE, ResourceOperation.DELETE));
+        assertEquals(1, results.count(null, ProvisioningReport.Status.FAILURE, ResourceOperation.DELETE));
+        assertTrue(results.isEmpty());
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.ConflictResolutionAction;
+import org.apache.syncope.common.lib.types.StandardEntitlement;
+import org.apache.syncope.core.persistence.api.dao.TaskDAO;
+import org.apache.syncope.core.persistence.api.entity.task.PullTask;
+import org.apache.syncope.core.provisioning.api.Connector;
+import org.apache.syncope.core.provisioning.api.EntitlementsHolder;
+import org.apache.syncope.core.provisioning.api.pushpull.IgnoreProvisionException;
+import org.apache.syncope.core.provisioning.api.pushpull.ProvisioningProfile;
+import org.apache.syncope.core.provisioning.api.pushpull.ProvisioningReport;
+import org.apache.syncope.core.provisioning.api.pushpull.PullActions;
+import org.apache.syncope.core.provisioning.api.pushpull.SyncopePullExecutor;
+import org.apache.syncope.core.provisioning.api.pushpull.SyncopePullResultHandler;
+import org.apache.syncope.core.provisioning.java.pushpull.BufferedPullResultHandler;
+import org.apache.syncope.core.provisioning.java.pushpull.UserPullResultHandlerImpl;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.apache.syncope.core.spring.security.AuthContextUtils.Executable;
+import org.identityconnectors.framework.common.objects.ConnectorObjectBuilder;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.identityconnectors.framework.common.objects.SyncDelta;
+import org.identityconnectors.framework.common.objects.SyncDeltaBuilder;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
+import org.identityconnectors.framework.common.objects.SyncToken;
+import org.identityconnectors.framework.common.objects.Uid;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional("Master")
+public class PullResultHandlerTest extends AbstractTest {
+
+    private static final String PULL_TASK_KEY = "83f7e85d-9774-43fe-adba-ccd856312994";
+
+    private static final String[] USERNAMES = { "rossini", "verdi", "vivaldi", "bellini", "puccini" };
+
+    @Autowired
+    private ApplicationContext ctx;
+
+    @Autowired
+    private TaskDAO taskDAO;
+
+    @BeforeClass
+    public static void setEntitlements() {
+        EntitlementsHolder.getInstance().init(StandardEntitlement.values());
+    }
+
+    private SyncDelta delta(final int token, final String uid) {
+        return new SyncDeltaBuilder().
+                setDeltaType(SyncDeltaType.CREATE_OR_UPDATE).
+                setToken(new SyncToken(token)).
+                setUid(new Uid(uid)).
+                setObject(new ConnectorObjectBuilder().
+                        setObjectClass(ObjectClass.ACCOUNT).setUid(uid).setName(uid).build()).
+                build();
+    }
+
+    private SyncopePullResultHandler handler(final ProvisioningProfile<PullTask, PullActions> profile) {
+        SyncopePullResultHandler handler = (SyncopePullResultHandler) ctx.getAutowireCapableBeanFactory().
+                createBean(UserPullResultHandlerImpl.class, AbstractBeanDefinition.AUTOWIRE_BY_NAME, false);
+        handler.setProfile(profile);
+        handler.setPullExecutor(new SyncopePullExecutor() {
+
+            @Override
+            public void setLatestSyncToken(final ObjectClass objectClass, final SyncToken latestSyncToken) {
+                // ignore
+            }
+        });
+        return handler;
+    }
+
+    @Test
+    public void concurrentWorkers() {
+        final int concurrency = 4;
+
+        final PullTask task = taskDAO.find(PULL_TASK_KEY);
+
+        // records, for each worker thread, the task instances seen while updating; updates are then ignored
+        final Map<String, Set<PullTask>> seen = Collections.synchronizedMap(new HashMap<String, Set<PullTask>>());
+        PullActions recording = (PullActions) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[] { PullActions.class }, new InvocationHandler() {
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object invoke(final Object proxy, final Method method, final Object[] args) {
+                if ("beforeUpdate".equals(method.getName())) {
+                    String thread = Thread.currentThread().getName();
+                    synchronized (seen) {
+                        if (!seen.containsKey(thread)) {
+                            seen.put(thread, Collections.newSetFromMap(new IdentityHashMap<PullTask, Boolean>()));
+                        }
+                        seen.get(thread).add(((ProvisioningProfile<PullTask, PullActions>) args[0]).getTask());
+                    }
+                    throw new IgnoreProvisionException();
+                }
+                return null;
+            }
+        });
+
+        Connector connector = (Connector) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[] { Connector.class }, new InvocationHandler() {
+
+            @Override
+            public Object invoke(final Object proxy, final Method method, final Object[] args) {
+                return null;
+            }
+        });
+
+        final ProvisioningProfile<PullTask, PullActions> profile = new ProvisioningProfile<>(connector, task);
+        profile.setResAct(ConflictResolutionAction.FIRSTMATCH);
+        profile.getActions().add(recording);
+
+        ProvisioningProfile<PullTask, PullActions> workerProfile = profile.withTask(task);
+        workerProfile.setConcurrent(true);
+        final List<SyncopePullResultHandler> workers = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            workers.add(handler(workerProfile));
+        }
+
+        AuthContextUtils.execWithAuthContext(SyncopeConstants.MASTER_DOMAIN, new Executable<Void>() {
+
+            @Override
+            public Void exec() {
+                ExecutorService executor = new DelegatingSecurityContextExecutorService(
+                        Executors.newFixedThreadPool(concurrency));
+                try {
+                    BufferedPullResultHandler bhandler = new BufferedPullResultHandler(handler(profile), 10);
+                    bhandler.setExecutor(executor, workers, null, null);
+                    for (int i = 0; i < USERNAMES.length; i++) {
+                        assertTrue(bhandler.handle(delta(i, USERNAMES[i])));
+                    }
+                    assertTrue(bhandler.flush());
+                } finally {
+                    executor.shutdownNow();
+                }
+                return null;
+            }
+        });
+
+        // all deltas were matched and handled
+        assertEquals(USERNAMES.length, profile.getResults().count(
+                AnyTypeKind.USER.name(), ProvisioningReport.Status.IGNORE, null));
+
+        // by more than one worker, each working on the task as loaded by its own transaction
+        assertTrue(seen.size() > 1);
+        Set<PullTask> instances = Collections.newSetFromMap(new IdentityHashMap<PullTask, Boolean>());
+        for (Set<PullTask> tasks : seen.values()) {
+            for (PullTask seenTask : tasks) {
+                assertNotSame(task, seenTask);
+                assertTrue(instances.add(seenTask));
+            }
+        }
+    }
+}
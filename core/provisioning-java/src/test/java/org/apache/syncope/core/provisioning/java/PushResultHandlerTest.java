@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.apache.syncope.common.lib.types.AnyTypeKind;
+import org.apache.syncope.common.lib.types.MatchingRule;
+import org.apache.syncope.common.lib.types.ResourceOperation;
+import org.apache.syncope.common.lib.types.StandardEntitlement;
+import org.apache.syncope.common.lib.types.TraceLevel;
+import org.apache.syncope.common.lib.types.UnmatchingRule;
+import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.entity.Entity;
+import org.apache.syncope.core.persistence.api.entity.EntityFactory;
+import org.apache.syncope.core.persistence.api.entity.resource.ExternalResource;
+import org.apache.syncope.core.persistence.api.entity.task.PushTask;
+import org.apache.syncope.core.provisioning.api.Connector;
+import org.apache.syncope.core.provisioning.api.EntitlementsHolder;
+import org.apache.syncope.core.provisioning.api.pushpull.ProvisioningProfile;
+import org.apache.syncope.core.provisioning.api.pushpull.ProvisioningReport;
+import org.apache.syncope.core.provisioning.api.pushpull.PushActions;
+import org.apache.syncope.core.provisioning.api.pushpull.SyncopePushResultHandler;
+import org.apache.syncope.core.provisioning.java.pushpull.UserPushResultHandlerImpl;
+import org.apache.syncope.core.spring.security.AuthContextUtils;
+import org.apache.syncope.core.spring.security.AuthContextUtils.Executable;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.context.ApplicationContext;
+import org.springframework.transaction.annotation.Transactional;
+
+@Transactional("Master")
+public class PushResultHandlerTest extends AbstractTest {
+
+    @Autowired
+    private ApplicationContext ctx;
+
+    @Autowired
+    private EntityFactory entityFactory;
+
+    @Autowired
+    private ExternalResourceDAO resourceDAO;
+
+    @Autowired
+    private UserDAO userDAO;
+
+    @BeforeClass
+    public static void setEntitlements() {
+        EntitlementsHolder.getInstance().init(StandardEntitlement.values());
+    }
+
+    /**
+     * @return connector not finding any remote object
+     */
+    private Connector emptyConnector() {
+        return (Connector) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[] { Connector.class }, new InvocationHandler() {
+
+            @Override
+            public Object invoke(final Object proxy, final Method method, final Object[] args) {
+                return null;
+            }
+        });
+    }
+
+    private ProvisioningProfile<PushTask, PushActions> push(
+            final TraceLevel traceLevel, final boolean dryRun, final PushActions action) {
+
+        ExternalResource resource = resourceDAO.find("resource-testdb");
+        resource.setProvisioningTraceLevel(traceLevel);
+
+        PushTask task = entityFactory.newEntity(PushTask.class);
+        task.setResource(resource);
+        task.setMatchingRule(MatchingRule.UPDATE);
+        task.setUnmatchingRule(UnmatchingRule.PROVISION);
+        task.setPerformCreate(true);
+
+        ProvisioningProfile<PushTask, PushActions> profile = new ProvisioningProfile<>(emptyConnector(), task);
+        profile.setDryRun(dryRun);
+        if (action != null) {
+            profile.getActions().add(action);
+        }
+
+        final SyncopePushResultHandler handler = (SyncopePushResultHandler) ctx.getAutowireCapableBeanFactory().
+                createBean(UserPushResultHandlerImpl.class, AbstractBeanDefinition.AUTOWIRE_BY_NAME, false);
+        handler.setProfile(profile);
+
+        // push jobs run with full entitlements
+        AuthContextUtils.execWithAuthContext(SyncopeConstants.MASTER_DOMAIN, new Executable<Void>() {
+
+            @Override
+            public Void exec() {
+                for (String username : new String[] { "rossini", "verdi", "vivaldi" }) {
+                    handler.handle(userDAO.findByUsername(username).getKey());
+                }
+                return null;
+            }
+        });
+
+        return profile;
+    }
+
+    @Test
+    public void summaryCounts() {
+        ProvisioningProfile<PushTask, PushActions> profile = push(TraceLevel.SUMMARY, true, null);
+
+        assertEquals(3, profile.getResults().count(
+                AnyTypeKind.USER.name(), ProvisioningReport.Status.SUCCESS, ResourceOperation.CREATE));
+        assertEquals(0, profile.getResults().count(
+                AnyTypeKind.USER.name(), ProvisioningReport.Status.FAILURE, null));
+        assertTrue(profile.getResults().isEmpty());
+    }
+
+    @Test
+    public void failuresRetained() {
+        PushActions failingProvision = (PushActions) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[] { PushActions.class }, new InvocationHandler() {
+
+            @Override
+            public Object invoke(final Object proxy, final Method method, final Object[] args) {
+                if ("beforeProvision".equals(method.getName())) {
+                    throw new IllegalStateException("Provision not allowed");
+                }
+                return Entity.class.equals(method.getReturnType()) ? args[1] : null;
+            }
+        });
+        ProvisioningProfile<PushTask, PushActions> profile = push(TraceLevel.FAILURES, false, failingProvision);
+
+        assertEquals(3, profile.getResults().count(
+                AnyTypeKind.USER.name(), ProvisioningReport.Status.FAILURE, ResourceOperation.CREATE));
+
+        List<ProvisioningReport> failures = profile.getResults().details(
+                AnyTypeKind.USER.name(), ProvisioningReport.Status.FAILURE, null);
+        assertEquals(3, failures.size());
+        for (ProvisioningReport failure : failures) {
+            assertTrue(failure.getMessage().contains("Provision not allowed"));
+        }
+        assertFalse(profile.getResults().isEmpty());
+    }
+}
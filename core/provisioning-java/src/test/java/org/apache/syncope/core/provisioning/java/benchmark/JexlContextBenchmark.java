@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.provisioning.java.benchmark;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.jexl3.JexlContext;
+import org.apache.commons.jexl3.MapContext;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.syncope.core.persistence.api.dao.AnyTypeDAO;
+import org.apache.syncope.core.persistence.api.dao.ExternalResourceDAO;
+import org.apache.syncope.core.persistence.api.dao.UserDAO;
+import org.apache.syncope.core.persistence.api.entity.DerSchema;
+import org.apache.syncope.core.persistence.api.entity.resource.Provision;
+import org.apache.syncope.core.persistence.api.entity.user.User;
+import org.apache.syncope.core.provisioning.api.DerAttrHandler;
+import org.apache.syncope.core.provisioning.api.MappingManager;
+import org.apache.syncope.core.provisioning.java.jexl.JexlUtils;
+import org.identityconnectors.framework.common.objects.Attribute;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+/**
+ * Measures the evaluation of JEXL expressions against entity fields: a single expression over the fields of an user,
+ * all derived attributes of the same user, and the attributes (including connObjectLink) prepared for its propagation
+ * to {@code resource-ldap}.
+ * Run with {@code mvn -Pbenchmark -Dbenchmark.args=JexlContextBenchmark} from {@code core/provisioning-java}; the
+ * test Spring context is started once per fork, with logging limited to warnings.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+public class JexlContextBenchmark {
+
+    private static final String EXPRESSION = "username + ' - ' + creationDate + '[' + failedLogins + ']'";
+
+    private ClassPathXmlApplicationContext ctx;
+
+    private PlatformTransactionManager txManager;
+
+    private TransactionStatus tx;
+
+    private DerAttrHandler derAttrHandler;
+
+    private MappingManager mappingManager;
+
+    private User user;
+
+    private Provision provision;
+
+    @Setup
+    public void setup() {
+        ctx = new ClassPathXmlApplicationContext(
+                "classpath:persistenceTest.xml",
+                "classpath:provisioningContext.xml",
+                "classpath:workflowContext.xml",
+                "classpath:provisioningTest.xml");
+        txManager = ctx.getBean("MasterTransactionManager", PlatformTransactionManager.class);
+        derAttrHandler = ctx.getBean(DerAttrHandler.class);
+        mappingManager = ctx.getBean(MappingManager.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void begin() {
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+        definition.setReadOnly(true);
+        tx = txManager.getTransaction(definition);
+
+        user = ctx.getBean(UserDAO.class).findByUsername("rossini");
+        provision = ctx.getBean(ExternalResourceDAO.class).find("resource-ldap").
+                getProvision(ctx.getBean(AnyTypeDAO.class).findUser());
+    }
+
+    @TearDown(Level.Iteration)
+    public void end() {
+        txManager.rollback(tx);
+    }
+
+    @TearDown
+    public void tearDown() {
+        ctx.close();
+    }
+
+    @Benchmark
+    public String fieldsExpression() {
+        JexlContext jexlContext = new MapContext();
+        JexlUtils.addFieldsToContext(user, jexlContext);
+        return JexlUtils.evaluate(EXPRESSION, jexlContext);
+    }
+
+    @Benchmark
+    public Map<DerSchema, String> derAttrs() {
+        return derAttrHandler.getValues(user);
+    }
+
+    @Benchmark
+    public Pair<String, Set<Attribute>> prepareAttrs() {
+        return mappingManager.prepareAttrs(user, "password123", true, null, provision);
+    }
+}
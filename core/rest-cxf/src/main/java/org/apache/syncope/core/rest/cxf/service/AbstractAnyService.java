@@ -18,6 +18,9 @@
  */
 package org.apache.syncope.core.rest.cxf.service;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import javax.ws.rs.BadRequestException;
 import javax.ws.rs.core.Response;
@@ -114,14 +117,25 @@ public abstract class AbstractAnyService<TO extends AnyTO, P extends AnyPatch>
     public PagedResult<TO> search(final AnyQuery anyQuery) {
         String realm = StringUtils.prependIfMissing(anyQuery.getRealm(), SyncopeConstants.ROOT_REALM);
 
+        List<String> fields = StringUtils.isBlank(anyQuery.getFields())
+                ? Collections.<String>emptyList()
+                : Arrays.asList(StringUtils.split(StringUtils.deleteWhitespace(anyQuery.getFields()), ','));
+
         if (StringUtils.isBlank(anyQuery.getFiql())) {
             return buildPagedResult(
-                    getAnyLogic().list(
+                    fields.isEmpty()
+                    ? getAnyLogic().list(
+                            anyQuery.getPage(),
+                            anyQuery.getSize(),
+                            getOrderByClauses(anyQuery.getOrderBy()),
+                            realm,
+                            anyQuery.getDetails())
+                    : getAnyLogic().list(
                             anyQuery.getPage(),
                             anyQuery.getSize(),
                             getOrderByClauses(anyQuery.getOrderBy()),
                             realm,
-                            anyQuery.getDetails()),
+                            fields),
                     anyQuery.getPage(),
                     anyQuery.getSize(),
                     getAnyLogic().count(realm));
@@ -131,13 +145,21 @@ public abstract class AbstractAnyService<TO extends AnyTO, P extends AnyPatch>
 
             SearchCond cond = getSearchCond(anyQuery.getFiql(), realm);
             return buildPagedResult(
-                    getAnyLogic().search(
+                    fields.isEmpty()
+                    ? getAnyLogic().search(
+                            cond,
+                            anyQuery.getPage(),
+                            anyQuery.getSize(),
+                            getOrderByClauses(anyQuery.getOrderBy()),
+                            isAssignableCond ? SyncopeConstants.ROOT_REALM : realm,
+                            anyQuery.getDetails())
+                    : getAnyLogic().search(
                             cond,
                             anyQuery.getPage(),
                             anyQuery.getSize(),
                             getOrderByClauses(anyQuery.getOrderBy()),
                             isAssignableCond ? SyncopeConstants.ROOT_REALM : realm,
-                            anyQuery.getDetails()),
+                            fields),
                     anyQuery.getPage(),
                     anyQuery.getSize(),
                     getAnyLogic().searchCount(cond, isAssignableCond ? SyncopeConstants.ROOT_REALM : realm));
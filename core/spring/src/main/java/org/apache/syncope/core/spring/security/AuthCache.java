@@ -0,0 +1,279 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.collections4.map.LRUMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded, time-limited cache of successful authentications, keyed on domain, login name and credentials digest;
+ * clear credentials are never stored.
+ * Entries are invalidated once the transaction modifying the involved user, or any data affecting authentication
+ * and authorities, is committed - on this or, if remote commit events are enabled, on any other node.
+ * Only authentications which need no further processing are cached, see
+ * {@link AuthDataAccessor#isAuthCacheable(org.apache.syncope.core.persistence.api.entity.user.User)}; the last
+ * login date, when logged, is recorded again on cache hits at most once per configured interval.
+ */
+public final class AuthCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AuthCache.class);
+
+    private static final Object MONITOR = new Object();
+
+    private static AuthCache INSTANCE;
+
+    public static AuthCache getInstance() {
+        synchronized (MONITOR) {
+            if (INSTANCE == null) {
+                INSTANCE = new AuthCache();
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Authentication result, as cached.
+     */
+    public static final class Entry {
+
+        private final String userKey;
+
+        private final String username;
+
+        private final Set<SyncopeGrantedAuthority> authorities;
+
+        private final byte[] digest;
+
+        private final long expireTime;
+
+        private final AtomicLong lastLoginTime;
+
+        private Entry(
+                final String userKey,
+                final String username,
+                final Set<SyncopeGrantedAuthority> authorities,
+                final byte[] digest,
+                final long expireTime) {
+
+            this.userKey = userKey;
+            this.username = username;
+            this.authorities = Collections.unmodifiableSet(new HashSet<>(authorities));
+            this.digest = digest;
+            this.expireTime = expireTime;
+            this.lastLoginTime = new AtomicLong(System.currentTimeMillis());
+        }
+
+        public String getUserKey() {
+            return userKey;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public Set<SyncopeGrantedAuthority> getAuthorities() {
+            return authorities;
+        }
+
+        /**
+         * Tells whether the last login date is to be recorded again, i.e. at least the given interval has elapsed
+         * since it was last recorded for this entry; only one of concurrent callers gets {@code true}.
+         *
+         * @param interval minimum interval between last login date updates, in milliseconds
+         * @return whether the caller is to record the last login date
+         */
+        public boolean isLastLoginDue(final long interval) {
+            long now = System.currentTimeMillis();
+            long last = lastLoginTime.get();
+            return now - last >= interval && lastLoginTime.compareAndSet(last, now);
+        }
+    }
+
+    private final byte[] salt = new byte[16];
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private volatile Map<String, Entry> entries;
+
+    private volatile long ttl;
+
+    private AuthCache() {
+        new SecureRandom().nextBytes(salt);
+        configure(1000, 60);
+    }
+
+    /**
+     * Sets cache size and time-to-live, discarding any cached entry.
+     *
+     * @param maxSize maximum number of entries; no caching is performed if less than 1
+     * @param ttl time-to-live of entries, in seconds; no caching is performed if less than 1
+     */
+    public void configure(final int maxSize, final int ttl) {
+        synchronized (MONITOR) {
+            this.entries = maxSize < 1 || ttl < 1
+                    ? null
+                    : Collections.synchronizedMap(new LRUMap<String, Entry>(maxSize));
+            this.ttl = ttl * 1000L;
+        }
+    }
+
+    public boolean isEnabled() {
+        return entries != null;
+    }
+
+    private String key(final String domain, final String name) {
+        return domain + "/" + name;
+    }
+
+    private byte[] digest(final String domain, final String name, final String credentials) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            md.update(salt);
+            md.update(key(domain, name).getBytes(StandardCharsets.UTF_8));
+            md.update((byte) 0);
+            return md.digest(credentials.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param domain domain
+     * @param name login name, as provided for authentication
+     * @param credentials credentials, as provided for authentication
+     * @return cached successful authentication for the given parameters, if available and not expired
+     */
+    public Entry get(final String domain, final String name, final String credentials) {
+        Map<String, Entry> current = entries;
+        if (current == null) {
+            return null;
+        }
+
+        Entry entry = current.get(key(domain, name));
+        if (entry != null && entry.expireTime < System.currentTimeMillis()) {
+            current.remove(key(domain, name));
+            entry = null;
+        }
+        if (entry != null && !MessageDigest.isEqual(entry.digest, digest(domain, name, credentials))) {
+            entry = null;
+        }
+
+        if (entry == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return entry;
+    }
+
+    /**
+     * Caches a successful authentication.
+     *
+     * @param domain domain
+     * @param name login name, as provided for authentication
+     * @param credentials credentials, as provided for authentication
+     * @param userKey authenticated user key
+     * @param username authenticated user's username
+     * @param authorities authenticated user's authorities
+     */
+    public void put(
+            final String domain,
+            final String name,
+            final String credentials,
+            final String userKey,
+            final String username,
+            final Set<SyncopeGrantedAuthority> authorities) {
+
+        Map<String, Entry> current = entries;
+        if (current != null) {
+            current.put(key(domain, name), new Entry(
+                    userKey,
+                    username,
+                    authorities,
+                    digest(domain, name, credentials),
+                    System.currentTimeMillis() + ttl));
+        }
+    }
+
+    /**
+     * Removes all cached authentications for the given user.
+     *
+     * @param domain domain
+     * @param userKey user key
+     */
+    public void invalidate(final String domain, final String userKey) {
+        Map<String, Entry> current = entries;
+        if (current == null || current.isEmpty()) {
+            return;
+        }
+
+        synchronized (current) {
+            for (Iterator<Map.Entry<String, Entry>> itor = current.entrySet().iterator(); itor.hasNext();) {
+                Map.Entry<String, Entry> entry = itor.next();
+                if (entry.getKey().startsWith(domain + "/") && entry.getValue().userKey.equals(userKey)) {
+                    LOG.debug("Invalidating cached authentication {}", entry.getKey());
+                    itor.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all cached authentications for the given domain.
+     *
+     * @param domain domain
+     */
+    public void invalidateAll(final String domain) {
+        Map<String, Entry> current = entries;
+        if (current == null || current.isEmpty()) {
+            return;
+        }
+
+        synchronized (current) {
+            for (Iterator<String> itor = current.keySet().iterator(); itor.hasNext();) {
+                if (itor.next().startsWith(domain + "/")) {
+                    itor.remove();
+                }
+            }
+        }
+        LOG.debug("Invalidated all cached authentications for domain {}", domain);
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+}
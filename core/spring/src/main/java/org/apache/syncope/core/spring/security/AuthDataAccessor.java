@@ -51,7 +51,6 @@ import org.apache.syncope.core.persistence.api.dao.search.SearchCond;
 import org.apache.syncope.core.persistence.api.entity.Domain;
 import org.apache.syncope.core.persistence.api.entity.Realm;
 import org.apache.syncope.core.persistence.api.entity.Role;
-import org.apache.syncope.core.persistence.api.entity.conf.CPlainAttr;
 import org.apache.syncope.core.persistence.api.entity.group.Group;
 import org.apache.syncope.core.persistence.api.entity.resource.ExternalResource;
 import org.apache.syncope.core.persistence.api.entity.user.User;
@@ -135,10 +134,10 @@ public class AuthDataAccessor {
     public Pair<User, Boolean> authenticate(final Authentication authentication) {
         User user = null;
 
-        CPlainAttr authAttrs = confDAO.find("authentication.attributes");
-        List<String> authAttrValues = authAttrs == null
-                ? Collections.singletonList("username")
-                : authAttrs.getValuesAsStrings();
+        List<String> authAttrValues = confDAO.findValues("authentication.attributes", String.class);
+        if (authAttrValues.isEmpty()) {
+            authAttrValues = Collections.singletonList("username");
+        }
         for (int i = 0; user == null && i < authAttrValues.size(); i++) {
             if ("username".equals(authAttrValues.get(i))) {
                 user = userDAO.findByUsername(authentication.getName());
@@ -164,15 +163,15 @@ public class AuthDataAccessor {
                 throw new DisabledException("User " + user.getUsername() + " is suspended");
             }
 
-            CPlainAttr authStatuses = confDAO.find("authentication.statuses");
-            if (authStatuses != null && !authStatuses.getValuesAsStrings().contains(user.getStatus())) {
+            List<String> authStatuses = confDAO.findValues("authentication.statuses", String.class);
+            if (!authStatuses.isEmpty() && !authStatuses.contains(user.getStatus())) {
                 throw new DisabledException("User " + user.getUsername() + " not allowed to authenticate");
             }
 
             boolean userModified = false;
             authenticated = authenticate(user, authentication.getCredentials().toString());
             if (authenticated) {
-                if (confDAO.find("log.lastlogindate", Boolean.toString(true)).getValues().get(0).getBooleanValue()) {
+                if (confDAO.find("log.lastlogindate", true)) {
                     user.setLastLoginDate(new Date());
                     userModified = true;
                 }
@@ -195,6 +194,36 @@ public class AuthDataAccessor {
         return ImmutablePair.of(user, authenticated);
     }
 
+    /**
+     * Tells whether successful authentications of the given user can be cached, hence not checked again until the
+     * user, or any data affecting authentication and authorities, is changed. This is not the case when credentials
+     * could be verified by pass-through resources, which can change without Syncope knowing.
+     *
+     * @param user authenticated user
+     * @return whether successful authentications of the given user can be cached
+     */
+    @Transactional(readOnly = true)
+    public boolean isAuthCacheable(final User user) {
+        return getPassthroughResources(user).isEmpty();
+    }
+
+    /**
+     * Records the last login date of the given user, if configured so, upon cached authentication.
+     * The user is not saved via {@link UserDAO#save(org.apache.syncope.core.persistence.api.entity.user.User)}, not to
+     * invalidate the cached authentication which is being used.
+     *
+     * @param key user key
+     */
+    @Transactional
+    public void logLastLoginDate(final String key) {
+        if (confDAO.find("log.lastlogindate", true)) {
+            User user = userDAO.find(key);
+            if (user != null) {
+                user.setLastLoginDate(new Date());
+            }
+        }
+    }
+
     protected boolean authenticate(final User user, final String password) {
         boolean authenticated = ENCRYPTOR.verify(password, user.getCipherAlgorithm(), user.getPassword());
         LOG.debug("{} authenticated on internal storage: {}", user.getUsername(), authenticated);
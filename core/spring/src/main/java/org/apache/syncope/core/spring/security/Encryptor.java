@@ -22,9 +22,21 @@ import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
+import java.util.EnumMap;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
@@ -42,6 +54,14 @@ import org.slf4j.LoggerFactory;
 import org.springframework.security.crypto.bcrypt.BCrypt;
 import org.springframework.security.crypto.codec.Base64;
 
+/**
+ * Encodes, verifies and decodes values according to the given {@link CipherAlgorithm}.
+ * Digesters are configured once per algorithm and shared, AES ciphers are reused per thread; BCrypt and salted
+ * digests - the most expensive operations - are computed by a dedicated, fixed-size pool of threads, so that bursts
+ * of authentications cannot take over all available processors; verifications are refused when too many are
+ * pending or when they take too long, rather than letting callers pile up, while encodings fall back to the calling
+ * thread.
+ */
 public final class Encryptor {
 
     private static final Logger LOG = LoggerFactory.getLogger(Encryptor.class);
@@ -75,6 +95,21 @@ public final class Encryptor {
      */
     private static final boolean DEFAULT_ULSSC = true;
 
+    /**
+     * Default value for the number of threads computing BCrypt and salted digests.
+     */
+    private static final int DEFAULT_HASHING_POOL_SIZE = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Default value for the number of BCrypt and salted digests waiting for a free thread, per thread.
+     */
+    private static final int DEFAULT_HASHING_QUEUE_CAPACITY_PER_THREAD = 10;
+
+    /**
+     * Default value for the maximum time (in seconds) to wait for a BCrypt or salted digest.
+     */
+    private static final long DEFAULT_HASHING_TIMEOUT = 10;
+
     private static String SECRET_KEY;
 
     private static Integer SALT_ITERATIONS;
@@ -87,6 +122,18 @@ public final class Encryptor {
 
     private static Boolean ULSSC;
 
+    private static Integer HASHING_POOL_SIZE;
+
+    private static Integer HASHING_QUEUE_CAPACITY;
+
+    private static Long HASHING_TIMEOUT;
+
+    private static final Map<CipherAlgorithm, StandardStringDigester> DIGESTERS = new EnumMap<>(CipherAlgorithm.class);
+
+    private static final ThreadLocal<Cipher> AES_CIPHER = new ThreadLocal<>();
+
+    private static final ExecutorService HASHING_POOL;
+
     static {
         InputStream propStream = null;
         try {
@@ -95,11 +142,14 @@ public final class Encryptor {
             props.load(propStream);
 
             SECRET_KEY = props.getProperty("secretKey");
-            SALT_ITERATIONS = Integer.valueOf(props.getProperty("digester.saltIterations"));
-            SALT_SIZE_BYTES = Integer.valueOf(props.getProperty("digester.saltSizeBytes"));
-            IPOPSIER = Boolean.valueOf(props.getProperty("digester.invertPositionOfPlainSaltInEncryptionResults"));
-            IPOSIMBD = Boolean.valueOf(props.getProperty("digester.invertPositionOfSaltInMessageBeforeDigesting"));
-            ULSSC = Boolean.valueOf(props.getProperty("digester.useLenientSaltSizeCheck"));
+            SALT_ITERATIONS = getInteger(props, "digester.saltIterations");
+            SALT_SIZE_BYTES = getInteger(props, "digester.saltSizeBytes");
+            IPOPSIER = getBoolean(props, "digester.invertPositionOfPlainSaltInEncryptionResults");
+            IPOSIMBD = getBoolean(props, "digester.invertPositionOfSaltInMessageBeforeDigesting");
+            ULSSC = getBoolean(props, "digester.useLenientSaltSizeCheck");
+            HASHING_POOL_SIZE = getInteger(props, "hashing.poolSize");
+            HASHING_QUEUE_CAPACITY = getInteger(props, "hashing.queueCapacity");
+            HASHING_TIMEOUT = getLong(props, "hashing.timeout");
         } catch (Exception e) {
             LOG.error("Could not read security parameters", e);
         } finally {
@@ -130,6 +180,153 @@ public final class Encryptor {
             ULSSC = DEFAULT_ULSSC;
             LOG.debug("digester.useLenientSaltSizeCheck not found, reverting to default");
         }
+        if (HASHING_POOL_SIZE == null || HASHING_POOL_SIZE < 1) {
+            HASHING_POOL_SIZE = DEFAULT_HASHING_POOL_SIZE;
+            LOG.debug("hashing.poolSize not found, reverting to default");
+        }
+        if (HASHING_QUEUE_CAPACITY == null || HASHING_QUEUE_CAPACITY < 1) {
+            HASHING_QUEUE_CAPACITY = HASHING_POOL_SIZE * DEFAULT_HASHING_QUEUE_CAPACITY_PER_THREAD;
+            LOG.debug("hashing.queueCapacity not found, reverting to default");
+        }
+        if (HASHING_TIMEOUT == null || HASHING_TIMEOUT < 1) {
+            HASHING_TIMEOUT = DEFAULT_HASHING_TIMEOUT;
+            LOG.debug("hashing.timeout not found, reverting to default");
+        }
+
+        for (CipherAlgorithm cipherAlgorithm : CipherAlgorithm.values()) {
+            if (cipherAlgorithm != CipherAlgorithm.AES && cipherAlgorithm != CipherAlgorithm.BCRYPT) {
+                try {
+                    StandardStringDigester digester = buildDigester(cipherAlgorithm);
+                    digester.initialize();
+                    DIGESTERS.put(cipherAlgorithm, digester);
+                } catch (Exception e) {
+                    LOG.error("Could not initialize digester for {}", cipherAlgorithm, e);
+                }
+            }
+        }
+
+        ThreadPoolExecutor hashingPool = new ThreadPoolExecutor(
+                HASHING_POOL_SIZE, HASHING_POOL_SIZE, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<Runnable>(HASHING_QUEUE_CAPACITY),
+                new ThreadFactory() {
+
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(final Runnable runnable) {
+                Thread thread = new Thread(runnable, "Encryptor-hashing-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        }, new ThreadPoolExecutor.AbortPolicy());
+        hashingPool.allowCoreThreadTimeOut(true);
+        HASHING_POOL = hashingPool;
+    }
+
+    private static Integer getInteger(final Properties props, final String key) {
+        String value = props.getProperty(key);
+        if (value == null) {
+            return null;
+        }
+
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            LOG.error("Invalid value for {}: {}", key, value);
+            return null;
+        }
+    }
+
+    private static Long getLong(final Properties props, final String key) {
+        String value = props.getProperty(key);
+        if (value == null) {
+            return null;
+        }
+
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            LOG.error("Invalid value for {}: {}", key, value);
+            return null;
+        }
+    }
+
+    private static Boolean getBoolean(final Properties props, final String key) {
+        String value = props.getProperty(key);
+        return value == null ? null : Boolean.valueOf(value.trim());
+    }
+
+    private static StandardStringDigester buildDigester(final CipherAlgorithm cipherAlgorithm) {
+        StandardStringDigester digester = new StandardStringDigester();
+
+        if (cipherAlgorithm.getAlgorithm().startsWith("S-")) {
+            // Salted ...
+            digester.setAlgorithm(cipherAlgorithm.getAlgorithm().replaceFirst("S\\-", ""));
+            digester.setIterations(SALT_ITERATIONS);
+            digester.setSaltSizeBytes(SALT_SIZE_BYTES);
+            digester.setInvertPositionOfPlainSaltInEncryptionResults(IPOPSIER);
+            digester.setInvertPositionOfSaltInMessageBeforeDigesting(IPOSIMBD);
+            digester.setUseLenientSaltSizeCheck(ULSSC);
+        } else {
+            // Not salted ...
+            digester.setAlgorithm(cipherAlgorithm.getAlgorithm());
+            digester.setIterations(1);
+            digester.setSaltSizeBytes(0);
+        }
+
+        digester.setStringOutputType(CommonUtils.STRING_OUTPUT_TYPE_HEXADECIMAL);
+        return digester;
+    }
+
+    private static StandardStringDigester getDigester(final CipherAlgorithm cipherAlgorithm) {
+        StandardStringDigester digester = DIGESTERS.get(cipherAlgorithm);
+        return digester == null ? buildDigester(cipherAlgorithm) : digester;
+    }
+
+    private static boolean isExpensive(final CipherAlgorithm cipherAlgorithm) {
+        return cipherAlgorithm == CipherAlgorithm.BCRYPT || cipherAlgorithm.getAlgorithm().startsWith("S-");
+    }
+
+    /**
+     * Runs the given hashing operation on the hashing pool, waiting for its completion.
+     *
+     * @param <T> result type
+     * @param operation hashing operation
+     * @return hashing result
+     * @throws RejectedExecutionException if too many hashing operations are pending, or if the given one did not
+     * complete in time
+     */
+    private static <T> T hash(final Callable<T> operation) {
+        Future<T> future = HASHING_POOL.submit(operation);
+        try {
+            return future.get(HASHING_TIMEOUT, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new RejectedExecutionException("Hashing did not complete within " + HASHING_TIMEOUT + " seconds");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static String digest(final String value, final CipherAlgorithm cipherAlgorithm) {
+        return cipherAlgorithm == CipherAlgorithm.BCRYPT
+                ? BCrypt.hashpw(value, BCrypt.gensalt())
+                : getDigester(cipherAlgorithm).digest(value);
+    }
+
+    private static Cipher getAESCipher() throws NoSuchAlgorithmException, NoSuchPaddingException {
+        Cipher cipher = AES_CIPHER.get();
+        if (cipher == null) {
+            cipher = Cipher.getInstance(CipherAlgorithm.AES.getAlgorithm());
+            AES_CIPHER.set(cipher);
+        }
+        return cipher;
     }
 
     public static Encryptor getInstance() {
@@ -142,7 +339,10 @@ public final class Encryptor {
         Encryptor instance = INSTANCES.get(actualKey);
         if (instance == null) {
             instance = new Encryptor(actualKey);
-            INSTANCES.put(actualKey, instance);
+            Encryptor existing = INSTANCES.putIfAbsent(actualKey, instance);
+            if (existing != null) {
+                instance = existing;
+            }
         }
 
         return instance;
@@ -180,12 +380,25 @@ public final class Encryptor {
             if (cipherAlgorithm == null || cipherAlgorithm == CipherAlgorithm.AES) {
                 final byte[] cleartext = value.getBytes(SyncopeConstants.DEFAULT_CHARSET);
 
-                final Cipher cipher = Cipher.getInstance(CipherAlgorithm.AES.getAlgorithm());
+                final Cipher cipher = getAESCipher();
                 cipher.init(Cipher.ENCRYPT_MODE, keySpec);
 
                 encodedValue = new String(Base64.encode(cipher.doFinal(cleartext)));
-            } else if (cipherAlgorithm == CipherAlgorithm.BCRYPT) {
-                encodedValue = BCrypt.hashpw(value, BCrypt.gensalt());
+            } else if (isExpensive(cipherAlgorithm)) {
+                try {
+                    encodedValue = hash(new Callable<String>() {
+
+                        @Override
+                        public String call() {
+                            return digest(value, cipherAlgorithm);
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    // encoding happens when values are stored, not on each authentication: rather than losing
+                    // the value, compute it on the calling thread
+                    LOG.warn("Hashing pool busy, encoding on the calling thread: {}", e.getMessage());
+                    encodedValue = digest(value, cipherAlgorithm);
+                }
             } else {
                 encodedValue = getDigester(cipherAlgorithm).digest(value);
             }
@@ -201,12 +414,23 @@ public final class Encryptor {
             if (value != null) {
                 if (cipherAlgorithm == null || cipherAlgorithm == CipherAlgorithm.AES) {
                     res = encode(value, cipherAlgorithm).equals(encodedValue);
-                } else if (cipherAlgorithm == CipherAlgorithm.BCRYPT) {
-                    res = BCrypt.checkpw(value, encodedValue);
+                } else if (isExpensive(cipherAlgorithm)) {
+                    res = hash(new Callable<Boolean>() {
+
+                        @Override
+                        public Boolean call() {
+                            return cipherAlgorithm == CipherAlgorithm.BCRYPT
+                                    ? BCrypt.checkpw(value, encodedValue)
+                                    : getDigester(cipherAlgorithm).matches(value, encodedValue);
+                        }
+                    });
                 } else {
                     res = getDigester(cipherAlgorithm).matches(value, encodedValue);
                 }
             }
+        } catch (RejectedExecutionException e) {
+            // not a mismatch: let callers tell an overload from wrong credentials
+            throw e;
         } catch (Exception e) {
             LOG.error("Could not verify encoded value", e);
         }
@@ -223,7 +447,7 @@ public final class Encryptor {
         if (encodedValue != null && cipherAlgorithm == CipherAlgorithm.AES) {
             final byte[] encoded = encodedValue.getBytes(SyncopeConstants.DEFAULT_CHARSET);
 
-            final Cipher cipher = Cipher.getInstance(CipherAlgorithm.AES.getAlgorithm());
+            final Cipher cipher = getAESCipher();
             cipher.init(Cipher.DECRYPT_MODE, keySpec);
 
             value = new String(cipher.doFinal(Base64.decode(encoded)), SyncopeConstants.DEFAULT_CHARSET);
@@ -231,26 +455,4 @@ public final class Encryptor {
 
         return value;
     }
-
-    private StandardStringDigester getDigester(final CipherAlgorithm cipherAlgorithm) {
-        StandardStringDigester digester = new StandardStringDigester();
-
-        if (cipherAlgorithm.getAlgorithm().startsWith("S-")) {
-            // Salted ...
-            digester.setAlgorithm(cipherAlgorithm.getAlgorithm().replaceFirst("S\\-", ""));
-            digester.setIterations(SALT_ITERATIONS);
-            digester.setSaltSizeBytes(SALT_SIZE_BYTES);
-            digester.setInvertPositionOfPlainSaltInEncryptionResults(IPOPSIER);
-            digester.setInvertPositionOfSaltInMessageBeforeDigesting(IPOSIMBD);
-            digester.setUseLenientSaltSizeCheck(ULSSC);
-        } else {
-            // Not salted ...
-            digester.setAlgorithm(cipherAlgorithm.getAlgorithm());
-            digester.setIterations(1);
-            digester.setSaltSizeBytes(0);
-        }
-
-        digester.setStringOutputType(CommonUtils.STRING_OUTPUT_TYPE_HEXADECIMAL);
-        return digester;
-    }
 }
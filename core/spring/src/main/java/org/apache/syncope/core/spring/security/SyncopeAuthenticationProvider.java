@@ -67,8 +67,16 @@ public class SyncopeAuthenticationProvider implements AuthenticationProvider {
 
     protected String anonymousKey;
 
+    protected int authCacheMaxSize = 1000;
+
+    protected int authCacheTtl = 60;
+
+    protected int authCacheLastLoginInterval = 60;
+
     protected final Encryptor encryptor = Encryptor.getInstance();
 
+    protected final AuthCache authCache = AuthCache.getInstance();
+
     /**
      * @param adminPassword the adminPassword to set
      */
@@ -90,6 +98,30 @@ public class SyncopeAuthenticationProvider implements AuthenticationProvider {
         this.anonymousKey = anonymousKey;
     }
 
+    /**
+     * @param authCacheMaxSize the maximum number of cached authentications to set, 0 to disable caching
+     */
+    public void setAuthCacheMaxSize(final int authCacheMaxSize) {
+        this.authCacheMaxSize = authCacheMaxSize;
+        authCache.configure(authCacheMaxSize, authCacheTtl);
+    }
+
+    /**
+     * @param authCacheTtl the time-to-live (in seconds) of cached authentications to set, 0 to disable caching
+     */
+    public void setAuthCacheTtl(final int authCacheTtl) {
+        this.authCacheTtl = authCacheTtl;
+        authCache.configure(authCacheMaxSize, authCacheTtl);
+    }
+
+    /**
+     * @param authCacheLastLoginInterval the minimum interval (in seconds) between last login date updates on cached
+     * authentications to set
+     */
+    public void setAuthCacheLastLoginInterval(final int authCacheLastLoginInterval) {
+        this.authCacheLastLoginInterval = authCacheLastLoginInterval;
+    }
+
     @Override
     public Authentication authenticate(final Authentication authentication) {
         String domainKey = SyncopeAuthenticationDetails.class.cast(authentication.getDetails()).getDomain();
@@ -143,30 +175,72 @@ public class SyncopeAuthenticationProvider implements AuthenticationProvider {
                 }, authorities);
             }
         } else {
-            final Pair<User, Boolean> authResult =
-                    AuthContextUtils.execWithAuthContext(domainKey, new Executable<Pair<User, Boolean>>() {
+            AuthCache.Entry cached = authCache.get(
+                    domainKey, authentication.getName(), authentication.getCredentials().toString());
+            if (cached != null) {
+                LOG.debug("Cached authentication found for {}", authentication.getName());
 
-                        @Override
-                        public Pair<User, Boolean> exec() {
-                            return dataAccessor.authenticate(authentication);
-                        }
-                    });
-            authenticated = authResult.getValue();
-            if (authResult.getLeft() != null && authResult.getRight() != null) {
-                username[0] = authResult.getLeft().getUsername();
+                username[0] = cached.getUsername();
+                authenticated = true;
+                authorities.addAll(cached.getAuthorities());
 
-                if (authResult.getRight()) {
-                    authorities.addAll(dataAccessor.getAuthorities(authResult.getLeft()));
-                } else {
+                if (cached.isLastLoginDue(authCacheLastLoginInterval * 1000L)) {
+                    final String userKey = cached.getUserKey();
                     AuthContextUtils.execWithAuthContext(domainKey, new Executable<Void>() {
 
                         @Override
                         public Void exec() {
-                            provisioningManager.internalSuspend(authResult.getLeft().getKey());
+                            dataAccessor.logLastLoginDate(userKey);
                             return null;
                         }
                     });
                 }
+            } else {
+                final Pair<User, Boolean> authResult =
+                        AuthContextUtils.execWithAuthContext(domainKey, new Executable<Pair<User, Boolean>>() {
+
+                            @Override
+                            public Pair<User, Boolean> exec() {
+                                return dataAccessor.authenticate(authentication);
+                            }
+                        });
+                authenticated = authResult.getValue();
+                if (authResult.getLeft() != null && authResult.getRight() != null) {
+                    username[0] = authResult.getLeft().getUsername();
+
+                    if (authResult.getRight()) {
+                        authorities.addAll(dataAccessor.getAuthorities(authResult.getLeft()));
+
+                        if (authCache.isEnabled()) {
+                            boolean cacheable = AuthContextUtils.execWithAuthContext(
+                                    domainKey, new Executable<Boolean>() {
+
+                                @Override
+                                public Boolean exec() {
+                                    return dataAccessor.isAuthCacheable(authResult.getLeft());
+                                }
+                            });
+                            if (cacheable) {
+                                authCache.put(
+                                        domainKey,
+                                        authentication.getName(),
+                                        authentication.getCredentials().toString(),
+                                        authResult.getLeft().getKey(),
+                                        username[0],
+                                        authorities);
+                            }
+                        }
+                    } else {
+                        AuthContextUtils.execWithAuthContext(domainKey, new Executable<Void>() {
+
+                            @Override
+                            public Void exec() {
+                                provisioningManager.internalSuspend(authResult.getLeft().getKey());
+                                return null;
+                            }
+                        });
+                    }
+                }
             }
         }
         if (username[0] == null) {
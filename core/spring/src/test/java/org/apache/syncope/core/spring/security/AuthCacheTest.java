@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.syncope.core.spring.security;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import org.apache.syncope.common.lib.SyncopeConstants;
+import org.junit.After;
+import org.junit.Test;
+
+public class AuthCacheTest {
+
+    private final AuthCache cache = AuthCache.getInstance();
+
+    @After
+    public void reset() {
+        cache.configure(1000, 60);
+    }
+
+    @Test
+    public void getAndInvalidate() {
+        cache.configure(10, 60);
+        cache.put(SyncopeConstants.MASTER_DOMAIN, "rossini", "password", "key1", "rossini",
+                Collections.singleton(new SyncopeGrantedAuthority("USER_READ", "/")));
+        cache.put("Two", "rossini", "password", "key2", "rossini",
+                Collections.<SyncopeGrantedAuthority>emptySet());
+
+        long misses = cache.getMisses();
+        assertNull(cache.get(SyncopeConstants.MASTER_DOMAIN, "rossini", "wrong"));
+        assertEquals(misses + 1, cache.getMisses());
+
+        long hits = cache.getHits();
+        AuthCache.Entry entry = cache.get(SyncopeConstants.MASTER_DOMAIN, "rossini", "password");
+        assertNotNull(entry);
+        assertEquals("key1", entry.getUserKey());
+        assertEquals(1, entry.getAuthorities().size());
+        assertEquals(hits + 1, cache.getHits());
+
+        cache.invalidate(SyncopeConstants.MASTER_DOMAIN, "key1");
+        assertNull(cache.get(SyncopeConstants.MASTER_DOMAIN, "rossini", "password"));
+        assertNotNull(cache.get("Two", "rossini", "password"));
+
+        cache.invalidateAll("Two");
+        assertNull(cache.get("Two", "rossini", "password"));
+    }
+
+    @Test
+    public void lastLoginDue() throws InterruptedException {
+        cache.configure(10, 60);
+        cache.put(SyncopeConstants.MASTER_DOMAIN, "rossini", "password", "key1", "rossini",
+                Collections.<SyncopeGrantedAuthority>emptySet());
+
+        AuthCache.Entry entry = cache.get(SyncopeConstants.MASTER_DOMAIN, "rossini", "password");
+        assertNotNull(entry);
+        assertFalse(entry.isLastLoginDue(60000L));
+
+        Thread.sleep(10);
+        assertTrue(entry.isLastLoginDue(5L));
+        assertFalse(entry.isLastLoginDue(5000L));
+    }
+
+    @Test
+    public void disabled() {
+        cache.configure(0, 60);
+        cache.put(SyncopeConstants.MASTER_DOMAIN, "rossini", "password", "key1", "rossini",
+                Collections.<SyncopeGrantedAuthority>emptySet());
+        assertNull(cache.get(SyncopeConstants.MASTER_DOMAIN, "rossini", "password"));
+    }
+}
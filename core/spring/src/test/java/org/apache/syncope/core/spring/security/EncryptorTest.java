@@ -23,7 +23,18 @@ import org.apache.syncope.core.spring.security.Encryptor;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import org.apache.syncope.common.lib.types.CipherAlgorithm;
 import org.junit.Test;
 
@@ -57,4 +68,86 @@ public class EncryptorTest {
             }
         }
     }
+
+    /**
+     * Verify all algorithms, from several concurrent threads.
+     */
+    @Test
+    public void concurrent() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                for (final CipherAlgorithm cipherAlgorithm : CipherAlgorithm.values()) {
+                    final String value = password + i;
+                    results.add(executor.submit(new Callable<Boolean>() {
+
+                        @Override
+                        public Boolean call() throws Exception {
+                            String encoded = encryptor.encode(value, cipherAlgorithm);
+                            return encryptor.verify(value, cipherAlgorithm, encoded)
+                                    && !encryptor.verify(password, cipherAlgorithm, encoded)
+                                    && (cipherAlgorithm != CipherAlgorithm.AES
+                                    || value.equals(encryptor.decode(encoded, cipherAlgorithm)));
+                        }
+                    }));
+                }
+            }
+
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Encoding must not be lost when the hashing pool is saturated, while verification is refused.
+     */
+    @Test
+    public void encodeWhenHashingPoolIsFull() throws Exception {
+        Field field = Encryptor.class.getDeclaredField("HASHING_POOL");
+        field.setAccessible(true);
+        ThreadPoolExecutor hashingPool = (ThreadPoolExecutor) field.get(null);
+
+        final CountDownLatch release = new CountDownLatch(1);
+        Runnable blocker = new Runnable() {
+
+            @Override
+            public void run() {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        String encoded;
+        try {
+            // occupy all hashing threads and queue slots
+            boolean full = false;
+            while (!full) {
+                try {
+                    hashingPool.execute(blocker);
+                } catch (RejectedExecutionException e) {
+                    full = true;
+                }
+            }
+
+            encoded = encryptor.encode(password, CipherAlgorithm.BCRYPT);
+            assertNotNull(encoded);
+
+            try {
+                encryptor.verify(password, CipherAlgorithm.BCRYPT, encoded);
+                fail();
+            } catch (RejectedExecutionException e) {
+                assertNotNull(e);
+            }
+        } finally {
+            release.countDown();
+        }
+
+        assertTrue(encryptor.verify(password, CipherAlgorithm.BCRYPT, encoded));
+    }
 }
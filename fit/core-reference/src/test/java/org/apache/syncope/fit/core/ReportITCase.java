@@ -283,6 +283,50 @@ public class ReportITCase extends AbstractITCase {
         }
     }
 
+    private String exportAuditReport(final String logger, final Date from) throws IOException {
+        AuditReportletConf conf = new AuditReportletConf("auditReportlet" + getUUIDString());
+        conf.setLogger(logger);
+        conf.setFrom(from);
+
+        ReportTO report = new ReportTO();
+        report.setName("auditReport" + getUUIDString());
+        report.setActive(true);
+        report.getReportletConfs().add(conf);
+        report.setTemplate("sample");
+        report = createReport(report);
+
+        Response response = reportService.exportExecutionResult(execute(report.getKey()), ReportExecExportFormat.XML);
+        return IOUtils.toString((InputStream) response.getEntity(), SyncopeConstants.DEFAULT_ENCODING);
+    }
+
+    @Test
+    public void auditReportByLogger() throws IOException {
+        AuditLoggerName auditLoggerName = new AuditLoggerName(
+                AuditElements.EventCategoryType.LOGIC,
+                "UserLogic",
+                null,
+                "read",
+                AuditElements.Result.SUCCESS);
+
+        try {
+            LoggerTO loggerTO = new LoggerTO();
+            loggerTO.setKey(auditLoggerName.toLoggerName());
+            loggerTO.setLevel(LoggerLevel.DEBUG);
+            loggerService.update(LoggerType.AUDIT, loggerTO);
+
+            Date from = new Date();
+            userService.read("bellini");
+
+            assertTrue(exportAuditReport(auditLoggerName.toLoggerName(), from).contains("<logger "));
+
+            // wildcards in logger are taken literally
+            assertFalse(exportAuditReport(
+                    auditLoggerName.toLoggerName().replace("[read]", "[rea_]"), from).contains("<logger "));
+        } finally {
+            loggerService.delete(LoggerType.AUDIT, auditLoggerName.toLoggerName());
+        }
+    }
+
     @Test
     public void issueSYNCOPE43() {
         ReportTO reportTO = new ReportTO();
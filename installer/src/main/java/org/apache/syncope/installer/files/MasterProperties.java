@@ -55,7 +55,7 @@ public final class MasterProperties {
             + "Master.databasePlatform=org.apache.openjpa.jdbc.sql.MySQLDictionary%n"
             + "Master.orm=META-INF/spring-orm.xml%n"
             + "Master.pool.validationQuery=SELECT 1%n"
-            + "Master.audit.sql=audit.sql%n";
+            + "Master.audit.sql=audit_mysql.sql%n";
 
     public static final String MARIADB = ""
             + "Master.driverClassName=org.mariadb.jdbc.Driver%n"
@@ -77,7 +77,8 @@ public final class MasterProperties {
             + "Master.databasePlatform=org.apache.openjpa.jdbc.sql.OracleDictionary%n"
             + "Master.orm=META-INF/spring-orm-oracle.xml%n"
             + "Master.pool.validationQuery=SELECT 1 FROM DUAL%n"
-            + "Master.audit.sql=audit_oracle.sql%n";
+            + "Master.audit.sql=audit_oracle.sql%n"
+            + "Master.audit.sql.separator=/%n";
 
     public static final String SQLSERVER = ""
             + "Master.driverClassName=com.microsoft.sqlserver.jdbc.SQLServerDriver%n"